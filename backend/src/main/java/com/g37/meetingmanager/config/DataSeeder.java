@@ -2,10 +2,12 @@ package com.g37.meetingmanager.config;
 
 import com.g37.meetingmanager.model.*;
 import com.g37.meetingmanager.repository.mysql.*;
+import com.g37.meetingmanager.service.PermissionCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 
@@ -36,7 +38,11 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PermissionCatalog permissionCatalog;
+
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         // Only seed essential system data (roles, permissions) - no demo data
         seedSystemData();
@@ -75,6 +81,8 @@ public class DataSeeder implements CommandLineRunner {
             adminRole.getPermissions().add(adminPermission);
         }
         roleRepository.save(adminRole);
+        // Permission set edits are collection updates, which the catalog's entity listener does not see
+        permissionCatalog.invalidate();
 
         System.out.println("System data initialization complete - no demo data created");
     }
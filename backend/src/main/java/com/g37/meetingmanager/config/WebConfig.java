@@ -1,14 +1,19 @@
 package com.g37.meetingmanager.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,10 +22,48 @@ public class WebConfig implements WebMvcConfigurer {
 
     private final ObjectMapper objectMapper;
 
+    // Tomcat's 30 s default would cut off any download that takes longer
+    @Value("${spring.mvc.async.request-timeout:1h}")
+    private Duration asyncRequestTimeout;
+
+    @Value("${app.storage.download.threads:16}")
+    private int downloadThreads;
+
+    @Value("${app.storage.download.queue-capacity:64}")
+    private int downloadQueueCapacity;
+
+    private ThreadPoolTaskExecutor asyncExecutor;
+
     public WebConfig(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
 
+    /**
+     * Streamed response bodies (document downloads) are written on their own bounded pool, so a
+     * burst of slow downloads neither ties up Tomcat's request threads nor the shared task executor.
+     */
+    @Override
+    public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+        if (asyncExecutor == null) {
+            asyncExecutor = new ThreadPoolTaskExecutor();
+            asyncExecutor.setCorePoolSize(downloadThreads);
+            asyncExecutor.setMaxPoolSize(downloadThreads);
+            asyncExecutor.setQueueCapacity(downloadQueueCapacity);
+            asyncExecutor.setThreadNamePrefix("download-stream-");
+            asyncExecutor.setDaemon(true);
+            asyncExecutor.initialize();
+        }
+        configurer.setTaskExecutor(asyncExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+    }
+
     @Override
     public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
         org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WebConfig.class);
@@ -1,19 +1,27 @@
 package com.g37.meetingmanager.controller;
 
+import com.g37.meetingmanager.dto.ActionItemFacetedResultDTO;
+import com.g37.meetingmanager.dto.ActionItemTreeNodeDTO;
+import com.g37.meetingmanager.dto.OccurrenceDTO;
 import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.model.RecurrenceException;
 import com.g37.meetingmanager.service.ActionItemService;
+import com.g37.meetingmanager.service.RecurrenceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/action-items")
@@ -23,6 +31,9 @@ public class ActionItemController {
     @Autowired
     private ActionItemService actionItemService;
 
+    @Autowired
+    private RecurrenceService recurrenceService;
+
     /**
      * Get all action items with filtering and pagination
      */
@@ -55,6 +66,52 @@ public class ActionItemController {
         }
     }
 
+    /**
+     * Get a page of action items together with the facet counts of the filter panel.
+     * Multi-valued filters accept repeated or comma-separated values; dueBucket is one of
+     * OVERDUE, DUE_SOON, LATER, NO_DUE_DATE or COMPLETED, and assigneeId accepts "unassigned".
+     */
+    @GetMapping("/faceted")
+    public ResponseEntity<ActionItemFacetedResultDTO> getFacetedActionItems(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "dueDate") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) Long meetingId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "ANY") String tagMatch,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) List<String> assigneeId,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) List<String> dueBucket) {
+
+        try {
+            boolean matchAllTags = "ALL".equalsIgnoreCase(tagMatch);
+            if (!matchAllTags && !"ANY".equalsIgnoreCase(tagMatch)) {
+                throw new IllegalArgumentException("tagMatch must be ANY or ALL");
+            }
+
+            Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+            Pageable pageable = PageRequest.of(page, size, sort);
+
+            ActionItemFacetedResultDTO result = actionItemService.searchWithFacets(
+                organizationId, meetingId, search, tags, matchAllTags,
+                status, priority, assigneeId, type, dueBucket, pageable);
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Get action item by ID
      */
@@ -146,6 +203,20 @@ public class ActionItemController {
         }
     }
 
+    /**
+     * Get an action item with its full subtask hierarchy
+     */
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<ActionItemTreeNodeDTO> getActionItemTree(@PathVariable Long id) {
+        try {
+            Optional<ActionItemTreeNodeDTO> tree = actionItemService.getActionItemTree(id);
+            return tree.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Get action item statistics for a user
      */
@@ -159,6 +230,19 @@ public class ActionItemController {
         }
     }
 
+    /**
+     * Get action item statistics for an organization
+     */
+    @GetMapping("/statistics/organization/{organizationId}")
+    public ResponseEntity<ActionItemService.ActionItemStatistics> getOrganizationStatistics(@PathVariable Long organizationId) {
+        try {
+            ActionItemService.ActionItemStatistics stats = actionItemService.getOrganizationStatistics(organizationId);
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Create a new action item
      */
@@ -187,6 +271,8 @@ public class ActionItemController {
         try {
             ActionItem updatedActionItem = actionItemService.updateActionItem(id, actionItemDetails);
             return ResponseEntity.ok(updatedActionItem);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -194,6 +280,59 @@ public class ActionItemController {
         }
     }
 
+    /**
+     * Get the due dates of a recurring action item falling in [from, to), expanded from its recurrence rule
+     */
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<List<OccurrenceDTO>> getOccurrences(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return recurrenceService.getActionItemOccurrences(id, from, to)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Cancel or override one occurrence of a recurring action item, identified by its originalStart
+     */
+    @PutMapping("/{id}/occurrences")
+    public ResponseEntity<RecurrenceException> saveOccurrenceException(
+            @PathVariable Long id,
+            @RequestBody RecurrenceException exception) {
+        try {
+            return recurrenceService.saveException(RecurrenceException.SeriesType.ACTION_ITEM, id, exception)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Restore one occurrence of a recurring action item to what its recurrence rule produces
+     */
+    @DeleteMapping("/{id}/occurrences")
+    public ResponseEntity<Void> deleteOccurrenceException(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime originalStart) {
+        try {
+            return recurrenceService.deleteException(RecurrenceException.SeriesType.ACTION_ITEM, id, originalStart)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Mark action item as completed
      */
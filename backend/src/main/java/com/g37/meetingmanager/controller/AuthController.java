@@ -4,10 +4,14 @@ import com.g37.meetingmanager.dto.UserDTO;
 import com.g37.meetingmanager.model.User;
 import com.g37.meetingmanager.service.AuthService;
 import com.g37.meetingmanager.service.JwtService;
+import com.g37.meetingmanager.service.LoginThrottleService;
 import com.g37.meetingmanager.service.MicrosoftGraphOAuthService;
+import com.g37.meetingmanager.service.PasswordHashingService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -40,11 +44,11 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Object> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<Object> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
             log.info("Login attempt for email: {}", request.getEmail());
             
-            User user = authService.authenticateUser(request.getEmail(), request.getPassword());
+            User user = authService.authenticateUser(request.getEmail(), request.getPassword(), httpRequest.getRemoteAddr());
             
             if (user == null || !user.getIsActive()) {
                 throw new BadCredentialsException("Invalid credentials or inactive account");
@@ -68,6 +72,16 @@ public class AuthController {
             log.warn("Login failed for email: {} - {}", request.getEmail(), e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of(MESSAGE_KEY, "Invalid email or password"));
+        } catch (LoginThrottleService.LoginThrottledException e) {
+            log.warn("Login throttled for email: {} - {}", request.getEmail(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of(MESSAGE_KEY, "Too many login attempts. Please try again later."));
+        } catch (PasswordHashingService.HashingCapacityException e) {
+            log.warn("Login refused for email: {} - {}", request.getEmail(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of(MESSAGE_KEY, "Login is busy. Please try again shortly."));
         } catch (Exception e) {
             log.error("Login error for email: {}", request.getEmail(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,18 +1,26 @@
 package com.g37.meetingmanager.controller;
 
+import com.g37.meetingmanager.model.CalendarEvent;
+import com.g37.meetingmanager.model.CalendarSyncState;
 import com.g37.meetingmanager.model.User;
 import com.g37.meetingmanager.service.AuthService;
+import com.g37.meetingmanager.service.CalendarOutboxService;
+import com.g37.meetingmanager.service.CalendarSyncService;
+import com.g37.meetingmanager.service.GraphTokenRefreshService;
 import com.g37.meetingmanager.service.MicrosoftGraphOAuthService;
 import com.g37.meetingmanager.repository.mysql.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -32,13 +40,22 @@ public class CalendarController {
     private final AuthService authService;
     private final MicrosoftGraphOAuthService microsoftGraphOAuthService;
     private final UserRepository userRepository;
+    private final CalendarSyncService calendarSyncService;
+    private final CalendarOutboxService calendarOutboxService;
+    private final GraphTokenRefreshService graphTokenRefreshService;
 
     public CalendarController(AuthService authService, 
                              MicrosoftGraphOAuthService microsoftGraphOAuthService,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             CalendarSyncService calendarSyncService,
+                             CalendarOutboxService calendarOutboxService,
+                             GraphTokenRefreshService graphTokenRefreshService) {
         this.authService = authService;
         this.microsoftGraphOAuthService = microsoftGraphOAuthService;
         this.userRepository = userRepository;
+        this.calendarSyncService = calendarSyncService;
+        this.calendarOutboxService = calendarOutboxService;
+        this.graphTokenRefreshService = graphTokenRefreshService;
     }
 
     /**
@@ -51,10 +68,8 @@ public class CalendarController {
         try {
             log.info("Calendar status requested for email: {}", userEmail);
             
-            String email = userEmail;
-            if (email == null && authentication != null) {
-                email = authentication.getName();
-            }
+            String email = authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getPrincipal()) ? authentication.getName() : userEmail;
             
             if (email == null) {
                 log.warn("No email provided in calendar status request");
@@ -62,7 +77,7 @@ public class CalendarController {
                     .body(Map.of(ERROR_KEY, "Email parameter is required"));
             }
 
-            User user = authService.findUserByEmail(email);
+            User user = authService.findCurrentUser(email);
 
             Map<String, Object> response = new HashMap<>();
             
@@ -84,8 +99,12 @@ public class CalendarController {
                     user.getGraphTokenExpiresAt(), LocalDateTime.now(), isExpired);
             }
 
+            // Never refresh inline; an expiring token is renewed in the background
+            boolean isRefreshing = isConnected && graphTokenRefreshService.refreshIfExpiring(user);
+
             response.put(IS_CONNECTED_KEY, isConnected);
             response.put("isExpired", isExpired);
+            response.put("isRefreshing", isRefreshing);
             response.put(USER_EMAIL_KEY, email);
             
             if (user.getGraphTokenExpiresAt() != null) {
@@ -141,13 +160,13 @@ public class CalendarController {
             
             log.info("Processing OAuth callback for user: {}", userEmail);
             
-            if (code == null || userEmail == null) {
+            if (code == null) {
                 log.warn("Missing required parameters in OAuth callback");
                 return ResponseEntity.badRequest()
-                    .body(Map.of(ERROR_KEY, "Missing authorization code or user email"));
+                    .body(Map.of(ERROR_KEY, "Missing authorization code"));
             }
 
-            User user = authService.findUserByEmail(userEmail);
+            User user = authService.findCurrentUser(userEmail);
                 
             if (user == null) {
                 log.warn("User not found for OAuth callback: {}", userEmail);
@@ -166,6 +185,7 @@ public class CalendarController {
             // Store tokens in user record
             user.setGraphAccessToken((String) tokenResponse.get("access_token"));
             user.setGraphRefreshToken((String) tokenResponse.get("refresh_token"));
+            user.setGraphTokenRetryAfter(null);
             
             // Calculate expiration time (tokens typically expire in 1 hour)
             Object expiresInObj = tokenResponse.get("expires_in");
@@ -176,12 +196,21 @@ public class CalendarController {
             
             userRepository.save(user);
             
-            log.info("Successfully stored Graph tokens for user: {}", userEmail);
+            log.info("Successfully stored Graph tokens for user: {}", user.getEmail());
+            
+            // Queue upcoming meetings created before the calendar was connected
+            int backfilled = 0;
+            try {
+                backfilled = calendarOutboxService.enqueueBackfill(user);
+            } catch (RuntimeException e) {
+                log.warn("Failed to backfill Outlook events for user {}: {}", user.getEmail(), e.getMessage());
+            }
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put(MESSAGE_KEY, "Calendar integration successful");
             response.put(IS_CONNECTED_KEY, true);
+            response.put("eventsQueued", backfilled);
             
             return ResponseEntity.ok(response);
             
@@ -200,16 +229,88 @@ public class CalendarController {
         }
     }
 
+    /**
+     * Get Outlook events overlapping a UTC range from the local calendar copy of the signed-in user
+     */
+    @GetMapping("/events")
+    public ResponseEntity<Map<String, Object>> getCalendarEvents(
+            @RequestParam(required = false) String userEmail,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            User user = authService.findCurrentUser(userEmail);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(ERROR_KEY, USER_NOT_FOUND_MSG));
+            }
+
+            List<CalendarEvent> events = calendarSyncService.getEvents(user, from, to);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("events", events);
+            calendarSyncService.getSyncState(user.getId())
+                .map(CalendarSyncState::getLastSyncedAt)
+                .ifPresent(lastSyncedAt -> response.put("lastSyncedAt", lastSyncedAt.toString()));
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+        } catch (RestClientException e) {
+            log.error("Error syncing calendar: ", e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of(ERROR_KEY, "Failed to sync calendar: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error getting calendar events: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(ERROR_KEY, "Failed to get calendar events: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Pull Outlook changes for the signed-in user now instead of waiting for the background sync
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<Map<String, Object>> syncCalendar(@RequestParam(required = false) String userEmail) {
+        try {
+            User user = authService.findCurrentUser(userEmail);
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(ERROR_KEY, USER_NOT_FOUND_MSG));
+            }
+
+            CalendarSyncService.SyncResult result = calendarSyncService.syncUser(user);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("skipped", result.isSkipped());
+            response.put("fullSync", result.isFullSync());
+            response.put("upserted", result.getUpserted());
+            response.put("removed", result.getRemoved());
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(ERROR_KEY, e.getMessage()));
+        } catch (RestClientException e) {
+            log.error("Error syncing calendar: ", e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of(ERROR_KEY, "Failed to sync calendar: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error syncing calendar: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(ERROR_KEY, "Failed to sync calendar: " + e.getMessage()));
+        }
+    }
+
     /**
      * Disconnect calendar integration
      */
     @DeleteMapping("/disconnect")
     public ResponseEntity<Map<String, Object>> disconnectCalendar(
-            @RequestParam String userEmail) {
+            @RequestParam(required = false) String userEmail) {
         try {
-            log.info("Disconnecting calendar for user: {}", userEmail);
-            
-            User user = authService.findUserByEmail(userEmail);
+            User user = authService.findCurrentUser(userEmail);
                 
             if (user == null) {
                 log.warn("User not found for calendar disconnect: {}", userEmail);
@@ -223,8 +324,9 @@ public class CalendarController {
             user.setGraphTokenExpiresAt(null);
             
             userRepository.save(user);
+            calendarSyncService.clearUser(user.getId());
             
-            log.info("Successfully disconnected calendar for user: {}", userEmail);
+            log.info("Successfully disconnected calendar for user: {}", user.getEmail());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -62,6 +62,7 @@ public class CalendarOAuthController {
             User user = userOpt.get();
             user.setGraphAccessToken((String) tokenResponse.get("access_token"));
             user.setGraphRefreshToken((String) tokenResponse.get("refresh_token"));
+            user.setGraphTokenRetryAfter(null);
             
             // Calculate token expiry
             Integer expiresIn = (Integer) tokenResponse.get("expires_in");
@@ -8,14 +8,23 @@ import com.g37.meetingmanager.service.DocumentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
@@ -132,30 +141,26 @@ public class DocumentController {
         }
     }
     
-    // Search documents
+    // Search documents, ranked by relevance when a search term is given
     @GetMapping("/search")
     public ResponseEntity<List<Document>> searchDocuments(
             @RequestParam(required = false) String searchTerm,
             @RequestParam(required = false) Integer meetingId,
             @RequestParam(required = false) DocumentType documentType,
             @RequestParam(required = false) AccessPermission accessPermissions,
-            @RequestParam(required = false) Long uploadedBy) {
+            @RequestParam(required = false) Long uploadedBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         
         try {
-            List<Document> documents;
+            Page<Document> documents = documentService.searchDocumentsWithFilters(
+                meetingId, documentType, accessPermissions, uploadedBy, searchTerm,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 200))
+            );
             
-            if (searchTerm != null || meetingId != null || documentType != null || 
-                accessPermissions != null || uploadedBy != null) {
-                // Use filtered search
-                documents = documentService.searchDocumentsWithFilters(
-                    meetingId, documentType, accessPermissions, uploadedBy, searchTerm
-                );
-            } else {
-                // Return all documents if no filters
-                documents = documentService.findAll();
-            }
-            
-            return ResponseEntity.ok(documents);
+            return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(documents.getTotalElements()))
+                .body(documents.getContent());
             
         } catch (Exception e) {
             logger.error("Error searching documents: {}", e.getMessage(), e);
@@ -208,27 +213,118 @@ public class DocumentController {
     }
     
     // Download document
+    // Streams the content from the storage provider; supports single byte ranges and conditional requests
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadDocument(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadDocument(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            WebRequest webRequest) {
         try {
             Optional<Document> optionalDocument = documentService.findById(id);
-            if (optionalDocument.isPresent()) {
-                Document document = optionalDocument.get();
-                
-                // This would use CloudStorageService to download the actual file
-                // For now, return a redirect to the external URL
+            if (optionalDocument.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Document document = optionalDocument.get();
+            
+            // Linked documents that were never uploaded through us are only reachable at their URL
+            if (document.getExternalFileId() == null) {
                 return ResponseEntity.status(HttpStatus.FOUND)
                     .header(HttpHeaders.LOCATION, document.getExternalUrl())
                     .build();
+            }
+            
+            String etag = downloadEtag(document);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            
+            ResponseEntity.BodyBuilder response;
+            Long size = document.getFileSize();
+            long start = 0;
+            long end = size != null ? size - 1 : Long.MAX_VALUE;
+            
+            boolean rangeApplies = rangeHeader != null && size != null
+                && (ifRange == null || ifRange.equals(etag));
+            List<HttpRange> ranges = rangeApplies ? parseRanges(rangeHeader) : List.of();
+            if (ranges == null) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+            }
+            // Multipart byteranges are not worth their complexity here; several ranges get the whole file
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                try {
+                    start = range.getRangeStart(size);
+                    end = range.getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    start = size;
+                }
+                if (start >= size || start > end) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+                }
+                response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
             } else {
-                return ResponseEntity.notFound().build();
+                response = ResponseEntity.ok();
             }
+            if (size != null) {
+                response.contentLength(end - start + 1);
+            }
+            
+            long from = start;
+            long to = end;
+            StreamingResponseBody body = out -> {
+                try {
+                    documentService.streamDocumentContent(document, from, to, out);
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException("Failed to stream document " + id, e);
+                }
+            };
+            
+            return response
+                .eTag(etag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(document.getMimeType() != null
+                    ? MediaType.parseMediaType(document.getMimeType())
+                    : MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(document.getFileName() != null ? document.getFileName() : "document-" + id,
+                        StandardCharsets.UTF_8)
+                    .build().toString())
+                .body(body);
         } catch (Exception e) {
             logger.error("Error downloading document {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Strong validator for a document's content: it changes whenever the document is re-uploaded
+     */
+    private static String downloadEtag(Document document) {
+        long modified = document.getLastModified() != null
+            ? document.getLastModified().toInstant(ZoneOffset.UTC).toEpochMilli()
+            : 0;
+        return "\"d" + document.getId() + "-" + modified + "-" + document.getFileSize() + "\"";
+    }
+    
+    /**
+     * Ranges of a Range header, or null when the header is malformed or asks for too many ranges
+     */
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
     // Get document statistics
     @GetMapping("/statistics")
     public ResponseEntity<DocumentService.DocumentStatistics> getDocumentStatistics() {
@@ -15,7 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -228,7 +228,25 @@ public class HelpAdminController {
     public ResponseEntity<Map<String, Object>> getPopularSearchTerms(
             @RequestParam(defaultValue = "20") int limit) {
         Map<String, Long> searchTerms = helpService.getPopularSearchTerms(limit);
-        Map<String, Object> response = new HashMap<>(searchTerms);
+        Map<String, Object> response = new LinkedHashMap<>(searchTerms);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Trending terms of a window (HOUR, DAY or MONTH) with decayed scores, not search counts
+     */
+    @GetMapping("/analytics/trending-search-terms")
+    public ResponseEntity<Map<String, Object>> getTrendingSearchTerms(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "MONTH") String window) {
+        try {
+            Map<String, Double> scores = helpService.getTrendingSearchTerms(limit, window);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("window", window.trim().toUpperCase());
+            response.put("scores", scores);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.g37.meetingmanager.dto.HelpFAQDTO;
 import com.g37.meetingmanager.dto.SearchResultDTO;
 import com.g37.meetingmanager.service.HelpService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -78,9 +79,11 @@ public class HelpController {
             return ResponseEntity.badRequest().build();
         }
         
-        Pageable pageable = PageRequest.of(page, size);
-        List<SearchResultDTO> results = helpService.searchContent(query, pageable);
-        return ResponseEntity.ok(results);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100));
+        Page<SearchResultDTO> results = helpService.searchContent(query, pageable);
+        return ResponseEntity.ok()
+            .header("X-Total-Count", String.valueOf(results.getTotalElements()))
+            .body(results.getContent());
     }
 
     @GetMapping("/categories")
@@ -1,14 +1,25 @@
 package com.g37.meetingmanager.controller;
 
 import com.g37.meetingmanager.dto.CreateMeetingRequest;
+import com.g37.meetingmanager.dto.FindTimeRequest;
+import com.g37.meetingmanager.dto.OccurrenceDTO;
 import com.g37.meetingmanager.model.Meeting;
 import com.g37.meetingmanager.model.MeetingParticipant;
 import com.g37.meetingmanager.model.Organization;
+import com.g37.meetingmanager.model.RecurrenceException;
 import com.g37.meetingmanager.model.User;
 import com.g37.meetingmanager.repository.mysql.MeetingRepository;
 import com.g37.meetingmanager.repository.mysql.OrganizationRepository;
 import com.g37.meetingmanager.repository.mysql.UserRepository;
 import com.g37.meetingmanager.service.CalendarIntegrationService;
+import com.g37.meetingmanager.service.CalendarOutboxService;
+import com.g37.meetingmanager.service.FindTimeService;
+import com.g37.meetingmanager.service.RecurrenceService;
+import com.g37.meetingmanager.service.RoomBookingService;
+import com.g37.meetingmanager.util.RecurrenceRule;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,13 +29,16 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +56,18 @@ public class MeetingController {
     @Autowired
     private CalendarIntegrationService calendarIntegrationService;
 
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Autowired
+    private CalendarOutboxService calendarOutboxService;
+
+    @Autowired
+    private RoomBookingService roomBookingService;
+
+    @Autowired
+    private FindTimeService findTimeService;
+
     public MeetingController(MeetingRepository meetingRepository, 
                            UserRepository userRepository,
                            OrganizationRepository organizationRepository) {
@@ -68,6 +94,10 @@ public class MeetingController {
     public ResponseEntity<Meeting> createMeeting(@RequestBody CreateMeetingRequest request,
                                                @RequestHeader(value = "Authorization", required = false) String authHeader) {
         try {
+            if (request.getRecurrencePattern() != null && !request.getRecurrencePattern().isBlank()) {
+                RecurrenceRule.parse(request.getRecurrencePattern());
+            }
+
             // Create a new meeting from the request
             Meeting meeting = new Meeting();
             meeting.setTitle(request.getTitle() != null ? request.getTitle() : "New Meeting");
@@ -83,6 +113,8 @@ public class MeetingController {
             meeting.setPriority(request.getPriority() != null ? 
                 request.getPriority() : Meeting.Priority.MEDIUM);
             meeting.setIsRecurring(Boolean.TRUE.equals(request.getIsRecurring()));
+            meeting.setRecurrencePattern(request.getRecurrencePattern());
+            meeting.setRecurrenceEndDate(request.getRecurrenceEndDate());
             meeting.setIsPublic(Boolean.TRUE.equals(request.getIsPublic()));
             meeting.setRequiresApproval(Boolean.TRUE.equals(request.getRequiresApproval()));
             meeting.setAllowRecording(request.getAllowRecording() == null || Boolean.TRUE.equals(request.getAllowRecording()));
@@ -110,26 +142,22 @@ public class MeetingController {
             Meeting savedMeeting = meetingRepository.save(meeting);
             logger.info("Meeting saved to database: {}", savedMeeting.getTitle());
             
-            // Attempt to create Outlook calendar event using the organizer's Graph token
-            User organizer = savedMeeting.getOrganizer();
-            if (organizer != null && organizer.getGraphAccessToken() != null) {
-                boolean calendarEventCreated = calendarIntegrationService.createOutlookCalendarEvent(
-                    savedMeeting, 
-                    organizer.getGraphAccessToken()
-                );
-                
-                if (calendarEventCreated) {
-                    logger.info("Successfully created Outlook calendar event for meeting: {}", savedMeeting.getTitle());
-                } else {
-                    logger.warn("Failed to create Outlook calendar event for meeting: {}", savedMeeting.getTitle());
-                }
-            } else {
-                logger.info("No Microsoft Graph access token available for organizer. Meeting created locally only: {}", savedMeeting.getTitle());
+            if (request.getMeetingRoomId() != null && !roomBookingService.book(savedMeeting, request.getMeetingRoomId())) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
             }
             
+            // Pushed to the organizer's Outlook calendar by the outbox worker after commit
+            calendarOutboxService.enqueueUpsert(savedMeeting);
+            
             return ResponseEntity.status(HttpStatus.CREATED).body(savedMeeting);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid meeting request: {}", e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error creating meeting", e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -140,6 +168,15 @@ public class MeetingController {
         Optional<Meeting> existingMeeting = meetingRepository.findById(id);
         if (existingMeeting.isPresent()) {
             Meeting meeting = existingMeeting.get();
+
+            if (request.getRecurrencePattern() != null && !request.getRecurrencePattern().isBlank()) {
+                try {
+                    RecurrenceRule.parse(request.getRecurrencePattern());
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Invalid recurrence pattern for meeting {}: {}", id, e.getMessage());
+                    return ResponseEntity.badRequest().build();
+                }
+            }
             
             // Update fields
             if (request.getTitle() != null) {
@@ -175,6 +212,12 @@ public class MeetingController {
             if (request.getIsRecurring() != null) {
                 meeting.setIsRecurring(request.getIsRecurring());
             }
+            if (request.getRecurrencePattern() != null) {
+                meeting.setRecurrencePattern(request.getRecurrencePattern());
+            }
+            if (request.getRecurrenceEndDate() != null) {
+                meeting.setRecurrenceEndDate(request.getRecurrenceEndDate());
+            }
             if (request.getIsPublic() != null) {
                 meeting.setIsPublic(request.getIsPublic());
             }
@@ -207,7 +250,25 @@ public class MeetingController {
                 }
             }
             
+            // Re-book the room when it or the meeting's time or status changed
+            Long roomId = request.getMeetingRoomId() != null ? request.getMeetingRoomId()
+                : meeting.getMeetingRoom() != null ? meeting.getMeetingRoom().getId() : null;
+            if (roomId != null && (request.getMeetingRoomId() != null || request.getStartTime() != null
+                    || request.getEndTime() != null || request.getStatus() != null)) {
+                try {
+                    if (!roomBookingService.book(meeting, roomId)) {
+                        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                    }
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Invalid room booking for meeting {}: {}", id, e.getMessage());
+                    TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                    return ResponseEntity.badRequest().build();
+                }
+            }
+            
             Meeting updatedMeeting = meetingRepository.save(meeting);
+            calendarOutboxService.enqueueUpsert(updatedMeeting);
             return ResponseEntity.ok(updatedMeeting);
         }
         return ResponseEntity.notFound().build();
@@ -216,13 +277,120 @@ public class MeetingController {
     @DeleteMapping("/{id}")
     @Transactional
     public ResponseEntity<Void> deleteMeeting(@PathVariable Long id) {
-        if (meetingRepository.existsById(id)) {
+        Optional<Meeting> meeting = meetingRepository.findById(id);
+        if (meeting.isPresent()) {
+            calendarOutboxService.enqueueDelete(meeting.get());
+            recurrenceService.onSeriesDeleted(RecurrenceException.SeriesType.MEETING, id);
+            roomBookingService.release(id);
             meetingRepository.deleteById(id);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
     
+    /**
+     * One-off meetings and occurrences of recurring meetings starting in [from, to), in start order.
+     * Recurring meetings are expanded on the fly; no occurrence rows are stored.
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<Page<OccurrenceDTO>> getOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(recurrenceService.findMeetingOccurrences(organizationId, from, to,
+                PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid occurrence query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error expanding meeting occurrences", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Candidate times for a meeting with the given participants, best first. Defaults to a 30-minute
+     * meeting within working hours over the next two weeks.
+     */
+    @PostMapping("/find-time")
+    public ResponseEntity<List<FindTimeService.CandidateSlot>> findTime(@RequestBody FindTimeRequest request) {
+        try {
+            LocalDateTime from = request.getFrom() != null ? request.getFrom() : LocalDateTime.now();
+            LocalDateTime to = request.getTo() != null ? request.getTo() : from.plusDays(14);
+            int durationMinutes = request.getDurationMinutes() != null ? request.getDurationMinutes() : 30;
+            int maxResults = request.getMaxResults() != null ? Math.max(1, Math.min(request.getMaxResults(), 50)) : 10;
+            return ResponseEntity.ok(findTimeService.findTimes(request.getUserIds(), request.getEmails(),
+                Duration.ofMinutes(durationMinutes), from, to,
+                request.getWorkingHoursOnly() == null || request.getWorkingHoursOnly(), maxResults));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid find-time request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error finding meeting times", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Occurrences of one meeting starting in [from, to)
+     */
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<List<OccurrenceDTO>> getMeetingOccurrences(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return recurrenceService.getMeetingOccurrences(id, from, to)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid occurrence query for meeting {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error expanding occurrences of meeting {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Cancel or override one occurrence of a recurring meeting, identified by its originalStart
+     */
+    @PutMapping("/{id}/occurrences")
+    public ResponseEntity<RecurrenceException> saveOccurrenceException(@PathVariable Long id,
+                                                                       @RequestBody RecurrenceException exception) {
+        try {
+            return recurrenceService.saveException(RecurrenceException.SeriesType.MEETING, id, exception)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid occurrence exception for meeting {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error saving occurrence exception for meeting {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Restore one occurrence of a recurring meeting to what its recurrence rule produces
+     */
+    @DeleteMapping("/{id}/occurrences")
+    public ResponseEntity<Void> deleteOccurrenceException(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime originalStart) {
+        try {
+            return recurrenceService.deleteException(RecurrenceException.SeriesType.MEETING, id, originalStart)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error deleting occurrence exception for meeting {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get the OAuth authorization URL for Microsoft Graph calendar access
      */
@@ -238,13 +406,26 @@ public class MeetingController {
     }
 
     /**
-     * Create an Outlook calendar event for a meeting via Microsoft Graph API
-     * This endpoint creates the meeting in Outlook for the authenticated user
+     * Queue the Outlook calendar event of a saved meeting for the authenticated user's calendar.
+     * The event is created by the calendar outbox worker, not inline.
      */
     @PostMapping("/create-outlook-event")
-    public ResponseEntity<?> createOutlookEvent(@RequestBody Meeting meeting) {
+    @Transactional
+    public ResponseEntity<?> createOutlookEvent(@RequestBody Meeting request) {
         try {
-            logger.info("Creating Outlook event for meeting: {}", meeting.getTitle());
+            if (request.getId() == null) {
+                return ResponseEntity.badRequest()
+                    .body(java.util.Map.of(
+                        "error", "Meeting not saved",
+                        "message", "Save the meeting before adding it to Outlook"
+                    ));
+            }
+            Optional<Meeting> meetingOpt = meetingRepository.findByIdWithOrganizationAndOrganizer(request.getId());
+            if (meetingOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Meeting meeting = meetingOpt.get();
+            logger.info("Queueing Outlook event for meeting: {}", meeting.getId());
 
             // Get the user who will create the event (organizer)
             User organizer = meeting.getOrganizer();
@@ -262,9 +443,11 @@ public class MeetingController {
                     ));
             }
 
-            // Check if token is expired
-            if (organizer.getGraphTokenExpiresAt() != null &&
-                organizer.getGraphTokenExpiresAt().isBefore(LocalDateTime.now())) {
+            // An expired token is refreshed by the outbox worker's retries, so only a missing
+            // refresh token stops the event from being queued
+            if (organizer.getGraphTokenExpiresAt() != null
+                    && organizer.getGraphTokenExpiresAt().isBefore(LocalDateTime.now())
+                    && organizer.getGraphRefreshToken() == null) {
                 logger.warn("Microsoft Graph token expired for user {}", organizer.getEmail());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(java.util.Map.of(
@@ -273,29 +456,16 @@ public class MeetingController {
                     ));
             }
 
-            // Create the calendar event using CalendarIntegrationService
-            boolean eventCreated = calendarIntegrationService.createOutlookCalendarEvent(
-                meeting,
-                organizer.getGraphAccessToken()
-            );
-
-            if (eventCreated) {
-                logger.info("Successfully created Outlook event for meeting: {}", meeting.getTitle());
-                return ResponseEntity.ok(java.util.Map.of(
-                    "success", true,
-                    "message", "Calendar event created successfully"
-                ));
-            } else {
-                logger.error("Failed to create Outlook event for meeting: {}", meeting.getTitle());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(java.util.Map.of(
-                        "error", "Failed to create event",
-                        "message", "Could not create calendar event in Outlook"
-                    ));
-            }
+            calendarOutboxService.enqueueUpsert(meeting);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(java.util.Map.of(
+                "success", true,
+                "message", "Calendar event queued",
+                "outlookSyncStatus", String.valueOf(meeting.getOutlookSyncStatus())
+            ));
 
         } catch (RuntimeException e) {
-            logger.error("Error creating Outlook event", e);
+            logger.error("Error queueing Outlook event", e);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(java.util.Map.of(
                     "error", "Internal server error",
@@ -0,0 +1,74 @@
+package com.g37.meetingmanager.controller;
+
+import com.g37.meetingmanager.dto.MeetingRoomDTO;
+import com.g37.meetingmanager.service.RoomBookingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Meeting room availability over the in-memory booking index
+ */
+@RestController
+@RequestMapping("/api/rooms")
+@CrossOrigin(origins = "*")
+public class MeetingRoomController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeetingRoomController.class);
+
+    @Autowired
+    private RoomBookingService roomBookingService;
+
+    /**
+     * Active rooms free for all of [start, end) that seat at least minCapacity
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<MeetingRoomDTO>> getAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "1") int minCapacity,
+            @RequestParam(defaultValue = "false") boolean videoConferencing,
+            @RequestParam(required = false) Long organizationId) {
+        try {
+            return ResponseEntity.ok(roomBookingService
+                .findFreeRooms(organizationId, start, end, minCapacity, videoConferencing).stream()
+                .map(MeetingRoomDTO::from)
+                .toList());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid room availability request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching available rooms", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Earliest free interval of the given length in a room, starting at or after from (default now)
+     */
+    @GetMapping("/{id}/next-free-slot")
+    public ResponseEntity<RoomBookingService.FreeSlot> getNextFreeSlot(
+            @PathVariable Long id,
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        try {
+            RoomBookingService.FreeSlot slot = roomBookingService.findNextFreeSlot(
+                id, from != null ? from : LocalDateTime.now(), Duration.ofMinutes(durationMinutes));
+            return slot != null ? ResponseEntity.ok(slot) : ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid next free slot request for room {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error finding next free slot for room {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.g37.meetingmanager.controller;
+
+import com.g37.meetingmanager.dto.SearchHitDTO;
+import com.g37.meetingmanager.dto.TypeaheadSuggestionDTO;
+import com.g37.meetingmanager.service.SearchIndexService;
+import com.g37.meetingmanager.service.TypeaheadService;
+import com.g37.meetingmanager.util.AuthenticatedUser;
+import com.g37.meetingmanager.util.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Full-text search across meetings, transcript segments, action items and pending actions,
+ * plus typeahead suggestions. Every search runs in the signed-in user's organization, taken from
+ * the bearer token; requests without one are refused.
+ */
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    @Autowired(required = false)
+    private SearchIndexService searchIndexService;
+
+    @Autowired(required = false)
+    private TypeaheadService typeaheadService;
+
+    /**
+     * Search within the user's organization
+     *
+     * @param q Query text; supports "phrases", +required, -excluded and prefix*
+     * @param types Optional entry types (MEETING, TRANSCRIPT_SEGMENT, ACTION_ITEM, PENDING_ACTION)
+     */
+    @GetMapping
+    public ResponseEntity<Page<SearchHitDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (searchIndexService == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Long organizationId = currentOrganizationId();
+        if (organizationId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            Set<SearchIndexService.EntryType> entryTypes = EnumSet.noneOf(SearchIndexService.EntryType.class);
+            if (types != null) {
+                for (String type : types) {
+                    entryTypes.add(SearchIndexService.EntryType.valueOf(type.trim().toUpperCase()));
+                }
+            }
+
+            Page<SearchHitDTO> results = searchIndexService.search(
+                organizationId, q, entryTypes, PageRequest.of(page, Math.min(size, 100)));
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching for '{}' in organization {}", q, organizationId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Search transcript segments within the user's organization; hits carry speaker, timestamp and a playback link
+     *
+     * @param q Query text; supports "phrases", +required, -excluded and prefix*
+     * @param meetingId Optional meeting to restrict the search to
+     */
+    @GetMapping("/transcripts")
+    public ResponseEntity<Page<SearchHitDTO>> searchTranscripts(
+            @RequestParam String q,
+            @RequestParam(required = false) Long meetingId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (searchIndexService == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Long organizationId = currentOrganizationId();
+        if (organizationId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            Page<SearchHitDTO> results = searchIndexService.searchTranscripts(
+                organizationId, q, meetingId, PageRequest.of(page, Math.min(size, 100)));
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error searching transcripts for '{}' in organization {}", q, organizationId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Autocomplete meeting titles, participants, users and help article titles
+     *
+     * @param q Prefix typed so far; matches the start of any word or email
+     * @param types Optional suggestion types (MEETING, PARTICIPANT, USER, HELP_ARTICLE)
+     * @param limit Maximum suggestions per type
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TypeaheadSuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "5") int limit) {
+
+        if (typeaheadService == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Long organizationId = currentOrganizationId();
+        if (organizationId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            Set<TypeaheadService.SuggestionType> suggestionTypes = EnumSet.noneOf(TypeaheadService.SuggestionType.class);
+            if (types != null) {
+                for (String type : types) {
+                    suggestionTypes.add(TypeaheadService.SuggestionType.valueOf(type.trim().toUpperCase()));
+                }
+            }
+            return ResponseEntity.ok(typeaheadService.suggest(organizationId, q, suggestionTypes, Math.min(limit, 20)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error suggesting for '{}' in organization {}", q, organizationId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rebuild the search index from the databases in the background; admins only (see SecurityConfig)
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<Void> reindex() {
+        if (searchIndexService == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (!searchIndexService.rebuildAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private static Long currentOrganizationId() {
+        AuthenticatedUser user = SecurityUtils.getCurrentUser();
+        return user != null ? user.getOrganizationId() : null;
+    }
+}
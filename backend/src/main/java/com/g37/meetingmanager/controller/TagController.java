@@ -0,0 +1,89 @@
+package com.g37.meetingmanager.controller;
+
+import com.g37.meetingmanager.dto.TagFacetDTO;
+import com.g37.meetingmanager.model.TaggedEntityType;
+import com.g37.meetingmanager.service.TagService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Tag facets and multi-tag lookups over the shared tag index
+ */
+@RestController
+@RequestMapping("/api/tags")
+@CrossOrigin(origins = "*")
+public class TagController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagController.class);
+
+    @Autowired
+    private TagService tagService;
+
+    /**
+     * Most used tags with entity counts
+     *
+     * @param organizationId Organization to count in; omit for content shared by all organizations
+     * @param entityType Optional entity type (ACTION_ITEM, DOCUMENT, DOCUMENT_KEYWORD, HELP_ARTICLE, HELP_FAQ, PENDING_ACTION)
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<List<TagFacetDTO>> getFacets(
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            TaggedEntityType type = entityType != null ? TaggedEntityType.valueOf(entityType.trim().toUpperCase()) : null;
+            return ResponseEntity.ok(tagService.getFacets(type, organizationId, Math.min(Math.max(limit, 1), 100)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error counting tags for organization {}", organizationId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Ids of entities carrying any or all of the given tags, newest first
+     *
+     * @param match ANY (default) or ALL
+     */
+    @GetMapping("/{entityType}/ids")
+    public ResponseEntity<Page<Long>> findEntityIds(
+            @PathVariable String entityType,
+            @RequestParam List<String> tags,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(defaultValue = "ANY") String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            TaggedEntityType type = TaggedEntityType.valueOf(entityType.trim().toUpperCase());
+            boolean matchAll = "ALL".equalsIgnoreCase(match);
+            if (!matchAll && !"ANY".equalsIgnoreCase(match)) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(tagService.findEntityIds(type, organizationId, tags, matchAll,
+                PageRequest.of(page, Math.min(size, 200))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error finding {} by tags {}", entityType, tags, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rebuild the tag index from the entities' own tags in the background
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<Void> reindex() {
+        tagService.rebuildAsync();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.g37.meetingmanager.dto;
+
+import com.g37.meetingmanager.model.ActionItem;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a page of action items and the facet counts of the filter panel.
+ * Facets are keyed by dimension (status, priority, assignee, type, dueBucket), then by value.
+ */
+public class ActionItemFacetedResultDTO {
+
+    private Page<ActionItem> results;
+    private Map<String, Map<String, Long>> facets;
+
+    // Default constructor
+    public ActionItemFacetedResultDTO() {}
+
+    public ActionItemFacetedResultDTO(Page<ActionItem> results, Map<String, Map<String, Long>> facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public Page<ActionItem> getResults() { return results; }
+    public void setResults(Page<ActionItem> results) { this.results = results; }
+
+    public Map<String, Map<String, Long>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Long>> facets) { this.facets = facets; }
+}
@@ -0,0 +1,68 @@
+package com.g37.meetingmanager.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one node of an action item subtask tree
+ */
+public class ActionItemTreeNodeDTO {
+
+    private Long id;
+    private Long parentId;
+    private int depth; // 0 for the requested root
+    private String title;
+    private String status;
+    private String priority;
+    private boolean completed;
+    private LocalDateTime dueDate;
+    private Long assigneeId;
+    private int subTaskCount;
+    private int completedSubTaskCount;
+    private int progressPercentage;
+    private List<ActionItemTreeNodeDTO> children = new ArrayList<>();
+
+    // Default constructor
+    public ActionItemTreeNodeDTO() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    public Long getAssigneeId() { return assigneeId; }
+    public void setAssigneeId(Long assigneeId) { this.assigneeId = assigneeId; }
+
+    public int getSubTaskCount() { return subTaskCount; }
+    public void setSubTaskCount(int subTaskCount) { this.subTaskCount = subTaskCount; }
+
+    public int getCompletedSubTaskCount() { return completedSubTaskCount; }
+    public void setCompletedSubTaskCount(int completedSubTaskCount) { this.completedSubTaskCount = completedSubTaskCount; }
+
+    public int getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(int progressPercentage) { this.progressPercentage = progressPercentage; }
+
+    public List<ActionItemTreeNodeDTO> getChildren() { return children; }
+    public void setChildren(List<ActionItemTreeNodeDTO> children) { this.children = children; }
+}
@@ -15,7 +15,10 @@ public class CreateMeetingRequest {
     private Meeting.Priority priority;
     private String location;
     private String meetingLink;
+    private Long meetingRoomId;
     private Boolean isRecurring;
+    private String recurrencePattern; // RRULE, e.g. "FREQ=WEEKLY;BYDAY=MO,WE", or "DAILY", "WEEKLY", ...
+    private LocalDateTime recurrenceEndDate;
     private Boolean isPublic;
     private Boolean requiresApproval;
     private Boolean allowRecording;
@@ -57,8 +60,17 @@ public class CreateMeetingRequest {
     public String getMeetingLink() { return meetingLink; }
     public void setMeetingLink(String meetingLink) { this.meetingLink = meetingLink; }
     
+    public Long getMeetingRoomId() { return meetingRoomId; }
+    public void setMeetingRoomId(Long meetingRoomId) { this.meetingRoomId = meetingRoomId; }
+    
     public Boolean getIsRecurring() { return isRecurring; }
     public void setIsRecurring(Boolean isRecurring) { this.isRecurring = isRecurring; }
+
+    public String getRecurrencePattern() { return recurrencePattern; }
+    public void setRecurrencePattern(String recurrencePattern) { this.recurrencePattern = recurrencePattern; }
+
+    public LocalDateTime getRecurrenceEndDate() { return recurrenceEndDate; }
+    public void setRecurrenceEndDate(LocalDateTime recurrenceEndDate) { this.recurrenceEndDate = recurrenceEndDate; }
     
     public Boolean getIsPublic() { return isPublic; }
     public void setIsPublic(Boolean isPublic) { this.isPublic = isPublic; }
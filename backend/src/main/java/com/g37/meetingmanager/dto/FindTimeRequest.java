@@ -0,0 +1,42 @@
+package com.g37.meetingmanager.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request for candidate meeting times that suit a set of participants
+ */
+public class FindTimeRequest {
+    private List<Long> userIds;
+    private List<String> emails;
+    private Integer durationMinutes;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Boolean workingHoursOnly;
+    private Integer maxResults;
+    
+    // Default constructor
+    public FindTimeRequest() {}
+    
+    // Getters and setters
+    public List<Long> getUserIds() { return userIds; }
+    public void setUserIds(List<Long> userIds) { this.userIds = userIds; }
+    
+    public List<String> getEmails() { return emails; }
+    public void setEmails(List<String> emails) { this.emails = emails; }
+    
+    public Integer getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(Integer durationMinutes) { this.durationMinutes = durationMinutes; }
+    
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+    
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+    
+    public Boolean getWorkingHoursOnly() { return workingHoursOnly; }
+    public void setWorkingHoursOnly(Boolean workingHoursOnly) { this.workingHoursOnly = workingHoursOnly; }
+    
+    public Integer getMaxResults() { return maxResults; }
+    public void setMaxResults(Integer maxResults) { this.maxResults = maxResults; }
+}
@@ -0,0 +1,64 @@
+package com.g37.meetingmanager.dto;
+
+import com.g37.meetingmanager.model.MeetingRoom;
+
+/**
+ * Data Transfer Object for a meeting room returned by availability searches
+ */
+public class MeetingRoomDTO {
+
+    private Long id;
+    private String name;
+    private String location;
+    private Integer capacity;
+    private Boolean hasProjector;
+    private Boolean hasWhiteboard;
+    private Boolean hasVideoConferencing;
+    private Boolean isAccessible;
+    private String timeZone;
+
+    // Default constructor
+    public MeetingRoomDTO() {}
+
+    public static MeetingRoomDTO from(MeetingRoom room) {
+        MeetingRoomDTO dto = new MeetingRoomDTO();
+        dto.id = room.getId();
+        dto.name = room.getName();
+        dto.location = room.getLocation();
+        dto.capacity = room.getCapacity();
+        dto.hasProjector = room.getHasProjector();
+        dto.hasWhiteboard = room.getHasWhiteboard();
+        dto.hasVideoConferencing = room.getHasVideoConferencing();
+        dto.isAccessible = room.getIsAccessible();
+        dto.timeZone = room.getTimeZone();
+        return dto;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
+    public Boolean getHasProjector() { return hasProjector; }
+    public void setHasProjector(Boolean hasProjector) { this.hasProjector = hasProjector; }
+
+    public Boolean getHasWhiteboard() { return hasWhiteboard; }
+    public void setHasWhiteboard(Boolean hasWhiteboard) { this.hasWhiteboard = hasWhiteboard; }
+
+    public Boolean getHasVideoConferencing() { return hasVideoConferencing; }
+    public void setHasVideoConferencing(Boolean hasVideoConferencing) { this.hasVideoConferencing = hasVideoConferencing; }
+
+    public Boolean getIsAccessible() { return isAccessible; }
+    public void setIsAccessible(Boolean isAccessible) { this.isAccessible = isAccessible; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+}
@@ -0,0 +1,72 @@
+package com.g37.meetingmanager.dto;
+
+import com.g37.meetingmanager.model.RecurrenceException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for one occurrence of a meeting or action item, either a stored one-off
+ * or a virtual occurrence expanded from a recurring series
+ */
+public class OccurrenceDTO {
+
+    private RecurrenceException.SeriesType seriesType;
+    private Long seriesId;
+    private LocalDateTime originalStart;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private String title;
+    private String location;
+    private String status;
+    private boolean recurring;
+    private boolean overridden;
+
+    // Default constructor
+    public OccurrenceDTO() {}
+
+    public OccurrenceDTO(RecurrenceException.SeriesType seriesType, Long seriesId, LocalDateTime originalStart,
+                         LocalDateTime start, LocalDateTime end, String title, String location, String status,
+                         boolean recurring, boolean overridden) {
+        this.seriesType = seriesType;
+        this.seriesId = seriesId;
+        this.originalStart = originalStart;
+        this.start = start;
+        this.end = end;
+        this.title = title;
+        this.location = location;
+        this.status = status;
+        this.recurring = recurring;
+        this.overridden = overridden;
+    }
+
+    // Getters and Setters
+    public RecurrenceException.SeriesType getSeriesType() { return seriesType; }
+    public void setSeriesType(RecurrenceException.SeriesType seriesType) { this.seriesType = seriesType; }
+
+    public Long getSeriesId() { return seriesId; }
+    public void setSeriesId(Long seriesId) { this.seriesId = seriesId; }
+
+    public LocalDateTime getOriginalStart() { return originalStart; }
+    public void setOriginalStart(LocalDateTime originalStart) { this.originalStart = originalStart; }
+
+    public LocalDateTime getStart() { return start; }
+    public void setStart(LocalDateTime start) { this.start = start; }
+
+    public LocalDateTime getEnd() { return end; }
+    public void setEnd(LocalDateTime end) { this.end = end; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public boolean isRecurring() { return recurring; }
+    public void setRecurring(boolean recurring) { this.recurring = recurring; }
+
+    public boolean isOverridden() { return overridden; }
+    public void setOverridden(boolean overridden) { this.overridden = overridden; }
+}
@@ -0,0 +1,68 @@
+package com.g37.meetingmanager.dto;
+
+/**
+ * Data Transfer Object for a single hit from the embedded full-text search index
+ */
+public class SearchHitDTO {
+
+    private String type; // MEETING, TRANSCRIPT_SEGMENT, ACTION_ITEM or PENDING_ACTION
+    private String id; // String because pending actions use MongoDB ObjectIds
+    private Long meetingId;
+    private String title;
+    private String snippet; // Highlighted fragment, matches wrapped in <mark></mark>
+    private String speaker;
+    private Integer timestampSeconds;
+    private String playbackUrl; // Recording link starting at timestampSeconds, for transcript segments
+    private Float score;
+
+    // Default constructor
+    public SearchHitDTO() {}
+
+    public SearchHitDTO(String type, String id, Long meetingId, String title, String snippet, Float score) {
+        this.type = type;
+        this.id = id;
+        this.meetingId = meetingId;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getMeetingId() { return meetingId; }
+    public void setMeetingId(Long meetingId) { this.meetingId = meetingId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getSnippet() { return snippet; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+
+    public String getSpeaker() { return speaker; }
+    public void setSpeaker(String speaker) { this.speaker = speaker; }
+
+    public Integer getTimestampSeconds() { return timestampSeconds; }
+    public void setTimestampSeconds(Integer timestampSeconds) { this.timestampSeconds = timestampSeconds; }
+
+    public String getPlaybackUrl() { return playbackUrl; }
+    public void setPlaybackUrl(String playbackUrl) { this.playbackUrl = playbackUrl; }
+
+    public Float getScore() { return score; }
+    public void setScore(Float score) { this.score = score; }
+
+    @Override
+    public String toString() {
+        return "SearchHitDTO{" +
+                "type='" + type + '\'' +
+                ", id='" + id + '\'' +
+                ", meetingId=" + meetingId +
+                ", title='" + title + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,25 @@
+package com.g37.meetingmanager.dto;
+
+/**
+ * Data Transfer Object for a tag and the number of entities carrying it
+ */
+public class TagFacetDTO {
+
+    private String name;
+    private long count;
+
+    // Default constructor
+    public TagFacetDTO() {}
+
+    public TagFacetDTO(String name, long count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,50 @@
+package com.g37.meetingmanager.dto;
+
+/**
+ * Data Transfer Object for a single typeahead suggestion
+ */
+public class TypeaheadSuggestionDTO {
+
+    private String type; // MEETING, PARTICIPANT, USER or HELP_ARTICLE
+    private String id; // Participants are keyed by email since one person appears in many meetings
+    private String text;
+    private String secondaryText; // Email for people
+    private long weight; // Higher ranks first: recency for meetings, meeting count for participants, views for help
+
+    // Default constructor
+    public TypeaheadSuggestionDTO() {}
+
+    public TypeaheadSuggestionDTO(String type, String id, String text, String secondaryText, long weight) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+        this.secondaryText = secondaryText;
+        this.weight = weight;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getSecondaryText() { return secondaryText; }
+    public void setSecondaryText(String secondaryText) { this.secondaryText = secondaryText; }
+
+    public long getWeight() { return weight; }
+    public void setWeight(long weight) { this.weight = weight; }
+
+    @Override
+    public String toString() {
+        return "TypeaheadSuggestionDTO{" +
+                "type='" + type + '\'' +
+                ", id='" + id + '\'' +
+                ", text='" + text + '\'' +
+                ", weight=" + weight +
+                '}';
+    }
+}
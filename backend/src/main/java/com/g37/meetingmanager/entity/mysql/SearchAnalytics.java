@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
  * Entity representing search analytics tracking
  */
 @Entity
-@Table(name = "search_analytics")
+@Table(name = "search_analytics",
+       uniqueConstraints = @UniqueConstraint(name = "unique_search_term", columnNames = "search_term"),
+       indexes = @Index(name = "idx_search_count", columnList = "search_count, last_searched"))
 public class SearchAnalytics {
 
     @Id
@@ -0,0 +1,120 @@
+package com.g37.meetingmanager.entity.mysql;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a checkpointed entry of the in-memory trending search tracker.
+ * Counts are time-decayed as of {@code checkpointedAt}. Each replica writes and restores only
+ * the rows carrying its own replica id.
+ */
+@Entity
+@Table(name = "search_trend_checkpoints", indexes = {
+    @Index(name = "idx_search_trend_window", columnList = "window_name, replica_id")
+})
+public class SearchTrendCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "window_name", nullable = false, length = 20)
+    private String windowName;
+
+    @Column(name = "replica_id", length = 100)
+    private String replicaId;
+
+    @Column(name = "search_term", nullable = false, length = 500)
+    private String searchTerm;
+
+    @Column(name = "decayed_count", nullable = false)
+    private Double decayedCount;
+
+    @Column(name = "error_bound", nullable = false)
+    private Double errorBound;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    // Default constructor
+    public SearchTrendCheckpoint() {
+    }
+
+    public SearchTrendCheckpoint(String windowName, String replicaId, String searchTerm, Double decayedCount,
+                                 Double errorBound, LocalDateTime checkpointedAt) {
+        this.windowName = windowName;
+        this.replicaId = replicaId;
+        this.searchTerm = searchTerm;
+        this.decayedCount = decayedCount;
+        this.errorBound = errorBound;
+        this.checkpointedAt = checkpointedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getWindowName() {
+        return windowName;
+    }
+
+    public void setWindowName(String windowName) {
+        this.windowName = windowName;
+    }
+
+    public String getReplicaId() {
+        return replicaId;
+    }
+
+    public void setReplicaId(String replicaId) {
+        this.replicaId = replicaId;
+    }
+
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+
+    public void setSearchTerm(String searchTerm) {
+        this.searchTerm = searchTerm;
+    }
+
+    public Double getDecayedCount() {
+        return decayedCount;
+    }
+
+    public void setDecayedCount(Double decayedCount) {
+        this.decayedCount = decayedCount;
+    }
+
+    public Double getErrorBound() {
+        return errorBound;
+    }
+
+    public void setErrorBound(Double errorBound) {
+        this.errorBound = errorBound;
+    }
+
+    public LocalDateTime getCheckpointedAt() {
+        return checkpointedAt;
+    }
+
+    public void setCheckpointedAt(LocalDateTime checkpointedAt) {
+        this.checkpointedAt = checkpointedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchTrendCheckpoint{" +
+                "windowName='" + windowName + '\'' +
+                ", replicaId='" + replicaId + '\'' +
+                ", searchTerm='" + searchTerm + '\'' +
+                ", decayedCount=" + decayedCount +
+                ", checkpointedAt=" + checkpointedAt +
+                '}';
+    }
+}
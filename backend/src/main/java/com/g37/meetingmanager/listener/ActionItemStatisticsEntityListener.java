@@ -0,0 +1,33 @@
+package com.g37.meetingmanager.listener;
+
+import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.service.ActionItemStatisticsCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that invalidates cached action item statistics on every action item write.
+ * Like {@link SearchIndexEntityListener}, the cache is resolved lazily through an ObjectProvider.
+ */
+public class ActionItemStatisticsEntityListener {
+
+    @Autowired
+    private ObjectProvider<ActionItemStatisticsCache> statisticsCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(ActionItem actionItem) {
+        ActionItemStatisticsCache cache = statisticsCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(
+            actionItem.getAssignee() != null ? actionItem.getAssignee().getId() : null,
+            actionItem.getLoadedAssigneeId(),
+            actionItem.getOrganization() != null ? actionItem.getOrganization().getId() : null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.g37.meetingmanager.listener;
+
+import com.g37.meetingmanager.model.PendingAction;
+import com.g37.meetingmanager.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * MongoDB lifecycle listener that keeps the search index in sync with pending action writes
+ */
+@Component
+@ConditionalOnProperty(name = "spring.data.mongodb.uri", matchIfMissing = false)
+public class PendingActionIndexListener extends AbstractMongoEventListener<PendingAction> {
+
+    @Autowired(required = false)
+    private SearchIndexService searchIndexService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<PendingAction> event) {
+        if (searchIndexService != null) {
+            searchIndexService.indexPendingAction(event.getSource());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<PendingAction> event) {
+        if (searchIndexService == null) {
+            return;
+        }
+        // Deletes only carry the query filter, so mirror the id- and meeting-based deletes we issue
+        Object id = event.getSource().get("_id");
+        Object meetingId = event.getSource().get("meeting_id");
+        if (id != null) {
+            searchIndexService.removePendingAction(id.toString());
+        } else if (meetingId instanceof Number number) {
+            searchIndexService.removePendingActionsForMeeting(number.longValue());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.g37.meetingmanager.listener;
+
+import com.g37.meetingmanager.service.PermissionCatalog;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that drops the compiled permission catalog on every role or permission row
+ * write. A change to only a role's permission set is a collection update that fires no entity
+ * event, so code editing that set calls PermissionCatalog.invalidate itself. Resolved lazily like
+ * the other entity listeners.
+ */
+public class PermissionCatalogEntityListener {
+
+    @Autowired
+    private ObjectProvider<PermissionCatalog> permissionCatalog;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        PermissionCatalog catalog = permissionCatalog.getIfAvailable();
+        if (catalog != null) {
+            catalog.invalidate();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.g37.meetingmanager.listener;
+
+import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.service.SearchIndexService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that keeps the search index in sync with meeting and action item writes.
+ * Instantiated by Hibernate through Spring's bean container; the index service is resolved lazily
+ * so the listener does not participate in EntityManagerFactory initialization.
+ */
+public class SearchIndexEntityListener {
+
+    @Autowired
+    private ObjectProvider<SearchIndexService> searchIndexService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        SearchIndexService service = searchIndexService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof Meeting meeting) {
+            service.indexMeeting(meeting);
+        } else if (entity instanceof ActionItem actionItem) {
+            service.indexActionItem(actionItem);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        SearchIndexService service = searchIndexService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof Meeting meeting) {
+            service.removeMeeting(meeting.getId());
+        } else if (entity instanceof ActionItem actionItem) {
+            service.removeActionItem(actionItem.getId());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.g37.meetingmanager.listener;
+
+import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.model.Document;
+import com.g37.meetingmanager.model.HelpArticle;
+import com.g37.meetingmanager.model.HelpFAQ;
+import com.g37.meetingmanager.model.TaggedEntityType;
+import com.g37.meetingmanager.service.TagService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+/**
+ * JPA entity listener that keeps tag_links in sync with the tags stored on each entity.
+ * Like {@link SearchIndexEntityListener}, the service is resolved lazily through an ObjectProvider.
+ */
+public class TagEntityListener {
+
+    @Autowired
+    private ObjectProvider<TagService> tagService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        TagService service = tagService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof ActionItem actionItem) {
+            service.onTagsChanged(TaggedEntityType.ACTION_ITEM, actionItem.getId(),
+                actionItem.getOrganization() != null ? actionItem.getOrganization().getId() : null,
+                TagService.parse(actionItem.getTags()));
+        } else if (entity instanceof Document document) {
+            service.onDocumentTagsChanged(document.getId(), document.getMeetingId(),
+                document.getTags(), document.getAiKeywords());
+        } else if (entity instanceof HelpArticle article) {
+            onCollectionSaved(service, TaggedEntityType.HELP_ARTICLE, article.getId(), article.getTags());
+        } else if (entity instanceof HelpFAQ faq) {
+            onCollectionSaved(service, TaggedEntityType.HELP_FAQ, faq.getId(), faq.getTags());
+        }
+    }
+
+    // An uninitialized lazy collection was not touched, and loading it during a flush is unsafe
+    private void onCollectionSaved(TagService service, TaggedEntityType entityType, Long id, List<String> tags) {
+        if (tags == null || Hibernate.isInitialized(tags)) {
+            service.onTagsChanged(entityType, id, null, tags);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        TagService service = tagService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof ActionItem actionItem) {
+            service.onEntityRemoved(TaggedEntityType.ACTION_ITEM, actionItem.getId());
+        } else if (entity instanceof Document document) {
+            service.onEntityRemoved(TaggedEntityType.DOCUMENT, document.getId());
+        } else if (entity instanceof HelpArticle article) {
+            service.onEntityRemoved(TaggedEntityType.HELP_ARTICLE, article.getId());
+        } else if (entity instanceof HelpFAQ faq) {
+            service.onEntityRemoved(TaggedEntityType.HELP_FAQ, faq.getId());
+        }
+    }
+}
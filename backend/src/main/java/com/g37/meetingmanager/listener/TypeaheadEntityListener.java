@@ -0,0 +1,65 @@
+package com.g37.meetingmanager.listener;
+
+import com.g37.meetingmanager.model.HelpArticle;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.MeetingParticipant;
+import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.service.TypeaheadService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that keeps the typeahead indexes in sync with writes to suggestible entities.
+ * Like {@link SearchIndexEntityListener}, the service is resolved lazily through an ObjectProvider.
+ */
+public class TypeaheadEntityListener {
+
+    @Autowired
+    private ObjectProvider<TypeaheadService> typeaheadService;
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        onSave(entity, true);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        onSave(entity, false);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        TypeaheadService service = typeaheadService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof Meeting meeting) {
+            service.onMeetingRemoved(meeting);
+        } else if (entity instanceof MeetingParticipant participant) {
+            service.onParticipantRemoved(participant);
+        } else if (entity instanceof User user) {
+            service.onUserRemoved(user.getOrganization() != null ? user.getOrganization().getId() : null, user.getId());
+        } else if (entity instanceof HelpArticle article) {
+            service.onHelpArticleRemoved(article.getId());
+        }
+    }
+
+    private void onSave(Object entity, boolean created) {
+        TypeaheadService service = typeaheadService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        if (entity instanceof Meeting meeting) {
+            service.onMeetingSaved(meeting);
+        } else if (entity instanceof MeetingParticipant participant) {
+            service.onParticipantSaved(participant, created);
+        } else if (entity instanceof User user) {
+            service.onUserSaved(user);
+        } else if (entity instanceof HelpArticle article) {
+            service.onHelpArticleSaved(article);
+        }
+    }
+}
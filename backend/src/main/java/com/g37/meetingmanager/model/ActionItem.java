@@ -1,7 +1,12 @@
 package com.g37.meetingmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.g37.meetingmanager.listener.ActionItemStatisticsEntityListener;
+import com.g37.meetingmanager.listener.SearchIndexEntityListener;
+import com.g37.meetingmanager.listener.TagEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -17,8 +22,15 @@ import java.util.List;
     @Index(columnList = "priority"),
     @Index(columnList = "dueDate"),
     @Index(columnList = "completed"),
-    @Index(columnList = "meetingId")
+    @Index(columnList = "meetingId"),
+    @Index(columnList = "parentActionItemId"),
+    // Cover the statistics aggregates so they never touch the table rows
+    @Index(name = "idx_action_items_assignee_stats", columnList = "assigneeId, completed, dueDate, status"),
+    @Index(name = "idx_action_items_org_stats", columnList = "organizationId, completed, dueDate, status"),
+    // Covers the faceted search's grouped count, which groups by the leading columns after organizationId
+    @Index(name = "idx_action_items_facets", columnList = "organizationId, status, priority, type, assigneeId, completed, dueDate")
 })
+@EntityListeners({SearchIndexEntityListener.class, ActionItemStatisticsEntityListener.class, TagEntityListener.class})
 public class ActionItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -55,7 +67,7 @@ public class ActionItem {
     private Boolean isRecurring = false;
 
     @Size(max = 50)
-    private String recurringPattern; // "weekly", "monthly", etc.
+    private String recurringPattern; // RRULE such as "FREQ=MONTHLY;BYDAY=-1FR", or "weekly", "monthly", etc.
 
     private Integer estimatedHours;
     private Integer actualHours;
@@ -77,6 +89,16 @@ public class ActionItem {
 
     private LocalDateTime lastReminderSent;
 
+    // Denormalized direct subtask counts, so progress never loads children. Only the atomic
+    // ActionItemRepository.adjustSubTaskCounts writes them; entity updates leave the columns alone
+    @Column(nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer subTaskCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer completedSubTaskCount = 0;
+
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "meeting_id")
@@ -107,7 +129,17 @@ public class ActionItem {
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "subTasks"})
     private ActionItem parentActionItem;
 
+    // Assignee as loaded, so reassignments can invalidate the previous assignee's statistics
+    @Transient
+    @JsonIgnore
+    private Long loadedAssigneeId;
+
     // Lifecycle callbacks
+    @PostLoad
+    protected void onLoad() {
+        loadedAssigneeId = assignee != null ? assignee.getId() : null;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -168,9 +200,14 @@ public class ActionItem {
     }
 
     public int getProgressPercentage() {
-        if (completed) return 100;
-        
-        if (subTasks.isEmpty()) {
+        return progressPercentage(completed, status, subTaskCount, completedSubTaskCount);
+    }
+
+    public static int progressPercentage(Boolean completed, ActionItemStatus status,
+                                         Integer subTaskCount, Integer completedSubTaskCount) {
+        if (Boolean.TRUE.equals(completed)) return 100;
+
+        if (subTaskCount == null || subTaskCount == 0) {
             return switch (status) {
                 case OPEN -> 0;
                 case IN_PROGRESS -> 50;
@@ -179,14 +216,14 @@ public class ActionItem {
                 case CANCELLED -> 0;
             };
         }
-        
+
         // Calculate based on subtasks
-        long completedSubtasks = subTasks.stream().mapToLong(st -> st.completed ? 1 : 0).sum();
-        return (int) ((completedSubtasks * 100) / subTasks.size());
+        int completedSubtasks = completedSubTaskCount != null ? completedSubTaskCount : 0;
+        return (completedSubtasks * 100) / subTaskCount;
     }
 
     public boolean hasSubTasks() {
-        return !subTasks.isEmpty();
+        return subTaskCount != null && subTaskCount > 0;
     }
 
     public void addSubTask(ActionItem subTask) {
@@ -286,6 +323,14 @@ public class ActionItem {
     public LocalDateTime getLastReminderSent() { return lastReminderSent; }
     public void setLastReminderSent(LocalDateTime lastReminderSent) { this.lastReminderSent = lastReminderSent; }
 
+    public Integer getSubTaskCount() { return subTaskCount; }
+    public void setSubTaskCount(Integer subTaskCount) { this.subTaskCount = subTaskCount; }
+
+    public Integer getCompletedSubTaskCount() { return completedSubTaskCount; }
+    public void setCompletedSubTaskCount(Integer completedSubTaskCount) { this.completedSubTaskCount = completedSubTaskCount; }
+
+    public Long getLoadedAssigneeId() { return loadedAssigneeId; }
+
     public Meeting getMeeting() { return meeting; }
     public void setMeeting(Meeting meeting) { this.meeting = meeting; }
 
@@ -0,0 +1,196 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Local copy of an Outlook calendar event, kept current from Microsoft Graph calendarView delta
+ * queries so calendar reads never wait on Graph. Times are UTC.
+ */
+@Entity
+@Table(name = "calendar_events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_calendar_events_user_event",
+                                             columnNames = {"user_id", "graph_event_id"}),
+       indexes = {
+           @Index(name = "idx_calendar_events_user_start", columnList = "user_id, start_time")
+       })
+public class CalendarEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "graph_event_id", nullable = false, length = 255)
+    private String graphEventId;
+
+    @Column(length = 500)
+    private String subject;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private Boolean isAllDay = false;
+
+    @Column(nullable = false)
+    private Boolean isCancelled = false;
+
+    @Column(length = 500)
+    private String location;
+
+    @Column(length = 255)
+    private String organizerEmail;
+
+    // free, tentative, busy, oof, workingElsewhere
+    @Column(length = 32)
+    private String showAs;
+
+    @Column(length = 1000)
+    private String webLink;
+
+    // Set on occurrences and exceptions of recurring events
+    @Column(length = 255)
+    private String seriesMasterId;
+
+    private LocalDateTime lastModified;
+
+    // When a sync last wrote the event
+    @Column(nullable = false)
+    private LocalDateTime syncedAt;
+
+    // Default constructor
+    public CalendarEvent() {
+    }
+
+    public CalendarEvent(Long userId, String graphEventId) {
+        this.userId = userId;
+        this.graphEventId = graphEventId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getGraphEventId() {
+        return graphEventId;
+    }
+
+    public void setGraphEventId(String graphEventId) {
+        this.graphEventId = graphEventId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Boolean getIsAllDay() {
+        return isAllDay;
+    }
+
+    public void setIsAllDay(Boolean isAllDay) {
+        this.isAllDay = isAllDay;
+    }
+
+    public Boolean getIsCancelled() {
+        return isCancelled;
+    }
+
+    public void setIsCancelled(Boolean isCancelled) {
+        this.isCancelled = isCancelled;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getOrganizerEmail() {
+        return organizerEmail;
+    }
+
+    public void setOrganizerEmail(String organizerEmail) {
+        this.organizerEmail = organizerEmail;
+    }
+
+    public String getShowAs() {
+        return showAs;
+    }
+
+    public void setShowAs(String showAs) {
+        this.showAs = showAs;
+    }
+
+    public String getWebLink() {
+        return webLink;
+    }
+
+    public void setWebLink(String webLink) {
+        this.webLink = webLink;
+    }
+
+    public String getSeriesMasterId() {
+        return seriesMasterId;
+    }
+
+    public void setSeriesMasterId(String seriesMasterId) {
+        this.seriesMasterId = seriesMasterId;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public LocalDateTime getSyncedAt() {
+        return syncedAt;
+    }
+
+    public void setSyncedAt(LocalDateTime syncedAt) {
+        this.syncedAt = syncedAt;
+    }
+}
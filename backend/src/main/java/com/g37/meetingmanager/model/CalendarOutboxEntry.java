@@ -0,0 +1,181 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Pending Outlook change for a meeting, written in the same transaction as the meeting itself and
+ * pushed to Microsoft Graph by a background worker. Several entries for one meeting are applied
+ * as a single call using the latest operation.
+ */
+@Entity
+@Table(name = "calendar_sync_outbox",
+       indexes = {
+           @Index(name = "idx_calendar_outbox_due", columnList = "status, next_attempt_at"),
+           @Index(name = "idx_calendar_outbox_claim", columnList = "claim_token"),
+           @Index(name = "idx_calendar_outbox_meeting", columnList = "meeting_id, status")
+       })
+public class CalendarOutboxEntry {
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long meetingId;
+
+    // Whose calendar holds the event
+    @Column(nullable = false)
+    private Long organizerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    // Captured for deletes, as the meeting row is gone by the time the worker runs
+    @Column(length = 255)
+    private String outlookEventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    private LocalDateTime claimedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    // Default constructor
+    public CalendarOutboxEntry() {
+    }
+
+    public CalendarOutboxEntry(Long meetingId, Long organizerId, Operation operation) {
+        this.meetingId = meetingId;
+        this.organizerId = organizerId;
+        this.operation = operation;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getMeetingId() {
+        return meetingId;
+    }
+
+    public void setMeetingId(Long meetingId) {
+        this.meetingId = meetingId;
+    }
+
+    public Long getOrganizerId() {
+        return organizerId;
+    }
+
+    public void setOrganizerId(Long organizerId) {
+        this.organizerId = organizerId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getOutlookEventId() {
+        return outlookEventId;
+    }
+
+    public void setOutlookEventId(String outlookEventId) {
+        this.outlookEventId = outlookEventId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,106 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user Microsoft Graph calendarView delta state. The delta link is bound to the date window
+ * of the initial request, so the window is stored with it and a full resync starts a new one.
+ */
+@Entity
+@Table(name = "calendar_sync_states",
+       uniqueConstraints = @UniqueConstraint(name = "uk_calendar_sync_states_user", columnNames = "user_id"))
+public class CalendarSyncState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(columnDefinition = "TEXT")
+    private String deltaLink;
+
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    private LocalDateTime lastFullSyncAt;
+    private LocalDateTime lastSyncedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Default constructor
+    public CalendarSyncState() {
+    }
+
+    public CalendarSyncState(Long userId) {
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getDeltaLink() {
+        return deltaLink;
+    }
+
+    public void setDeltaLink(String deltaLink) {
+        this.deltaLink = deltaLink;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public LocalDateTime getLastFullSyncAt() {
+        return lastFullSyncAt;
+    }
+
+    public void setLastFullSyncAt(LocalDateTime lastFullSyncAt) {
+        this.lastFullSyncAt = lastFullSyncAt;
+    }
+
+    public LocalDateTime getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -1,5 +1,6 @@
 package com.g37.meetingmanager.model;
 
+import com.g37.meetingmanager.listener.TagEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(TagEntityListener.class)
 @Table(name = "documents")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Document {
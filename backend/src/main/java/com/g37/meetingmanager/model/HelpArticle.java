@@ -1,5 +1,7 @@
 package com.g37.meetingmanager.model;
 
+import com.g37.meetingmanager.listener.TagEntityListener;
+import com.g37.meetingmanager.listener.TypeaheadEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +16,7 @@ import java.util.List;
  * Entity representing a help article in the system
  */
 @Entity
+@EntityListeners({TypeaheadEntityListener.class, TagEntityListener.class})
 @Table(name = "help_articles")
 public class HelpArticle {
     
@@ -1,5 +1,6 @@
 package com.g37.meetingmanager.model;
 
+import com.g37.meetingmanager.listener.TagEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,7 @@ import java.util.List;
  * Entity representing a FAQ (Frequently Asked Question) in the system
  */
 @Entity
+@EntityListeners(TagEntityListener.class)
 @Table(name = "help_faqs")
 public class HelpFAQ {
     
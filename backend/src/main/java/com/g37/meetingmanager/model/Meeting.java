@@ -2,10 +2,13 @@ package com.g37.meetingmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.g37.meetingmanager.listener.SearchIndexEntityListener;
+import com.g37.meetingmanager.listener.TypeaheadEntityListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -32,8 +35,12 @@ import java.util.List;
     @Index(columnList = "status"),
     @Index(columnList = "meetingType"),
     @Index(columnList = "isRecurring"),
-    @Index(columnList = "createdAt")
+    @Index(columnList = "createdAt"),
+    // Range queries over one-off meetings and recurring series
+    @Index(name = "idx_meetings_recurring_start", columnList = "isRecurring, startTime"),
+    @Index(name = "idx_meetings_org_recurring_start", columnList = "organizationId, isRecurring, startTime")
 })
+@EntityListeners({SearchIndexEntityListener.class, TypeaheadEntityListener.class})
 public class Meeting {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -83,7 +90,7 @@ public class Meeting {
     private Boolean isRecurring = false;
 
     @Size(max = 100)
-    private String recurrencePattern; // "DAILY", "WEEKLY", "MONTHLY", etc.
+    private String recurrencePattern; // RRULE such as "FREQ=WEEKLY;BYDAY=MO,WE", or "DAILY", "WEEKLY", "MONTHLY", etc.
 
     private LocalDateTime recurrenceEndDate;
 
@@ -99,10 +106,16 @@ public class Meeting {
     @Size(max = 500)
     private String transcriptUrl;
 
-    // Microsoft Outlook Integration
+    // Microsoft Outlook Integration; written only by the calendar outbox worker through targeted
+    // updates, so saving a meeting loaded earlier cannot overwrite them
     @Size(max = 255)
+    @Column(updatable = false)
     private String outlookEventId; // Microsoft Graph Event ID
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, updatable = false)
+    private OutlookSyncStatus outlookSyncStatus; // null when the meeting is not synced to Outlook
+
     // Fathom Integration Fields
     @Size(max = 100)
     private String fathomRecordingId;
@@ -266,6 +279,12 @@ public class Meeting {
         FATHOM
     }
 
+    public enum OutlookSyncStatus {
+        PENDING,
+        SYNCED,
+        FAILED
+    }
+
     public enum SourceType {
         USER_CREATED,
         AUTOMATED,
@@ -336,6 +355,9 @@ public class Meeting {
     public String getOutlookEventId() { return outlookEventId; }
     public void setOutlookEventId(String outlookEventId) { this.outlookEventId = outlookEventId; }
 
+    public OutlookSyncStatus getOutlookSyncStatus() { return outlookSyncStatus; }
+    public void setOutlookSyncStatus(OutlookSyncStatus outlookSyncStatus) { this.outlookSyncStatus = outlookSyncStatus; }
+
     // Fathom Integration Getters/Setters
     public String getFathomRecordingId() { return fathomRecordingId; }
     public void setFathomRecordingId(String fathomRecordingId) { this.fathomRecordingId = fathomRecordingId; }
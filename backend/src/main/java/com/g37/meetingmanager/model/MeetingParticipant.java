@@ -2,15 +2,18 @@ package com.g37.meetingmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.g37.meetingmanager.listener.TypeaheadEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(TypeaheadEntityListener.class)
 @Table(name = "meeting_participants", indexes = {
     @Index(columnList = "meetingId"),
     @Index(columnList = "userId"),
+    @Index(columnList = "email"),
     @Index(columnList = "participantRole"),
     @Index(columnList = "invitationStatus"),
     @Index(columnList = "attendanceStatus")
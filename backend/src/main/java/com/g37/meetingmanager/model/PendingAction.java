@@ -4,15 +4,18 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "mnm_pending")
+@CompoundIndex(name = "organization_tags", def = "{'organization_id': 1, 'tags': 1}")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PendingAction {
     
@@ -84,7 +87,7 @@ public class PendingAction {
     private String completionNotes;
     
     @Field("tags")
-    private List<String> tags;
+    private List<String> tags; // Normalized like Tag names so the multikey index serves exact matches
     
     @Field("created_at")
     @Indexed
@@ -338,7 +341,20 @@ public class PendingAction {
     public void setCompletionNotes(String completionNotes) { this.completionNotes = completionNotes; }
     
     public List<String> getTags() { return tags; }
-    public void setTags(List<String> tags) { this.tags = tags; }
+    public void setTags(List<String> tags) {
+        if (tags == null) {
+            this.tags = null;
+            return;
+        }
+        List<String> normalized = new ArrayList<>();
+        for (String tag : tags) {
+            String name = Tag.normalize(tag);
+            if (name != null && !normalized.contains(name)) {
+                normalized.add(name);
+            }
+        }
+        this.tags = normalized;
+    }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
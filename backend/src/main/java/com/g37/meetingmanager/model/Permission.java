@@ -1,6 +1,7 @@
 package com.g37.meetingmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.g37.meetingmanager.listener.PermissionCatalogEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@EntityListeners(PermissionCatalogEntityListener.class)
 @Table(name = "permissions", indexes = {
         @Index(columnList = "name", unique = true),
         @Index(columnList = "category")
@@ -31,6 +33,10 @@ public class Permission {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Position in the permission masks carried by JWTs; assigned once by PermissionCatalog
+    @Column(name = "mask_bit", unique = true)
+    private Integer maskBit;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -126,6 +132,14 @@ public class Permission {
         this.isActive = isActive;
     }
 
+    public Integer getMaskBit() {
+        return maskBit;
+    }
+
+    public void setMaskBit(Integer maskBit) {
+        this.maskBit = maskBit;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
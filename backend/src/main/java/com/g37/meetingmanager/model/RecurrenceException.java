@@ -0,0 +1,149 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * Cancellation or override of one occurrence of a recurring meeting or action item.
+ * Occurrences themselves are never stored; they are expanded from the series' recurrence rule.
+ */
+@Entity
+@Table(name = "recurrence_exceptions",
+       uniqueConstraints = @UniqueConstraint(name = "uk_recurrence_exceptions_occurrence",
+                                             columnNames = {"series_type", "series_id", "original_start"}))
+public class RecurrenceException {
+
+    public enum SeriesType {
+        MEETING,
+        ACTION_ITEM
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "series_type", nullable = false, length = 32)
+    private SeriesType seriesType;
+
+    @Column(name = "series_id", nullable = false)
+    private Long seriesId;
+
+    // Start the occurrence would have had under the rule; identifies the occurrence
+    @Column(name = "original_start", nullable = false)
+    private LocalDateTime originalStart;
+
+    @Column(nullable = false)
+    private Boolean cancelled = false;
+
+    // Overrides; null keeps the series value
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @Size(max = 255)
+    private String title;
+
+    @Size(max = 255)
+    private String location;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Default constructor
+    public RecurrenceException() {
+    }
+
+    public RecurrenceException(SeriesType seriesType, Long seriesId, LocalDateTime originalStart) {
+        this.seriesType = seriesType;
+        this.seriesId = seriesId;
+        this.originalStart = originalStart;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SeriesType getSeriesType() {
+        return seriesType;
+    }
+
+    public void setSeriesType(SeriesType seriesType) {
+        this.seriesType = seriesType;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public LocalDateTime getOriginalStart() {
+        return originalStart;
+    }
+
+    public void setOriginalStart(LocalDateTime originalStart) {
+        this.originalStart = originalStart;
+    }
+
+    public Boolean getCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(Boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
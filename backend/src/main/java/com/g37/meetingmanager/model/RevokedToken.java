@@ -0,0 +1,75 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A revoked JWT, kept until the token would have expired anyway. The key is the token's jti, or a
+ * digest of the whole token for tokens issued without one. Rows are shared by every instance, which
+ * is what makes logout hold across replicas.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+       uniqueConstraints = @UniqueConstraint(name = "uk_revoked_tokens_key", columnNames = "token_key"),
+       indexes = {
+           @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+           @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+       })
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_key", nullable = false, length = 64)
+    private String tokenKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    // Default constructor
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenKey, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        this.tokenKey = tokenKey;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenKey() {
+        return tokenKey;
+    }
+
+    public void setTokenKey(String tokenKey) {
+        this.tokenKey = tokenKey;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
@@ -2,6 +2,7 @@ package com.g37.meetingmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.g37.meetingmanager.listener.PermissionCatalogEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@EntityListeners(PermissionCatalogEntityListener.class)
 @Table(name = "roles", indexes = {
         @Index(columnList = "name", unique = true),
         @Index(columnList = "organizationId")
@@ -48,7 +50,8 @@ public class Role {
     @JsonBackReference("user-roles")
     private Set<User> users;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Lazy: authorization reads compiled masks from PermissionCatalog, not this collection
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "permission_id"))
     private Set<Permission> permissions;
 
@@ -0,0 +1,103 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One fixed-length slot of a meeting room touched by a meeting, carrying the booking's exact start
+ * and end. Slots are only a coarse key: the first and last slot of a booking may be shared with the
+ * bookings before and after it, and whether two bookings clash is decided on their exact times.
+ */
+@Entity
+@Table(name = "room_booking_slots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_room_booking_slots_room_slot_meeting",
+                                             columnNames = {"room_id", "slot_start", "meeting_id"}),
+       indexes = {
+           @Index(name = "idx_room_booking_slots_meeting", columnList = "meeting_id")
+       })
+public class RoomBookingSlot {
+
+    // Granularity of the coarse key; a booking has a row for every slot its exact times touch
+    public static final int SLOT_MINUTES = 15;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "meeting_id", nullable = false)
+    private Long meetingId;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @Column(name = "booking_start", nullable = false)
+    private LocalDateTime bookingStart;
+
+    @Column(name = "booking_end", nullable = false)
+    private LocalDateTime bookingEnd;
+
+    // Default constructor
+    public RoomBookingSlot() {
+    }
+
+    public RoomBookingSlot(Long roomId, Long meetingId, LocalDateTime slotStart,
+                           LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        this.roomId = roomId;
+        this.meetingId = meetingId;
+        this.slotStart = slotStart;
+        this.bookingStart = bookingStart;
+        this.bookingEnd = bookingEnd;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public Long getMeetingId() {
+        return meetingId;
+    }
+
+    public void setMeetingId(Long meetingId) {
+        this.meetingId = meetingId;
+    }
+
+    public LocalDateTime getSlotStart() {
+        return slotStart;
+    }
+
+    public void setSlotStart(LocalDateTime slotStart) {
+        this.slotStart = slotStart;
+    }
+
+    public LocalDateTime getBookingStart() {
+        return bookingStart;
+    }
+
+    public void setBookingStart(LocalDateTime bookingStart) {
+        this.bookingStart = bookingStart;
+    }
+
+    public LocalDateTime getBookingEnd() {
+        return bookingEnd;
+    }
+
+    public void setBookingEnd(LocalDateTime bookingEnd) {
+        this.bookingEnd = bookingEnd;
+    }
+}
@@ -0,0 +1,88 @@
+package com.g37.meetingmanager.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Link between a tag and a tagged entity. The source tags stay on each entity; these rows are
+ * the index used for exact-match lookups, multi-tag queries and facet counts.
+ */
+@Entity
+@Table(name = "tag_links",
+       uniqueConstraints = @UniqueConstraint(name = "uk_tag_links_entity_tag",
+                                             columnNames = {"entity_type", "entity_id", "tag_id"}),
+       indexes = {
+           @Index(name = "idx_tag_links_lookup", columnList = "tag_id, entity_type, organization_id, entity_id"),
+           @Index(name = "idx_tag_links_facets", columnList = "entity_type, organization_id, tag_id")
+       })
+public class TagLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tag_id", nullable = false)
+    private Long tagId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private TaggedEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Null for content shared by all organizations, such as help articles
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    // Default constructor
+    public TagLink() {
+    }
+
+    public TagLink(Long tagId, TaggedEntityType entityType, Long entityId, Long organizationId) {
+        this.tagId = tagId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.organizationId = organizationId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+
+    public TaggedEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(TaggedEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.g37.meetingmanager.model;
+
+/**
+ * Kinds of entities that can carry tags in the shared tag dictionary
+ */
+public enum TaggedEntityType {
+    ACTION_ITEM,
+    DOCUMENT,
+    DOCUMENT_KEYWORD, // AI-extracted document keywords, kept apart from user tags
+    HELP_ARTICLE,
+    HELP_FAQ,
+    PENDING_ACTION; // Stored in MongoDB and indexed there (organization_id, tags), not in tag_links
+
+    /**
+     * Help content is shared by every organization; its links carry no organizationId and are
+     * queried without one
+     */
+    public boolean isGlobal() {
+        return this == HELP_ARTICLE || this == HELP_FAQ;
+    }
+}
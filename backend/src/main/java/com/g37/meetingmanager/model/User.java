@@ -3,6 +3,7 @@ package com.g37.meetingmanager.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.g37.meetingmanager.listener.TypeaheadEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@EntityListeners(TypeaheadEntityListener.class)
 @Table(name = "users", indexes = {
         @Index(columnList = "email", unique = true),
         @Index(columnList = "organizationId"),
@@ -100,6 +102,10 @@ public class User {
     @Column(name = "graph_token_expires_at")
     private LocalDateTime graphTokenExpiresAt;
 
+    // Set when a background token refresh fails; the refresh job skips the user until then
+    @Column(name = "graph_token_retry_after")
+    private LocalDateTime graphTokenRetryAfter;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -407,4 +413,12 @@ public class User {
     public void setGraphTokenExpiresAt(LocalDateTime graphTokenExpiresAt) {
         this.graphTokenExpiresAt = graphTokenExpiresAt;
     }
+
+    public LocalDateTime getGraphTokenRetryAfter() {
+        return graphTokenRetryAfter;
+    }
+
+    public void setGraphTokenRetryAfter(LocalDateTime graphTokenRetryAfter) {
+        this.graphTokenRetryAfter = graphTokenRetryAfter;
+    }
 }
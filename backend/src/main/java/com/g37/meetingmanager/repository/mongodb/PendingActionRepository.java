@@ -1,14 +1,17 @@
 package com.g37.meetingmanager.repository.mongodb;
 
+import com.g37.meetingmanager.dto.TagFacetDTO;
 import com.g37.meetingmanager.model.PendingAction;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -136,6 +139,31 @@ public interface PendingActionRepository extends MongoRepository<PendingAction,
      */
     List<PendingAction> findByMeetingObjectIdOrderByCreatedAtDesc(String meetingObjectId);
     
+    /**
+     * Find pending actions of an organization carrying any of the normalized tags
+     */
+    @Query("{'organization_id': ?0, 'tags': {$in: ?1}}")
+    Page<PendingAction> findByOrganizationIdAndAnyTag(Long organizationId, Collection<String> tags, Pageable pageable);
+
+    /**
+     * Find pending actions of an organization carrying all of the normalized tags
+     */
+    @Query("{'organization_id': ?0, 'tags': {$all: ?1}}")
+    Page<PendingAction> findByOrganizationIdAndAllTags(Long organizationId, Collection<String> tags, Pageable pageable);
+
+    /**
+     * Tag facet counts of an organization, most used first
+     */
+    @Aggregation(pipeline = {
+        "{$match: {'organization_id': ?0}}",
+        "{$unwind: '$tags'}",
+        "{$group: {_id: '$tags', count: {$sum: 1}}}",
+        "{$sort: {count: -1, _id: 1}}",
+        "{$limit: ?1}",
+        "{$project: {_id: 0, name: '$_id', count: 1}}"
+    })
+    List<TagFacetDTO> countTagsByOrganization(Long organizationId, int limit);
+
     /**
      * Delete all pending actions for a specific meeting
      */
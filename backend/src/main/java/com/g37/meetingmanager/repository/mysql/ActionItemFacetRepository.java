@@ -0,0 +1,26 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.ActionItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Grouped facet counts and count-free page loads for the faceted action item search
+ */
+public interface ActionItemFacetRepository {
+
+    /**
+     * One row per (status, priority, assigneeId, type) cell of the items matching spec:
+     * [status, priority, assigneeId, type, total, completed, noDueDate, overdue, dueSoon].
+     * Open items with a due date after dueSoonBefore make up the remainder of total.
+     */
+    List<Object[]> countFacetCells(Specification<ActionItem> spec, LocalDateTime now, LocalDateTime dueSoonBefore);
+
+    /**
+     * Content of one page of the items matching spec, without the count query of findAll(spec, pageable)
+     */
+    List<ActionItem> findPageContent(Specification<ActionItem> spec, Pageable pageable);
+}
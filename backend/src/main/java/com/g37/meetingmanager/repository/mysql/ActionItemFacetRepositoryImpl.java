@@ -0,0 +1,85 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.ActionItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Facet counts are computed in a single GROUP BY over the filtered rows; due buckets are summed
+ * per cell instead of grouped on, so no computed expression has to appear in the GROUP BY.
+ */
+public class ActionItemFacetRepositoryImpl implements ActionItemFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> countFacetCells(Specification<ActionItem> spec, LocalDateTime now, LocalDateTime dueSoonBefore) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<ActionItem> root = query.from(ActionItem.class);
+
+        Path<Boolean> completed = root.get("completed");
+        Path<LocalDateTime> dueDate = root.get("dueDate");
+        Predicate open = cb.isFalse(completed);
+
+        Expression<Object> status = root.get("status");
+        Expression<Object> priority = root.get("priority");
+        Expression<Object> assigneeId = root.get("assignee").get("id");
+        Expression<Object> type = root.get("type");
+
+        query.multiselect(
+            status, priority, assigneeId, type,
+            cb.count(root),
+            countWhere(cb, cb.isTrue(completed)),
+            countWhere(cb, cb.and(open, cb.isNull(dueDate))),
+            countWhere(cb, cb.and(open, cb.lessThan(dueDate, now))),
+            countWhere(cb, cb.and(open, cb.greaterThanOrEqualTo(dueDate, now),
+                cb.lessThanOrEqualTo(dueDate, dueSoonBefore))));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(status, priority, assigneeId, type);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<ActionItem> findPageContent(Specification<ActionItem> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ActionItem> query = cb.createQuery(ActionItem.class);
+        Root<ActionItem> root = query.from(ActionItem.class);
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        return entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate predicate) {
+        return cb.sum(cb.<Long>selectCase().when(predicate, 1L).otherwise(0L));
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,8 +13,15 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Statistics over action items are cached (ActionItemStatisticsCache) and evicted by an entity
+ * listener, which @Modifying statements bypass. The only one here, adjustSubTaskCounts, touches
+ * columns the statistics do not read; one that changes completion, status, due date, assignee or
+ * meeting must evict the affected entries itself.
+ */
 @Repository
-public interface ActionItemRepository extends JpaRepository<ActionItem, Long>, JpaSpecificationExecutor<ActionItem> {
+public interface ActionItemRepository extends JpaRepository<ActionItem, Long>, JpaSpecificationExecutor<ActionItem>,
+        ActionItemTreeRepository, ActionItemFacetRepository {
 
     /**
      * Find action items by assignee ID
@@ -93,6 +101,16 @@ public interface ActionItemRepository extends JpaRepository<ActionItem, Long>, J
     @Query("SELECT ai FROM ActionItem ai WHERE ai.parentActionItem IS NOT NULL")
     Page<ActionItem> findSubTaskActionItems(Pageable pageable);
 
+    /**
+     * Add to a parent's subtask counters in one statement, so concurrent subtask changes under the
+     * same parent serialize on its row instead of overwriting each other's recount. The counters are
+     * not read by the statistics queries, so the cache needs no eviction.
+     */
+    @Modifying
+    @Query("UPDATE ActionItem ai SET ai.subTaskCount = ai.subTaskCount + :total, " +
+           "ai.completedSubTaskCount = ai.completedSubTaskCount + :completed WHERE ai.id = :parentId")
+    int adjustSubTaskCounts(@Param("parentId") Long parentId, @Param("total") int total, @Param("completed") int completed);
+
     /**
      * Count action items by status for a specific assignee
      */
@@ -111,6 +129,34 @@ public interface ActionItemRepository extends JpaRepository<ActionItem, Long>, J
     @Query("SELECT COUNT(ai) FROM ActionItem ai WHERE ai.assignee.id = :assigneeId AND ai.completed = false AND ai.dueDate < :now AND ai.dueDate IS NOT NULL")
     long countOverdueByAssigneeId(@Param("assigneeId") Long assigneeId, @Param("now") LocalDateTime now);
 
+    /**
+     * Statistics for an assignee in one pass: total, completed, overdue, due before :soon and in progress
+     */
+    @Query("SELECT COUNT(ai), " +
+           "COALESCE(SUM(CASE WHEN ai.completed = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN ai.completed = false AND ai.dueDate < :now THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN ai.completed = false AND ai.dueDate < :soon THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN ai.status = :inProgress THEN 1 ELSE 0 END), 0) " +
+           "FROM ActionItem ai WHERE ai.assignee.id = :assigneeId")
+    List<Object[]> aggregateStatisticsByAssigneeId(@Param("assigneeId") Long assigneeId,
+                                                   @Param("now") LocalDateTime now,
+                                                   @Param("soon") LocalDateTime soon,
+                                                   @Param("inProgress") ActionItem.ActionItemStatus inProgress);
+
+    /**
+     * Statistics for an organization in one pass, in the same column order as the assignee aggregate
+     */
+    @Query("SELECT COUNT(ai), " +
+           "COALESCE(SUM(CASE WHEN ai.completed = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN ai.completed = false AND ai.dueDate < :now THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN ai.completed = false AND ai.dueDate < :soon THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN ai.status = :inProgress THEN 1 ELSE 0 END), 0) " +
+           "FROM ActionItem ai WHERE ai.organization.id = :organizationId")
+    List<Object[]> aggregateStatisticsByOrganizationId(@Param("organizationId") Long organizationId,
+                                                       @Param("now") LocalDateTime now,
+                                                       @Param("soon") LocalDateTime soon,
+                                                       @Param("inProgress") ActionItem.ActionItemStatus inProgress);
+
     /**
      * Find action items by organization ID
      */
@@ -139,8 +185,25 @@ public interface ActionItemRepository extends JpaRepository<ActionItem, Long>, J
     Page<ActionItem> findByIsRecurring(Boolean isRecurring, Pageable pageable);
 
     /**
-     * Find action items with tags containing specific text
+     * Find action items carrying a tag, by exact match on the normalized name through the tag index
      */
-    @Query("SELECT ai FROM ActionItem ai WHERE LOWER(ai.tags) LIKE LOWER(CONCAT('%', :tag, '%'))")
+    @Query("SELECT ai FROM ActionItem ai WHERE ai.id IN (" +
+           "SELECT l.entityId FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+           "WHERE l.entityType = com.g37.meetingmanager.model.TaggedEntityType.ACTION_ITEM AND t.name = :tag)")
     Page<ActionItem> findActionItemsByTag(@Param("tag") String tag, Pageable pageable);
+
+    /**
+     * [id, organizationId, tags] rows of tagged action items for rebuilding the tag index
+     */
+    @Query("SELECT ai.id, o.id, ai.tags FROM ActionItem ai LEFT JOIN ai.organization o " +
+           "WHERE ai.tags IS NOT NULL ORDER BY ai.id")
+    List<Object[]> findTagRows(Pageable pageable);
+
+    /**
+     * [id, dueDate, startDate, title, status, recurringPattern, updatedAt, isRecurring] row of one action item,
+     * for expanding its recurrence
+     */
+    @Query("SELECT ai.id, ai.dueDate, ai.startDate, ai.title, ai.status, ai.recurringPattern, ai.updatedAt, " +
+           "ai.isRecurring FROM ActionItem ai WHERE ai.id = :id")
+    List<Object[]> findSeriesRowById(@Param("id") Long id);
 }
@@ -0,0 +1,17 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.dto.ActionItemTreeNodeDTO;
+
+import java.util.List;
+
+/**
+ * Loads an action item's descendant hierarchy without walking the lazy subTasks collections
+ */
+public interface ActionItemTreeRepository {
+
+    /**
+     * The root and all its descendants down to maxDepth, flat and ordered by depth then id.
+     * Returns an empty list when the root does not exist.
+     */
+    List<ActionItemTreeNodeDTO> findSubtree(Long rootId, int maxDepth);
+}
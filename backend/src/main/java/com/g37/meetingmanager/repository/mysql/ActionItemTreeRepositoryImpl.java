@@ -0,0 +1,127 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.dto.ActionItemTreeNodeDTO;
+import com.g37.meetingmanager.model.ActionItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Subtree loading with a single recursive CTE (MySQL 8, H2). Databases without WITH RECURSIVE
+ * (MySQL 5.7) fall back to one query per tree level rather than one per node.
+ */
+public class ActionItemTreeRepositoryImpl implements ActionItemTreeRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionItemTreeRepositoryImpl.class);
+
+    // The depth bound also stops the recursion if bad data ever forms a parent cycle
+    private static final String SUBTREE_CTE =
+        "WITH RECURSIVE tree (id, depth) AS (" +
+        " SELECT id, 0 FROM action_items WHERE id = :rootId" +
+        " UNION ALL" +
+        " SELECT c.id, t.depth + 1 FROM action_items c JOIN tree t ON c.parent_action_item_id = t.id" +
+        " WHERE t.depth < :maxDepth" +
+        ") " +
+        "SELECT a.id, a.parent_action_item_id, t.depth, a.title, a.status, a.priority, a.completed, a.due_date, " +
+        "a.assignee_id, a.sub_task_count, a.completed_sub_task_count " +
+        "FROM tree t JOIN action_items a ON a.id = t.id ORDER BY t.depth, a.id";
+
+    private static final String LEVEL_SELECT =
+        "SELECT a.id, a.parentActionItem.id, 0, a.title, a.status, a.priority, a.completed, a.dueDate, " +
+        "a.assignee.id, a.subTaskCount, a.completedSubTaskCount FROM ActionItem a ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean recursiveCteSupported;
+
+    @Override
+    public List<ActionItemTreeNodeDTO> findSubtree(Long rootId, int maxDepth) {
+        if (supportsRecursiveCte()) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = entityManager.createNativeQuery(SUBTREE_CTE)
+                .setParameter("rootId", rootId)
+                .setParameter("maxDepth", maxDepth)
+                .getResultList();
+            List<ActionItemTreeNodeDTO> nodes = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                nodes.add(toNode(row, ((Number) row[2]).intValue()));
+            }
+            return nodes;
+        }
+        return findSubtreeByLevel(rootId, maxDepth);
+    }
+
+    private List<ActionItemTreeNodeDTO> findSubtreeByLevel(Long rootId, int maxDepth) {
+        List<ActionItemTreeNodeDTO> nodes = new ArrayList<>();
+        List<Object[]> level = entityManager.createQuery(LEVEL_SELECT + "WHERE a.id = :id", Object[].class)
+            .setParameter("id", rootId)
+            .getResultList();
+
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            List<Long> parentIds = new ArrayList<>(level.size());
+            for (Object[] row : level) {
+                ActionItemTreeNodeDTO node = toNode(row, depth);
+                nodes.add(node);
+                parentIds.add(node.getId());
+            }
+            if (depth >= maxDepth) {
+                break;
+            }
+            level = entityManager.createQuery(
+                    LEVEL_SELECT + "WHERE a.parentActionItem.id IN :parentIds ORDER BY a.id", Object[].class)
+                .setParameter("parentIds", parentIds)
+                .getResultList();
+        }
+        return nodes;
+    }
+
+    private boolean supportsRecursiveCte() {
+        if (recursiveCteSupported == null) {
+            try {
+                recursiveCteSupported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                    DatabaseMetaData metaData = connection.getMetaData();
+                    String product = metaData.getDatabaseProductName().toLowerCase();
+                    return !product.contains("mysql") || metaData.getDatabaseMajorVersion() >= 8;
+                });
+            } catch (Exception e) {
+                logger.warn("Could not detect recursive CTE support, loading subtask trees level by level: {}", e.getMessage());
+                recursiveCteSupported = false;
+            }
+        }
+        return recursiveCteSupported;
+    }
+
+    // Columns: id, parent id, depth, title, status, priority, completed, due date, assignee id, subtask counts
+    private static ActionItemTreeNodeDTO toNode(Object[] row, int depth) {
+        ActionItemTreeNodeDTO node = new ActionItemTreeNodeDTO();
+        node.setId(((Number) row[0]).longValue());
+        node.setParentId(row[1] != null ? ((Number) row[1]).longValue() : null);
+        node.setDepth(depth);
+        node.setTitle((String) row[3]);
+        node.setStatus(row[4] != null ? row[4].toString() : null);
+        node.setPriority(row[5] != null ? row[5].toString() : null);
+        node.setCompleted(row[6] instanceof Boolean completed ? completed : row[6] != null && ((Number) row[6]).intValue() != 0);
+        node.setDueDate(row[7] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[7]);
+        node.setAssigneeId(row[8] != null ? ((Number) row[8]).longValue() : null);
+        node.setSubTaskCount(row[9] != null ? ((Number) row[9]).intValue() : 0);
+        node.setCompletedSubTaskCount(row[10] != null ? ((Number) row[10]).intValue() : 0);
+        node.setProgressPercentage(ActionItem.progressPercentage(node.isCompleted(),
+            node.getStatus() != null ? ActionItem.ActionItemStatus.valueOf(node.getStatus()) : ActionItem.ActionItemStatus.OPEN,
+            node.getSubTaskCount(), node.getCompletedSubTaskCount()));
+        return node;
+    }
+}
@@ -0,0 +1,53 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.CalendarEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the local Outlook calendar event cache
+ */
+@Repository
+public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
+
+    /**
+     * Events of a user overlapping [from, to), in start order, cancelled events excluded
+     */
+    @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.startTime < :to AND e.endTime > :from " +
+           "AND e.isCancelled = false ORDER BY e.startTime, e.id")
+    List<CalendarEvent> findOverlapping(@Param("userId") Long userId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    /**
+     * [userId, startTime, endTime] of the users' events overlapping [from, to) that block time
+     */
+    @Query("SELECT e.userId, e.startTime, e.endTime FROM CalendarEvent e WHERE e.userId IN :userIds " +
+           "AND e.startTime < :to AND e.endTime > :from AND e.isCancelled = false " +
+           "AND (e.showAs IS NULL OR e.showAs NOT IN :freeStates)")
+    List<Object[]> findBusyRows(@Param("userIds") Collection<Long> userIds,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("freeStates") Collection<String> freeStates);
+
+    List<CalendarEvent> findByUserIdAndGraphEventIdIn(Long userId, Collection<String> graphEventIds);
+
+    @Modifying
+    @Query("DELETE FROM CalendarEvent e WHERE e.userId = :userId AND e.graphEventId IN :graphEventIds")
+    int deleteByUserIdAndGraphEventIds(@Param("userId") Long userId,
+                                       @Param("graphEventIds") Collection<String> graphEventIds);
+
+    @Query("SELECT e.graphEventId FROM CalendarEvent e WHERE e.userId = :userId")
+    List<String> findGraphEventIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM CalendarEvent e WHERE e.userId = :userId")
+    int deleteByUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,72 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.CalendarOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the Outlook calendar sync outbox
+ */
+@Repository
+public interface CalendarOutboxRepository extends JpaRepository<CalendarOutboxEntry, Long> {
+
+    /**
+     * Meetings with entries that are due, or whose claim went stale because a worker died. A meeting
+     * another worker holds a live claim on is left out, so its new entries wait for that worker
+     * instead of racing it to Graph.
+     */
+    @Query("SELECT DISTINCT e.meetingId FROM CalendarOutboxEntry e " +
+           "WHERE ((e.status = :pending AND e.nextAttemptAt <= :now) " +
+           "OR (e.status = :processing AND e.claimedAt < :staleBefore)) " +
+           "AND NOT EXISTS (SELECT l.id FROM CalendarOutboxEntry l WHERE l.meetingId = e.meetingId " +
+           "AND l.status = :processing AND l.claimedAt >= :staleBefore)")
+    List<Long> findDueMeetingIds(@Param("pending") CalendarOutboxEntry.Status pending,
+                                 @Param("processing") CalendarOutboxEntry.Status processing,
+                                 @Param("now") LocalDateTime now,
+                                 @Param("staleBefore") LocalDateTime staleBefore,
+                                 Pageable pageable);
+
+    /**
+     * Lock the open entries of the given meetings and return the meetings among them that another
+     * worker holds a live claim on. Run in the claiming transaction: the lock serializes workers
+     * claiming the same meeting, and the locking read sees claims committed after the meetings were
+     * found. MySQL rejects an UPDATE whose subquery reads the updated table, so claim cannot carry
+     * this check itself.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM CalendarOutboxEntry e WHERE e.meetingId IN :meetingIds AND e.status IN :open")
+    List<CalendarOutboxEntry> lockOpenEntries(@Param("meetingIds") Collection<Long> meetingIds,
+                                              @Param("open") Collection<CalendarOutboxEntry.Status> open);
+
+    /**
+     * Claim every open entry of the given meetings; the token tells this worker's rows apart. Call
+     * with meetings that lockOpenEntries found free, in the same transaction.
+     */
+    @Modifying
+    @Query("UPDATE CalendarOutboxEntry e SET e.status = :processing, e.claimToken = :token, e.claimedAt = :now " +
+           "WHERE e.meetingId IN :meetingIds AND (e.status = :pending OR (e.status = :processing AND e.claimedAt < :staleBefore))")
+    int claim(@Param("meetingIds") Collection<Long> meetingIds,
+              @Param("token") String token,
+              @Param("pending") CalendarOutboxEntry.Status pending,
+              @Param("processing") CalendarOutboxEntry.Status processing,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    List<CalendarOutboxEntry> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    @Modifying
+    @Query("DELETE FROM CalendarOutboxEntry e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(CalendarOutboxEntry.Status status);
+}
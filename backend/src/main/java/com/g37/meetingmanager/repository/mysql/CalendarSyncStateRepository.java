@@ -0,0 +1,23 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.CalendarSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for per-user calendar delta sync state
+ */
+@Repository
+public interface CalendarSyncStateRepository extends JpaRepository<CalendarSyncState, Long> {
+
+    Optional<CalendarSyncState> findByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM CalendarSyncState s WHERE s.userId = :userId")
+    int deleteByUser(@Param("userId") Long userId);
+}
@@ -3,6 +3,8 @@ package com.g37.meetingmanager.repository.mysql;
 import com.g37.meetingmanager.model.Document;
 import com.g37.meetingmanager.model.Document.DocumentType;
 import com.g37.meetingmanager.model.Document.AccessPermission;
+import com.g37.meetingmanager.model.Document.StorageProvider;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +15,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DocumentRepository extends JpaRepository<Document, Long> {
+public interface DocumentRepository extends JpaRepository<Document, Long>, DocumentSearchRepository {
     
     // Find documents by meeting ID
     List<Document> findByMeetingId(Integer meetingId);
@@ -44,35 +46,13 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     @Query("SELECT d FROM Document d WHERE LOWER(d.description) LIKE LOWER(CONCAT('%', :description, '%'))")
     List<Document> findByDescriptionContainingIgnoreCase(@Param("description") String description);
     
-    // Full text search across title, description, and content
-    @Query("SELECT d FROM Document d WHERE " +
-           "LOWER(d.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(d.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(d.contentText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(d.aiSummary) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Document> searchDocuments(@Param("searchTerm") String searchTerm);
-    
-    // Search documents with filters
-    @Query("SELECT d FROM Document d WHERE " +
-           "(:meetingId IS NULL OR d.meetingId = :meetingId) AND " +
-           "(:documentType IS NULL OR d.documentType = :documentType) AND " +
-           "(:accessPermissions IS NULL OR d.accessPermissions = :accessPermissions) AND " +
-           "(:uploadedBy IS NULL OR d.uploadedBy = :uploadedBy) AND " +
-           "(:searchTerm IS NULL OR " +
-           "LOWER(d.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(d.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(d.contentText) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<Document> findDocumentsWithFilters(
-        @Param("meetingId") Integer meetingId,
-        @Param("documentType") DocumentType documentType,
-        @Param("accessPermissions") AccessPermission accessPermissions,
-        @Param("uploadedBy") Long uploadedBy,
-        @Param("searchTerm") String searchTerm
-    );
-    
     // Find documents by external file ID (for cloud storage integration)
     Optional<Document> findByExternalFileId(String externalFileId);
     
+    // External file ids among the given ones that some document of the provider still references
+    @Query("SELECT DISTINCT d.externalFileId FROM Document d WHERE d.storageProvider = :provider AND d.externalFileId IN :fileIds")
+    List<String> findExternalFileIdsIn(@Param("provider") StorageProvider provider, @Param("fileIds") List<String> fileIds);
+    
     // Find documents by file name (for duplicate checking)
     List<Document> findByFileName(String fileName);
     
@@ -95,13 +75,24 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     @Query("SELECT d FROM Document d WHERE d.aiProcessed = false OR d.aiIndexed = false")
     List<Document> findDocumentsNeedingAiProcessing();
     
-    // Find documents by tags (JSON search)
-    @Query(value = "SELECT * FROM documents WHERE JSON_CONTAINS(tags, JSON_QUOTE(:tag))", nativeQuery = true)
+    // Find documents by normalized tag through the tag index
+    @Query("SELECT d FROM Document d WHERE d.id IN (" +
+           "SELECT l.entityId FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+           "WHERE l.entityType = com.g37.meetingmanager.model.TaggedEntityType.DOCUMENT AND t.name = :tag) " +
+           "ORDER BY d.uploadDate DESC")
     List<Document> findByTag(@Param("tag") String tag);
     
-    // Find documents by AI keywords (JSON search)
-    @Query(value = "SELECT * FROM documents WHERE JSON_CONTAINS(ai_keywords, JSON_QUOTE(:keyword))", nativeQuery = true)
+    // Find documents by normalized AI keyword through the tag index
+    @Query("SELECT d FROM Document d WHERE d.id IN (" +
+           "SELECT l.entityId FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+           "WHERE l.entityType = com.g37.meetingmanager.model.TaggedEntityType.DOCUMENT_KEYWORD AND t.name = :keyword) " +
+           "ORDER BY d.uploadDate DESC")
     List<Document> findByAiKeyword(@Param("keyword") String keyword);
+
+    // [id, meetingId, tags, aiKeywords] rows of tagged documents for rebuilding the tag index
+    @Query("SELECT d.id, d.meetingId, d.tags, d.aiKeywords FROM Document d " +
+           "WHERE d.tags IS NOT NULL OR d.aiKeywords IS NOT NULL ORDER BY d.id")
+    List<Object[]> findTagRows(Pageable pageable);
     
     // Get document statistics
     @Query("SELECT " +
@@ -0,0 +1,24 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.Document;
+import com.g37.meetingmanager.model.Document.AccessPermission;
+import com.g37.meetingmanager.model.Document.DocumentType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Relevance-ranked document search backed by the documents FULLTEXT index
+ */
+public interface DocumentSearchRepository {
+
+    /**
+     * Search title, description, extracted content and AI summary, ordered by relevance.
+     * Supports "quoted phrases", +required and -excluded terms; null filters are ignored.
+     */
+    Page<Document> fullTextSearch(String searchTerm,
+                                  Integer meetingId,
+                                  DocumentType documentType,
+                                  AccessPermission accessPermissions,
+                                  Long uploadedBy,
+                                  Pageable pageable);
+}
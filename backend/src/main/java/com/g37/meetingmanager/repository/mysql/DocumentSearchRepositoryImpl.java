@@ -0,0 +1,200 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.Document;
+import com.g37.meetingmanager.model.Document.AccessPermission;
+import com.g37.meetingmanager.model.Document.DocumentType;
+import com.g37.meetingmanager.util.FullTextQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Document search using MySQL FULLTEXT (ngram parser) in boolean mode, ordered by relevance.
+ * Falls back to LIKE matching on databases without the index (e.g. H2).
+ */
+public class DocumentSearchRepositoryImpl implements DocumentSearchRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentSearchRepositoryImpl.class);
+
+    static final String FULLTEXT_INDEX = "ft_documents_search";
+    private static final String MATCH_COLUMNS = "d.title, d.description, d.content_text, d.ai_summary";
+    private static final String MATCH = "MATCH(" + MATCH_COLUMNS + ") AGAINST (:query IN BOOLEAN MODE)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile boolean fullTextAvailable = false;
+
+    /**
+     * Use MATCH ... AGAINST when the FULLTEXT index exists on MySQL; until it does, searches use the
+     * LIKE fallback. The index is created by scripts/migrate-documents-fulltext-ngram.sql, never at
+     * startup: adding it rebuilds and locks the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkFullTextIndex() {
+        try {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase().contains("mysql")) {
+                logger.info("Document full-text index not supported on {}, using LIKE search", product);
+                return;
+            }
+
+            Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'documents' AND INDEX_NAME = ?",
+                Integer.class, FULLTEXT_INDEX);
+            if (existing == null || existing == 0) {
+                logger.warn("FULLTEXT index {} missing on documents, using LIKE search; " +
+                    "run scripts/migrate-documents-fulltext-ngram.sql to create it", FULLTEXT_INDEX);
+                return;
+            }
+            fullTextAvailable = true;
+        } catch (Exception e) {
+            logger.warn("Document full-text index unavailable, using LIKE search: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Page<Document> fullTextSearch(String searchTerm,
+                                         Integer meetingId,
+                                         DocumentType documentType,
+                                         AccessPermission accessPermissions,
+                                         Long uploadedBy,
+                                         Pageable pageable) {
+        FullTextQuery query = FullTextQuery.parse(searchTerm);
+        if (fullTextAvailable && !query.isEmpty()) {
+            return matchAgainst(query, meetingId, documentType, accessPermissions, uploadedBy, pageable);
+        }
+        return likeFallback(query, meetingId, documentType, accessPermissions, uploadedBy, pageable);
+    }
+
+    private Page<Document> matchAgainst(FullTextQuery query,
+                                        Integer meetingId,
+                                        DocumentType documentType,
+                                        AccessPermission accessPermissions,
+                                        Long uploadedBy,
+                                        Pageable pageable) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("query", query.toBooleanMode());
+
+        StringBuilder where = new StringBuilder(" FROM documents d WHERE ").append(MATCH);
+        if (meetingId != null) {
+            where.append(" AND d.meeting_id = :meetingId");
+            params.put("meetingId", meetingId);
+        }
+        if (documentType != null) {
+            where.append(" AND d.document_type = :documentType");
+            params.put("documentType", documentType.name());
+        }
+        if (accessPermissions != null) {
+            where.append(" AND d.access_permissions = :accessPermissions");
+            params.put("accessPermissions", accessPermissions.name());
+        }
+        if (uploadedBy != null) {
+            where.append(" AND d.uploaded_by = :uploadedBy");
+            params.put("uploadedBy", uploadedBy);
+        }
+
+        Query select = entityManager.createNativeQuery(
+            "SELECT d.*" + where + " ORDER BY " + MATCH + " DESC, d.id DESC", Document.class);
+        params.forEach(select::setParameter);
+        if (pageable.isPaged()) {
+            select.setFirstResult((int) pageable.getOffset());
+            select.setMaxResults(pageable.getPageSize());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Document> content = select.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + where);
+            params.forEach(count::setParameter);
+            return ((Number) count.getSingleResult()).longValue();
+        });
+    }
+
+    private Page<Document> likeFallback(FullTextQuery query,
+                                        Integer meetingId,
+                                        DocumentType documentType,
+                                        AccessPermission accessPermissions,
+                                        Long uploadedBy,
+                                        Pageable pageable) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder(" FROM Document d WHERE 1 = 1");
+
+        if (meetingId != null) {
+            where.append(" AND d.meetingId = :meetingId");
+            params.put("meetingId", meetingId);
+        }
+        if (documentType != null) {
+            where.append(" AND d.documentType = :documentType");
+            params.put("documentType", documentType);
+        }
+        if (accessPermissions != null) {
+            where.append(" AND d.accessPermissions = :accessPermissions");
+            params.put("accessPermissions", accessPermissions);
+        }
+        if (uploadedBy != null) {
+            where.append(" AND d.uploadedBy = :uploadedBy");
+            params.put("uploadedBy", uploadedBy);
+        }
+
+        int index = 0;
+        for (String term : query.getRequired()) {
+            String param = "term" + index++;
+            where.append(" AND ").append(likeAny(param));
+            params.put(param, likePattern(term));
+        }
+        for (String term : query.getExcluded()) {
+            String param = "term" + index++;
+            where.append(" AND NOT ").append(likeAny(param));
+            params.put(param, likePattern(term));
+        }
+
+        TypedQuery<Document> select = entityManager.createQuery(
+            "SELECT d" + where + " ORDER BY d.uploadDate DESC, d.id DESC", Document.class);
+        params.forEach(select::setParameter);
+        if (pageable.isPaged()) {
+            select.setFirstResult((int) pageable.getOffset());
+            select.setMaxResults(pageable.getPageSize());
+        }
+        List<Document> content = select.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(d)" + where, Long.class);
+            params.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    private static String likeAny(String param) {
+        return "(LOWER(COALESCE(d.title, '')) LIKE :" + param + " ESCAPE '!'" +
+               " OR LOWER(COALESCE(d.description, '')) LIKE :" + param + " ESCAPE '!'" +
+               " OR LOWER(COALESCE(d.contentText, '')) LIKE :" + param + " ESCAPE '!'" +
+               " OR LOWER(COALESCE(d.aiSummary, '')) LIKE :" + param + " ESCAPE '!')";
+    }
+
+    private static String likePattern(String term) {
+        String escaped = term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+}
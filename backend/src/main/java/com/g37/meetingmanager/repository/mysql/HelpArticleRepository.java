@@ -33,6 +33,18 @@ public interface HelpArticleRepository extends JpaRepository<HelpArticle, Long>
      */
     Page<HelpArticle> findByCategoryAndIsPublishedTrue(String category, Pageable pageable);
     
+    /**
+     * [id, title, viewCount] rows of published articles for the typeahead index
+     */
+    @Query("SELECT a.id, a.title, a.viewCount FROM HelpArticle a WHERE a.isPublished = true")
+    List<Object[]> findTypeaheadRows();
+
+    /**
+     * [id, tag] rows of every article tag for rebuilding the tag index
+     */
+    @Query("SELECT a.id, t FROM HelpArticle a JOIN a.tags t")
+    List<Object[]> findTagRows();
+    
     /**
      * Find a published article by ID
      */
@@ -58,6 +70,30 @@ public interface HelpArticleRepository extends JpaRepository<HelpArticle, Long>
            "ORDER BY a.viewCount DESC, a.createdAt DESC")
     Page<HelpArticle> searchPublishedArticles(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    /**
+     * Rank published articles matching a term: title prefix and title matches weigh most,
+     * then description, then content. Returns [article, score] rows, best first.
+     */
+    @Query("SELECT a, (CASE WHEN LOWER(a.title) LIKE LOWER(CONCAT(:searchTerm, '%')) THEN 4 ELSE 0 END + " +
+           "CASE WHEN LOWER(a.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) THEN 3 ELSE 0 END + " +
+           "CASE WHEN LOWER(a.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) THEN 2 ELSE 0 END + " +
+           "CASE WHEN LOWER(a.content) LIKE LOWER(CONCAT('%', :searchTerm, '%')) THEN 1 ELSE 0 END) AS score " +
+           "FROM HelpArticle a WHERE a.isPublished = true AND " +
+           "(LOWER(a.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(a.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(a.content) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+           "ORDER BY score DESC, a.viewCount DESC, a.id DESC")
+    List<Object[]> searchPublishedArticlesRanked(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Count published articles matching a term
+     */
+    @Query("SELECT COUNT(a) FROM HelpArticle a WHERE a.isPublished = true AND " +
+           "(LOWER(a.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(a.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(a.content) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    long countPublishedArticlesMatching(@Param("searchTerm") String searchTerm);
+    
     /**
      * Find articles by tags
      */
@@ -17,6 +17,12 @@ import java.util.Optional;
  */
 @Repository
 public interface HelpFAQRepository extends JpaRepository<HelpFAQ, Long> {
+
+    /**
+     * [id, tag] rows of every FAQ tag for rebuilding the tag index
+     */
+    @Query("SELECT f.id, t FROM HelpFAQ f JOIN f.tags t")
+    List<Object[]> findTagRows();
     
     /**
      * Find all published FAQs
@@ -56,6 +62,27 @@ public interface HelpFAQRepository extends JpaRepository<HelpFAQ, Long> {
            "ORDER BY f.viewCount DESC, f.helpfulCount DESC, f.createdAt DESC")
     Page<HelpFAQ> searchPublishedFAQs(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    /**
+     * Rank published FAQs matching a term on the same scale as articles: question prefix and
+     * question matches weigh most, then the answer. Returns [faq, score] rows, best first.
+     */
+    @Query("SELECT f, (CASE WHEN LOWER(f.question) LIKE LOWER(CONCAT(:searchTerm, '%')) THEN 4 ELSE 0 END + " +
+           "CASE WHEN LOWER(f.question) LIKE LOWER(CONCAT('%', :searchTerm, '%')) THEN 3 ELSE 0 END + " +
+           "CASE WHEN LOWER(f.answer) LIKE LOWER(CONCAT('%', :searchTerm, '%')) THEN 1 ELSE 0 END) AS score " +
+           "FROM HelpFAQ f WHERE f.isPublished = true AND " +
+           "(LOWER(f.question) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(f.answer) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+           "ORDER BY score DESC, f.viewCount DESC, f.id DESC")
+    List<Object[]> searchPublishedFAQsRanked(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Count published FAQs matching a term
+     */
+    @Query("SELECT COUNT(f) FROM HelpFAQ f WHERE f.isPublished = true AND " +
+           "(LOWER(f.question) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(f.answer) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    long countPublishedFAQsMatching(@Param("searchTerm") String searchTerm);
+    
     /**
      * Find FAQs by tags
      */
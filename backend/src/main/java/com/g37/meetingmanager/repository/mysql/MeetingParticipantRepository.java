@@ -1,15 +1,48 @@
 package com.g37.meetingmanager.repository.mysql;
 
+import com.g37.meetingmanager.model.Meeting;
 import com.g37.meetingmanager.model.MeetingParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface MeetingParticipantRepository extends JpaRepository<MeetingParticipant, Long> {
     List<MeetingParticipant> findByMeetingId(Long meetingId);
     List<MeetingParticipant> findByUserId(Long userId);
     List<MeetingParticipant> findByEmail(String email);
+
+    // [organizationId, email, name, meetingCount] per distinct participant email and organization
+    @Query("SELECT o.id, LOWER(mp.email), MAX(mp.name), COUNT(mp) FROM MeetingParticipant mp " +
+           "JOIN mp.meeting m JOIN m.organization o WHERE mp.email IS NOT NULL " +
+           "GROUP BY o.id, LOWER(mp.email)")
+    List<Object[]> findTypeaheadRows();
+
+    // [userId, meetingId, startTime, endTime, isRecurring] of meetings the users are invited to that are,
+    // or may recur into, [from, to); declined and cancelled excluded
+    @Query("SELECT mp.user.id, m.id, m.startTime, m.endTime, m.isRecurring FROM MeetingParticipant mp JOIN mp.meeting m " +
+           "WHERE mp.user.id IN :userIds AND mp.invitationStatus <> :declined AND m.status <> :excludedStatus " +
+           "AND m.startTime < :to " +
+           "AND (m.endTime > :from OR (m.isRecurring = true AND (m.recurrenceEndDate IS NULL OR m.recurrenceEndDate >= :from)))")
+    List<Object[]> findBusyRowsByUsers(@Param("userIds") Collection<Long> userIds,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("declined") MeetingParticipant.InvitationStatus declined,
+                                       @Param("excludedStatus") Meeting.MeetingStatus excludedStatus);
+
+    // Same as findBusyRowsByUsers for invitations by email that are not linked to a user, with the
+    // lowercased email in place of the user id
+    @Query("SELECT LOWER(mp.email), m.id, m.startTime, m.endTime, m.isRecurring FROM MeetingParticipant mp JOIN mp.meeting m " +
+           "WHERE mp.user IS NULL AND mp.email IN :emails AND mp.invitationStatus <> :declined " +
+           "AND m.status <> :excludedStatus AND m.startTime < :to " +
+           "AND (m.endTime > :from OR (m.isRecurring = true AND (m.recurrenceEndDate IS NULL OR m.recurrenceEndDate >= :from)))")
+    List<Object[]> findBusyRowsByEmails(@Param("emails") Collection<String> emails,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("declined") MeetingParticipant.InvitationStatus declined,
+                                        @Param("excludedStatus") Meeting.MeetingStatus excludedStatus);
     List<MeetingParticipant> findByMeetingIdAndParticipantRole(Long meetingId, MeetingParticipant.ParticipantRole role);
     
     @Query("SELECT mp FROM MeetingParticipant mp WHERE mp.meeting.id = :meetingId AND mp.invitationStatus = :status")
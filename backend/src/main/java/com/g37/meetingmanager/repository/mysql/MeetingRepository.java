@@ -1,10 +1,16 @@
 package com.g37.meetingmanager.repository.mysql;
 
 import com.g37.meetingmanager.model.Meeting;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +23,84 @@ public interface MeetingRepository extends JpaRepository<Meeting, Long> {
 
     @Query("SELECT m FROM Meeting m LEFT JOIN FETCH m.organization LEFT JOIN FETCH m.organizer WHERE m.id = :id")
     Optional<Meeting> findByIdWithOrganizationAndOrganizer(Long id);
+
+    // [id, organizationId, title, startTime] rows for building typeahead indexes without loading entities
+    @Query("SELECT m.id, o.id, m.title, m.startTime FROM Meeting m LEFT JOIN m.organization o ORDER BY m.id")
+    List<Object[]> findTypeaheadRows(Pageable pageable);
+
+    @Query("SELECT m.organization.id FROM Meeting m WHERE m.id = :id")
+    Optional<Long> findOrganizationIdById(@Param("id") Long id);
+
+    // [id, startTime, endTime, title, location, status] rows of one-off meetings starting in [from, to), in start order
+    @Query(value = "SELECT m.id, m.startTime, m.endTime, m.title, m.location, m.status FROM Meeting m " +
+                   "WHERE (m.isRecurring = false OR m.recurrencePattern IS NULL OR m.recurrencePattern = '') " +
+                   "AND m.startTime >= :from AND m.startTime < :to " +
+                   "AND (:organizationId IS NULL OR m.organization.id = :organizationId) ORDER BY m.startTime, m.id",
+           countQuery = "SELECT COUNT(m) FROM Meeting m " +
+                   "WHERE (m.isRecurring = false OR m.recurrencePattern IS NULL OR m.recurrencePattern = '') " +
+                   "AND m.startTime >= :from AND m.startTime < :to " +
+                   "AND (:organizationId IS NULL OR m.organization.id = :organizationId)")
+    Page<Object[]> findOneOffOccurrenceRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                            @Param("organizationId") Long organizationId, Pageable pageable);
+
+    // [id, startTime, endTime, title, location, status, recurrencePattern, recurrenceEndDate, updatedAt] rows of
+    // recurring meetings whose series can have occurrences in [from, to)
+    @Query("SELECT m.id, m.startTime, m.endTime, m.title, m.location, m.status, m.recurrencePattern, " +
+           "m.recurrenceEndDate, m.updatedAt FROM Meeting m " +
+           "WHERE m.isRecurring = true AND m.recurrencePattern IS NOT NULL AND m.recurrencePattern <> '' " +
+           "AND m.startTime < :to AND (m.recurrenceEndDate IS NULL OR m.recurrenceEndDate >= :from) " +
+           "AND (:organizationId IS NULL OR m.organization.id = :organizationId)")
+    List<Object[]> findRecurringSeriesRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           @Param("organizationId") Long organizationId);
+
+    // Same columns as findRecurringSeriesRows, plus isRecurring, for one meeting
+    @Query("SELECT m.id, m.startTime, m.endTime, m.title, m.location, m.status, m.recurrencePattern, " +
+           "m.recurrenceEndDate, m.updatedAt, m.isRecurring FROM Meeting m WHERE m.id = :id")
+    List<Object[]> findSeriesRowById(@Param("id") Long id);
+
+    // Same columns as findRecurringSeriesRows, for the given meetings that recur
+    @Query("SELECT m.id, m.startTime, m.endTime, m.title, m.location, m.status, m.recurrencePattern, " +
+           "m.recurrenceEndDate, m.updatedAt FROM Meeting m WHERE m.id IN :ids " +
+           "AND m.isRecurring = true AND m.recurrencePattern IS NOT NULL AND m.recurrencePattern <> ''")
+    List<Object[]> findRecurringSeriesRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [organizerId, id, startTime, endTime, isRecurring] of meetings the users organize that are, or may
+    // recur into, [from, to); cancelled meetings excluded
+    @Query("SELECT m.organizer.id, m.id, m.startTime, m.endTime, m.isRecurring FROM Meeting m " +
+           "WHERE m.organizer.id IN :userIds AND m.status <> :excludedStatus AND m.startTime < :to " +
+           "AND (m.endTime > :from OR (m.isRecurring = true AND (m.recurrenceEndDate IS NULL OR m.recurrenceEndDate >= :from)))")
+    List<Object[]> findOrganizerBusyRows(@Param("userIds") Collection<Long> userIds,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("excludedStatus") Meeting.MeetingStatus excludedStatus);
+
+    // Upcoming meetings of an organizer that have no Outlook event yet, with attendees for the event body
+    @Query("SELECT DISTINCT m FROM Meeting m LEFT JOIN FETCH m.participants p LEFT JOIN FETCH p.user " +
+           "WHERE m.organizer.id = :organizerId AND m.startTime > :now AND m.outlookEventId IS NULL " +
+           "AND m.status <> :excludedStatus ORDER BY m.startTime")
+    List<Meeting> findOutlookBackfillCandidates(@Param("organizerId") Long organizerId,
+                                                @Param("now") LocalDateTime now,
+                                                @Param("excludedStatus") Meeting.MeetingStatus excludedStatus);
+
+    // Meetings with attendees loaded, for building Outlook event bodies outside a transaction
+    @Query("SELECT DISTINCT m FROM Meeting m LEFT JOIN FETCH m.participants p LEFT JOIN FETCH p.user WHERE m.id IN :ids")
+    List<Meeting> findWithParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Record the outcome of an Outlook sync without touching the rest of the meeting row
+    @Modifying
+    @Query("UPDATE Meeting m SET m.outlookEventId = :outlookEventId, m.outlookSyncStatus = :status WHERE m.id = :id")
+    int updateOutlookSync(@Param("id") Long id,
+                          @Param("outlookEventId") String outlookEventId,
+                          @Param("status") Meeting.OutlookSyncStatus status);
+
+    @Modifying
+    @Query("UPDATE Meeting m SET m.outlookSyncStatus = :status WHERE m.id IN :ids")
+    int updateOutlookSyncStatus(@Param("ids") Collection<Long> ids, @Param("status") Meeting.OutlookSyncStatus status);
+
+    // Upcoming meetings that hold a room but have no booking slots, e.g. rooms assigned before slots existed
+    @Query("SELECT m.id, m.meetingRoom.id, m.startTime, m.endTime FROM Meeting m " +
+           "WHERE m.meetingRoom IS NOT NULL AND m.endTime > :now AND m.status <> :excludedStatus " +
+           "AND NOT EXISTS (SELECT s.id FROM RoomBookingSlot s WHERE s.meetingId = m.id) ORDER BY m.id")
+    List<Object[]> findRoomMeetingsWithoutSlots(@Param("now") LocalDateTime now,
+                                                @Param("excludedStatus") Meeting.MeetingStatus excludedStatus);
 }
@@ -0,0 +1,38 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.MeetingRoom;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for MeetingRoom entities
+ */
+@Repository
+public interface MeetingRoomRepository extends JpaRepository<MeetingRoom, Long> {
+
+    /**
+     * Active rooms of an organization (any organization when null) that meet the size and equipment needs
+     */
+    @Query("SELECT r FROM MeetingRoom r WHERE r.isActive = true " +
+           "AND (:organizationId IS NULL OR r.organization.id = :organizationId) " +
+           "AND r.capacity >= :minCapacity " +
+           "AND (:videoConferencing = false OR r.hasVideoConferencing = true) " +
+           "ORDER BY r.capacity ASC, r.name ASC")
+    List<MeetingRoom> findCandidates(@Param("organizationId") Long organizationId,
+                                     @Param("minCapacity") int minCapacity,
+                                     @Param("videoConferencing") boolean videoConferencing);
+
+    /**
+     * Load a room holding its row lock until commit; bookings of the room are made one at a time under it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM MeetingRoom r WHERE r.id = :id")
+    Optional<MeetingRoom> findByIdForUpdate(@Param("id") Long id);
+}
@@ -2,12 +2,30 @@ package com.g37.meetingmanager.repository.mysql;
 
 import com.g37.meetingmanager.model.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
     Optional<Permission> findByName(String name);
     boolean existsByName(String name);
+
+    /**
+     * One row per permission in id order: id, name, mask bit (null until assigned)
+     */
+    @Query("SELECT p.id, p.name, p.maskBit FROM Permission p ORDER BY p.id")
+    List<Object[]> findIdNameAndBitRows();
+
+    @Query("SELECT MAX(p.maskBit) FROM Permission p")
+    Integer findMaxMaskBit();
+
+    // Give a permission its mask bit unless another instance got there first
+    @Modifying
+    @Query("UPDATE Permission p SET p.maskBit = :bit WHERE p.id = :id AND p.maskBit IS NULL")
+    int assignMaskBit(@Param("id") Long id, @Param("bit") int bit);
 }
@@ -0,0 +1,38 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.RecurrenceException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for occurrence exceptions of recurring series
+ */
+@Repository
+public interface RecurrenceExceptionRepository extends JpaRepository<RecurrenceException, Long> {
+
+    /**
+     * Exceptions of several series at once, for expanding a date range
+     */
+    List<RecurrenceException> findBySeriesTypeAndSeriesIdIn(RecurrenceException.SeriesType seriesType,
+                                                            Collection<Long> seriesIds);
+
+    Optional<RecurrenceException> findBySeriesTypeAndSeriesIdAndOriginalStart(RecurrenceException.SeriesType seriesType,
+                                                                              Long seriesId,
+                                                                              LocalDateTime originalStart);
+
+    /**
+     * Drop the exceptions of a deleted series
+     */
+    @Modifying
+    @Query("DELETE FROM RecurrenceException e WHERE e.seriesType = :seriesType AND e.seriesId = :seriesId")
+    int deleteBySeries(@Param("seriesType") RecurrenceException.SeriesType seriesType,
+                       @Param("seriesId") Long seriesId);
+}
@@ -2,12 +2,20 @@ package com.g37.meetingmanager.repository.mysql;
 
 import com.g37.meetingmanager.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
     boolean existsByName(String name);
+
+    /**
+     * One row per role and granted permission: role name, permission mask bit
+     */
+    @Query("SELECT r.name, p.maskBit FROM Role r JOIN r.permissions p WHERE p.maskBit IS NOT NULL")
+    List<Object[]> findRolePermissionRows();
 }
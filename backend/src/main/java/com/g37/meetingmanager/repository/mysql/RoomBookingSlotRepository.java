@@ -0,0 +1,59 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.RoomBookingSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for meeting room booking slots
+ */
+@Repository
+public interface RoomBookingSlotRepository extends JpaRepository<RoomBookingSlot, Long> {
+
+    /**
+     * One row per booking with slots from the given time on: room id, meeting id, exact start, exact end
+     */
+    @Query("SELECT s.roomId, s.meetingId, MIN(s.bookingStart), MAX(s.bookingEnd) FROM RoomBookingSlot s " +
+           "WHERE s.slotStart >= :from GROUP BY s.roomId, s.meetingId")
+    List<Object[]> findBookingsFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * One row per booking with a slot in [from, to): room id, meeting id, exact start, exact end
+     */
+    @Query("SELECT s.roomId, s.meetingId, MIN(s.bookingStart), MAX(s.bookingEnd) FROM RoomBookingSlot s " +
+           "WHERE s.slotStart >= :from AND s.slotStart < :to GROUP BY s.roomId, s.meetingId")
+    List<Object[]> findBookingsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Same as {@link #findBookingsBetween} for one room
+     */
+    @Query("SELECT s.roomId, s.meetingId, MIN(s.bookingStart), MAX(s.bookingEnd) FROM RoomBookingSlot s " +
+           "WHERE s.roomId = :roomId AND s.slotStart >= :from AND s.slotStart < :to GROUP BY s.roomId, s.meetingId")
+    List<Object[]> findRoomBookingsBetween(@Param("roomId") Long roomId, @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    /**
+     * Slots of a room in [from, to) as a locking read, so rows committed after this transaction's
+     * snapshot are seen too
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM RoomBookingSlot s WHERE s.roomId = :roomId AND s.slotStart >= :from AND s.slotStart < :to")
+    List<RoomBookingSlot> lockRoomSlots(@Param("roomId") Long roomId, @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM RoomBookingSlot s WHERE s.meetingId = :meetingId")
+    int deleteByMeetingId(@Param("meetingId") Long meetingId);
+
+    @Modifying
+    @Query("DELETE FROM RoomBookingSlot s WHERE s.slotStart < :before")
+    int deleteBefore(@Param("before") LocalDateTime before);
+}
@@ -53,9 +53,9 @@ public interface SearchAnalyticsRepository extends JpaRepository<SearchAnalytics
     Long getTotalSearchCount();
 
     /**
-     * Get unique search terms count
+     * Get unique search terms count; search_term is unique, so a plain row count suffices
      */
-    @Query("SELECT COUNT(DISTINCT s.searchTerm) FROM SearchAnalytics s")
+    @Query("SELECT COUNT(s) FROM SearchAnalytics s")
     Long getUniqueSearchTermsCount();
 
     /**
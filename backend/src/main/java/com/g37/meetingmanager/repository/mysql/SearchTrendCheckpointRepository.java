@@ -0,0 +1,37 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.entity.mysql.SearchTrendCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for trending search checkpoints
+ */
+@Repository
+public interface SearchTrendCheckpointRepository extends JpaRepository<SearchTrendCheckpoint, Long> {
+
+    /**
+     * Checkpointed entries of one window written by one replica
+     */
+    List<SearchTrendCheckpoint> findByWindowNameAndReplicaId(String windowName, String replicaId);
+
+    /**
+     * Drop a replica's previous checkpoint of a window before writing a new one; other replicas' rows stay
+     */
+    @Modifying
+    @Query("DELETE FROM SearchTrendCheckpoint c WHERE c.windowName = :windowName AND c.replicaId = :replicaId")
+    int deleteByWindowNameAndReplicaId(@Param("windowName") String windowName, @Param("replicaId") String replicaId);
+
+    /**
+     * Drop checkpoints no replica has refreshed since the cutoff, e.g. of replicas that are gone
+     */
+    @Modifying
+    @Query("DELETE FROM SearchTrendCheckpoint c WHERE c.checkpointedAt < :cutoff")
+    int deleteCheckpointedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,78 @@
+package com.g37.meetingmanager.repository.mysql;
+
+import com.g37.meetingmanager.model.TagLink;
+import com.g37.meetingmanager.model.TaggedEntityType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for tag links. A null organizationId parameter matches every organization.
+ */
+@Repository
+public interface TagLinkRepository extends JpaRepository<TagLink, Long> {
+
+    List<TagLink> findByEntityTypeAndEntityId(TaggedEntityType entityType, Long entityId);
+
+    @Modifying
+    @Query("DELETE FROM TagLink l WHERE l.entityType = :entityType AND l.entityId = :entityId")
+    int deleteByEntityTypeAndEntityId(@Param("entityType") TaggedEntityType entityType, @Param("entityId") Long entityId);
+
+    @Modifying
+    @Query("DELETE FROM TagLink l WHERE l.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE TagLink l SET l.organizationId = :organizationId WHERE l.id IN :ids")
+    int updateOrganizationId(@Param("ids") Collection<Long> ids, @Param("organizationId") Long organizationId);
+
+    /**
+     * Ids of entities carrying at least one of the tags, newest first
+     */
+    @Query(value = "SELECT DISTINCT l.entityId FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+                   "WHERE l.entityType = :entityType AND t.name IN :names " +
+                   "AND (:organizationId IS NULL OR l.organizationId = :organizationId) ORDER BY l.entityId DESC",
+           countQuery = "SELECT COUNT(DISTINCT l.entityId) FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+                        "WHERE l.entityType = :entityType AND t.name IN :names " +
+                        "AND (:organizationId IS NULL OR l.organizationId = :organizationId)")
+    Page<Long> findEntityIdsWithAnyTag(@Param("entityType") TaggedEntityType entityType,
+                                       @Param("organizationId") Long organizationId,
+                                       @Param("names") Collection<String> names,
+                                       Pageable pageable);
+
+    /**
+     * Ids of entities carrying every one of the tags, newest first; tagCount is the number of distinct names
+     */
+    @Query(value = "SELECT l.entityId FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+                   "WHERE l.entityType = :entityType AND t.name IN :names " +
+                   "AND (:organizationId IS NULL OR l.organizationId = :organizationId) " +
+                   "GROUP BY l.entityId HAVING COUNT(l.tagId) = :tagCount ORDER BY l.entityId DESC",
+           countQuery = "SELECT COUNT(DISTINCT l.entityId) FROM TagLink l " +
+                        "WHERE l.entityType = :entityType " +
+                        "AND (:organizationId IS NULL OR l.organizationId = :organizationId) " +
+                        "AND (SELECT COUNT(l2.tagId) FROM TagLink l2 JOIN Tag t2 ON t2.id = l2.tagId " +
+                        "     WHERE l2.entityType = l.entityType AND l2.entityId = l.entityId AND t2.name IN :names) = :tagCount")
+    Page<Long> findEntityIdsWithAllTags(@Param("entityType") TaggedEntityType entityType,
+                                        @Param("organizationId") Long organizationId,
+                                        @Param("names") Collection<String> names,
+                                        @Param("tagCount") long tagCount,
+                                        Pageable pageable);
+
+    /**
+     * [tag name, entity count] rows, most used first; a null entityType counts every type
+     */
+    @Query("SELECT t.name, COUNT(l) FROM TagLink l JOIN Tag t ON t.id = l.tagId " +
+           "WHERE (:entityType IS NULL OR l.entityType = :entityType) " +
+           "AND (:organizationId IS NULL OR l.organizationId = :organizationId) " +
+           "GROUP BY t.id, t.name ORDER BY COUNT(l) DESC, t.name")
+    List<Object[]> countByTag(@Param("entityType") TaggedEntityType entityType,
+                              @Param("organizationId") Long organizationId,
+                              Pageable pageable);
+}
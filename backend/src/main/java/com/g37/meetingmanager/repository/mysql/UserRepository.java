@@ -1,9 +1,13 @@
 package com.g37.meetingmanager.repository.mysql;
 
 import com.g37.meetingmanager.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +22,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u WHERE u.organization.id = :orgId AND u.isActive = true")
     List<User> findActiveUsersByOrganization(@Param("orgId") Long organizationId);
+
+    // [id, organizationId, firstName, lastName, email] rows of active users for typeahead indexes
+    @Query("SELECT u.id, o.id, u.firstName, u.lastName, u.email FROM User u JOIN u.organization o WHERE u.isActive = true")
+    List<Object[]> findTypeaheadRows();
+
+    // [id, lowercased email] of the users with the given ids or emails; the column's case-insensitive
+    // collation matches the emails in any case, as in MeetingParticipantRepository.findBusyRowsByEmails
+    @Query("SELECT u.id, LOWER(u.email) FROM User u WHERE u.id IN :ids OR u.email IN :emails")
+    List<Object[]> findIdAndEmailRows(@Param("ids") Collection<Long> ids, @Param("emails") Collection<String> emails);
+
+    // Ids of active users holding a Graph token that has not expired, for background calendar sync
+    @Query("SELECT u.id FROM User u WHERE u.isActive = true AND u.graphAccessToken IS NOT NULL " +
+           "AND (u.graphTokenExpiresAt IS NULL OR u.graphTokenExpiresAt > :now)")
+    List<Long> findCalendarSyncUserIds(@Param("now") LocalDateTime now);
+
+    // Ids of active users with a refresh token whose access token expires before the given time,
+    // skipping users still backing off from a failed refresh so they cannot fill every page
+    @Query("SELECT u.id FROM User u WHERE u.isActive = true AND u.graphRefreshToken IS NOT NULL " +
+           "AND u.graphTokenExpiresAt < :before " +
+           "AND (u.graphTokenRetryAfter IS NULL OR u.graphTokenRetryAfter <= :now) " +
+           "ORDER BY u.graphTokenExpiresAt, u.id")
+    List<Long> findGraphTokenRefreshCandidates(@Param("before") LocalDateTime before,
+                                               @Param("now") LocalDateTime now,
+                                               Pageable pageable);
+
+    // Write refreshed Graph tokens without touching the rest of the user row; clears any failure backoff
+    @Modifying
+    @Query("UPDATE User u SET u.graphAccessToken = :accessToken, u.graphRefreshToken = :refreshToken, " +
+           "u.graphTokenExpiresAt = :expiresAt, u.graphTokenRetryAfter = NULL WHERE u.id = :id")
+    int updateGraphTokens(@Param("id") Long id,
+                          @Param("accessToken") String accessToken,
+                          @Param("refreshToken") String refreshToken,
+                          @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE User u SET u.graphTokenRetryAfter = :retryAfter WHERE u.id = :id")
+    int updateGraphTokenRetryAfter(@Param("id") Long id, @Param("retryAfter") LocalDateTime retryAfter);
 }
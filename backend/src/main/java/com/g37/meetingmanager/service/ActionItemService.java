@@ -1,26 +1,57 @@
 package com.g37.meetingmanager.service;
 
+import com.g37.meetingmanager.dto.ActionItemFacetedResultDTO;
+import com.g37.meetingmanager.dto.ActionItemTreeNodeDTO;
 import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.model.RecurrenceException;
+import com.g37.meetingmanager.model.Tag;
+import com.g37.meetingmanager.model.TagLink;
+import com.g37.meetingmanager.model.TaggedEntityType;
 import com.g37.meetingmanager.model.User;
 import com.g37.meetingmanager.repository.mysql.ActionItemRepository;
 import com.g37.meetingmanager.repository.mysql.UserRepository;
+import com.g37.meetingmanager.util.RecurrenceRule;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class ActionItemService {
 
+    // Due-soon window of the statistics; matches ActionItem.isDueSoon(7), which includes overdue items
+    private static final int DUE_SOON_DAYS = 7;
+
+    // Deepest subtask level returned by the tree endpoint
+    private static final int MAX_TREE_DEPTH = 32;
+
+    // Assignee facet value of items without an assignee
+    private static final String UNASSIGNED = "unassigned";
+
     @Autowired
     private ActionItemRepository actionItemRepository;
 
@@ -30,6 +61,12 @@ public class ActionItemService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ActionItemStatisticsCache statisticsCache;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
     /**
      * Get all action items with optional filtering
      */
@@ -46,6 +83,115 @@ public class ActionItemService {
         return actionItemRepository.findAll(spec, pageable);
     }
 
+    /**
+     * Page of action items plus facet counts for status, priority, assignee, type and due bucket.
+     * Counts come from one grouped query over the items matching organization, meeting, search and
+     * tags; the facet selections are applied to the grouped cells in memory, so each facet is counted
+     * under the other facets' selections and choosing a status does not zero the other statuses.
+     * The same cells give the page total, so no separate count query runs.
+     *
+     * @param assignees Assignee ids, or "unassigned"
+     */
+    @Transactional(readOnly = true)
+    public ActionItemFacetedResultDTO searchWithFacets(
+            Long organizationId,
+            Long meetingId,
+            String search,
+            Collection<String> tags,
+            boolean matchAllTags,
+            Collection<String> statuses,
+            Collection<String> priorities,
+            Collection<String> assignees,
+            Collection<String> types,
+            Collection<String> dueBuckets,
+            Pageable pageable) {
+
+        Set<ActionItem.ActionItemStatus> statusFilter = parseEnums(ActionItem.ActionItemStatus.class, statuses, "status");
+        Set<ActionItem.Priority> priorityFilter = parseEnums(ActionItem.Priority.class, priorities, "priority");
+        Set<ActionItem.ActionItemType> typeFilter = parseEnums(ActionItem.ActionItemType.class, types, "type");
+        Set<DueBucket> bucketFilter = parseEnums(DueBucket.class, dueBuckets, "due bucket");
+        Set<Long> assigneeFilter = parseAssignees(assignees);
+        Set<String> tagNames = tags != null ? TagService.normalizeAll(tags) : Collections.emptySet();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueSoonBefore = now.plusDays(DUE_SOON_DAYS);
+        Specification<ActionItem> base = createFacetBaseSpecification(organizationId, meetingId, search, tagNames, matchAllTags);
+
+        Map<String, Long> statusFacet = emptyFacet(ActionItem.ActionItemStatus.values());
+        Map<String, Long> priorityFacet = emptyFacet(ActionItem.Priority.values());
+        Map<String, Long> typeFacet = emptyFacet(ActionItem.ActionItemType.values());
+        Map<String, Long> bucketFacet = emptyFacet(DueBucket.values());
+        Map<Long, Long> assigneeCounts = new HashMap<>();
+        long total = 0;
+
+        for (Object[] cell : actionItemRepository.countFacetCells(base, now, dueSoonBefore)) {
+            ActionItem.ActionItemStatus status = (ActionItem.ActionItemStatus) cell[0];
+            ActionItem.Priority priority = (ActionItem.Priority) cell[1];
+            Long assigneeId = cell[2] != null ? ((Number) cell[2]).longValue() : null;
+            ActionItem.ActionItemType type = (ActionItem.ActionItemType) cell[3];
+
+            long[] buckets = new long[DueBucket.values().length];
+            buckets[DueBucket.COMPLETED.ordinal()] = ((Number) cell[5]).longValue();
+            buckets[DueBucket.NO_DUE_DATE.ordinal()] = ((Number) cell[6]).longValue();
+            buckets[DueBucket.OVERDUE.ordinal()] = ((Number) cell[7]).longValue();
+            buckets[DueBucket.DUE_SOON.ordinal()] = ((Number) cell[8]).longValue();
+            buckets[DueBucket.LATER.ordinal()] = ((Number) cell[4]).longValue()
+                - buckets[DueBucket.COMPLETED.ordinal()] - buckets[DueBucket.NO_DUE_DATE.ordinal()]
+                - buckets[DueBucket.OVERDUE.ordinal()] - buckets[DueBucket.DUE_SOON.ordinal()];
+            long selected = 0;
+            for (DueBucket bucket : DueBucket.values()) {
+                if (bucketFilter == null || bucketFilter.contains(bucket)) {
+                    selected += buckets[bucket.ordinal()];
+                }
+            }
+
+            boolean statusMatch = statusFilter == null || statusFilter.contains(status);
+            boolean priorityMatch = priorityFilter == null || priorityFilter.contains(priority);
+            boolean assigneeMatch = assigneeFilter == null || assigneeFilter.contains(assigneeId);
+            boolean typeMatch = typeFilter == null || typeFilter.contains(type);
+
+            if (priorityMatch && assigneeMatch && typeMatch) {
+                statusFacet.merge(status.name(), selected, Long::sum);
+            }
+            if (statusMatch && assigneeMatch && typeMatch) {
+                priorityFacet.merge(priority.name(), selected, Long::sum);
+            }
+            if (statusMatch && priorityMatch && typeMatch && selected > 0) {
+                assigneeCounts.merge(assigneeId, selected, Long::sum);
+            }
+            if (statusMatch && priorityMatch && assigneeMatch) {
+                typeFacet.merge(type.name(), selected, Long::sum);
+            }
+            if (statusMatch && priorityMatch && assigneeMatch && typeMatch) {
+                for (DueBucket bucket : DueBucket.values()) {
+                    bucketFacet.merge(bucket.name(), buckets[bucket.ordinal()], Long::sum);
+                }
+                total += selected;
+            }
+        }
+
+        Map<String, Long> assigneeFacet = new LinkedHashMap<>();
+        assigneeCounts.entrySet().stream()
+            .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+            .forEach(entry -> assigneeFacet.put(
+                entry.getKey() != null ? entry.getKey().toString() : UNASSIGNED, entry.getValue()));
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("status", statusFacet);
+        facets.put("priority", priorityFacet);
+        facets.put("assignee", assigneeFacet);
+        facets.put("type", typeFacet);
+        facets.put("dueBucket", bucketFacet);
+
+        List<ActionItem> content = Collections.emptyList();
+        if (total > pageable.getOffset()) {
+            Specification<ActionItem> selection = createFacetSelectionSpecification(
+                statusFilter, priorityFilter, assigneeFilter, typeFilter, bucketFilter, now, dueSoonBefore);
+            content = actionItemRepository.findPageContent(base.and(selection), pageable);
+        }
+        return new ActionItemFacetedResultDTO(new PageImpl<>(content, pageable, total), facets);
+    }
+
     /**
      * Get action item by ID
      */
@@ -103,6 +249,8 @@ public class ActionItemService {
      * Create a new action item
      */
     public ActionItem createActionItem(ActionItem actionItem, Long assigneeId, Long reporterId) {
+        validateRecurringPattern(actionItem.getRecurringPattern());
+
         // Set assignee and reporter
         if (assigneeId != null) {
             User assignee = userRepository.findById(assigneeId)
@@ -116,8 +264,19 @@ public class ActionItemService {
             actionItem.setReporter(reporter);
         }
 
+        // The request only carries the parent's id; attach the managed parent. An unknown parent is a
+        // bad reference in the request, answered with 400 like an unknown assignee
+        ActionItem parent = null;
+        if (actionItem.getParentActionItem() != null && actionItem.getParentActionItem().getId() != null) {
+            Long parentId = actionItem.getParentActionItem().getId();
+            parent = actionItemRepository.findById(parentId)
+                    .orElseThrow(() -> new RuntimeException("Parent action item not found with id: " + parentId));
+        }
+        actionItem.setParentActionItem(parent);
+
         // Save the action item
         ActionItem savedActionItem = actionItemRepository.save(actionItem);
+        adjustSubTaskCounts(parent, 1, completedFlag(savedActionItem));
 
         // Create notification for assignee if different from reporter
         if (savedActionItem.getAssignee() != null && 
@@ -151,9 +310,18 @@ public class ActionItemService {
         actionItem.setActualHours(actionItemDetails.getActualHours());
         actionItem.setNotes(actionItemDetails.getNotes());
         actionItem.setTags(actionItemDetails.getTags());
+        validateRecurringPattern(actionItemDetails.getRecurringPattern());
         actionItem.setIsRecurring(actionItemDetails.getIsRecurring());
         actionItem.setRecurringPattern(actionItemDetails.getRecurringPattern());
 
+        // A parent in the request moves the item under it; both parents' counters are adjusted
+        ActionItem previousParent = actionItem.getParentActionItem();
+        int wasCompleted = completedFlag(actionItem);
+        if (actionItemDetails.getParentActionItem() != null && actionItemDetails.getParentActionItem().getId() != null
+                && (previousParent == null || !previousParent.getId().equals(actionItemDetails.getParentActionItem().getId()))) {
+            moveUnder(actionItem, actionItemDetails.getParentActionItem().getId());
+        }
+
         // Handle completion status
         if (actionItemDetails.getCompleted() != null && !actionItemDetails.getCompleted().equals(actionItem.getCompleted())) {
             if (actionItemDetails.getCompleted()) {
@@ -164,7 +332,32 @@ public class ActionItemService {
             }
         }
 
-        return actionItemRepository.save(actionItem);
+        ActionItem savedActionItem = actionItemRepository.save(actionItem);
+        int isCompleted = completedFlag(savedActionItem);
+        if (previousParent != savedActionItem.getParentActionItem()) {
+            adjustSubTaskCounts(previousParent, -1, -wasCompleted);
+            adjustSubTaskCounts(savedActionItem.getParentActionItem(), 1, isCompleted);
+        } else {
+            adjustSubTaskCounts(previousParent, 0, isCompleted - wasCompleted);
+        }
+        return savedActionItem;
+    }
+
+    /**
+     * Re-parent an action item, refusing moves that would put it under itself or its own subtasks
+     */
+    private void moveUnder(ActionItem actionItem, Long newParentId) {
+        ActionItem newParent = actionItemRepository.findById(newParentId)
+                .orElseThrow(() -> new RuntimeException("Parent action item not found with id: " + newParentId));
+        boolean cycle = actionItemRepository.findSubtree(actionItem.getId(), MAX_TREE_DEPTH).stream()
+                .anyMatch(node -> node.getId().equals(newParentId));
+        if (cycle) {
+            throw new IllegalArgumentException("Action item " + actionItem.getId()
+                    + " cannot be moved under itself or one of its subtasks");
+        }
+        // Only the owning side changes: taking the item out of the old parent's subTasks would
+        // make it an orphan, which orphanRemoval deletes
+        actionItem.setParentActionItem(newParent);
     }
 
     /**
@@ -174,12 +367,14 @@ public class ActionItemService {
         ActionItem actionItem = actionItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Action item not found with id: " + id));
 
+        int wasCompleted = completedFlag(actionItem);
         actionItem.markAsCompleted();
         if (completionNotes != null && !completionNotes.trim().isEmpty()) {
             actionItem.setCompletionNotes(completionNotes);
         }
 
         ActionItem savedActionItem = actionItemRepository.save(actionItem);
+        adjustSubTaskCounts(savedActionItem.getParentActionItem(), 0, 1 - wasCompleted);
 
         // Notify reporter if different from assignee
         if (savedActionItem.getReporter() != null && 
@@ -203,8 +398,11 @@ public class ActionItemService {
         ActionItem actionItem = actionItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Action item not found with id: " + id));
 
+        int wasCompleted = completedFlag(actionItem);
         actionItem.markAsInProgress();
-        return actionItemRepository.save(actionItem);
+        ActionItem savedActionItem = actionItemRepository.save(actionItem);
+        adjustSubTaskCounts(savedActionItem.getParentActionItem(), 0, -wasCompleted);
+        return savedActionItem;
     }
 
     /**
@@ -213,8 +411,20 @@ public class ActionItemService {
     public void deleteActionItem(Long id) {
         ActionItem actionItem = actionItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Action item not found with id: " + id));
-        
+
+        ActionItem parent = actionItem.getParentActionItem();
+        if (parent != null) {
+            parent.removeSubTask(actionItem);
+        }
         actionItemRepository.delete(actionItem);
+        recurrenceService.onSeriesDeleted(RecurrenceException.SeriesType.ACTION_ITEM, id);
+        adjustSubTaskCounts(parent, -1, -completedFlag(actionItem));
+    }
+
+    private static void validateRecurringPattern(String pattern) {
+        if (pattern != null && !pattern.isBlank()) {
+            RecurrenceRule.parse(pattern);
+        }
     }
 
     /**
@@ -238,27 +448,88 @@ public class ActionItemService {
 
         ActionItem savedSubTask = actionItemRepository.save(subTask);
         parent.addSubTask(savedSubTask);
-        
+        adjustSubTaskCounts(parent, 1, completedFlag(savedSubTask));
+
         return actionItemRepository.save(parent);
     }
 
     /**
-     * Get statistics for action items
+     * Get an action item with its full subtask hierarchy, loaded in one query
      */
-    public ActionItemStatistics getStatistics(Long userId) {
-        Specification<ActionItem> userAssignedSpec = (root, query, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("assignee").get("id"), userId);
+    @Transactional(readOnly = true)
+    public Optional<ActionItemTreeNodeDTO> getActionItemTree(Long id) {
+        List<ActionItemTreeNodeDTO> nodes = actionItemRepository.findSubtree(id, MAX_TREE_DEPTH);
+        if (nodes.isEmpty()) {
+            return Optional.empty();
+        }
 
-        List<ActionItem> userActionItems = actionItemRepository.findAll(userAssignedSpec);
+        // Rows arrive parents first, so every parent is indexed before its children
+        Map<Long, ActionItemTreeNodeDTO> byId = new HashMap<>();
+        for (ActionItemTreeNodeDTO node : nodes) {
+            byId.put(node.getId(), node);
+            if (node.getDepth() > 0) {
+                ActionItemTreeNodeDTO parent = byId.get(node.getParentId());
+                if (parent != null) {
+                    parent.getChildren().add(node);
+                }
+            }
+        }
+        return Optional.of(nodes.get(0));
+    }
 
-        long total = userActionItems.size();
-        long completed = userActionItems.stream().mapToLong(ai -> ai.getCompleted() ? 1 : 0).sum();
-        long overdue = userActionItems.stream().mapToLong(ai -> ai.isOverdue() ? 1 : 0).sum();
-        long dueSoon = userActionItems.stream().mapToLong(ai -> ai.isDueSoon(7) ? 1 : 0).sum();
-        long inProgress = userActionItems.stream()
-                .mapToLong(ai -> ai.getStatus() == ActionItem.ActionItemStatus.IN_PROGRESS ? 1 : 0).sum();
+    /**
+     * Apply a change in a parent's direct subtasks to its denormalized counters. The row is
+     * updated atomically; the managed parent is adjusted in memory to match for the response.
+     */
+    private void adjustSubTaskCounts(ActionItem parent, int total, int completed) {
+        if (parent == null || parent.getId() == null || (total == 0 && completed == 0)) {
+            return;
+        }
+        actionItemRepository.adjustSubTaskCounts(parent.getId(), total, completed);
+        parent.setSubTaskCount(Math.max(0, (parent.getSubTaskCount() != null ? parent.getSubTaskCount() : 0) + total));
+        parent.setCompletedSubTaskCount(Math.max(0,
+            (parent.getCompletedSubTaskCount() != null ? parent.getCompletedSubTaskCount() : 0) + completed));
+    }
 
-        return new ActionItemStatistics(total, completed, overdue, dueSoon, inProgress);
+    private static int completedFlag(ActionItem actionItem) {
+        return Boolean.TRUE.equals(actionItem.getCompleted()) ? 1 : 0;
+    }
+
+    /**
+     * Get statistics for action items assigned to a user; cache hits need no database connection
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ActionItemStatistics getStatistics(Long userId) {
+        return statisticsCache.forAssignee(userId, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            return toStatistics(actionItemRepository.aggregateStatisticsByAssigneeId(userId, now, now.plusDays(DUE_SOON_DAYS),
+                ActionItem.ActionItemStatus.IN_PROGRESS));
+        });
+    }
+
+    /**
+     * Get statistics for all action items of an organization
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ActionItemStatistics getOrganizationStatistics(Long organizationId) {
+        return statisticsCache.forOrganization(organizationId, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            return toStatistics(actionItemRepository.aggregateStatisticsByOrganizationId(organizationId, now, now.plusDays(DUE_SOON_DAYS),
+                ActionItem.ActionItemStatus.IN_PROGRESS));
+        });
+    }
+
+    private ActionItemStatistics toStatistics(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new ActionItemStatistics(0, 0, 0, 0, 0);
+        }
+        Object[] row = rows.get(0);
+        return new ActionItemStatistics(
+            ((Number) row[0]).longValue(),
+            ((Number) row[1]).longValue(),
+            ((Number) row[2]).longValue(),
+            ((Number) row[3]).longValue(),
+            ((Number) row[4]).longValue());
     }
 
     /**
@@ -310,21 +581,188 @@ public class ActionItemService {
 
             // Search filter
             if (search != null && !search.isEmpty()) {
-                String searchPattern = "%" + search.toLowerCase() + "%";
-                Predicate titleMatch = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("title")), searchPattern);
-                Predicate descriptionMatch = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("description")), searchPattern);
-                Predicate notesMatch = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("notes")), searchPattern);
-                
-                predicates.add(criteriaBuilder.or(titleMatch, descriptionMatch, notesMatch));
+                predicates.add(searchPredicate(root, criteriaBuilder, search));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private Predicate searchPredicate(Root<ActionItem> root, CriteriaBuilder criteriaBuilder, String search) {
+        String searchPattern = "%" + search.toLowerCase() + "%";
+        Predicate titleMatch = criteriaBuilder.like(
+                criteriaBuilder.lower(root.get("title")), searchPattern);
+        Predicate descriptionMatch = criteriaBuilder.like(
+                criteriaBuilder.lower(root.get("description")), searchPattern);
+        Predicate notesMatch = criteriaBuilder.like(
+                criteriaBuilder.lower(root.get("notes")), searchPattern);
+
+        return criteriaBuilder.or(titleMatch, descriptionMatch, notesMatch);
+    }
+
+    /**
+     * Filters that narrow the set the facets are counted over
+     */
+    private Specification<ActionItem> createFacetBaseSpecification(
+            Long organizationId, Long meetingId, String search, Set<String> tagNames, boolean matchAllTags) {
+
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (organizationId != null) {
+                predicates.add(criteriaBuilder.equal(root.get("organization").get("id"), organizationId));
+            }
+            if (meetingId != null) {
+                predicates.add(criteriaBuilder.equal(root.get("meeting").get("id"), meetingId));
+            }
+            if (search != null && !search.isEmpty()) {
+                predicates.add(searchPredicate(root, criteriaBuilder, search));
+            }
+            if (!tagNames.isEmpty()) {
+                predicates.add(root.get("id").in(taggedIds(query, criteriaBuilder, organizationId, tagNames, matchAllTags)));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Ids of action items carrying any or all of the tags, resolved through the tag_links index
+     */
+    private Subquery<Long> taggedIds(CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder,
+                                     Long organizationId, Set<String> tagNames, boolean matchAll) {
+        Subquery<Long> tagged = query.subquery(Long.class);
+        Root<TagLink> link = tagged.from(TagLink.class);
+        Root<Tag> tag = tagged.from(Tag.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.equal(link.get("tagId"), tag.get("id")));
+        predicates.add(criteriaBuilder.equal(link.get("entityType"), TaggedEntityType.ACTION_ITEM));
+        predicates.add(tag.get("name").in(tagNames));
+        if (organizationId != null) {
+            predicates.add(criteriaBuilder.equal(link.get("organizationId"), organizationId));
+        }
+        tagged.select(link.get("entityId")).where(predicates.toArray(Predicate[]::new));
+
+        if (matchAll) {
+            tagged.groupBy(link.get("entityId"))
+                .having(criteriaBuilder.equal(criteriaBuilder.countDistinct(link.get("tagId")), (long) tagNames.size()));
+        }
+        return tagged;
+    }
+
+    /**
+     * Facet selections, applied to the page query only
+     */
+    private Specification<ActionItem> createFacetSelectionSpecification(
+            Set<ActionItem.ActionItemStatus> statuses, Set<ActionItem.Priority> priorities, Set<Long> assignees,
+            Set<ActionItem.ActionItemType> types, Set<DueBucket> dueBuckets,
+            LocalDateTime now, LocalDateTime dueSoonBefore) {
+
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (statuses != null) {
+                predicates.add(root.get("status").in(statuses));
+            }
+            if (priorities != null) {
+                predicates.add(root.get("priority").in(priorities));
+            }
+            if (types != null) {
+                predicates.add(root.get("type").in(types));
+            }
+            if (assignees != null) {
+                Path<Long> assigneeId = root.get("assignee").get("id");
+                List<Predicate> matches = new ArrayList<>();
+                if (assignees.contains(null)) {
+                    matches.add(criteriaBuilder.isNull(assigneeId));
+                }
+                List<Long> ids = assignees.stream().filter(id -> id != null).toList();
+                if (!ids.isEmpty()) {
+                    matches.add(assigneeId.in(ids));
+                }
+                predicates.add(criteriaBuilder.or(matches.toArray(Predicate[]::new)));
+            }
+            if (dueBuckets != null) {
+                Path<Boolean> completed = root.get("completed");
+                Path<LocalDateTime> dueDate = root.get("dueDate");
+                Predicate open = criteriaBuilder.isFalse(completed);
+                List<Predicate> matches = new ArrayList<>();
+                for (DueBucket bucket : dueBuckets) {
+                    matches.add(switch (bucket) {
+                        case COMPLETED -> criteriaBuilder.isTrue(completed);
+                        case NO_DUE_DATE -> criteriaBuilder.and(open, criteriaBuilder.isNull(dueDate));
+                        case OVERDUE -> criteriaBuilder.and(open, criteriaBuilder.lessThan(dueDate, now));
+                        case DUE_SOON -> criteriaBuilder.and(open, criteriaBuilder.between(dueDate, now, dueSoonBefore));
+                        case LATER -> criteriaBuilder.and(open, criteriaBuilder.greaterThan(dueDate, dueSoonBefore));
+                    });
+                }
+                predicates.add(criteriaBuilder.or(matches.toArray(Predicate[]::new)));
             }
 
             return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
         };
     }
 
+    /**
+     * Enum constants named by the values, or null when none are given (no filter)
+     */
+    private static <E extends Enum<E>> Set<E> parseEnums(Class<E> type, Collection<String> values, String label) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        Set<E> parsed = EnumSet.noneOf(type);
+        for (String value : values) {
+            try {
+                parsed.add(Enum.valueOf(type, value.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid " + label + ": " + value);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Assignee ids, with null standing for "unassigned", or null when none are given (no filter)
+     */
+    private static Set<Long> parseAssignees(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        Set<Long> parsed = new HashSet<>();
+        for (String value : values) {
+            if (UNASSIGNED.equalsIgnoreCase(value.trim())) {
+                parsed.add(null);
+                continue;
+            }
+            try {
+                parsed.add(Long.valueOf(value.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid assignee: " + value);
+            }
+        }
+        return parsed;
+    }
+
+    private static Map<String, Long> emptyFacet(Enum<?>[] values) {
+        Map<String, Long> facet = new LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            facet.put(value.name(), 0L);
+        }
+        return facet;
+    }
+
+    /**
+     * Due date bucket of the faceted search; completed items fall in COMPLETED whatever their due date
+     */
+    public enum DueBucket {
+        OVERDUE,
+        DUE_SOON,
+        LATER,
+        NO_DUE_DATE,
+        COMPLETED
+    }
+
     /**
      * Statistics class for action items
      */
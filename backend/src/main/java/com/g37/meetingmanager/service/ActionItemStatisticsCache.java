@@ -0,0 +1,110 @@
+package com.g37.meetingmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches action item statistics per assignee and per organization.
+ * Entries are dropped after commit of any write touching the assignee or organization, and
+ * expire after a short TTL because overdue and due-soon counts move with the clock.
+ */
+@Service
+public class ActionItemStatisticsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionItemStatisticsCache.class);
+
+    @Value("${action-items.statistics.cache-ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${action-items.statistics.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedStatistics> entries = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public ActionItemService.ActionItemStatistics forAssignee(Long userId,
+                                                             Supplier<ActionItemService.ActionItemStatistics> loader) {
+        return get(assigneeKey(userId), loader);
+    }
+
+    public ActionItemService.ActionItemStatistics forOrganization(Long organizationId,
+                                                                 Supplier<ActionItemService.ActionItemStatistics> loader) {
+        return get(organizationKey(organizationId), loader);
+    }
+
+    private ActionItemService.ActionItemStatistics get(String key, Supplier<ActionItemService.ActionItemStatistics> loader) {
+        long now = System.currentTimeMillis();
+        CachedStatistics cached = entries.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.statistics;
+        }
+
+        long loadedGeneration = generation.get();
+        ActionItemService.ActionItemStatistics statistics = loader.get();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+        if (entries.size() < maxEntries && generation.get() == loadedGeneration) {
+            entries.put(key, new CachedStatistics(statistics, now + ttlMillis));
+        }
+        return statistics;
+    }
+
+    /**
+     * Drop cached statistics affected by an action item write, once the write commits
+     */
+    public void invalidate(Long assigneeId, Long previousAssigneeId, Long organizationId) {
+        generation.incrementAndGet();
+        Runnable eviction = () -> {
+            generation.incrementAndGet();
+            if (assigneeId != null) {
+                entries.remove(assigneeKey(assigneeId));
+            }
+            if (previousAssigneeId != null) {
+                entries.remove(assigneeKey(previousAssigneeId));
+            }
+            if (organizationId != null) {
+                entries.remove(organizationKey(organizationId));
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+        logger.debug("Invalidated action item statistics for assignee {} and organization {}", assigneeId, organizationId);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private static String assigneeKey(Long userId) {
+        return "assignee:" + userId;
+    }
+
+    private static String organizationKey(Long organizationId) {
+        return "organization:" + organizationId;
+    }
+
+    private record CachedStatistics(ActionItemService.ActionItemStatistics statistics, long expiresAt) {
+    }
+}
@@ -7,6 +7,8 @@ import com.g37.meetingmanager.model.User;
 import com.g37.meetingmanager.repository.mysql.OrganizationRepository;
 import com.g37.meetingmanager.repository.mysql.RoleRepository;
 import com.g37.meetingmanager.repository.mysql.UserRepository;
+import com.g37.meetingmanager.util.AuthenticatedUser;
+import com.g37.meetingmanager.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpEntity;
@@ -49,6 +52,15 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginThrottleService loginThrottleService;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
     @Value("${app.microsoft.graph.client-id:}")
     private String azureClientId;
 
@@ -64,25 +76,38 @@ public class AuthService {
     private final RestTemplate restTemplate = new RestTemplate();
 
     /**
-     * Authenticate user with email and password
+     * Authenticate user with email and password. Throttling runs before the password is hashed,
+     * and no transaction is held while the hashing pool works.
      */
-    public User authenticateUser(String email, String password) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public User authenticateUser(String email, String password, String clientIp) {
         log.debug("Authenticating user with email: {}", email);
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+        loginThrottleService.checkAttempt(email, clientIp);
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        // The attempt already counts as a failure; it is cleared on success and released when no
+        // verdict was reached
+        User user;
+        boolean matched;
+        try {
+            user = userRepository.findByEmail(email).orElse(null);
+            matched = user != null && passwordHashingService.matches(password, user.getPasswordHash());
+        } catch (RuntimeException e) {
+            loginThrottleService.releaseAttempt(email);
+            throw e;
+        }
+        if (!matched) {
             throw new BadCredentialsException("Invalid credentials");
         }
 
         if (!user.getIsActive()) {
+            loginThrottleService.releaseAttempt(email);
             throw new BadCredentialsException("Account is inactive");
         }
 
-        // Update last login time
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        loginThrottleService.recordSuccess(email);
+        // Written with other logins in the next batch rather than saving the user row here
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
 
         log.info("User authenticated successfully: {}", email);
         return user;
@@ -111,7 +136,7 @@ public class AuthService {
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         user.setOrganization(organization);
         user.setIsActive(true);
         user.setEmailNotifications(true);
@@ -139,6 +164,20 @@ public class AuthService {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    /**
+     * The user the request is authenticated as. Requests without a token, which only get this far
+     * while app.security.require-authentication is off, fall back to the given email.
+     */
+    public User findCurrentUser(String fallbackEmail) {
+        AuthenticatedUser principal = SecurityUtils.getCurrentUser();
+        if (principal != null) {
+            return principal.getUserId() != null
+                ? userRepository.findById(principal.getUserId()).orElse(null)
+                : findUserByEmail(principal.getEmail());
+        }
+        return fallbackEmail != null ? findUserByEmail(fallbackEmail) : null;
+    }
+
     /**
      * Check if user exists by email
      */
@@ -4,11 +4,11 @@ import com.g37.meetingmanager.model.Meeting;
 import com.g37.meetingmanager.model.MeetingParticipant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpClientErrorException;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -41,56 +41,15 @@ public class CalendarIntegrationService {
     @Value("${app.microsoft.graph.login-base-url:https://login.microsoftonline.com}")
     private String loginBaseUrl;
     
+    @Autowired
+    private GraphBatchClient graphBatchClient;
+    
     private final RestTemplate restTemplate;
     
     public CalendarIntegrationService() {
         this.restTemplate = new RestTemplate();
     }
     
-    /**
-     * Creates a calendar event in Microsoft Outlook for the meeting
-     */
-    public boolean createOutlookCalendarEvent(Meeting meeting, String accessToken) {
-        if (!graphApiEnabled) {
-            logger.info("Microsoft Graph API is disabled. Meeting created locally only.");
-            return false;
-        }
-        
-        if (accessToken == null || accessToken.trim().isEmpty()) {
-            logger.warn("No access token provided for Outlook calendar integration");
-            return false;
-        }
-        
-        try {
-            Map<String, Object> eventData = buildEventData(meeting);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(accessToken);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(eventData, headers);
-            
-            String createEventUrl = graphBaseUrl + "/me/events";
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(createEventUrl, request, Map.class);
-            
-            if (response.getStatusCode() == HttpStatus.CREATED) {
-                logger.info("Successfully created Outlook calendar event for meeting: {}", meeting.getTitle());
-                return true;
-            } else {
-                logger.warn("Unexpected response status when creating Outlook event: {}", response.getStatusCode());
-                return false;
-            }
-            
-        } catch (HttpClientErrorException e) {
-            logger.error("HTTP error creating Outlook calendar event: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return false;
-        } catch (Exception e) {
-            logger.error("Error creating Outlook calendar event for meeting: {}", meeting.getTitle(), e);
-            return false;
-        }
-    }
-    
     /**
      * Builds the event data structure for Microsoft Graph API
      */
@@ -223,6 +182,91 @@ public class CalendarIntegrationService {
         }
     }
     
+    /**
+     * Creates Outlook events for several meetings through Graph $batch. Returns the Outlook event
+     * id of each meeting that was created, keyed by meeting id, and sets it on the meeting.
+     */
+    public Map<Long, String> createOutlookCalendarEvents(List<Meeting> meetings, String accessToken) {
+        if (!graphApiEnabled || accessToken == null || meetings.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        List<GraphBatchClient.BatchRequest> requests = new ArrayList<>(meetings.size());
+        Map<String, Meeting> byRequestId = new HashMap<>();
+        for (Meeting meeting : meetings) {
+            String requestId = String.valueOf(meeting.getId());
+            requests.add(new GraphBatchClient.BatchRequest(requestId, "POST", "/me/events", buildEventData(meeting)));
+            byRequestId.put(requestId, meeting);
+        }
+        
+        Map<Long, String> created = new HashMap<>();
+        for (GraphBatchClient.BatchResponse response : graphBatchClient.execute(accessToken, requests).values()) {
+            Meeting meeting = byRequestId.get(response.getId());
+            if (response.isSuccess() && response.getBody() != null && response.getBody().get("id") != null) {
+                String eventId = response.getBody().get("id").toString();
+                meeting.setOutlookEventId(eventId);
+                created.put(meeting.getId(), eventId);
+            } else {
+                logger.warn("Failed to create Outlook calendar event for meeting {}: status {}", meeting.getId(), response.getStatus());
+            }
+        }
+        logger.info("Created {} of {} Outlook calendar events", created.size(), meetings.size());
+        return created;
+    }
+    
+    /**
+     * Updates the Outlook events of several meetings through Graph $batch. Meetings without an
+     * Outlook event id are skipped. Returns the ids of the meetings that were updated.
+     */
+    public Set<Long> updateOutlookCalendarEvents(List<Meeting> meetings, String accessToken) {
+        if (!graphApiEnabled || accessToken == null) {
+            return Collections.emptySet();
+        }
+        
+        List<GraphBatchClient.BatchRequest> requests = new ArrayList<>();
+        for (Meeting meeting : meetings) {
+            if (meeting.getOutlookEventId() != null) {
+                requests.add(new GraphBatchClient.BatchRequest(String.valueOf(meeting.getId()), "PATCH",
+                    "/me/events/" + meeting.getOutlookEventId(), buildEventData(meeting)));
+            }
+        }
+        
+        Set<Long> updated = new HashSet<>();
+        for (GraphBatchClient.BatchResponse response : graphBatchClient.execute(accessToken, requests).values()) {
+            if (response.isSuccess()) {
+                updated.add(Long.valueOf(response.getId()));
+            } else {
+                logger.warn("Failed to update Outlook calendar event for meeting {}: status {}", response.getId(), response.getStatus());
+            }
+        }
+        return updated;
+    }
+    
+    /**
+     * Deletes several Outlook events through Graph $batch. Returns the ids that no longer exist
+     * in Outlook, including ones that were already gone.
+     */
+    public Set<String> deleteOutlookCalendarEvents(Collection<String> eventIds, String accessToken) {
+        if (!graphApiEnabled || accessToken == null) {
+            return Collections.emptySet();
+        }
+        
+        List<GraphBatchClient.BatchRequest> requests = new ArrayList<>();
+        for (String eventId : new LinkedHashSet<>(eventIds)) {
+            requests.add(new GraphBatchClient.BatchRequest(eventId, "DELETE", "/me/events/" + eventId, null));
+        }
+        
+        Set<String> deleted = new HashSet<>();
+        for (GraphBatchClient.BatchResponse response : graphBatchClient.execute(accessToken, requests).values()) {
+            if (response.isSuccess() || response.getStatus() == HttpStatus.NOT_FOUND.value()) {
+                deleted.add(response.getId());
+            } else {
+                logger.warn("Failed to delete Outlook calendar event {}: status {}", response.getId(), response.getStatus());
+            }
+        }
+        return deleted;
+    }
+    
     /**
      * Gets the Microsoft Graph API authentication URL for calendar access
      */
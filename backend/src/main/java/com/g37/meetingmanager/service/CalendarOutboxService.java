@@ -0,0 +1,442 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.CalendarOutboxEntry;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.repository.mysql.CalendarOutboxRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for pushing meeting changes to Outlook. Meeting writes only insert an
+ * outbox row in their own transaction; a background worker later applies the changes through
+ * Graph $batch calls, one organizer per worker thread, retrying failures with backoff.
+ */
+@Service
+public class CalendarOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarOutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private CalendarOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CalendarIntegrationService calendarIntegrationService;
+
+    @Autowired
+    private GraphTokenRefreshService graphTokenRefreshService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${calendar-outbox.enabled:true}")
+    private boolean outboxEnabled;
+
+    // Meetings claimed per worker round
+    @Value("${calendar-outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${calendar-outbox.concurrency:4}")
+    private int concurrency;
+
+    @Value("${calendar-outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    // Retry delay after the first failure; doubled per attempt up to max-backoff-ms
+    @Value("${calendar-outbox.base-backoff-ms:5000}")
+    private long baseBackoffMs;
+
+    @Value("${calendar-outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // Claims older than this are treated as abandoned by a worker that died
+    @Value("${calendar-outbox.claim-timeout-ms:600000}")
+    private long claimTimeoutMs;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "calendar-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue creating or updating the Outlook event of a meeting. Call inside the transaction that
+     * writes the meeting; does nothing if the organizer has not connected Outlook.
+     */
+    public void enqueueUpsert(Meeting meeting) {
+        User organizer = meeting.getOrganizer();
+        if (!outboxEnabled || organizer == null || !isConnected(organizer)) {
+            return;
+        }
+        outboxRepository.save(new CalendarOutboxEntry(meeting.getId(), organizer.getId(), CalendarOutboxEntry.Operation.UPSERT));
+        // The column is not written by entity saves; set the field too so the response shows it
+        meetingRepository.updateOutlookSyncStatus(List.of(meeting.getId()), Meeting.OutlookSyncStatus.PENDING);
+        meeting.setOutlookSyncStatus(Meeting.OutlookSyncStatus.PENDING);
+        drainAfterCommit();
+    }
+
+    /**
+     * Queue deleting the Outlook event of a meeting that is about to be deleted
+     */
+    public void enqueueDelete(Meeting meeting) {
+        User organizer = meeting.getOrganizer();
+        if (!outboxEnabled || organizer == null || meeting.getOutlookEventId() == null) {
+            return;
+        }
+        CalendarOutboxEntry entry = new CalendarOutboxEntry(meeting.getId(), organizer.getId(), CalendarOutboxEntry.Operation.DELETE);
+        entry.setOutlookEventId(meeting.getOutlookEventId());
+        outboxRepository.save(entry);
+        drainAfterCommit();
+    }
+
+    /**
+     * Queue Outlook events for the upcoming meetings a user organizes that are not in Outlook yet,
+     * e.g. right after the user connects their calendar. Returns the number of meetings queued.
+     */
+    public int enqueueBackfill(User organizer) {
+        if (!outboxEnabled || !isConnected(organizer)) {
+            return 0;
+        }
+        List<Meeting> meetings = meetingRepository.findOutlookBackfillCandidates(
+            organizer.getId(), LocalDateTime.now(), Meeting.MeetingStatus.CANCELLED);
+        if (meetings.isEmpty()) {
+            return 0;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxRepository.saveAll(meetings.stream()
+                .map(meeting -> new CalendarOutboxEntry(meeting.getId(), organizer.getId(), CalendarOutboxEntry.Operation.UPSERT))
+                .collect(Collectors.toList()));
+            meetingRepository.updateOutlookSyncStatus(
+                meetings.stream().map(Meeting::getId).collect(Collectors.toList()), Meeting.OutlookSyncStatus.PENDING);
+        });
+        drainAsync();
+        logger.info("Queued {} meetings for Outlook backfill for user {}", meetings.size(), organizer.getId());
+        return meetings.size();
+    }
+
+    /**
+     * Apply due outbox entries until none are left. Runs on a timer and after each enqueueing
+     * commit; only one drain runs at a time.
+     */
+    @Scheduled(initialDelayString = "${calendar-outbox.initial-delay-ms:10000}",
+               fixedDelayString = "${calendar-outbox.poll-interval-ms:5000}")
+    public void drain() {
+        if (!outboxEnabled || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (drainOnce() > 0) {
+                // keep going while rounds find work
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error draining calendar outbox", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private int drainOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(claimTimeoutMs, ChronoUnit.MILLIS);
+        List<Long> meetingIds = outboxRepository.findDueMeetingIds(CalendarOutboxEntry.Status.PENDING,
+            CalendarOutboxEntry.Status.PROCESSING, now, staleBefore, PageRequest.of(0, batchSize));
+        if (meetingIds.isEmpty()) {
+            return 0;
+        }
+
+        String token = UUID.randomUUID().toString();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // A meeting claimed by another worker since it was found keeps its new entries until
+            // that worker is done, so two workers never push the same meeting at once
+            Set<Long> liveClaims = outboxRepository.lockOpenEntries(meetingIds,
+                    List.of(CalendarOutboxEntry.Status.PENDING, CalendarOutboxEntry.Status.PROCESSING)).stream()
+                .filter(entry -> entry.getStatus() == CalendarOutboxEntry.Status.PROCESSING
+                    && entry.getClaimedAt() != null && !entry.getClaimedAt().isBefore(staleBefore))
+                .map(CalendarOutboxEntry::getMeetingId)
+                .collect(Collectors.toSet());
+            List<Long> claimable = meetingIds.stream()
+                .filter(id -> !liveClaims.contains(id))
+                .collect(Collectors.toList());
+            if (!claimable.isEmpty()) {
+                outboxRepository.claim(claimable, token, CalendarOutboxEntry.Status.PENDING,
+                    CalendarOutboxEntry.Status.PROCESSING, now, staleBefore);
+            }
+        });
+        List<CalendarOutboxEntry> entries = outboxRepository.findByClaimTokenOrderByIdAsc(token);
+
+        // Coalesce: every entry of a meeting collapses into one change carrying the latest operation
+        Map<Long, MeetingChange> changes = new LinkedHashMap<>();
+        for (CalendarOutboxEntry entry : entries) {
+            changes.computeIfAbsent(entry.getMeetingId(), id -> new MeetingChange(id)).add(entry);
+        }
+        Map<Long, List<MeetingChange>> byOrganizer = changes.values().stream()
+            .collect(Collectors.groupingBy(MeetingChange::getOrganizerId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Future<?>> running = new ArrayList<>();
+        byOrganizer.forEach((organizerId, organizerChanges) ->
+            running.add(executor.submit(() -> processOrganizer(organizerId, organizerChanges))));
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            } catch (ExecutionException e) {
+                logger.error("Calendar outbox worker failed", e.getCause());
+            }
+        }
+        return entries.size();
+    }
+
+    private void processOrganizer(Long organizerId, List<MeetingChange> changes) {
+        try {
+            User organizer = userRepository.findById(organizerId).orElse(null);
+            if (organizer == null || !isConnected(organizer)) {
+                changes.forEach(change -> fail(change, "Organizer calendar is not connected", true));
+                return;
+            }
+            if (organizer.getGraphAccessToken() == null || (organizer.getGraphTokenExpiresAt() != null
+                    && organizer.getGraphTokenExpiresAt().isBefore(LocalDateTime.now()))) {
+                graphTokenRefreshService.refreshIfExpiring(organizer);
+                changes.forEach(change -> fail(change, "Access token expired", false));
+                return;
+            }
+            String accessToken = organizer.getGraphAccessToken();
+
+            List<MeetingChange> upserts = new ArrayList<>();
+            List<MeetingChange> deletes = new ArrayList<>();
+            for (MeetingChange change : changes) {
+                if (change.getOperation() == CalendarOutboxEntry.Operation.DELETE) {
+                    deletes.add(change);
+                } else {
+                    upserts.add(change);
+                }
+            }
+            if (!upserts.isEmpty()) {
+                applyUpserts(upserts, accessToken);
+            }
+            if (!deletes.isEmpty()) {
+                applyDeletes(deletes, accessToken);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error syncing meetings to Outlook for user {}", organizerId, e);
+            changes.forEach(change -> fail(change, String.valueOf(e.getMessage()), false));
+        }
+    }
+
+    private void applyUpserts(List<MeetingChange> upserts, String accessToken) {
+        Map<Long, Meeting> meetings = meetingRepository.findWithParticipantsByIdIn(
+                upserts.stream().map(MeetingChange::getMeetingId).collect(Collectors.toList())).stream()
+            .collect(Collectors.toMap(Meeting::getId, Function.identity()));
+
+        List<Meeting> toCreate = new ArrayList<>();
+        List<Meeting> toUpdate = new ArrayList<>();
+        for (MeetingChange change : upserts) {
+            Meeting meeting = meetings.get(change.getMeetingId());
+            if (meeting == null) {
+                // Deleted before it was ever synced; nothing to push
+                complete(change);
+            } else if (meeting.getOutlookEventId() == null) {
+                toCreate.add(meeting);
+            } else {
+                toUpdate.add(meeting);
+            }
+        }
+
+        Map<Long, String> created = toCreate.isEmpty() ? Collections.emptyMap()
+            : calendarIntegrationService.createOutlookCalendarEvents(toCreate, accessToken);
+        Set<Long> updated = toUpdate.isEmpty() ? Collections.emptySet()
+            : calendarIntegrationService.updateOutlookCalendarEvents(toUpdate, accessToken);
+
+        List<String> orphaned = new ArrayList<>();
+        for (MeetingChange change : upserts) {
+            Meeting meeting = meetings.get(change.getMeetingId());
+            if (meeting == null) {
+                continue;
+            }
+            boolean synced = created.containsKey(meeting.getId()) || updated.contains(meeting.getId());
+            if (!synced) {
+                fail(change, "Graph request failed", false);
+                continue;
+            }
+            Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+                int count = meetingRepository.updateOutlookSync(meeting.getId(), meeting.getOutlookEventId(), Meeting.OutlookSyncStatus.SYNCED);
+                outboxRepository.deleteByIds(change.getEntryIds());
+                return count;
+            });
+            if (rows != null && rows == 0 && created.containsKey(meeting.getId())) {
+                // The meeting was deleted while its event was being created
+                orphaned.add(created.get(meeting.getId()));
+            }
+        }
+        if (!orphaned.isEmpty()) {
+            calendarIntegrationService.deleteOutlookCalendarEvents(orphaned, accessToken);
+        }
+    }
+
+    private void applyDeletes(List<MeetingChange> deletes, String accessToken) {
+        List<String> eventIds = deletes.stream()
+            .map(MeetingChange::getOutlookEventId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        Set<String> deleted = eventIds.isEmpty() ? Collections.emptySet()
+            : calendarIntegrationService.deleteOutlookCalendarEvents(eventIds, accessToken);
+        for (MeetingChange change : deletes) {
+            if (change.getOutlookEventId() == null || deleted.contains(change.getOutlookEventId())) {
+                complete(change);
+            } else {
+                fail(change, "Graph request failed", false);
+            }
+        }
+    }
+
+    private void complete(MeetingChange change) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            outboxRepository.deleteByIds(change.getEntryIds()));
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or give up once attempts run out
+     */
+    private void fail(MeetingChange change, String error, boolean permanent) {
+        int attempts = change.getAttempts() + 1;
+        boolean giveUp = permanent || attempts >= maxAttempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(
+            Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 20)), ChronoUnit.MILLIS);
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (CalendarOutboxEntry entry : change.getEntries()) {
+                entry.setAttempts(attempts);
+                entry.setStatus(giveUp ? CalendarOutboxEntry.Status.FAILED : CalendarOutboxEntry.Status.PENDING);
+                entry.setNextAttemptAt(nextAttemptAt);
+                entry.setClaimToken(null);
+                entry.setClaimedAt(null);
+                entry.setLastError(lastError);
+            }
+            outboxRepository.saveAll(change.getEntries());
+            if (giveUp && change.getOperation() == CalendarOutboxEntry.Operation.UPSERT) {
+                meetingRepository.updateOutlookSyncStatus(List.of(change.getMeetingId()), Meeting.OutlookSyncStatus.FAILED);
+            }
+        });
+        if (giveUp) {
+            logger.warn("Giving up syncing meeting {} to Outlook after {} attempts: {}", change.getMeetingId(), attempts, error);
+        }
+    }
+
+    private boolean isConnected(User user) {
+        return user.getGraphAccessToken() != null || user.getGraphRefreshToken() != null;
+    }
+
+    private void drainAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drainAsync();
+                }
+            });
+        }
+    }
+
+    private void drainAsync() {
+        // Not on the worker pool: drain waits for that pool and would starve it
+        CompletableFuture.runAsync(this::drain);
+    }
+
+    /**
+     * All claimed entries of one meeting; the latest entry decides the operation
+     */
+    private static class MeetingChange {
+        private final Long meetingId;
+        private final List<CalendarOutboxEntry> entries = new ArrayList<>();
+
+        MeetingChange(Long meetingId) {
+            this.meetingId = meetingId;
+        }
+
+        void add(CalendarOutboxEntry entry) {
+            entries.add(entry);
+        }
+
+        Long getMeetingId() {
+            return meetingId;
+        }
+
+        List<CalendarOutboxEntry> getEntries() {
+            return entries;
+        }
+
+        List<Long> getEntryIds() {
+            return entries.stream().map(CalendarOutboxEntry::getId).collect(Collectors.toList());
+        }
+
+        CalendarOutboxEntry latest() {
+            return entries.get(entries.size() - 1);
+        }
+
+        Long getOrganizerId() {
+            return latest().getOrganizerId();
+        }
+
+        CalendarOutboxEntry.Operation getOperation() {
+            return latest().getOperation();
+        }
+
+        String getOutlookEventId() {
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                if (entries.get(i).getOutlookEventId() != null) {
+                    return entries.get(i).getOutlookEventId();
+                }
+            }
+            return null;
+        }
+
+        int getAttempts() {
+            return entries.stream().mapToInt(CalendarOutboxEntry::getAttempts).max().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.CalendarEvent;
+import com.g37.meetingmanager.model.CalendarSyncState;
+import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.repository.mysql.CalendarEventRepository;
+import com.g37.meetingmanager.repository.mysql.CalendarSyncStateRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a local copy of each connected user's Outlook calendar using Microsoft Graph calendarView
+ * delta queries. The first sync pages through the whole window and stores the delta link; later
+ * syncs fetch only what changed since then. Calendar reads are served from the local copy.
+ */
+@Service
+public class CalendarSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarSyncService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    @Autowired
+    private MicrosoftGraphCalendarService graphCalendarService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CalendarEventRepository calendarEventRepository;
+
+    @Autowired
+    private CalendarSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private GraphTokenRefreshService graphTokenRefreshService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.microsoft.graph.calendar-sync.enabled:true}")
+    private boolean syncEnabled;
+
+    @Value("${app.microsoft.graph.calendar-sync.past-days:30}")
+    private int pastDays;
+
+    @Value("${app.microsoft.graph.calendar-sync.future-days:180}")
+    private int futureDays;
+
+    // A full resync moves the window forward once it has this many days less future than configured
+    @Value("${app.microsoft.graph.calendar-sync.window-slack-days:7}")
+    private int windowSlackDays;
+
+    @Value("${app.microsoft.graph.calendar-sync.page-size:100}")
+    private int pageSize;
+
+    // Users synced in parallel by the scheduled job, on its own pool rather than the scheduler's threads
+    @Value("${app.microsoft.graph.calendar-sync.concurrency:4}")
+    private int concurrency;
+
+    private ExecutorService executor;
+
+    // Users with a sync running; a second request for the same user is skipped rather than queued
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "calendar-sync-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Outcome of one sync run
+     */
+    public static class SyncResult {
+        private final boolean fullSync;
+        private final boolean skipped;
+        private final int upserted;
+        private final int removed;
+
+        SyncResult(boolean fullSync, boolean skipped, int upserted, int removed) {
+            this.fullSync = fullSync;
+            this.skipped = skipped;
+            this.upserted = upserted;
+            this.removed = removed;
+        }
+
+        static SyncResult skipped() {
+            return new SyncResult(false, true, 0, 0);
+        }
+
+        public boolean isFullSync() {
+            return fullSync;
+        }
+
+        public boolean isSkipped() {
+            return skipped;
+        }
+
+        public int getUpserted() {
+            return upserted;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+    }
+
+    /**
+     * Bring the local calendar copy of a user up to date. Throws IllegalStateException when the
+     * user has no usable Graph token.
+     */
+    public SyncResult syncUser(User user) {
+        if (!syncEnabled || !graphCalendarService.isGraphApiEnabled()) {
+            return SyncResult.skipped();
+        }
+        if (user.getGraphAccessToken() == null || user.getGraphAccessToken().isEmpty()) {
+            throw new IllegalStateException("Calendar is not connected");
+        }
+        if (user.getGraphTokenExpiresAt() != null && user.getGraphTokenExpiresAt().isBefore(LocalDateTime.now())) {
+            graphTokenRefreshService.refreshIfExpiring(user);
+            throw new IllegalStateException("Calendar access token has expired");
+        }
+        if (!inFlight.add(user.getId())) {
+            logger.debug("Calendar sync already running for user {}", user.getId());
+            return SyncResult.skipped();
+        }
+
+        CalendarSyncState state = syncStateRepository.findByUserId(user.getId())
+            .orElseGet(() -> new CalendarSyncState(user.getId()));
+        try {
+            SyncResult result;
+            if (needsFullSync(state)) {
+                result = fullSync(user, state);
+            } else {
+                try {
+                    result = incrementalSync(user, state);
+                } catch (HttpClientErrorException e) {
+                    if (e.getStatusCode().value() != HttpStatus.GONE.value()) {
+                        throw e;
+                    }
+                    // Delta token expired or was invalidated; start over
+                    logger.info("Calendar delta token expired for user {}, running full sync", user.getId());
+                    result = fullSync(user, state);
+                }
+            }
+            state.setLastSyncedAt(LocalDateTime.now());
+            state.setLastError(null);
+            syncStateRepository.save(state);
+            logger.debug("Calendar sync for user {}: full={}, upserted={}, removed={}",
+                user.getId(), result.isFullSync(), result.getUpserted(), result.getRemoved());
+            return result;
+        } catch (RuntimeException e) {
+            logger.warn("Calendar sync failed for user {}: {}", user.getId(), e.getMessage());
+            String message = String.valueOf(e.getMessage());
+            state.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            syncStateRepository.save(state);
+            throw e;
+        } finally {
+            inFlight.remove(user.getId());
+        }
+    }
+
+    /**
+     * Sync every connected user whose token is still valid. The Graph calls run on the sync pool;
+     * the scheduler thread only waits for the pass to finish, so the next one starts after it.
+     */
+    @Scheduled(initialDelayString = "${app.microsoft.graph.calendar-sync.initial-delay-ms:120000}",
+               fixedDelayString = "${app.microsoft.graph.calendar-sync.interval-ms:300000}")
+    public void syncConnectedUsers() {
+        if (!syncEnabled || !graphCalendarService.isGraphApiEnabled()) {
+            return;
+        }
+        List<CompletableFuture<Void>> syncs = new ArrayList<>();
+        for (Long userId : userRepository.findCalendarSyncUserIds(LocalDateTime.now())) {
+            syncs.add(CompletableFuture.runAsync(() -> {
+                try {
+                    userRepository.findById(userId).ifPresent(this::syncUser);
+                } catch (RuntimeException e) {
+                    // Logged and recorded on the sync state; keep going with the other users
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(syncs.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Cached events of a user overlapping [from, to), syncing first if the user never synced
+     */
+    public List<CalendarEvent> getEvents(User user, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (syncStateRepository.findByUserId(user.getId()).map(CalendarSyncState::getDeltaLink).isEmpty()) {
+            syncUser(user);
+        }
+        return calendarEventRepository.findOverlapping(user.getId(), from, to);
+    }
+
+    public Optional<CalendarSyncState> getSyncState(Long userId) {
+        return syncStateRepository.findByUserId(userId);
+    }
+
+    /**
+     * Drop the local calendar copy and delta state of a user, e.g. on disconnect
+     */
+    @Transactional
+    public void clearUser(Long userId) {
+        calendarEventRepository.deleteByUser(userId);
+        syncStateRepository.deleteByUser(userId);
+    }
+
+    private boolean needsFullSync(CalendarSyncState state) {
+        if (state.getDeltaLink() == null || state.getWindowEnd() == null) {
+            return true;
+        }
+        LocalDateTime wantedEnd = LocalDate.now(ZoneOffset.UTC).plusDays(futureDays - (long) windowSlackDays).atStartOfDay();
+        return state.getWindowEnd().isBefore(wantedEnd);
+    }
+
+    /**
+     * Page through the whole window, then remove cached events the window no longer contains
+     */
+    private SyncResult fullSync(User user, CalendarSyncState state) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDateTime windowStart = today.minusDays(pastDays).atStartOfDay();
+        LocalDateTime windowEnd = today.plusDays(futureDays).atStartOfDay();
+
+        URI url = graphCalendarService.calendarViewDeltaUrl(
+            windowStart.toInstant(ZoneOffset.UTC), windowEnd.toInstant(ZoneOffset.UTC));
+        int[] counts = new int[2];
+        Set<String> seen = new HashSet<>();
+        String deltaLink = applyPages(user, url, counts, seen);
+
+        List<String> unseen = calendarEventRepository.findGraphEventIdsByUserId(user.getId()).stream()
+            .filter(id -> !seen.contains(id))
+            .collect(Collectors.toList());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < unseen.size(); i += DELETE_BATCH_SIZE) {
+            List<String> batch = unseen.subList(i, Math.min(i + DELETE_BATCH_SIZE, unseen.size()));
+            Integer deleted = transaction.execute(status ->
+                calendarEventRepository.deleteByUserIdAndGraphEventIds(user.getId(), batch));
+            counts[1] += deleted != null ? deleted : 0;
+        }
+
+        state.setDeltaLink(deltaLink);
+        state.setWindowStart(windowStart);
+        state.setWindowEnd(windowEnd);
+        state.setLastFullSyncAt(LocalDateTime.now());
+        return new SyncResult(true, false, counts[0], counts[1]);
+    }
+
+    private SyncResult incrementalSync(User user, CalendarSyncState state) {
+        int[] counts = new int[2];
+        String deltaLink = applyPages(user, URI.create(state.getDeltaLink()), counts, null);
+        state.setDeltaLink(deltaLink);
+        return new SyncResult(false, false, counts[0], counts[1]);
+    }
+
+    /**
+     * Follow nextLinks to the end of a delta round, applying each page in its own transaction so
+     * no transaction stays open across Graph calls. Returns the delta link for the next round;
+     * if a page fails, the stored link is left untouched and the next round replays from it.
+     */
+    private String applyPages(User user, URI url, int[] counts, Set<String> seen) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        while (true) {
+            MicrosoftGraphCalendarService.GraphPage page =
+                graphCalendarService.getPage(url, user.getGraphAccessToken(), pageSize);
+            transaction.executeWithoutResult(status -> applyPage(user.getId(), page.getValue(), counts, seen));
+            if (page.getNextLink() != null) {
+                url = URI.create(page.getNextLink());
+            } else if (page.getDeltaLink() != null) {
+                return page.getDeltaLink();
+            } else {
+                throw new IllegalStateException("Graph delta response had neither a next link nor a delta link");
+            }
+        }
+    }
+
+    private void applyPage(Long userId, List<Map<String, Object>> items, int[] counts, Set<String> seen) {
+        List<String> removedIds = new ArrayList<>();
+        Map<String, Map<String, Object>> changed = new LinkedHashMap<>();
+        for (Map<String, Object> item : items) {
+            String id = (String) item.get("id");
+            if (id == null) {
+                continue;
+            }
+            if (item.containsKey("@removed")) {
+                removedIds.add(id);
+                changed.remove(id);
+            } else {
+                changed.put(id, item);
+                removedIds.remove(id);
+            }
+        }
+
+        if (seen != null) {
+            seen.addAll(changed.keySet());
+        }
+        if (!removedIds.isEmpty()) {
+            counts[1] += calendarEventRepository.deleteByUserIdAndGraphEventIds(userId, removedIds);
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<String, CalendarEvent> existing = calendarEventRepository
+            .findByUserIdAndGraphEventIdIn(userId, changed.keySet()).stream()
+            .collect(Collectors.toMap(CalendarEvent::getGraphEventId, Function.identity()));
+        LocalDateTime syncedAt = LocalDateTime.now();
+        List<CalendarEvent> toSave = new ArrayList<>(changed.size());
+        for (Map.Entry<String, Map<String, Object>> entry : changed.entrySet()) {
+            CalendarEvent event = existing.getOrDefault(entry.getKey(), new CalendarEvent(userId, entry.getKey()));
+            if (applyFields(event, entry.getValue())) {
+                event.setSyncedAt(syncedAt);
+                toSave.add(event);
+            }
+        }
+        calendarEventRepository.saveAll(toSave);
+        counts[0] += toSave.size();
+    }
+
+    /**
+     * Copy Graph event properties onto the cached row; false when the item has no usable times
+     */
+    private boolean applyFields(CalendarEvent event, Map<String, Object> item) {
+        LocalDateTime start = parseGraphTime(item.get("start"));
+        LocalDateTime end = parseGraphTime(item.get("end"));
+        if (start == null || end == null) {
+            return false;
+        }
+        event.setStartTime(start);
+        event.setEndTime(end);
+        event.setSubject(truncate((String) item.get("subject"), 500));
+        event.setIsAllDay(Boolean.TRUE.equals(item.get("isAllDay")));
+        event.setIsCancelled(Boolean.TRUE.equals(item.get("isCancelled")));
+        event.setLocation(truncate((String) nested(item, "location", "displayName"), 500));
+        event.setOrganizerEmail(truncate((String) nested(item, "organizer", "emailAddress", "address"), 255));
+        event.setShowAs((String) item.get("showAs"));
+        event.setWebLink(truncate((String) item.get("webLink"), 1000));
+        event.setSeriesMasterId((String) item.get("seriesMasterId"));
+        Object lastModified = item.get("lastModifiedDateTime");
+        if (lastModified != null) {
+            event.setLastModified(LocalDateTime.ofInstant(Instant.parse(lastModified.toString()), ZoneOffset.UTC));
+        }
+        return true;
+    }
+
+    /**
+     * Graph dateTimeTimeZone value; requests ask for UTC via the Prefer header
+     */
+    private LocalDateTime parseGraphTime(Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Object dateTime = ((Map<?, ?>) value).get("dateTime");
+        return dateTime != null ? LocalDateTime.parse(dateTime.toString()) : null;
+    }
+
+    private Object nested(Map<String, Object> item, String... path) {
+        Object current = item;
+        for (String key : path) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<?, ?>) current).get(key);
+        }
+        return current;
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -3,6 +3,8 @@ package com.g37.meetingmanager.service;
 import com.g37.meetingmanager.model.Document;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
+
 public interface CloudStorageService {
     
     CloudUploadResult uploadFile(MultipartFile file, Document document) throws Exception;
@@ -13,6 +15,15 @@ public interface CloudStorageService {
     
     byte[] downloadFile(Document document) throws Exception;
     
+    /**
+     * Write bytes start..end (inclusive) of the file to out as they arrive from the provider.
+     * The default buffers the whole file; providers that can stream override it.
+     */
+    default void streamFile(Document document, long start, long end, OutputStream out) throws Exception {
+        byte[] content = downloadFile(document);
+        out.write(content, Math.toIntExact(start), Math.toIntExact(end - start + 1));
+    }
+    
     boolean fileExists(Document document);
     
     // Result class for upload operations
@@ -4,14 +4,18 @@ import com.g37.meetingmanager.model.Document;
 import com.g37.meetingmanager.model.Document.DocumentType;
 import com.g37.meetingmanager.model.Document.AccessPermission;
 import com.g37.meetingmanager.model.Document.StorageProvider;
+import com.g37.meetingmanager.model.Tag;
 import com.g37.meetingmanager.repository.mysql.DocumentRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -54,6 +58,14 @@ public class DocumentService {
         }
     }
 
+    /**
+     * Write bytes start..end (inclusive) of the document's content to out, straight from the
+     * storage provider
+     */
+    public void streamDocumentContent(Document document, long start, long end, OutputStream out) throws Exception {
+        cloudStorageService.streamFile(document, start, end, out);
+    }
+
     // Meeting-related operations
     public List<Document> findDocumentsByMeeting(Integer meetingId) {
         return documentRepository.findByMeetingId(meetingId);
@@ -75,7 +87,7 @@ public class DocumentService {
     // Search operations
     public List<Document> searchDocuments(String searchTerm) {
         logger.info("Searching documents with term: {}", searchTerm);
-        return documentRepository.searchDocuments(searchTerm);
+        return documentRepository.fullTextSearch(searchTerm, null, null, null, null, Pageable.unpaged()).getContent();
     }
 
     public List<Document> searchDocumentsWithFilters(
@@ -88,16 +100,30 @@ public class DocumentService {
         logger.info("Searching documents with filters - Meeting: {}, Type: {}, Access: {}, User: {}, Term: {}",
                 meetingId, documentType, accessPermissions, uploadedBy, searchTerm);
 
-        return documentRepository.findDocumentsWithFilters(
-                meetingId, documentType, accessPermissions, uploadedBy, searchTerm);
+        return searchDocumentsWithFilters(
+                meetingId, documentType, accessPermissions, uploadedBy, searchTerm, Pageable.unpaged()).getContent();
+    }
+
+    public Page<Document> searchDocumentsWithFilters(
+            Integer meetingId,
+            DocumentType documentType,
+            AccessPermission accessPermissions,
+            Long uploadedBy,
+            String searchTerm,
+            Pageable pageable) {
+
+        return documentRepository.fullTextSearch(
+                searchTerm, meetingId, documentType, accessPermissions, uploadedBy, pageable);
     }
 
     public List<Document> findByTag(String tag) {
-        return documentRepository.findByTag(tag);
+        String name = Tag.normalize(tag);
+        return name != null ? documentRepository.findByTag(name) : List.of();
     }
 
     public List<Document> findByAiKeyword(String keyword) {
-        return documentRepository.findByAiKeyword(keyword);
+        String name = Tag.normalize(keyword);
+        return name != null ? documentRepository.findByAiKeyword(name) : List.of();
     }
 
     // File upload operations
@@ -61,6 +61,9 @@ public class FathomWebhookService {
     @Autowired(required = false)
     private MeetingTranscriptRepository meetingTranscriptRepository;
 
+    @Autowired(required = false)
+    private SearchIndexService searchIndexService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -299,6 +302,9 @@ public class FathomWebhookService {
         // Store full transcript in MongoDB for searchability
         storeTranscriptInMongoDB(savedMeeting, payload);
 
+        // Index transcript segments for segment-level search
+        indexTranscriptSegments(savedMeeting, payload);
+
         return savedMeeting;
     }
 
@@ -607,6 +613,25 @@ public class FathomWebhookService {
         }
     }
 
+    /**
+     * Index individual transcript segments in the embedded search index
+     * Runs independently of MongoDB so transcripts stay searchable without it
+     */
+    private void indexTranscriptSegments(Meeting meeting, FathomWebhookPayload payload) {
+        if (searchIndexService == null || payload.getTranscript() == null || payload.getTranscript().isEmpty()) {
+            return;
+        }
+
+        List<MeetingTranscript.TranscriptSegment> segments = new ArrayList<>();
+        for (FathomWebhookPayload.TranscriptEntry entry : payload.getTranscript()) {
+            String speaker = entry.getSpeaker() != null ? entry.getSpeaker().getDisplayName() : "Unknown";
+            segments.add(new MeetingTranscript.TranscriptSegment(speaker, entry.getText(), entry.getTimestamp()));
+        }
+
+        searchIndexService.indexTranscriptSegments(meeting, segments);
+        logger.debug("Indexed {} transcript segments for meeting {}", segments.size(), meeting.getId());
+    }
+
     /**
      * Create PendingAction for CRM contact sync operation
      */
@@ -0,0 +1,392 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.OccurrenceDTO;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.MeetingParticipant;
+import com.g37.meetingmanager.repository.mysql.CalendarEventRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingParticipantRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Finds meeting times that suit a group of participants. Each participant's busy time over the
+ * window, from local meetings they attend or organize and from their cached Outlook events, is laid
+ * onto a bitmap of 5-minute slots; free runs of the meeting's length and the intersection across
+ * participants are then computed a word at a time. Meeting times are in the server's zone, the
+ * zone they are sent to Outlook in; cached Outlook events are in UTC and are converted to it
+ * before they are laid on the bitmap.
+ */
+@Service
+public class FindTimeService {
+
+    private static final int SLOT_MINUTES = 5;
+
+    // Outlook showAs values that do not block time
+    private static final List<String> FREE_SHOW_AS = List.of("free", "workingElsewhere");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingParticipantRepository participantRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private CalendarEventRepository calendarEventRepository;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    // Zone of meeting times; CalendarEvent times are UTC
+    private ZoneId meetingZone = ZoneId.systemDefault();
+
+    @Value("${find-time.max-window-days:31}")
+    private int maxWindowDays;
+
+    @Value("${find-time.max-participants:200}")
+    private int maxParticipants;
+
+    // Candidate meetings start on multiples of this many minutes past the hour
+    @Value("${find-time.step-minutes:15}")
+    private int stepMinutes;
+
+    // Working hours as hours of the day, for searches limited to them
+    @Value("${find-time.working-hours.start:9}")
+    private int workdayStartHour;
+
+    @Value("${find-time.working-hours.end:17}")
+    private int workdayEndHour;
+
+    /**
+     * A candidate meeting time and who can make it
+     */
+    public static class CandidateSlot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int availableCount;
+        private final int participantCount;
+        private final List<String> unavailable;
+
+        public CandidateSlot(LocalDateTime start, LocalDateTime end, int availableCount, int participantCount,
+                             List<String> unavailable) {
+            this.start = start;
+            this.end = end;
+            this.availableCount = availableCount;
+            this.participantCount = participantCount;
+            this.unavailable = unavailable;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+
+        public int getAvailableCount() {
+            return availableCount;
+        }
+
+        public int getParticipantCount() {
+            return participantCount;
+        }
+
+        // Emails of participants who are busy, or "user:<id>" for users without one
+        public List<String> getUnavailable() {
+            return unavailable;
+        }
+
+        public boolean isEveryoneAvailable() {
+            return availableCount == participantCount;
+        }
+    }
+
+    /**
+     * Candidate times of the given length in [from, to), best first: times everyone can make in
+     * start order, then times most participants can make. Participants are users by id and anyone
+     * by email; emails of registered users are matched to the user.
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateSlot> findTimes(Collection<Long> userIds, Collection<String> emails, Duration duration,
+                                         LocalDateTime from, LocalDateTime to, boolean workingHoursOnly, int maxResults) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        if (Duration.between(from, to).toDays() > maxWindowDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxWindowDays + " days");
+        }
+        if (duration == null || duration.toMinutes() < SLOT_MINUTES || duration.compareTo(Duration.between(from, to)) > 0) {
+            throw new IllegalArgumentException("Duration must be at least " + SLOT_MINUTES + " minutes and fit the date range");
+        }
+
+        Participants participants = resolveParticipants(userIds, emails);
+        int count = participants.labels.size();
+        if (count == 0 || count > maxParticipants) {
+            throw new IllegalArgumentException("Between 1 and " + maxParticipants + " participants are required");
+        }
+
+        LocalDateTime origin = from.truncatedTo(ChronoUnit.HOURS)
+            .plusMinutes(from.getMinute() / SLOT_MINUTES * SLOT_MINUTES);
+        int slots = (int) ceilDiv(Duration.between(origin, to).getSeconds(), SLOT_MINUTES * 60L);
+        int length = (int) ceilDiv(duration.getSeconds(), SLOT_MINUTES * 60L);
+
+        BitSet[] busy = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            busy[i] = new BitSet(slots);
+        }
+        markBusy(participants, busy, origin, slots, from, to);
+
+        BitSet starts = allowedStarts(origin, slots, length, from, duration, workingHoursOnly);
+        BitSet everyone = (BitSet) starts.clone();
+        BitSet[] canStart = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            BitSet free = new BitSet(slots);
+            free.set(0, slots);
+            free.andNot(busy[i]);
+            canStart[i] = freeRuns(free, length, slots);
+            canStart[i].and(starts);
+            everyone.and(canStart[i]);
+        }
+
+        List<Integer> ranked = new ArrayList<>();
+        for (int slot = everyone.nextSetBit(0); slot >= 0 && ranked.size() < maxResults; slot = everyone.nextSetBit(slot + 1)) {
+            ranked.add(slot);
+        }
+        int[] available = new int[slots];
+        if (ranked.size() < maxResults) {
+            // Fall back to times that suit most participants
+            for (BitSet participantStarts : canStart) {
+                for (int slot = participantStarts.nextSetBit(0); slot >= 0; slot = participantStarts.nextSetBit(slot + 1)) {
+                    available[slot]++;
+                }
+            }
+            List<Integer> partial = new ArrayList<>();
+            for (int slot = starts.nextSetBit(0); slot >= 0; slot = starts.nextSetBit(slot + 1)) {
+                if (available[slot] > 0 && !everyone.get(slot)) {
+                    partial.add(slot);
+                }
+            }
+            partial.sort(Comparator.comparingInt((Integer slot) -> -available[slot]).thenComparingInt(slot -> slot));
+            ranked.addAll(partial.subList(0, Math.min(partial.size(), maxResults - ranked.size())));
+        }
+
+        List<CandidateSlot> candidates = new ArrayList<>(ranked.size());
+        for (int slot : ranked) {
+            List<String> unavailable = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (!canStart[i].get(slot)) {
+                    unavailable.add(participants.labels.get(i));
+                }
+            }
+            LocalDateTime start = origin.plusMinutes((long) slot * SLOT_MINUTES);
+            candidates.add(new CandidateSlot(start, start.plus(duration), count - unavailable.size(), count, unavailable));
+        }
+        return candidates;
+    }
+
+    /**
+     * Participants in request order: users by id first, then emails, with an email of a registered
+     * user folded into that user
+     */
+    private Participants resolveParticipants(Collection<Long> userIds, Collection<String> emails) {
+        Set<Long> ids = new LinkedHashSet<>(userIds != null ? userIds : Collections.emptyList());
+        ids.remove(null);
+        Set<String> addresses = new LinkedHashSet<>();
+        if (emails != null) {
+            for (String email : emails) {
+                if (email != null && !email.isBlank()) {
+                    addresses.add(email.trim().toLowerCase());
+                }
+            }
+        }
+
+        Map<Long, String> emailByUser = new HashMap<>();
+        Map<String, Long> userByEmail = new HashMap<>();
+        if (!ids.isEmpty() || !addresses.isEmpty()) {
+            for (Object[] row : userRepository.findIdAndEmailRows(orNone(ids, -1L), orNone(addresses, ""))) {
+                emailByUser.put((Long) row[0], (String) row[1]);
+                if (row[1] != null) {
+                    userByEmail.put((String) row[1], (Long) row[0]);
+                }
+            }
+        }
+
+        Participants participants = new Participants();
+        for (Long id : ids) {
+            if (!emailByUser.containsKey(id)) {
+                throw new IllegalArgumentException("User not found: " + id);
+            }
+            participants.addUser(id, emailByUser.get(id));
+        }
+        for (String address : addresses) {
+            Long userId = userByEmail.get(address);
+            if (userId != null) {
+                participants.addUser(userId, address);
+            } else if (!participants.byEmail.containsKey(address)) {
+                participants.byEmail.put(address, participants.labels.size());
+                participants.labels.add(address);
+            }
+        }
+        return participants;
+    }
+
+    private void markBusy(Participants participants, BitSet[] busy, LocalDateTime origin, int slots,
+                          LocalDateTime from, LocalDateTime to) {
+        // [participant, meetingId, start, end, isRecurring] of every local meeting that can block time
+        List<Object[]> meetings = new ArrayList<>();
+        if (!participants.byUser.isEmpty()) {
+            Set<Long> userIds = participants.byUser.keySet();
+            for (Object[] row : participantRepository.findBusyRowsByUsers(userIds, from, to,
+                    MeetingParticipant.InvitationStatus.DECLINED, Meeting.MeetingStatus.CANCELLED)) {
+                meetings.add(new Object[]{participants.byUser.get((Long) row[0]), row[1], row[2], row[3], row[4]});
+            }
+            for (Object[] row : meetingRepository.findOrganizerBusyRows(userIds, from, to, Meeting.MeetingStatus.CANCELLED)) {
+                meetings.add(new Object[]{participants.byUser.get((Long) row[0]), row[1], row[2], row[3], row[4]});
+            }
+        }
+        // Invitations by email only, users' addresses included; MySQL's default collation makes the
+        // plain IN on the email column case-insensitive
+        if (!participants.byEmail.isEmpty()) {
+            for (Object[] row : participantRepository.findBusyRowsByEmails(participants.byEmail.keySet(), from, to,
+                    MeetingParticipant.InvitationStatus.DECLINED, Meeting.MeetingStatus.CANCELLED)) {
+                Integer participant = participants.byEmail.get((String) row[0]);
+                if (participant != null) {
+                    meetings.add(new Object[]{participant, row[1], row[2], row[3], row[4]});
+                }
+            }
+        }
+
+        Set<Long> recurringIds = new HashSet<>();
+        for (Object[] meeting : meetings) {
+            if (Boolean.TRUE.equals(meeting[4])) {
+                recurringIds.add((Long) meeting[1]);
+            }
+        }
+        // Start a day early so occurrences running into the window are seen
+        Map<Long, List<OccurrenceDTO>> occurrences = recurrenceService.getOccurrencesOfMeetings(recurringIds, from.minusDays(1), to);
+
+        for (Object[] meeting : meetings) {
+            BitSet bitmap = busy[(Integer) meeting[0]];
+            List<OccurrenceDTO> series = occurrences.get((Long) meeting[1]);
+            if (series != null) {
+                for (OccurrenceDTO occurrence : series) {
+                    mark(bitmap, origin, slots, occurrence.getStart(), occurrence.getEnd());
+                }
+            } else {
+                mark(bitmap, origin, slots, (LocalDateTime) meeting[2], (LocalDateTime) meeting[3]);
+            }
+        }
+
+        if (!participants.byUser.isEmpty()) {
+            for (Object[] row : calendarEventRepository.findBusyRows(participants.byUser.keySet(),
+                    toUtc(from), toUtc(to), FREE_SHOW_AS)) {
+                mark(busy[participants.byUser.get((Long) row[0])], origin, slots,
+                    fromUtc((LocalDateTime) row[1]), fromUtc((LocalDateTime) row[2]));
+            }
+        }
+    }
+
+    /**
+     * Slots a meeting may start in: on the step grid, not before from, and within one working day
+     * when asked to
+     */
+    private BitSet allowedStarts(LocalDateTime origin, int slots, int length, LocalDateTime from,
+                                 Duration duration, boolean workingHoursOnly) {
+        BitSet starts = new BitSet(slots);
+        for (int slot = 0; slot + length <= slots; slot++) {
+            LocalDateTime start = origin.plusMinutes((long) slot * SLOT_MINUTES);
+            if (start.isBefore(from) || (start.getHour() * 60 + start.getMinute()) % stepMinutes != 0) {
+                continue;
+            }
+            if (workingHoursOnly) {
+                LocalDateTime end = start.plus(duration);
+                if (start.getDayOfWeek() == DayOfWeek.SATURDAY || start.getDayOfWeek() == DayOfWeek.SUNDAY
+                        || start.getHour() < workdayStartHour
+                        || end.isAfter(start.toLocalDate().atStartOfDay().plusHours(workdayEndHour))) {
+                    continue;
+                }
+            }
+            starts.set(slot);
+        }
+        return starts;
+    }
+
+    /**
+     * Bits i such that all of i .. i + length - 1 are set, by repeated shift-and: each round
+     * doubles the run length covered, so it takes log2(length) word-wise passes
+     */
+    static BitSet freeRuns(BitSet free, int length, int slots) {
+        BitSet runs = (BitSet) free.clone();
+        int covered = 1;
+        while (covered < length) {
+            int shift = Math.min(covered, length - covered);
+            runs.and(runs.get(shift, Math.max(shift, slots)));
+            covered += shift;
+        }
+        return runs;
+    }
+
+    private LocalDateTime toUtc(LocalDateTime local) {
+        return local.atZone(meetingZone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private LocalDateTime fromUtc(LocalDateTime utc) {
+        return utc == null ? null : utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(meetingZone).toLocalDateTime();
+    }
+
+    private static void mark(BitSet bitmap, LocalDateTime origin, int slots, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return;
+        }
+        long first = Math.max(0, Math.floorDiv(Duration.between(origin, start).getSeconds(), SLOT_MINUTES * 60L));
+        long last = Math.min(slots, ceilDiv(Duration.between(origin, end).getSeconds(), SLOT_MINUTES * 60L));
+        if (first < last) {
+            bitmap.set((int) first, (int) last);
+        }
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    // Empty IN lists are not portable JPQL; match nothing with a value that never occurs instead
+    private static <T> Collection<T> orNone(Collection<T> values, T none) {
+        return values.isEmpty() ? List.of(none) : values;
+    }
+
+    /**
+     * Participants by index, with lookups from user id and lowercased email
+     */
+    private static final class Participants {
+        private final List<String> labels = new ArrayList<>();
+        private final Map<Long, Integer> byUser = new LinkedHashMap<>();
+        private final Map<String, Integer> byEmail = new LinkedHashMap<>();
+
+        private void addUser(Long userId, String email) {
+            if (byUser.containsKey(userId)) {
+                return;
+            }
+            int index = labels.size();
+            byUser.put(userId, index);
+            labels.add(email != null ? email : "user:" + userId);
+            if (email != null) {
+                byEmail.put(email, index);
+            }
+        }
+    }
+}
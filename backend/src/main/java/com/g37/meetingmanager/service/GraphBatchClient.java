@@ -0,0 +1,243 @@
+package com.g37.meetingmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Sends Microsoft Graph requests through the JSON $batch endpoint, up to 20 per round-trip.
+ * Sub-requests that are throttled (429) or hit a transient failure (503/504) are retried on their
+ * own after the longest Retry-After of the round; all other results are returned as they came back.
+ */
+@Service
+public class GraphBatchClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphBatchClient.class);
+
+    // Graph rejects batches with more than 20 requests
+    public static final int MAX_BATCH_SIZE = 20;
+
+    @Value("${app.microsoft.graph.base-url:https://graph.microsoft.com/v1.0}")
+    private String graphBaseUrl;
+
+    @Value("${app.microsoft.graph.batch.max-attempts:4}")
+    private int maxAttempts;
+
+    // Backoff when a throttled response carries no Retry-After; doubled on every attempt
+    @Value("${app.microsoft.graph.batch.base-backoff-ms:1000}")
+    private long baseBackoffMs;
+
+    @Value("${app.microsoft.graph.batch.max-retry-after-ms:30000}")
+    private long maxRetryAfterMs;
+
+    private final RestTemplate restTemplate;
+
+    public GraphBatchClient() {
+        this.restTemplate = new RestTemplate();
+    }
+
+    /**
+     * One sub-request; the URL is relative to the Graph version root, e.g. "/me/events"
+     */
+    public static class BatchRequest {
+        private final String id;
+        private final String method;
+        private final String url;
+        private final Object body;
+
+        public BatchRequest(String id, String method, String url, Object body) {
+            this.id = id;
+            this.method = method;
+            this.url = url;
+            this.body = body;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Object getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Result of one sub-request. Status 0 means no response was obtained, e.g. the whole batch call failed.
+     */
+    public static class BatchResponse {
+        private final String id;
+        private final int status;
+        private final Map<String, Object> body;
+
+        public BatchResponse(String id, int status, Map<String, Object> body) {
+            this.id = id;
+            this.status = status;
+            this.body = body;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public Map<String, Object> getBody() {
+            return body;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    /**
+     * Run requests in batches of 20 and return one response per request id, in request order.
+     * Request ids must be unique within the call.
+     */
+    public Map<String, BatchResponse> execute(String accessToken, List<BatchRequest> requests) {
+        Map<String, BatchResponse> results = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i += MAX_BATCH_SIZE) {
+            List<BatchRequest> chunk = requests.subList(i, Math.min(i + MAX_BATCH_SIZE, requests.size()));
+            // Graph may answer sub-requests in any order; keep the caller's order
+            Map<String, BatchResponse> chunkResults = executeChunk(accessToken, chunk);
+            chunk.forEach(request -> results.put(request.getId(), chunkResults.get(request.getId())));
+        }
+        return results;
+    }
+
+    private Map<String, BatchResponse> executeChunk(String accessToken, List<BatchRequest> chunk) {
+        Map<String, BatchResponse> results = new LinkedHashMap<>();
+        List<BatchRequest> pending = chunk;
+        for (int attempt = 1; ; attempt++) {
+            long waitMs = 0;
+            List<BatchRequest> retry = new ArrayList<>();
+            Map<String, BatchRequest> byId = new HashMap<>();
+            pending.forEach(request -> byId.put(request.getId(), request));
+
+            try {
+                for (Map<String, Object> item : post(accessToken, pending)) {
+                    String id = String.valueOf(item.get("id"));
+                    int status = item.get("status") instanceof Number ? ((Number) item.get("status")).intValue() : 0;
+                    BatchRequest request = byId.remove(id);
+                    if (request == null) {
+                        continue;
+                    }
+                    if (isRetryable(status) && attempt < maxAttempts) {
+                        retry.add(request);
+                        waitMs = Math.max(waitMs, retryAfterMs(headerValue(item), attempt));
+                    } else {
+                        results.put(id, new BatchResponse(id, status, asMap(item.get("body"))));
+                    }
+                }
+                // Requests missing from the response are treated as failed
+                byId.keySet().forEach(id -> results.put(id, new BatchResponse(id, 0, null)));
+
+            } catch (HttpStatusCodeException e) {
+                // The batch call itself was throttled or failed
+                if (isRetryable(e.getStatusCode().value()) && attempt < maxAttempts) {
+                    retry.addAll(pending);
+                    String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null;
+                    waitMs = retryAfterMs(retryAfter, attempt);
+                } else {
+                    logger.error("Graph batch request failed: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+                    pending.forEach(request -> results.put(request.getId(),
+                        new BatchResponse(request.getId(), e.getStatusCode().value(), null)));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Graph batch request failed", e);
+                pending.forEach(request -> results.put(request.getId(), new BatchResponse(request.getId(), 0, null)));
+            }
+
+            if (retry.isEmpty()) {
+                return results;
+            }
+            logger.info("Retrying {} throttled Graph batch requests in {} ms (attempt {})", retry.size(), waitMs, attempt + 1);
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                retry.forEach(request -> results.put(request.getId(), new BatchResponse(request.getId(), 429, null)));
+                return results;
+            }
+            pending = retry;
+        }
+    }
+
+    private List<Map<String, Object>> post(String accessToken, List<BatchRequest> requests) {
+        List<Map<String, Object>> payload = new ArrayList<>(requests.size());
+        for (BatchRequest request : requests) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", request.getId());
+            item.put("method", request.getMethod());
+            item.put("url", request.getUrl());
+            if (request.getBody() != null) {
+                item.put("headers", Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+                item.put("body", request.getBody());
+            }
+            payload.add(item);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map> response = restTemplate.exchange(URI.create(graphBaseUrl + "/$batch"), HttpMethod.POST,
+            new HttpEntity<>(Map.of("requests", payload), headers), Map.class);
+
+        Map<String, Object> body = response.getBody();
+        Object responses = body != null ? body.get("responses") : null;
+        return responses instanceof List ? (List<Map<String, Object>>) responses : Collections.emptyList();
+    }
+
+    private boolean isRetryable(int status) {
+        return status == 429 || status == 503 || status == 504;
+    }
+
+    /**
+     * Retry-After seconds when given, exponential backoff otherwise; capped either way
+     */
+    private long retryAfterMs(String retryAfter, int attempt) {
+        long waitMs = baseBackoffMs << Math.min(attempt - 1, 10);
+        if (retryAfter != null) {
+            try {
+                waitMs = Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                // HTTP-date form is not used by Graph; keep the backoff
+            }
+        }
+        return Math.min(waitMs, maxRetryAfterMs);
+    }
+
+    private String headerValue(Map<String, Object> item) {
+        Map<String, Object> headers = asMap(item.get("headers"));
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            if (HttpHeaders.RETRY_AFTER.equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+                return header.getValue().toString();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+}
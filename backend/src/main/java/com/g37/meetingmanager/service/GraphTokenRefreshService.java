@@ -0,0 +1,205 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refreshes Microsoft Graph access tokens before they expire so calendar calls find a valid token
+ * instead of refreshing inline. Refreshes run on a small fixed pool, and concurrent requests for
+ * the same user share a single in-flight refresh.
+ */
+@Service
+public class GraphTokenRefreshService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphTokenRefreshService.class);
+
+    // Lifetime assumed when the token endpoint omits expires_in
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 3600;
+
+    @Autowired
+    private MicrosoftGraphOAuthService oauthService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.microsoft.graph.token-refresh.enabled:true}")
+    private boolean refreshEnabled;
+
+    // Tokens expiring within this window are refreshed
+    @Value("${app.microsoft.graph.token-refresh.window-ms:600000}")
+    private long refreshWindowMs;
+
+    @Value("${app.microsoft.graph.token-refresh.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.microsoft.graph.token-refresh.max-per-run:1000}")
+    private int maxPerRun;
+
+    @Value("${app.microsoft.graph.token-refresh.concurrency:4}")
+    private int concurrency;
+
+    // A user whose refresh failed is not retried before this much time has passed
+    @Value("${app.microsoft.graph.token-refresh.failure-backoff-ms:1800000}")
+    private long failureBackoffMs;
+
+    private final Map<Long, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "graph-token-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Refresh every token expiring within the window, a batch at a time
+     */
+    @Scheduled(initialDelayString = "${app.microsoft.graph.token-refresh.initial-delay-ms:30000}",
+               fixedDelayString = "${app.microsoft.graph.token-refresh.interval-ms:60000}")
+    public void refreshExpiringTokens() {
+        if (!refreshEnabled || !oauthService.isGraphApiEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> userIds = userRepository.findGraphTokenRefreshCandidates(
+            now.plus(refreshWindowMs, ChronoUnit.MILLIS), now, PageRequest.of(0, maxPerRun));
+        int refreshed = 0;
+        for (int i = 0; i < userIds.size(); i += batchSize) {
+            List<CompletableFuture<Boolean>> batch = userIds.subList(i, Math.min(i + batchSize, userIds.size())).stream()
+                .map(this::refreshAsync)
+                .toList();
+            for (CompletableFuture<Boolean> refresh : batch) {
+                if (Boolean.TRUE.equals(refresh.join())) {
+                    refreshed++;
+                }
+            }
+        }
+        if (!userIds.isEmpty()) {
+            logger.info("Refreshed {} of {} expiring Microsoft Graph tokens", refreshed, userIds.size());
+        }
+    }
+
+    /**
+     * Start a refresh in the background if the user's token is expired or about to expire; never
+     * waits for it. Returns true when a refresh is running or was started.
+     */
+    public boolean refreshIfExpiring(User user) {
+        if (!refreshEnabled || user.getGraphRefreshToken() == null || user.getGraphTokenExpiresAt() == null
+                || user.getGraphTokenExpiresAt().isAfter(refreshHorizon())
+                || (user.getGraphTokenRetryAfter() != null && user.getGraphTokenRetryAfter().isAfter(LocalDateTime.now()))) {
+            return false;
+        }
+        refreshAsync(user.getId());
+        return true;
+    }
+
+    /**
+     * Refresh a user's token on the refresh pool. Callers arriving while a refresh for the same
+     * user is running get that refresh's future. Completes with true when new tokens were stored.
+     */
+    public CompletableFuture<Boolean> refreshAsync(Long userId) {
+        CompletableFuture<Boolean> refresh = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(userId, refresh);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.complete(refresh(userId));
+                } catch (RuntimeException e) {
+                    logger.warn("Error refreshing Microsoft Graph token for user {}: {}", userId, e.getMessage());
+                    backOff(userId);
+                    refresh.complete(false);
+                } finally {
+                    inFlight.remove(userId, refresh);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(userId, refresh);
+            refresh.complete(false);
+        }
+        return refresh;
+    }
+
+    private boolean refresh(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getGraphRefreshToken() == null) {
+            return false;
+        }
+        // Another node or request may have refreshed it since the user was picked
+        if (user.getGraphTokenExpiresAt() != null
+                && user.getGraphTokenExpiresAt().isAfter(refreshHorizon())) {
+            return false;
+        }
+
+        Map<String, Object> tokenResponse = oauthService.refreshToken(user.getGraphRefreshToken());
+        if (tokenResponse == null || tokenResponse.get("access_token") == null) {
+            logger.warn("Microsoft Graph token refresh failed for user {}", userId);
+            backOff(userId);
+            return false;
+        }
+
+        String accessToken = tokenResponse.get("access_token").toString();
+        // Refresh tokens are rotated; keep the old one if none was returned
+        String refreshToken = tokenResponse.get("refresh_token") != null
+            ? tokenResponse.get("refresh_token").toString() : user.getGraphRefreshToken();
+        Object expiresIn = tokenResponse.get("expires_in");
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(
+            expiresIn != null ? Long.parseLong(expiresIn.toString()) : DEFAULT_EXPIRES_IN_SECONDS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            userRepository.updateGraphTokens(userId, accessToken, refreshToken, expiresAt));
+        logger.debug("Refreshed Microsoft Graph token for user {}, expires at {}", userId, expiresAt);
+        return true;
+    }
+
+    /**
+     * Record a failed refresh on the user row so the scheduled query leaves the user out until
+     * the backoff has passed, on every node
+     */
+    private void backOff(Long userId) {
+        LocalDateTime retryAfter = LocalDateTime.now().plus(failureBackoffMs, ChronoUnit.MILLIS);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.updateGraphTokenRetryAfter(userId, retryAfter));
+        } catch (RuntimeException e) {
+            logger.warn("Could not record Microsoft Graph token refresh backoff for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private LocalDateTime refreshHorizon() {
+        return LocalDateTime.now().plus(refreshWindowMs, ChronoUnit.MILLIS);
+    }
+}
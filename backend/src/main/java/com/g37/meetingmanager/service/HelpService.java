@@ -157,9 +157,9 @@ public interface HelpService {
     // ===============================
     
     /**
-     * Search across help articles and FAQs
+     * Search across help articles and FAQs, ranked by relevance and paginated
      */
-    List<SearchResultDTO> searchContent(String query, Pageable pageable);
+    Page<SearchResultDTO> searchContent(String query, Pageable pageable);
     
     // ===============================
     // Support Tickets
@@ -241,6 +241,12 @@ public interface HelpService {
      * Get popular search terms
      */
     Map<String, Long> getPopularSearchTerms(int limit);
+
+    /**
+     * Get trending search terms with their decayed scores for a window (HOUR, DAY or MONTH).
+     * Scores weigh recent searches more; they are not counts of searches inside the window.
+     */
+    Map<String, Double> getTrendingSearchTerms(int limit, String window);
     
     /**
      * Update support ticket status (admin only)
@@ -1,6 +1,11 @@
 package com.g37.meetingmanager.service;
 
 import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.util.AuthenticatedUser;
+import com.g37.meetingmanager.util.PermissionMask;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -9,11 +14,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,20 +30,57 @@ public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
+    private static final String PERMISSION_MASK_CLAIM = "pm";
+
     private final SecretKey jwtSecret;
     private final long jwtExpiration;
     private final long refreshTokenExpiration;
     
-    // In-memory token blacklist (in production, use Redis or database)
-    private final Set<String> tokenBlacklist = ConcurrentHashMap.newKeySet();
+    // Parsers are immutable and thread-safe; building one per call is pure overhead
+    private final JwtParser jwtParser;
+    
+    // Verified claims by token digest, so a token's signature is checked once per cache lifetime
+    // rather than on every claim read. Bounded by size with least-recently-used eviction.
+    private final Cache<String, CachedClaims> claimsCache;
+    private final long claimsCacheTtlMs;
+    
+    private final TokenRevocationService tokenRevocationService;
+    private final PermissionCatalog permissionCatalog;
 
     public JwtService(
             @Value("${app.jwt.secret:mySecretKey12345678901234567890123456789012345678901234567890}") String secret,
-            @Value("${app.jwt.expiration:86400000}") long expiration
+            @Value("${app.jwt.expiration:86400000}") long expiration,
+            @Value("${app.jwt.claims-cache.ttl-ms:300000}") long claimsCacheTtlMs,
+            @Value("${app.jwt.claims-cache.max-entries:10000}") int claimsCacheMaxEntries,
+            TokenRevocationService tokenRevocationService,
+            PermissionCatalog permissionCatalog
     ) {
         this.jwtSecret = Keys.hmacShaKeyFor(secret.getBytes());
         this.jwtExpiration = expiration; // 24 hours
         this.refreshTokenExpiration = expiration * 7; // 7 days
+        this.jwtParser = Jwts.parser().verifyWith(jwtSecret).build();
+        this.claimsCacheTtlMs = claimsCacheTtlMs;
+        this.claimsCache = Caffeine.newBuilder()
+            .maximumSize(claimsCacheMaxEntries)
+            .expireAfter(new Expiry<String, CachedClaims>() {
+                @Override
+                public long expireAfterCreate(String key, CachedClaims value, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, CachedClaims value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, CachedClaims value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+        this.tokenRevocationService = tokenRevocationService;
+        this.permissionCatalog = permissionCatalog;
     }
 
     /**
@@ -48,15 +94,14 @@ public class JwtService {
         claims.put("userId", user.getId());
         claims.put("email", user.getEmail());
         claims.put("organizationId", user.getOrganization().getId());
-        claims.put("roles", user.getRoles().stream().map(role -> role.getName()).collect(Collectors.toList()));
-        claims.put("permissions", user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(permission -> permission.getName())
-                .distinct()
-                .collect(Collectors.toList()));
+        java.util.List<String> roles = user.getRoles().stream().map(role -> role.getName()).collect(Collectors.toList());
+        claims.put("roles", roles);
+        // Permissions as a compiled bit mask rather than an array of names
+        claims.put(PERMISSION_MASK_CLAIM, permissionCatalog.maskForRoles(roles).encode());
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(user.getEmail())
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -77,6 +122,7 @@ public class JwtService {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(user.getEmail())
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -121,12 +167,11 @@ public class JwtService {
      */
     public boolean validateToken(String token) {
         try {
-            if (tokenBlacklist.contains(token)) {
-                log.debug("Token is blacklisted");
+            Claims claims = getClaimsFromToken(token);
+            if (tokenRevocationService.isRevoked(revocationKey(token, claims))) {
+                log.debug("Token is revoked");
                 return false;
             }
-
-            Claims claims = getClaimsFromToken(token);
             return !isTokenExpired(claims);
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid JWT token: {}", e.getMessage());
@@ -134,16 +179,69 @@ public class JwtService {
         }
     }
 
+    /**
+     * Principal for a valid, unrevoked access token, or null. Built from the claims alone and
+     * cached with them, so repeated requests with the same token cost one map lookup.
+     */
+    public AuthenticatedUser authenticate(String token) {
+        try {
+            CachedClaims entry = verify(token);
+            Claims claims = entry.claims();
+            if ("refresh".equals(claims.get("type")) || isTokenExpired(claims)
+                    || tokenRevocationService.isRevoked(revocationKey(token, claims))) {
+                return null;
+            }
+            AuthenticatedUser principal = entry.principal;
+            if (principal == null) {
+                principal = toPrincipal(claims);
+                entry.principal = principal;
+            }
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private AuthenticatedUser toPrincipal(Claims claims) {
+        Object userId = claims.get("userId");
+        Object organizationId = claims.get("organizationId");
+        java.util.List<String> roles = (java.util.List<String>) claims.get("roles");
+        PermissionMask mask = permissionMask(claims);
+        return new AuthenticatedUser(
+            userId != null ? Long.valueOf(userId.toString()) : null,
+            organizationId != null ? Long.valueOf(organizationId.toString()) : null,
+            claims.getSubject(),
+            roles != null ? roles : java.util.List.of(),
+            mask,
+            permissionCatalog.namesOf(mask));
+    }
+
+    /**
+     * Permission mask of a token; tokens issued before masks carry an array of names instead
+     */
+    @SuppressWarnings("unchecked")
+    private PermissionMask permissionMask(Claims claims) {
+        Object encoded = claims.get(PERMISSION_MASK_CLAIM);
+        if (encoded instanceof String mask) {
+            return PermissionMask.decode(mask);
+        }
+        Object names = claims.get("permissions");
+        return names instanceof java.util.List<?> list
+            ? permissionCatalog.maskOf((java.util.List<String>) list)
+            : PermissionMask.EMPTY;
+    }
+
     /**
      * Validate refresh token
      */
     public boolean isValidRefreshToken(String refreshToken) {
         try {
-            if (tokenBlacklist.contains(refreshToken)) {
+            Claims claims = getClaimsFromToken(refreshToken);
+            if (tokenRevocationService.isRevoked(revocationKey(refreshToken, claims))) {
                 return false;
             }
-
-            Claims claims = getClaimsFromToken(refreshToken);
             String tokenType = (String) claims.get("type");
             return "refresh".equals(tokenType) && !isTokenExpired(claims);
         } catch (JwtException | IllegalArgumentException e) {
@@ -153,10 +251,18 @@ public class JwtService {
     }
 
     /**
-     * Invalidate token (add to blacklist)
+     * Invalidate token until it expires, on every instance. Tokens that no longer verify are
+     * already rejected and need no revocation.
      */
     public void invalidateToken(String token) {
-        tokenBlacklist.add(token);
+        try {
+            Claims claims = getClaimsFromToken(token);
+            tokenRevocationService.revoke(revocationKey(token, claims), claims.getExpiration().getTime());
+        } catch (JwtException e) {
+            log.debug("Not revoking invalid JWT token: {}", e.getMessage());
+        } finally {
+            claimsCache.invalidate(digest(token));
+        }
     }
 
     /**
@@ -190,18 +296,16 @@ public class JwtService {
     /**
      * Get user permissions from token
      */
-    @SuppressWarnings("unchecked")
     public java.util.List<String> getPermissionsFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
-        return (java.util.List<String>) claims.get("permissions");
+        return new java.util.ArrayList<>(permissionCatalog.namesOf(permissionMask(claims)));
     }
 
     /**
      * Check if user has specific permission
      */
     public boolean hasPermission(String token, String permission) {
-        java.util.List<String> permissions = getPermissionsFromToken(token);
-        return permissions != null && permissions.contains(permission);
+        return permissionMask(getClaimsFromToken(token)).has(permissionCatalog.bitOf(permission));
     }
 
     /**
@@ -214,16 +318,72 @@ public class JwtService {
 
     // Private helper methods
 
+    /**
+     * Verified claims of a token, from the cache when the token was verified before. Entries live
+     * for the cache TTL but never past the token's own expiry, so an expired token is always
+     * re-parsed and rejected by the parser.
+     */
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtSecret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verify(token).claims();
+    }
+
+    private CachedClaims verify(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Token is required");
+        }
+        long now = System.currentTimeMillis();
+        String key = digest(token);
+        CachedClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        long expiresAt = now + claimsCacheTtlMs;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        CachedClaims entry = new CachedClaims(claims, expiresAt);
+        claimsCache.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Key a token is revoked under: its jti, or the token digest for tokens issued without one
+     */
+    private static String revocationKey(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : digest(token);
+    }
+
+    /**
+     * SHA-256 of the token; keeps raw tokens out of the cache and its keys short
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private boolean isTokenExpired(Claims claims) {
         Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
+
+    private static final class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+        // Built on first authentication with this token, then reused
+        private volatile AuthenticatedUser principal;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+
+        private Claims claims() { return claims; }
+        private long expiresAt() { return expiresAt; }
+    }
 }
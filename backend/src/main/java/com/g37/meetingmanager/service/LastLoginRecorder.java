@@ -0,0 +1,76 @@
+package com.g37.meetingmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces last-login timestamps in memory and writes them to users in batches, so a login does
+ * no write of its own to the user row. Repeated logins of one user between flushes cost a single
+ * update.
+ */
+@Service
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    // Never moves a timestamp backwards, e.g. when a re-queued batch races a newer login
+    private static final String UPDATE =
+        "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        if (userId != null) {
+            pending.merge(userId, loginAt, (previous, next) -> next.isAfter(previous) ? next : previous);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.auth.last-login.flush-interval-ms:10000}",
+               fixedDelayString = "${app.auth.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                Timestamp timestamp = Timestamp.valueOf(loginAt);
+                batch.add(new Object[] {timestamp, userId, timestamp});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE, batch);
+            logger.debug("Flushed last-login times for {} users", batch.size());
+        } catch (Exception e) {
+            logger.warn("Failed to flush last-login times, re-queueing {} users: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,132 @@
+package com.g37.meetingmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login throttling, checked before any password is hashed. Each client IP gets a fixed number of
+ * attempts per window; each account is refused for the rest of its window once it has collected
+ * too many failures. An attempt is counted against the account when it is admitted, in the same
+ * atomic update that checks the limit, so parallel logins cannot all pass the check while their
+ * hashes run; a success clears the count and an attempt that never reached a verdict is released.
+ * Counters are fixed windows in memory, bounded in number; once full, new keys go untracked rather
+ * than evicting windows that are still counting.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    @Value("${app.auth.throttle.max-account-failures:5}")
+    private int maxAccountFailures;
+
+    @Value("${app.auth.throttle.account-window-ms:900000}")
+    private long accountWindowMs;
+
+    @Value("${app.auth.throttle.max-ip-attempts:30}")
+    private int maxIpAttempts;
+
+    @Value("${app.auth.throttle.ip-window-ms:60000}")
+    private long ipWindowMs;
+
+    @Value("${app.auth.throttle.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    private final Map<String, Window> accountFailures = new ConcurrentHashMap<>();
+    private final Map<String, Window> ipAttempts = new ConcurrentHashMap<>();
+
+    private record Window(long start, int count) {
+    }
+
+    /**
+     * Thrown when a login is refused before its credentials are checked
+     */
+    public static class LoginThrottledException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public LoginThrottledException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Count a login attempt against the client IP and the account, refusing it if either is over its
+     * limit. The account's count stands as a failure until {@link #recordSuccess} or
+     * {@link #releaseAttempt}.
+     */
+    public void checkAttempt(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        Window attempts = increment(ipAttempts, clientIp, ipWindowMs, now);
+        if (attempts != null && attempts.count() > maxIpAttempts) {
+            throw new LoginThrottledException("Too many login attempts from this address",
+                retryAfterSeconds(attempts, ipWindowMs, now));
+        }
+        Window failures = email != null ? increment(accountFailures, accountKey(email), accountWindowMs, now) : null;
+        if (failures != null && failures.count() > maxAccountFailures) {
+            throw new LoginThrottledException("Too many failed logins for this account",
+                retryAfterSeconds(failures, accountWindowMs, now));
+        }
+    }
+
+    /**
+     * Take back an admitted attempt that ended without the password being judged wrong, such as
+     * one refused by the hashing pool
+     */
+    public void releaseAttempt(String email) {
+        if (email != null) {
+            accountFailures.computeIfPresent(accountKey(email), (key, window) -> window.count() <= 1
+                ? null
+                : new Window(window.start(), window.count() - 1));
+        }
+    }
+
+    public void recordSuccess(String email) {
+        if (email != null) {
+            accountFailures.remove(accountKey(email));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.auth.throttle.purge-interval-ms:60000}",
+               fixedDelayString = "${app.auth.throttle.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        accountFailures.values().removeIf(window -> window.start() + accountWindowMs <= now);
+        ipAttempts.values().removeIf(window -> window.start() + ipWindowMs <= now);
+    }
+
+    private Window increment(Map<String, Window> windows, String key, long windowMs, long now) {
+        if (key == null) {
+            return null;
+        }
+        if (windows.size() >= maxTrackedKeys && !windows.containsKey(key)) {
+            windows.values().removeIf(window -> window.start() + windowMs <= now);
+            if (windows.size() >= maxTrackedKeys) {
+                logger.debug("Login throttle table full; not tracking {}", key);
+                return null;
+            }
+        }
+        return windows.compute(key, (k, window) -> window == null || window.start() + windowMs <= now
+            ? new Window(now, 1)
+            : new Window(window.start(), window.count() + 1));
+    }
+
+    private static long retryAfterSeconds(Window window, long windowMs, long now) {
+        return Math.max(1, (window.start() + windowMs - now + 999) / 1000);
+    }
+
+    private static String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
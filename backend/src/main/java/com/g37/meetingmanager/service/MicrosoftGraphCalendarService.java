@@ -10,10 +10,11 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class MicrosoftGraphCalendarService {
@@ -23,6 +24,9 @@ public class MicrosoftGraphCalendarService {
     @Value("${app.microsoft.graph.enabled:false}")
     private boolean graphApiEnabled;
     
+    @Value("${app.microsoft.graph.base-url:https://graph.microsoft.com/v1.0}")
+    private String graphBaseUrl;
+    
     private final RestTemplate restTemplate;
     
     public MicrosoftGraphCalendarService() {
@@ -39,7 +43,7 @@ public class MicrosoftGraphCalendarService {
         }
         
         try {
-            String createEventUrl = "https://graph.microsoft.com/v1.0/me/events";
+            String createEventUrl = graphBaseUrl + "/me/events";
             
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(accessToken);
@@ -81,7 +85,7 @@ public class MicrosoftGraphCalendarService {
         }
         
         try {
-            String updateEventUrl = "https://graph.microsoft.com/v1.0/me/events/" + eventId;
+            String updateEventUrl = graphBaseUrl + "/me/events/" + eventId;
             
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(accessToken);
@@ -123,7 +127,7 @@ public class MicrosoftGraphCalendarService {
         }
         
         try {
-            String deleteEventUrl = "https://graph.microsoft.com/v1.0/me/events/" + eventId;
+            String deleteEventUrl = graphBaseUrl + "/me/events/" + eventId;
             
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(accessToken);
@@ -152,54 +156,39 @@ public class MicrosoftGraphCalendarService {
     }
     
     /**
-     * Retrieves calendar events from Microsoft Outlook
+     * URL of the first calendarView delta page for a window; later pages come from the returned links
+     */
+    public URI calendarViewDeltaUrl(Instant windowStart, Instant windowEnd) {
+        return URI.create(graphBaseUrl + "/me/calendarView/delta?startDateTime=" + windowStart
+            + "&endDateTime=" + windowEnd);
+    }
+    
+    /**
+     * Fetches one page of a Graph collection with event times in UTC. Links returned by Graph are
+     * used verbatim so their skip/delta tokens are not re-encoded. HTTP errors are thrown to the
+     * caller, which needs to tell an expired delta token (410) from other failures.
      */
-    public List<Map<String, Object>> getCalendarEvents(String accessToken, int days) {
+    public GraphPage getPage(URI url, String accessToken, int maxPageSize) {
         if (!graphApiEnabled || accessToken == null) {
-            logger.warn("Microsoft Graph API is disabled or no access token provided");
-            return Collections.emptyList();
+            throw new IllegalStateException("Microsoft Graph API is disabled or no access token provided");
         }
         
-        try {
-            // Get events for the next specified number of days
-            String startDateTime = DateTimeFormatter.ISO_INSTANT.format(
-                java.time.Instant.now().atZone(ZoneId.systemDefault())
-            );
-            String endDateTime = DateTimeFormatter.ISO_INSTANT.format(
-                java.time.Instant.now().plusSeconds(days * 24 * 60 * 60).atZone(ZoneId.systemDefault())
-            );
-            
-            String getEventsUrl = String.format(
-                "https://graph.microsoft.com/v1.0/me/events?$filter=start/dateTime ge '%s' and end/dateTime le '%s'&$orderby=start/dateTime",
-                startDateTime, endDateTime
-            );
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(accessToken);
-            
-            HttpEntity<Void> request = new HttpEntity<>(headers);
-            
-            ResponseEntity<Map> response = restTemplate.exchange(
-                getEventsUrl, 
-                HttpMethod.GET, 
-                request, 
-                Map.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                Map<String, Object> responseBody = response.getBody();
-                List<Map<String, Object>> events = (List<Map<String, Object>>) responseBody.get("value");
-                logger.info("Successfully retrieved {} calendar events from Outlook", events.size());
-                return events;
-            } else {
-                logger.error("Failed to retrieve calendar events. Status: {}", response.getStatusCode());
-                return Collections.emptyList();
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error retrieving calendar events from Outlook", e);
-            return Collections.emptyList();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        headers.add("Prefer", "outlook.timezone=\"UTC\"");
+        if (maxPageSize > 0) {
+            headers.add("Prefer", "odata.maxpagesize=" + maxPageSize);
         }
+        
+        ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<Void>(headers), Map.class);
+        Map<String, Object> body = response.getBody();
+        if (body == null) {
+            return new GraphPage(Collections.emptyList(), null, null);
+        }
+        
+        List<Map<String, Object>> value = (List<Map<String, Object>>) body.get("value");
+        return new GraphPage(value != null ? value : Collections.emptyList(),
+            (String) body.get("@odata.nextLink"), (String) body.get("@odata.deltaLink"));
     }
     
     /**
@@ -313,4 +302,31 @@ public class MicrosoftGraphCalendarService {
     public boolean isGraphApiEnabled() {
         return graphApiEnabled;
     }
+    
+    /**
+     * One page of a Graph collection; the last page of a delta round carries the delta link
+     */
+    public static class GraphPage {
+        private final List<Map<String, Object>> value;
+        private final String nextLink;
+        private final String deltaLink;
+        
+        public GraphPage(List<Map<String, Object>> value, String nextLink, String deltaLink) {
+            this.value = value;
+            this.nextLink = nextLink;
+            this.deltaLink = deltaLink;
+        }
+        
+        public List<Map<String, Object>> getValue() {
+            return value;
+        }
+        
+        public String getNextLink() {
+            return nextLink;
+        }
+        
+        public String getDeltaLink() {
+            return deltaLink;
+        }
+    }
 }
@@ -0,0 +1,220 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.repository.mysql.PermissionRepository;
+import com.g37.meetingmanager.repository.mysql.RoleRepository;
+import com.g37.meetingmanager.util.PermissionMask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Permissions interned to bit positions and roles compiled to permission masks.
+ *
+ * A permission's bit is its stored mask bit, numbered densely from 0 in id order (by
+ * scripts/migrate-permissions-mask-bit.sql for existing rows, here for permissions found without
+ * one), so masks stay short whatever the id gaps. Bits are never reused or renumbered, so masks in
+ * tokens already issued stay meaningful when permissions are added. Masks are arrays of 64-bit
+ * words, so there is no limit at 64 permissions. The compiled catalog is loaded on first use and
+ * dropped whenever a role or permission is written (see PermissionCatalogEntityListener); the next
+ * use reloads it with two queries, and every use in between is a map lookup.
+ */
+@Service
+public class PermissionCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionCatalog.class);
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final int ASSIGN_ATTEMPTS = 3;
+
+    private volatile Snapshot snapshot;
+
+    // Bumped on every invalidation, so a load that raced with one is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    private static final class Snapshot {
+        private final Map<String, Integer> bitByName;
+        private final Map<Integer, String> nameByBit;
+        private final Map<String, PermissionMask> maskByRole;
+        // False when some permission is still without a bit; such a snapshot is used once, not kept
+        private final boolean complete;
+
+        private Snapshot(Map<String, Integer> bitByName, Map<Integer, String> nameByBit,
+                         Map<String, PermissionMask> maskByRole, boolean complete) {
+            this.bitByName = bitByName;
+            this.nameByBit = nameByBit;
+            this.maskByRole = maskByRole;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * Union of the permissions granted by the named roles
+     */
+    public PermissionMask maskForRoles(Collection<String> roleNames) {
+        Map<String, PermissionMask> maskByRole = current().maskByRole;
+        PermissionMask mask = PermissionMask.EMPTY;
+        for (String roleName : roleNames) {
+            PermissionMask roleMask = maskByRole.get(roleName);
+            if (roleMask != null) {
+                mask = mask.or(roleMask);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of the named permissions; unknown names are skipped
+     */
+    public PermissionMask maskOf(Collection<String> permissionNames) {
+        Map<String, Integer> bitByName = current().bitByName;
+        return PermissionMask.of(permissionNames.stream()
+            .map(bitByName::get)
+            .filter(bit -> bit != null)
+            .mapToInt(Integer::intValue)
+            .toArray());
+    }
+
+    /**
+     * Bit of the named permission, or -1 when there is no such permission
+     */
+    public int bitOf(String permissionName) {
+        Integer bit = current().bitByName.get(permissionName);
+        return bit != null ? bit : -1;
+    }
+
+    /**
+     * Names of the permissions set in a mask; bits of since-deleted permissions are skipped
+     */
+    public Set<String> namesOf(PermissionMask mask) {
+        Map<Integer, String> nameByBit = current().nameByBit;
+        Set<String> names = new HashSet<>();
+        for (int bit : mask.bits()) {
+            String name = nameByBit.get(bit);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Drop the compiled catalog. Inside a transaction this waits for the commit, so the reload
+     * cannot read the rows as they were before the edit.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                    snapshot = null;
+                }
+            });
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null) {
+                long loadGeneration = generation.get();
+                current = load();
+                if (current.complete && generation.get() == loadGeneration) {
+                    snapshot = current;
+                }
+            }
+            return current;
+        }
+    }
+
+    private Snapshot load() {
+        List<Object[]> rows = permissionRepository.findIdNameAndBitRows();
+        if (rows.stream().anyMatch(row -> row[2] == null)) {
+            assignMissingBits();
+            rows = permissionRepository.findIdNameAndBitRows();
+        }
+
+        Map<String, Integer> bitByName = new HashMap<>();
+        Map<Integer, String> nameByBit = new HashMap<>();
+        boolean complete = true;
+        for (Object[] row : rows) {
+            if (row[2] == null) {
+                // Unknown to the catalog until it has a bit, so it grants nothing yet
+                complete = false;
+                continue;
+            }
+            int bit = (Integer) row[2];
+            bitByName.put((String) row[1], bit);
+            nameByBit.put(bit, (String) row[1]);
+        }
+
+        Map<String, Set<Integer>> bitsByRole = new HashMap<>();
+        for (Object[] row : roleRepository.findRolePermissionRows()) {
+            bitsByRole.computeIfAbsent((String) row[0], name -> new HashSet<>())
+                .add((Integer) row[1]);
+        }
+        Map<String, PermissionMask> maskByRole = new HashMap<>();
+        bitsByRole.forEach((role, bits) ->
+            maskByRole.put(role, PermissionMask.of(bits.stream().mapToInt(Integer::intValue).toArray())));
+
+        logger.debug("Compiled {} permissions into masks for {} roles", bitByName.size(), maskByRole.size());
+        return new Snapshot(Map.copyOf(bitByName), Map.copyOf(nameByBit), Map.copyOf(maskByRole), complete);
+    }
+
+    /**
+     * Give every permission without a bit the next one after the highest in use. Runs in its own
+     * transaction; another instance assigning the same bit at once fails the unique key, and the
+     * loser retries with the bits the winner committed.
+     */
+    private void assignMissingBits() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int attempt = 1; attempt <= ASSIGN_ATTEMPTS; attempt++) {
+            try {
+                transaction.executeWithoutResult(status -> {
+                    Integer maxBit = permissionRepository.findMaxMaskBit();
+                    int next = maxBit != null ? maxBit + 1 : 0;
+                    for (Object[] row : permissionRepository.findIdNameAndBitRows()) {
+                        if (row[2] == null && permissionRepository.assignMaskBit((Long) row[0], next) > 0) {
+                            logger.info("Assigned mask bit {} to permission {}", next, row[1]);
+                            next++;
+                        }
+                    }
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("Mask bit assignment raced with another instance (attempt {})", attempt);
+            }
+        }
+        logger.warn("Could not assign mask bits to new permissions; they grant nothing until the next reload");
+    }
+}
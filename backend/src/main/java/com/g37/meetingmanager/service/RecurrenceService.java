@@ -0,0 +1,518 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.OccurrenceDTO;
+import com.g37.meetingmanager.model.RecurrenceException;
+import com.g37.meetingmanager.repository.mysql.ActionItemRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.RecurrenceExceptionRepository;
+import com.g37.meetingmanager.util.RecurrenceRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Expands recurring meetings and action items into occurrences on demand. Nothing is materialized:
+ * a series is one row plus its cancelled or overridden occurrences in recurrence_exceptions.
+ *
+ * Each series' parsed rule, exceptions and expanded months are cached, keyed by the series'
+ * updatedAt so edits to the series are picked up without explicit invalidation. Range queries
+ * merge stored one-off meetings with the expanded series into one start-ordered page.
+ */
+@Service
+public class RecurrenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurrenceService.class);
+
+    // Daily rules produce at most 31 occurrences a month; anything beyond is a broken rule
+    private static final int MAX_OCCURRENCES_PER_MONTH = 62;
+
+    // Expanded months kept per series before its month cache is reset
+    private static final int MAX_CACHED_MONTHS = 36;
+
+    private static final Comparator<OccurrenceDTO> BY_START = Comparator
+        .comparing(OccurrenceDTO::getStart)
+        .thenComparing(OccurrenceDTO::getSeriesId)
+        .thenComparing(OccurrenceDTO::getOriginalStart);
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired
+    private RecurrenceExceptionRepository exceptionRepository;
+
+    @Value("${recurrence.max-window-days:366}")
+    private int maxWindowDays;
+
+    @Value("${recurrence.cache.max-series:5000}")
+    private int maxCachedSeries;
+
+    private Map<String, CachedSeries> cache;
+
+    private synchronized Map<String, CachedSeries> cache() {
+        if (cache == null) {
+            cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedSeries> eldest) {
+                    return size() > maxCachedSeries;
+                }
+            });
+        }
+        return cache;
+    }
+
+    /**
+     * One-off meetings and occurrences of recurring meetings starting in [from, to), in start order
+     */
+    @Transactional(readOnly = true)
+    public Page<OccurrenceDTO> findMeetingOccurrences(Long organizationId, LocalDateTime from, LocalDateTime to,
+                                                      Pageable pageable) {
+        validateWindow(from, to);
+        long needed = pageable.getOffset() + pageable.getPageSize();
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page is out of range");
+        }
+
+        List<List<OccurrenceDTO>> streams = new ArrayList<>();
+
+        // One-offs are already sorted by the database; no more than the page end is ever needed
+        Page<Object[]> oneOffRows = meetingRepository.findOneOffOccurrenceRows(from, to, organizationId,
+            PageRequest.of(0, (int) needed));
+        List<OccurrenceDTO> oneOffs = new ArrayList<>(oneOffRows.getNumberOfElements());
+        for (Object[] row : oneOffRows.getContent()) {
+            LocalDateTime start = (LocalDateTime) row[1];
+            oneOffs.add(new OccurrenceDTO(RecurrenceException.SeriesType.MEETING, (Long) row[0], start, start,
+                (LocalDateTime) row[2], (String) row[3], (String) row[4], String.valueOf(row[5]), false, false));
+        }
+        streams.add(oneOffs);
+        long total = oneOffRows.getTotalElements();
+
+        List<Series> series = new ArrayList<>();
+        for (Object[] row : meetingRepository.findRecurringSeriesRows(from, to, organizationId)) {
+            series.add(meetingSeries(row));
+        }
+        Map<String, CachedSeries> compiled = compile(series);
+        for (Series s : series) {
+            List<OccurrenceDTO> occurrences = expand(s, compiled.get(s.key()), from, to);
+            total += occurrences.size();
+            streams.add(occurrences);
+        }
+
+        return new PageImpl<>(merge(streams, (int) pageable.getOffset(), pageable.getPageSize()), pageable, total);
+    }
+
+    /**
+     * Occurrences of one meeting starting in [from, to); a non-recurring meeting has at most one.
+     * Empty when the meeting does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<OccurrenceDTO>> getMeetingOccurrences(Long meetingId, LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+        return loadSeries(RecurrenceException.SeriesType.MEETING, meetingId)
+            .map(series -> expand(series, compile(List.of(series)).get(series.key()), from, to));
+    }
+
+    /**
+     * Occurrences starting in [from, to) of several recurring meetings, keyed by meeting id. Meetings
+     * that do not exist or do not recur are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<OccurrenceDTO>> getOccurrencesOfMeetings(Collection<Long> meetingIds,
+                                                                  LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+        Map<Long, List<OccurrenceDTO>> occurrences = new HashMap<>();
+        if (meetingIds.isEmpty()) {
+            return occurrences;
+        }
+        List<Series> series = new ArrayList<>();
+        for (Object[] row : meetingRepository.findRecurringSeriesRowsByIdIn(meetingIds)) {
+            series.add(meetingSeries(row));
+        }
+        Map<String, CachedSeries> compiled = compile(series);
+        for (Series s : series) {
+            occurrences.put(s.id(), expand(s, compiled.get(s.key()), from, to));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Occurrences of one action item's due date in [from, to); a non-recurring item has at most one
+     * and an item without a due date none. Empty when the action item does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<OccurrenceDTO>> getActionItemOccurrences(Long actionItemId, LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+        return loadSeries(RecurrenceException.SeriesType.ACTION_ITEM, actionItemId)
+            .map(series -> series.start() == null
+                ? Collections.<OccurrenceDTO>emptyList()
+                : expand(series, compile(List.of(series)).get(series.key()), from, to));
+    }
+
+    /**
+     * Cancel or override one occurrence of a recurring series; replaces any earlier exception for it.
+     * Empty when the series does not exist.
+     */
+    @Transactional
+    public Optional<RecurrenceException> saveException(RecurrenceException.SeriesType seriesType, Long seriesId,
+                                                       RecurrenceException details) {
+        if (details.getOriginalStart() == null) {
+            throw new IllegalArgumentException("originalStart is required");
+        }
+        Optional<Series> found = loadSeries(seriesType, seriesId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Series series = found.get();
+        if (series.pattern() == null || series.start() == null) {
+            throw new IllegalArgumentException("Series " + seriesId + " is not recurring");
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(series.pattern());
+        if (!rule.isOccurrence(series.start(), details.getOriginalStart(), series.end())) {
+            throw new IllegalArgumentException("No occurrence starts at " + details.getOriginalStart());
+        }
+        if (details.getStartTime() != null && details.getEndTime() != null
+                && details.getEndTime().isBefore(details.getStartTime())) {
+            throw new IllegalArgumentException("endTime must not be before startTime");
+        }
+
+        RecurrenceException exception = exceptionRepository
+            .findBySeriesTypeAndSeriesIdAndOriginalStart(seriesType, seriesId, details.getOriginalStart())
+            .orElseGet(() -> new RecurrenceException(seriesType, seriesId, details.getOriginalStart()));
+        exception.setCancelled(Boolean.TRUE.equals(details.getCancelled()));
+        exception.setStartTime(details.getStartTime());
+        exception.setEndTime(details.getEndTime());
+        exception.setTitle(details.getTitle());
+        exception.setLocation(details.getLocation());
+        RecurrenceException saved = exceptionRepository.save(exception);
+
+        invalidate(seriesType, seriesId);
+        return Optional.of(saved);
+    }
+
+    /**
+     * Restore one occurrence to what the rule produces
+     *
+     * @return Whether an exception existed
+     */
+    @Transactional
+    public boolean deleteException(RecurrenceException.SeriesType seriesType, Long seriesId, LocalDateTime originalStart) {
+        return exceptionRepository.findBySeriesTypeAndSeriesIdAndOriginalStart(seriesType, seriesId, originalStart)
+            .map(exception -> {
+                exceptionRepository.delete(exception);
+                invalidate(seriesType, seriesId);
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Drop the exceptions of a series that is being deleted
+     */
+    @Transactional
+    public void onSeriesDeleted(RecurrenceException.SeriesType seriesType, Long seriesId) {
+        exceptionRepository.deleteBySeries(seriesType, seriesId);
+        invalidate(seriesType, seriesId);
+    }
+
+    private void invalidate(RecurrenceException.SeriesType seriesType, Long seriesId) {
+        String key = key(seriesType, seriesId);
+        cache().remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A read between the write and its commit may have cached the old exceptions again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache().remove(key);
+                }
+            });
+        }
+    }
+
+    private Optional<Series> loadSeries(RecurrenceException.SeriesType seriesType, Long seriesId) {
+        if (seriesType == RecurrenceException.SeriesType.MEETING) {
+            List<Object[]> rows = meetingRepository.findSeriesRowById(seriesId);
+            if (rows.isEmpty()) {
+                return Optional.empty();
+            }
+            Object[] row = rows.get(0);
+            if (!Boolean.TRUE.equals(row[9])) {
+                row = row.clone();
+                row[6] = null;
+            }
+            return Optional.of(meetingSeries(row));
+        }
+
+        List<Object[]> rows = actionItemRepository.findSeriesRowById(seriesId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        // Action items recur on their due date, or their start date when they have no due date
+        Object[] row = rows.get(0);
+        LocalDateTime start = row[1] != null ? (LocalDateTime) row[1] : (LocalDateTime) row[2];
+        String pattern = (String) row[5];
+        return Optional.of(new Series(seriesType, seriesId, start, null, (String) row[3], null, String.valueOf(row[4]),
+            Boolean.TRUE.equals(row[7]) && pattern != null && !pattern.isBlank() ? pattern : null,
+            null, (LocalDateTime) row[6]));
+    }
+
+    private static Series meetingSeries(Object[] row) {
+        String pattern = (String) row[6];
+        return new Series(RecurrenceException.SeriesType.MEETING, (Long) row[0], (LocalDateTime) row[1],
+            (LocalDateTime) row[2], (String) row[3], (String) row[4], String.valueOf(row[5]),
+            pattern != null && !pattern.isBlank() ? pattern : null, (LocalDateTime) row[7], (LocalDateTime) row[8]);
+    }
+
+    /**
+     * Cached rule and exceptions of each series, loading the exceptions of all misses in one query
+     */
+    private Map<String, CachedSeries> compile(List<Series> series) {
+        Map<String, CachedSeries> compiled = new HashMap<>();
+        Map<RecurrenceException.SeriesType, List<Series>> misses = new HashMap<>();
+        for (Series s : series) {
+            CachedSeries cached = cache().get(s.key());
+            if (cached != null && cached.matches(s)) {
+                compiled.put(s.key(), cached);
+            } else {
+                misses.computeIfAbsent(s.type(), type -> new ArrayList<>()).add(s);
+            }
+        }
+
+        for (Map.Entry<RecurrenceException.SeriesType, List<Series>> entry : misses.entrySet()) {
+            List<Long> ids = new ArrayList<>();
+            for (Series s : entry.getValue()) {
+                if (s.pattern() != null) {
+                    ids.add(s.id());
+                }
+            }
+            Map<Long, List<RecurrenceException>> exceptionsBySeries = new HashMap<>();
+            if (!ids.isEmpty()) {
+                for (RecurrenceException exception : exceptionRepository.findBySeriesTypeAndSeriesIdIn(entry.getKey(), ids)) {
+                    exceptionsBySeries.computeIfAbsent(exception.getSeriesId(), id -> new ArrayList<>()).add(exception);
+                }
+            }
+
+            for (Series s : entry.getValue()) {
+                CachedSeries cached = new CachedSeries(s, parseRule(s),
+                    exceptionsBySeries.getOrDefault(s.id(), Collections.emptyList()));
+                cache().put(s.key(), cached);
+                compiled.put(s.key(), cached);
+            }
+        }
+        return compiled;
+    }
+
+    private static RecurrenceRule parseRule(Series series) {
+        if (series.pattern() == null) {
+            return null;
+        }
+        try {
+            return RecurrenceRule.parse(series.pattern());
+        } catch (IllegalArgumentException e) {
+            // Legacy free-text patterns cannot be expanded; the series then shows only its first occurrence
+            logger.warn("Cannot expand recurrence pattern '{}' of {} {}: {}",
+                series.pattern(), series.type(), series.id(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Occurrences of a series starting in [from, to), exceptions applied, in start order
+     */
+    private List<OccurrenceDTO> expand(Series series, CachedSeries cached, LocalDateTime from, LocalDateTime to) {
+        List<OccurrenceDTO> occurrences = new ArrayList<>();
+        if (cached.rule == null) {
+            if (!series.start().isBefore(from) && series.start().isBefore(to)) {
+                occurrences.add(occurrence(series, series.start(), null));
+            }
+            return occurrences;
+        }
+
+        YearMonth last = YearMonth.from(to.minusNanos(1));
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            for (LocalDateTime original : cached.month(month)) {
+                if (original.isBefore(from) || !original.isBefore(to)) {
+                    continue;
+                }
+                RecurrenceException exception = cached.exceptions.get(original);
+                if (exception == null) {
+                    occurrences.add(occurrence(series, original, null));
+                } else if (!Boolean.TRUE.equals(exception.getCancelled())) {
+                    LocalDateTime start = exception.getStartTime() != null ? exception.getStartTime() : original;
+                    if (!start.isBefore(from) && start.isBefore(to)) {
+                        occurrences.add(occurrence(series, original, exception));
+                    }
+                }
+            }
+        }
+
+        // Overridden occurrences moved into the window from outside it
+        for (RecurrenceException exception : cached.exceptions.values()) {
+            LocalDateTime start = exception.getStartTime();
+            LocalDateTime original = exception.getOriginalStart();
+            if (!Boolean.TRUE.equals(exception.getCancelled()) && start != null
+                    && !start.isBefore(from) && start.isBefore(to)
+                    && (original.isBefore(from) || !original.isBefore(to))) {
+                occurrences.add(occurrence(series, original, exception));
+            }
+        }
+
+        occurrences.sort(BY_START);
+        return occurrences;
+    }
+
+    private static OccurrenceDTO occurrence(Series series, LocalDateTime original, RecurrenceException exception) {
+        LocalDateTime start = original;
+        LocalDateTime end = series.duration() != null ? original.plus(series.duration()) : null;
+        String title = series.title();
+        String location = series.location();
+        if (exception != null) {
+            if (exception.getStartTime() != null) {
+                start = exception.getStartTime();
+                end = series.duration() != null ? start.plus(series.duration()) : null;
+            }
+            if (exception.getEndTime() != null) {
+                end = exception.getEndTime();
+            }
+            if (exception.getTitle() != null) {
+                title = exception.getTitle();
+            }
+            if (exception.getLocation() != null) {
+                location = exception.getLocation();
+            }
+        }
+        return new OccurrenceDTO(series.type(), series.id(), original, start, end, title, location, series.status(),
+            series.pattern() != null, exception != null);
+    }
+
+    /**
+     * Page of a k-way merge of start-ordered streams
+     */
+    private static List<OccurrenceDTO> merge(List<List<OccurrenceDTO>> streams, int offset, int size) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) ->
+            BY_START.compare(streams.get(a[0]).get(a[1]), streams.get(b[0]).get(b[1])));
+        for (int i = 0; i < streams.size(); i++) {
+            if (!streams.get(i).isEmpty()) {
+                heads.add(new int[] {i, 0});
+            }
+        }
+
+        List<OccurrenceDTO> page = new ArrayList<>(size);
+        int position = 0;
+        while (!heads.isEmpty() && page.size() < size) {
+            int[] head = heads.poll();
+            if (position++ >= offset) {
+                page.add(streams.get(head[0]).get(head[1]));
+            }
+            if (head[1] + 1 < streams.get(head[0]).size()) {
+                heads.add(new int[] {head[0], head[1] + 1});
+            }
+        }
+        return page;
+    }
+
+    private void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        if (Duration.between(from, to).toDays() > maxWindowDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxWindowDays + " days");
+        }
+    }
+
+    private static String key(RecurrenceException.SeriesType type, Long id) {
+        return type + ":" + id;
+    }
+
+    private record Series(RecurrenceException.SeriesType type, Long id, LocalDateTime start, LocalDateTime endTime,
+                          String title, String location, String status, String pattern, LocalDateTime end,
+                          LocalDateTime version) {
+
+        String key() {
+            return RecurrenceService.key(type, id);
+        }
+
+        Duration duration() {
+            return endTime != null ? Duration.between(start, endTime) : null;
+        }
+    }
+
+    /**
+     * Parsed rule, exceptions by original start and expanded months of one series version
+     */
+    private static final class CachedSeries {
+        final LocalDateTime start;
+        final String pattern;
+        final LocalDateTime end;
+        final LocalDateTime version;
+        final RecurrenceRule rule;
+        // Read by every thread expanding the series, so never modified after construction
+        final Map<LocalDateTime, RecurrenceException> exceptions;
+        final Map<YearMonth, List<LocalDateTime>> months = new ConcurrentHashMap<>();
+
+        CachedSeries(Series series, RecurrenceRule rule, List<RecurrenceException> exceptions) {
+            this.start = series.start();
+            this.pattern = series.pattern();
+            this.end = series.end();
+            this.version = series.version();
+            this.rule = rule;
+            Map<LocalDateTime, RecurrenceException> live = new HashMap<>();
+            for (RecurrenceException exception : exceptions) {
+                // Exceptions left behind by a rule or start change no longer name an occurrence
+                if (rule != null && rule.isOccurrence(start, exception.getOriginalStart(), end)) {
+                    live.put(exception.getOriginalStart(), exception);
+                }
+            }
+            this.exceptions = Map.copyOf(live);
+        }
+
+        boolean matches(Series series) {
+            return Objects.equals(version, series.version())
+                && Objects.equals(start, series.start())
+                && Objects.equals(pattern, series.pattern())
+                && Objects.equals(end, series.end());
+        }
+
+        List<LocalDateTime> month(YearMonth month) {
+            List<LocalDateTime> occurrences = months.get(month);
+            if (occurrences == null) {
+                if (months.size() >= MAX_CACHED_MONTHS) {
+                    months.clear();
+                }
+                occurrences = rule.between(start, month.atDay(1).atStartOfDay(),
+                    month.plusMonths(1).atDay(1).atStartOfDay(), end, MAX_OCCURRENCES_PER_MONTH);
+                months.put(month, occurrences);
+            }
+            return occurrences;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.MeetingRoom;
+import com.g37.meetingmanager.model.RoomBookingSlot;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRoomRepository;
+import com.g37.meetingmanager.repository.mysql.RoomBookingSlotRepository;
+import com.g37.meetingmanager.util.RoomScheduleIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Meeting room bookings. A booking holds one row per 15-minute slot its times touch, carrying its
+ * exact start and end. Booking takes the room's row lock, reads the room's slots around the new
+ * booking and checks their exact intervals for overlap, so back-to-back meetings off the slot grid
+ * fit and concurrent requests cannot double-book a room. Availability searches read an in-memory
+ * index of the exact intervals, updated after each booking commits and rebuilt from the slot table
+ * periodically to pick up other nodes' writes; ranges before the index are read from the table.
+ */
+@Service
+public class RoomBookingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomBookingService.class);
+
+    private static final long SLOT_SECONDS = RoomBookingSlot.SLOT_MINUTES * 60L;
+
+    @Autowired
+    private MeetingRoomRepository meetingRoomRepository;
+
+    @Autowired
+    private RoomBookingSlotRepository roomBookingSlotRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${room-booking.max-booking-hours:24}")
+    private long maxBookingHours;
+
+    // How far ahead the next-free-slot search looks
+    @Value("${room-booking.search-horizon-days:30}")
+    private long searchHorizonDays;
+
+    // Slots of past meetings are kept this long, then purged by the rebuild
+    @Value("${room-booking.retention-days:7}")
+    private long retentionDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RoomScheduleIndex index = new RoomScheduleIndex();
+    // Epoch second from which the index holds every booking; earlier ranges are answered from the slot table
+    private long indexedFrom = Long.MAX_VALUE;
+    // Changes committed while a rebuild is loading, replayed onto the rebuilt index; null otherwise
+    private List<Consumer<RoomScheduleIndex>> rebuildJournal;
+
+    /**
+     * A free interval of a room
+     */
+    public static class FreeSlot {
+        private final Long roomId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        public FreeSlot(Long roomId, LocalDateTime start, LocalDateTime end) {
+            this.roomId = roomId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Long getRoomId() {
+            return roomId;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfillRoomMeetings();
+        rebuildIndex();
+    }
+
+    /**
+     * Reload the index from the slot table and purge slots of long-past meetings
+     */
+    @Scheduled(initialDelayString = "${room-booking.rebuild-interval-ms:300000}",
+               fixedDelayString = "${room-booking.rebuild-interval-ms:300000}")
+    public void rebuildIndex() {
+        lock.writeLock().lock();
+        try {
+            rebuildJournal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        RoomScheduleIndex rebuilt = new RoomScheduleIndex();
+        LocalDateTime loadFrom = LocalDateTime.now().minusDays(1);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                roomBookingSlotRepository.deleteBefore(now.minusDays(retentionDays)));
+            putAll(rebuilt, roomBookingSlotRepository.findBookingsFrom(loadFrom));
+        } catch (RuntimeException e) {
+            logger.error("Error rebuilding room booking index", e);
+            lock.writeLock().lock();
+            try {
+                rebuildJournal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuildJournal.forEach(change -> change.accept(rebuilt));
+            rebuildJournal = null;
+            index = rebuilt;
+            indexedFrom = slotCeil(loadFrom) * SLOT_SECONDS;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Room booking index rebuilt with {} bookings", rebuilt.size());
+    }
+
+    /**
+     * Book a room for a saved meeting, replacing the meeting's earlier booking. Must run in the
+     * caller's transaction, which holds the room's row lock from here to commit. Returns false when
+     * another booking overlaps the meeting's exact times; the transaction can then only be rolled back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean book(Meeting meeting, Long roomId) {
+        MeetingRoom room = meetingRoomRepository.findByIdForUpdate(roomId)
+            .orElseThrow(() -> new IllegalArgumentException("Meeting room not found: " + roomId));
+        if (!Boolean.TRUE.equals(room.getIsActive())) {
+            throw new IllegalArgumentException("Meeting room is not active: " + roomId);
+        }
+        validateRange(meeting.getStartTime(), meeting.getEndTime());
+
+        meeting.setMeetingRoom(room);
+        roomBookingSlotRepository.deleteByMeetingId(meeting.getId());
+        if (meeting.getStatus() == Meeting.MeetingStatus.CANCELLED) {
+            afterCommit(schedule -> schedule.remove(meeting.getId()));
+            return true;
+        }
+
+        if (!claim(roomId, meeting.getId(), meeting.getStartTime(), meeting.getEndTime())) {
+            logger.info("Room {} is already booked between {} and {}", roomId, meeting.getStartTime(), meeting.getEndTime());
+            return false;
+        }
+
+        Long meetingId = meeting.getId();
+        long start = seconds(meeting.getStartTime());
+        long end = seconds(meeting.getEndTime());
+        afterCommit(schedule -> schedule.put(roomId, meetingId, start, end));
+        return true;
+    }
+
+    /**
+     * Write a booking's slot rows unless another booking of the room overlaps [start, end). The
+     * caller holds the room's row lock, so bookings of a room are checked and written one at a time.
+     * The slots of the range narrow the check to nearby bookings; their exact times decide.
+     */
+    private boolean claim(Long roomId, Long meetingId, LocalDateTime start, LocalDateTime end) {
+        long fromSlot = slotFloor(start);
+        long toSlot = slotCeil(end);
+        RoomScheduleIndex nearby = new RoomScheduleIndex();
+        for (RoomBookingSlot slot : roomBookingSlotRepository.lockRoomSlots(roomId, slotTime(fromSlot), slotTime(toSlot))) {
+            if (!slot.getMeetingId().equals(meetingId)) {
+                nearby.put(roomId, slot.getMeetingId(), seconds(slot.getBookingStart()), seconds(slot.getBookingEnd()));
+            }
+        }
+        if (!nearby.isFree(roomId, seconds(start), seconds(end))) {
+            return false;
+        }
+
+        List<RoomBookingSlot> slots = new ArrayList<>();
+        for (long slot = fromSlot; slot < toSlot; slot++) {
+            slots.add(new RoomBookingSlot(roomId, meetingId, slotTime(slot), start, end));
+        }
+        roomBookingSlotRepository.saveAllAndFlush(slots);
+        return true;
+    }
+
+    /**
+     * Free the room held by a meeting, if any. Must run in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long meetingId) {
+        if (roomBookingSlotRepository.deleteByMeetingId(meetingId) > 0) {
+            afterCommit(schedule -> schedule.remove(meetingId));
+        }
+    }
+
+    /**
+     * Active rooms free for all of [start, end) with at least the given capacity, smallest first.
+     * The index only holds bookings from a day before its last rebuild, so earlier ranges are
+     * checked against the slot table; ranges older than the slot retention cannot be answered.
+     */
+    public List<MeetingRoom> findFreeRooms(Long organizationId, LocalDateTime start, LocalDateTime end,
+                                           int minCapacity, boolean videoConferencing) {
+        validateRange(start, end);
+        if (start.isBefore(LocalDateTime.now().minusDays(retentionDays))) {
+            throw new IllegalArgumentException("Room bookings are only kept for " + retentionDays + " days");
+        }
+        List<MeetingRoom> candidates = meetingRoomRepository.findCandidates(organizationId, minCapacity, videoConferencing);
+        long from = seconds(start);
+        long to = seconds(end);
+
+        lock.readLock().lock();
+        try {
+            if (from >= indexedFrom) {
+                return candidates.stream()
+                    .filter(room -> index.isFree(room.getId(), from, to))
+                    .toList();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        RoomScheduleIndex stored = new RoomScheduleIndex();
+        putAll(stored, roomBookingSlotRepository.findBookingsBetween(slotTime(slotFloor(start)), slotTime(slotCeil(end))));
+        return candidates.stream()
+            .filter(room -> stored.isFree(room.getId(), from, to))
+            .toList();
+    }
+
+    /**
+     * Earliest free interval of the given length in a room starting at or after from (rounded up to
+     * the minute), within the search horizon; null when the room is booked solid. Searches starting
+     * before the index are answered from the slot table, like {@link #findFreeRooms}.
+     */
+    public FreeSlot findNextFreeSlot(Long roomId, LocalDateTime from, Duration duration) {
+        if (duration.isZero() || duration.isNegative() || duration.compareTo(Duration.ofHours(maxBookingHours)) > 0) {
+            throw new IllegalArgumentException("Duration must be positive and at most " + maxBookingHours + " hours");
+        }
+        MeetingRoom room = meetingRoomRepository.findById(roomId)
+            .orElseThrow(() -> new IllegalArgumentException("Meeting room not found: " + roomId));
+        if (!Boolean.TRUE.equals(room.getIsActive())) {
+            return null;
+        }
+
+        if (from.isBefore(LocalDateTime.now().minusDays(retentionDays))) {
+            throw new IllegalArgumentException("Room bookings are only kept for " + retentionDays + " days");
+        }
+
+        long start = Math.floorDiv(seconds(from) + 59, 60) * 60;
+        long length = duration.getSeconds();
+        long latestStart = seconds(from.plusDays(searchHorizonDays));
+        lock.readLock().lock();
+        try {
+            if (start >= indexedFrom) {
+                return freeSlot(roomId, index.nextFree(roomId, start, length, latestStart), duration);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        RoomScheduleIndex stored = new RoomScheduleIndex();
+        putAll(stored, roomBookingSlotRepository.findRoomBookingsBetween(roomId,
+            slotTime(Math.floorDiv(start, SLOT_SECONDS)), slotTime(slotCeil(timeOf(latestStart + length)))));
+        return freeSlot(roomId, stored.nextFree(roomId, start, length, latestStart), duration);
+    }
+
+    private static FreeSlot freeSlot(Long roomId, long start, Duration duration) {
+        return start < 0 ? null : new FreeSlot(roomId, timeOf(start), timeOf(start).plus(duration));
+    }
+
+    /**
+     * Give slots to upcoming meetings that hold a room without any, e.g. rooms set before bookings
+     * were tracked. Meetings that clash with an earlier booking keep their room but get no slots.
+     */
+    private void backfillRoomMeetings() {
+        List<Object[]> meetings = meetingRepository.findRoomMeetingsWithoutSlots(
+            LocalDateTime.now(), Meeting.MeetingStatus.CANCELLED);
+        int conflicts = 0;
+        for (Object[] row : meetings) {
+            Long meetingId = (Long) row[0];
+            Long roomId = (Long) row[1];
+            LocalDateTime start = (LocalDateTime) row[2];
+            LocalDateTime end = (LocalDateTime) row[3];
+            if (start == null || end == null || !end.isAfter(start)
+                    || Duration.between(start, end).compareTo(Duration.ofHours(maxBookingHours)) > 0) {
+                continue;
+            }
+            Boolean claimed = new TransactionTemplate(transactionManager).execute(status ->
+                meetingRoomRepository.findByIdForUpdate(roomId).isPresent() && claim(roomId, meetingId, start, end));
+            if (!Boolean.TRUE.equals(claimed)) {
+                conflicts++;
+                logger.warn("Meeting {} overlaps another booking of room {}; no slots booked", meetingId, roomId);
+            }
+        }
+        if (!meetings.isEmpty()) {
+            logger.info("Backfilled room bookings for {} meetings, {} conflicts", meetings.size() - conflicts, conflicts);
+        }
+    }
+
+    private void validateRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (Duration.between(start, end).compareTo(Duration.ofHours(maxBookingHours)) > 0) {
+            throw new IllegalArgumentException("Room bookings are limited to " + maxBookingHours + " hours");
+        }
+    }
+
+    /**
+     * Apply an index change once the current transaction commits, or now outside a transaction
+     */
+    private void afterCommit(Consumer<RoomScheduleIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<RoomScheduleIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (rebuildJournal != null) {
+                rebuildJournal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add [room id, meeting id, exact start, exact end] booking rows to an index
+     */
+    private static void putAll(RoomScheduleIndex schedule, List<Object[]> bookings) {
+        for (Object[] row : bookings) {
+            schedule.put((Long) row[0], (Long) row[1], seconds((LocalDateTime) row[2]), seconds((LocalDateTime) row[3]));
+        }
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime timeOf(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private static long slotFloor(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SLOT_SECONDS);
+    }
+
+    private static long slotCeil(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC) + SLOT_SECONDS - 1, SLOT_SECONDS);
+    }
+
+    private static LocalDateTime slotTime(long slot) {
+        return timeOf(slot * SLOT_SECONDS);
+    }
+}
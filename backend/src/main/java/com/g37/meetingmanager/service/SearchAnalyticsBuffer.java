@@ -0,0 +1,203 @@
+package com.g37.meetingmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers help search analytics in memory and flushes them to search_analytics in batches.
+ * Counts are kept per term in a ConcurrentHashMap (whose bins act as lock stripes) and written
+ * as relative increments, so concurrent identical searches are never lost and the search
+ * request itself does no database work. A flush writes its batch in one transaction, so a failed
+ * flush applied nothing and the whole batch can be re-queued without counting any term twice.
+ */
+@Service
+public class SearchAnalyticsBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchAnalyticsBuffer.class);
+
+    private static final String UPSERT_MYSQL =
+        "INSERT INTO search_analytics (search_term, search_count, first_searched, last_searched, user_id, results_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE search_count = search_count + VALUES(search_count), " +
+        "last_searched = GREATEST(last_searched, VALUES(last_searched)), " +
+        "user_id = VALUES(user_id), results_count = VALUES(results_count)";
+
+    private static final String INCREMENT =
+        "UPDATE search_analytics SET search_count = search_count + ?, " +
+        "last_searched = CASE WHEN last_searched < ? THEN ? ELSE last_searched END, " +
+        "user_id = ?, results_count = ? WHERE search_term = ?";
+
+    private static final String INSERT =
+        "INSERT INTO search_analytics (search_term, search_count, first_searched, last_searched, user_id, results_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private SearchTrendTracker searchTrendTracker;
+
+    @Value("${help.search.analytics.max-pending-terms:10000}")
+    private int maxPendingTerms;
+
+    private final ConcurrentHashMap<String, PendingCount> pending = new ConcurrentHashMap<>();
+    private final AtomicLong droppedSearches = new AtomicLong();
+    private volatile Boolean mysql;
+
+    /**
+     * Count one search; only touches memory
+     */
+    public void record(String searchTerm, Long userId, int resultsCount) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return;
+        }
+        String normalizedTerm = searchTerm.trim().toLowerCase();
+        if (normalizedTerm.length() > 500) {
+            normalizedTerm = normalizedTerm.substring(0, 500);
+        }
+
+        if (searchTrendTracker != null) {
+            searchTrendTracker.record(normalizedTerm);
+        }
+
+        if (pending.size() >= maxPendingTerms && !pending.containsKey(normalizedTerm)) {
+            droppedSearches.incrementAndGet();
+            return;
+        }
+
+        // compute() holds the bin lock, so this cannot interleave with flush() evicting the entry
+        pending.compute(normalizedTerm, (term, count) -> {
+            PendingCount updated = count != null ? count : new PendingCount();
+            updated.searches.incrementAndGet();
+            updated.lastSearched = LocalDateTime.now();
+            updated.userId = userId;
+            updated.resultsCount = resultsCount;
+            return updated;
+        });
+    }
+
+    /**
+     * Write accumulated counts as relative increments
+     */
+    @Scheduled(fixedDelayString = "${help.search.analytics.flush-interval-ms:10000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, PendingCount> entry : pending.entrySet()) {
+            PendingCount count = entry.getValue();
+            long searches = count.searches.getAndSet(0);
+            if (searches > 0) {
+                batch.add(new Object[] {
+                    entry.getKey(), searches, Timestamp.valueOf(count.lastSearched), count.userId, count.resultsCount
+                });
+            } else {
+                // Idle since the last flush; evict unless a search arrived in the meantime
+                pending.computeIfPresent(entry.getKey(), (term, current) -> current.searches.get() == 0 ? null : current);
+            }
+        }
+
+        long dropped = droppedSearches.getAndSet(0);
+        if (dropped > 0) {
+            logger.warn("Dropped {} search analytics events; more than {} distinct terms pending", dropped, maxPendingTerms);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            boolean useUpsert = isMySql();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (useUpsert) {
+                    upsert(batch);
+                } else {
+                    incrementOrInsert(batch);
+                }
+            });
+            logger.debug("Flushed search analytics for {} terms", batch.size());
+        } catch (Exception e) {
+            // Rolled back, so none of the batch reached the table
+            logger.warn("Failed to flush search analytics, re-queueing {} terms: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                pending.compute((String) row[0], (term, count) -> {
+                    PendingCount restored = count != null ? count : new PendingCount();
+                    restored.searches.addAndGet((Long) row[1]);
+                    if (restored.lastSearched == null) {
+                        restored.lastSearched = ((Timestamp) row[2]).toLocalDateTime();
+                        restored.userId = (Long) row[3];
+                        restored.resultsCount = (Integer) row[4];
+                    }
+                    return restored;
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void upsert(List<Object[]> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Object[] row : batch) {
+            args.add(new Object[] {row[0], row[1], row[2], row[2], row[3], row[4]});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_MYSQL, args);
+    }
+
+    private void incrementOrInsert(List<Object[]> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Object[] row : batch) {
+            args.add(new Object[] {row[1], row[2], row[2], row[3], row[4], row[0]});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT, args);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] row = batch.get(i);
+                inserts.add(new Object[] {row[0], row[1], row[2], row[2], row[3], row[4]});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, inserts);
+        }
+    }
+
+    private boolean isMySql() {
+        Boolean result = mysql;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase().contains("mysql");
+            mysql = result;
+        }
+        return result;
+    }
+
+    private static class PendingCount {
+        final AtomicLong searches = new AtomicLong();
+        volatile LocalDateTime lastSearched;
+        volatile Long userId;
+        volatile Integer resultsCount;
+    }
+}
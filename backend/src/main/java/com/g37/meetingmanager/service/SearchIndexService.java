@@ -0,0 +1,666 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.SearchHitDTO;
+import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.MeetingTranscript;
+import com.g37.meetingmanager.model.PendingAction;
+import com.g37.meetingmanager.repository.mongodb.MeetingTranscriptRepository;
+import com.g37.meetingmanager.repository.mongodb.PendingActionRepository;
+import com.g37.meetingmanager.repository.mysql.ActionItemRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded Lucene index over meetings, transcript segments, action items and pending actions.
+ * Replaces LIKE/regex scans with ranked, highlighted, tenant-filtered search served from local disk.
+ * Writes are applied after the surrounding transaction commits and become visible on the next refresh.
+ */
+@Service
+@ConditionalOnProperty(name = "search.index.enabled", havingValue = "true", matchIfMissing = true)
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    // Index field names
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ORG_ID = "orgId";
+    private static final String FIELD_ENTITY_ID = "entityId";
+    private static final String FIELD_MEETING_ID = "meetingId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_SPEAKER = "speaker";
+    private static final String FIELD_TIMESTAMP = "timestampSeconds";
+    private static final String FIELD_RECORDING_URL = "recordingUrl";
+    private static final String FIELD_INDEXED_AT = "indexedAt";
+
+    private static final int MAX_RESULT_WINDOW = 1000;
+    private static final int SNIPPET_MAX_LENGTH = 10_000;
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    /**
+     * Kinds of entries stored in the index
+     */
+    public enum EntryType {
+        MEETING,
+        TRANSCRIPT_SEGMENT,
+        ACTION_ITEM,
+        PENDING_ACTION
+    }
+
+    @Value("${search.index.directory:./data/search-index}")
+    private String indexDirectory;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired(required = false)
+    private PendingActionRepository pendingActionRepository;
+
+    @Autowired(required = false)
+    private MeetingTranscriptRepository meetingTranscriptRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    // Rebuilds run one at a time on their own thread, away from the common pool
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Paths.get(indexDirectory);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, null);
+
+        logger.info("Search index opened at {} ({} documents)", path.toAbsolutePath(), indexWriter.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuildExecutor.shutdownNow();
+        try {
+            searcherManager.close();
+            indexWriter.commit();
+            indexWriter.close();
+            directory.close();
+        } catch (IOException e) {
+            logger.error("Error closing search index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Make recent writes visible to searchers
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.warn("Failed to refresh search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Durably flush pending writes to disk
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to commit search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Populate an empty index from the databases in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (indexWriter.getDocStats().numDocs == 0) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Start a rebuild in the background unless one is already running
+     *
+     * @return false when a rebuild was already in progress
+     */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Re-index every searchable entity in place. Entries are replaced one by one, so searches keep
+     * answering from the existing index throughout; entries the rebuild did not write (their entity
+     * is gone) are deleted once it finishes.
+     */
+    public void rebuild() {
+        logger.info("Rebuilding search index");
+        long started = System.currentTimeMillis();
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+
+            int pageNumber = 0;
+            Page<Meeting> meetings;
+            do {
+                final int current = pageNumber++;
+                meetings = readOnly.execute(status -> {
+                    Page<Meeting> page = meetingRepository.findAll(PageRequest.of(current, REBUILD_PAGE_SIZE));
+                    page.forEach(meeting -> write(() -> indexWriter.updateDocument(uid(EntryType.MEETING, meeting.getId()), toDocument(meeting))));
+                    return page;
+                });
+            } while (meetings != null && meetings.hasNext());
+
+            pageNumber = 0;
+            Page<ActionItem> actionItems;
+            do {
+                final int current = pageNumber++;
+                actionItems = readOnly.execute(status -> {
+                    Page<ActionItem> page = actionItemRepository.findAll(PageRequest.of(current, REBUILD_PAGE_SIZE));
+                    page.forEach(item -> write(() -> indexWriter.updateDocument(uid(EntryType.ACTION_ITEM, item.getId()), toDocument(item))));
+                    return page;
+                });
+            } while (actionItems != null && actionItems.hasNext());
+
+            if (pendingActionRepository != null) {
+                pageNumber = 0;
+                Page<PendingAction> pendingActions;
+                do {
+                    pendingActions = pendingActionRepository.findAll(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE));
+                    pendingActions.forEach(action ->
+                        write(() -> indexWriter.updateDocument(uid(EntryType.PENDING_ACTION, action.getId()), toDocument(action))));
+                } while (pendingActions.hasNext());
+            }
+
+            if (meetingTranscriptRepository != null) {
+                pageNumber = 0;
+                Page<MeetingTranscript> transcripts;
+                do {
+                    transcripts = meetingTranscriptRepository.findAll(PageRequest.of(pageNumber++, REBUILD_PAGE_SIZE));
+                    indexTranscriptPage(transcripts.getContent());
+                } while (transcripts.hasNext());
+            }
+
+            // Everything still live was rewritten above or by a change hook since; the rest is stale
+            write(() -> indexWriter.deleteDocuments(LongPoint.newRangeQuery(FIELD_INDEXED_AT, Long.MIN_VALUE, started - 1)));
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+            logger.info("Search index rebuilt with {} documents in {} ms",
+                indexWriter.getDocStats().numDocs, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to rebuild search index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replace the segments of a page of transcripts, looking their meetings up in one query
+     */
+    private void indexTranscriptPage(List<MeetingTranscript> transcripts) {
+        Set<Long> meetingIds = new HashSet<>();
+        transcripts.forEach(transcript -> meetingIds.add(transcript.getMeetingId()));
+        meetingIds.remove(null);
+        Map<Long, Meeting> meetings = new HashMap<>();
+        meetingRepository.findAllById(meetingIds).forEach(meeting -> meetings.put(meeting.getId(), meeting));
+
+        for (MeetingTranscript transcript : transcripts) {
+            if (transcript.getMeetingId() == null) {
+                continue;
+            }
+            Meeting meeting = meetings.get(transcript.getMeetingId());
+            String recordingUrl = transcript.getFathomRecordingUrl() != null
+                ? transcript.getFathomRecordingUrl() : recordingUrl(meeting);
+            List<Document> segments = toDocuments(transcript.getMeetingId(), transcript.getOrganizationId(),
+                meeting != null ? meeting.getTitle() : null, recordingUrl, transcript.getTranscriptSegments());
+            write(() -> indexWriter.updateDocuments(transcriptSegmentsOf(transcript.getMeetingId()), segments));
+        }
+    }
+
+    // Entity change hooks
+
+    public void indexMeeting(Meeting meeting) {
+        Document document = toDocument(meeting);
+        afterCommit(() -> indexWriter.updateDocument(uid(EntryType.MEETING, meeting.getId()), document));
+    }
+
+    public void removeMeeting(Long meetingId) {
+        Query segments = transcriptSegmentsOf(meetingId);
+        afterCommit(() -> indexWriter.deleteDocuments(uid(EntryType.MEETING, meetingId)));
+        afterCommit(() -> indexWriter.deleteDocuments(segments));
+    }
+
+    public void indexActionItem(ActionItem actionItem) {
+        Document document = toDocument(actionItem);
+        afterCommit(() -> indexWriter.updateDocument(uid(EntryType.ACTION_ITEM, actionItem.getId()), document));
+    }
+
+    public void removeActionItem(Long actionItemId) {
+        afterCommit(() -> indexWriter.deleteDocuments(uid(EntryType.ACTION_ITEM, actionItemId)));
+    }
+
+    public void indexPendingAction(PendingAction pendingAction) {
+        Document document = toDocument(pendingAction);
+        afterCommit(() -> indexWriter.updateDocument(uid(EntryType.PENDING_ACTION, pendingAction.getId()), document));
+    }
+
+    public void removePendingAction(String pendingActionId) {
+        afterCommit(() -> indexWriter.deleteDocuments(uid(EntryType.PENDING_ACTION, pendingActionId)));
+    }
+
+    public void removePendingActionsForMeeting(Long meetingId) {
+        Query pendingActions = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(FIELD_TYPE, EntryType.PENDING_ACTION.name())), BooleanClause.Occur.FILTER)
+            .add(new TermQuery(new Term(FIELD_MEETING_ID, meetingId.toString())), BooleanClause.Occur.FILTER)
+            .build();
+        afterCommit(() -> indexWriter.deleteDocuments(pendingActions));
+    }
+
+    /**
+     * Replace the indexed transcript segments of a meeting
+     */
+    public void indexTranscriptSegments(Meeting meeting, List<MeetingTranscript.TranscriptSegment> segments) {
+        Long organizationId = meeting.getOrganization() != null ? meeting.getOrganization().getId() : null;
+        List<Document> documents = toDocuments(meeting.getId(), organizationId, meeting.getTitle(),
+            recordingUrl(meeting), segments);
+        Query existing = transcriptSegmentsOf(meeting.getId());
+        afterCommit(() -> indexWriter.updateDocuments(existing, documents));
+    }
+
+    private Query transcriptSegmentsOf(Long meetingId) {
+        return new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(FIELD_TYPE, EntryType.TRANSCRIPT_SEGMENT.name())), BooleanClause.Occur.FILTER)
+            .add(new TermQuery(new Term(FIELD_MEETING_ID, meetingId.toString())), BooleanClause.Occur.FILTER)
+            .build();
+    }
+
+    // Search
+
+    /**
+     * Ranked, highlighted search within one organization
+     *
+     * @param organizationId Tenant to search in
+     * @param queryText User query; supports "phrases", +required, -excluded and prefix*
+     * @param types Entry types to include, or empty for all
+     * @param pageable Page request; sort is ignored in favor of relevance
+     */
+    public Page<SearchHitDTO> search(Long organizationId, String queryText, Set<EntryType> types, Pageable pageable) {
+        if (queryText == null || queryText.isBlank() || organizationId == null) {
+            return Page.empty(pageable);
+        }
+
+        return execute(buildQuery(organizationId, queryText, types), pageable);
+    }
+
+    /**
+     * Ranked search over individual transcript segments within one organization, so a moment in a
+     * meeting can be found without loading the whole transcript
+     *
+     * @param organizationId Tenant to search in
+     * @param queryText User query; matches segment text and speaker names
+     * @param meetingId Optional meeting to restrict the search to
+     * @param pageable Page request; sort is ignored in favor of relevance
+     */
+    public Page<SearchHitDTO> searchTranscripts(Long organizationId, String queryText, Long meetingId, Pageable pageable) {
+        if (queryText == null || queryText.isBlank() || organizationId == null) {
+            return Page.empty(pageable);
+        }
+
+        // The meeting title is stored on every segment, so it is left out of scoring here
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(FIELD_CONTENT, 1.0f, FIELD_SPEAKER, 2.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+            .add(parser.parse(queryText), BooleanClause.Occur.MUST)
+            .add(new TermQuery(new Term(FIELD_ORG_ID, organizationId.toString())), BooleanClause.Occur.FILTER)
+            .add(new TermQuery(new Term(FIELD_TYPE, EntryType.TRANSCRIPT_SEGMENT.name())), BooleanClause.Occur.FILTER);
+        if (meetingId != null) {
+            builder.add(new TermQuery(new Term(FIELD_MEETING_ID, meetingId.toString())), BooleanClause.Occur.FILTER);
+        }
+        return execute(builder.build(), pageable);
+    }
+
+    private Page<SearchHitDTO> execute(Query query, Pageable pageable) {
+        int window = (int) Math.min((long) (pageable.getPageNumber() + 1) * pageable.getPageSize(), MAX_RESULT_WINDOW);
+        int offset = (int) Math.min(pageable.getOffset(), window);
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, Math.max(window, 1));
+            ScoreDoc[] pageDocs = Arrays.copyOfRange(topDocs.scoreDocs, Math.min(offset, topDocs.scoreDocs.length),
+                topDocs.scoreDocs.length);
+            if (pageDocs.length == 0) {
+                return new PageImpl<>(Collections.emptyList(), pageable, topDocs.totalHits.value);
+            }
+
+            TopDocs page = new TopDocs(new TotalHits(pageDocs.length, TotalHits.Relation.EQUAL_TO), pageDocs);
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " ... ", true))
+                .withMaxLength(SNIPPET_MAX_LENGTH)
+                .withMaxNoHighlightPassages(1)
+                .build();
+            String[] snippets = highlighter.highlight(FIELD_CONTENT, query, page, 2);
+
+            List<SearchHitDTO> hits = new ArrayList<>(pageDocs.length);
+            for (int i = 0; i < pageDocs.length; i++) {
+                hits.add(toHit(searcher.storedFields().document(pageDocs[i].doc), snippets[i], pageDocs[i].score));
+            }
+            return new PageImpl<>(hits, pageable, topDocs.totalHits.value);
+        } catch (IOException e) {
+            throw new RuntimeException("Search failed: " + e.getMessage(), e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    logger.warn("Failed to release index searcher: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Query buildQuery(Long organizationId, String queryText, Set<EntryType> types) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer,
+            Map.of(FIELD_TITLE, 3.0f, FIELD_CONTENT, 1.0f, FIELD_SPEAKER, 2.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+            .add(parser.parse(queryText), BooleanClause.Occur.MUST)
+            .add(new TermQuery(new Term(FIELD_ORG_ID, organizationId.toString())), BooleanClause.Occur.FILTER);
+
+        if (types != null && !types.isEmpty()) {
+            BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+            types.forEach(type -> typeFilter.add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.SHOULD));
+            builder.add(typeFilter.build(), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private SearchHitDTO toHit(Document document, String snippet, float score) {
+        String meetingId = document.get(FIELD_MEETING_ID);
+        SearchHitDTO hit = new SearchHitDTO(
+            document.get(FIELD_TYPE),
+            document.get(FIELD_ENTITY_ID),
+            meetingId != null ? Long.valueOf(meetingId) : null,
+            document.get(FIELD_TITLE),
+            snippet,
+            score
+        );
+        hit.setSpeaker(document.get(FIELD_SPEAKER));
+        if (document.getField(FIELD_TIMESTAMP) != null) {
+            hit.setTimestampSeconds(document.getField(FIELD_TIMESTAMP).numericValue().intValue());
+        }
+        hit.setPlaybackUrl(playbackUrl(document.get(FIELD_RECORDING_URL), hit.getTimestampSeconds()));
+        return hit;
+    }
+
+    /**
+     * Fathom recording link that starts playback at the given offset
+     */
+    static String playbackUrl(String recordingUrl, Integer seconds) {
+        if (recordingUrl == null || recordingUrl.isBlank()) {
+            return null;
+        }
+        if (seconds == null) {
+            return recordingUrl;
+        }
+        return recordingUrl + (recordingUrl.contains("?") ? "&" : "?") + "timestamp=" + seconds;
+    }
+
+    private String recordingUrl(Meeting meeting) {
+        if (meeting == null) {
+            return null;
+        }
+        return meeting.getFathomRecordingUrl() != null ? meeting.getFathomRecordingUrl() : meeting.getRecordingUrl();
+    }
+
+    // Document mapping
+
+    private Document toDocument(Meeting meeting) {
+        Document document = baseDocument(EntryType.MEETING, meeting.getId().toString(),
+            meeting.getOrganization() != null ? meeting.getOrganization().getId() : null, meeting.getId());
+        addText(document, FIELD_TITLE, meeting.getTitle());
+        addText(document, FIELD_CONTENT, join(meeting.getDescription(), meeting.getAgenda(),
+            meeting.getSummary(), meeting.getKeyDecisions()));
+        return document;
+    }
+
+    private Document toDocument(ActionItem actionItem) {
+        Long organizationId = null;
+        if (actionItem.getOrganization() != null) {
+            organizationId = actionItem.getOrganization().getId();
+        } else if (actionItem.getMeeting() != null) {
+            // An unloaded meeting proxy knows only its id; read the organization through the foreign
+            // key rather than initializing the proxy, which may be detached
+            Meeting meeting = actionItem.getMeeting();
+            if (Hibernate.isInitialized(meeting)) {
+                organizationId = meeting.getOrganization() != null ? meeting.getOrganization().getId() : null;
+            } else {
+                organizationId = meetingRepository.findOrganizationIdById(meeting.getId()).orElse(null);
+            }
+        }
+        Long meetingId = actionItem.getMeeting() != null ? actionItem.getMeeting().getId() : null;
+
+        Document document = baseDocument(EntryType.ACTION_ITEM, actionItem.getId().toString(), organizationId, meetingId);
+        addText(document, FIELD_TITLE, actionItem.getTitle());
+        addText(document, FIELD_CONTENT, join(actionItem.getDescription(), actionItem.getNotes(), actionItem.getTags()));
+        return document;
+    }
+
+    private Document toDocument(PendingAction pendingAction) {
+        Document document = baseDocument(EntryType.PENDING_ACTION, pendingAction.getId(),
+            pendingAction.getOrganizationId(), pendingAction.getMeetingId());
+        addText(document, FIELD_TITLE, pendingAction.getTitle());
+        addText(document, FIELD_CONTENT, join(pendingAction.getDescription(), pendingAction.getNotes(),
+            pendingAction.getTags() != null ? String.join(" ", pendingAction.getTags()) : null));
+        return document;
+    }
+
+    private List<Document> toDocuments(Long meetingId, Long organizationId, String meetingTitle, String recordingUrl,
+                                       List<MeetingTranscript.TranscriptSegment> segments) {
+        if (segments == null) {
+            return Collections.emptyList();
+        }
+        List<Document> documents = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            MeetingTranscript.TranscriptSegment segment = segments.get(i);
+            Document document = baseDocument(EntryType.TRANSCRIPT_SEGMENT, meetingId + ":" + i, organizationId, meetingId);
+            addText(document, FIELD_TITLE, meetingTitle);
+            addText(document, FIELD_CONTENT, segment.getText());
+            addText(document, FIELD_SPEAKER, segment.getSpeaker());
+            Integer seconds = parseTimestampSeconds(segment.getTimestamp());
+            if (seconds != null) {
+                document.add(new StoredField(FIELD_TIMESTAMP, seconds));
+            }
+            if (recordingUrl != null) {
+                document.add(new StoredField(FIELD_RECORDING_URL, recordingUrl));
+            }
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    private Document baseDocument(EntryType type, String entityId, Long organizationId, Long meetingId) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_UID, type.name() + ":" + entityId, Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(FIELD_ENTITY_ID, entityId));
+        document.add(new LongPoint(FIELD_INDEXED_AT, System.currentTimeMillis()));
+        if (organizationId != null) {
+            document.add(new StringField(FIELD_ORG_ID, organizationId.toString(), Field.Store.NO));
+        }
+        if (meetingId != null) {
+            document.add(new StringField(FIELD_MEETING_ID, meetingId.toString(), Field.Store.YES));
+        }
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private String join(String... values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                if (joined.length() > 0) joined.append("\n");
+                joined.append(value);
+            }
+        }
+        return joined.toString();
+    }
+
+    private Term uid(EntryType type, Object id) {
+        return new Term(FIELD_UID, type.name() + ":" + id);
+    }
+
+    /**
+     * Parse Fathom "HH:MM:SS" (or "MM:SS") timestamps into seconds
+     */
+    public static Integer parseTimestampSeconds(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+        try {
+            int seconds = 0;
+            for (String part : timestamp.trim().split(":")) {
+                seconds = seconds * 60 + (int) Double.parseDouble(part);
+            }
+            return seconds;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Write helpers
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply() throws IOException;
+    }
+
+    /**
+     * Apply a write once the surrounding transaction commits, or immediately outside a transaction
+     */
+    private void afterCommit(IndexWrite indexWrite) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(indexWrite);
+                }
+            });
+        } else {
+            write(indexWrite);
+        }
+    }
+
+    private void write(IndexWrite indexWrite) {
+        try {
+            indexWrite.apply();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to update search index: {}", e.getMessage(), e);
+        }
+    }
+}
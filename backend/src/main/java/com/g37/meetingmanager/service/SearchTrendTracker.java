@@ -0,0 +1,243 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.entity.mysql.SearchTrendCheckpoint;
+import com.g37.meetingmanager.repository.mysql.SearchTrendCheckpointRepository;
+import com.g37.meetingmanager.util.DecayedSpaceSaving;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks trending help search terms in memory over exponentially decayed windows.
+ * Each window keeps a Space-Saving summary backed by a Count-Min sketch, so memory is fixed
+ * regardless of how many distinct terms are searched. Searches are counted in a pending map on
+ * the request thread and applied to the windows in batches. The sorted top list is refreshed on a
+ * schedule and reads only copy the first k entries. Summaries are checkpointed to
+ * search_trend_checkpoints and restored, decayed by the downtime, at startup. Counts are
+ * exponentially decayed with the window's time constant, so they are trend scores rather than
+ * exact counts of searches inside the window. Each replica checkpoints and restores only its own
+ * rows, keyed by its replica id, so replicas never overwrite each other's state.
+ */
+@Service
+public class SearchTrendTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchTrendTracker.class);
+
+    // Checkpointed entries below this decayed count carry no signal
+    private static final double MIN_CHECKPOINT_COUNT = 0.01;
+
+    public enum Window {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1)),
+        MONTH(Duration.ofDays(30));
+
+        private final Duration decay;
+
+        Window(Duration decay) {
+            this.decay = decay;
+        }
+
+        public Duration getDecay() {
+            return decay;
+        }
+    }
+
+    @Autowired
+    private SearchTrendCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${help.search.trends.capacity:1000}")
+    private int capacity;
+
+    @Value("${help.search.trends.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${help.search.trends.max-pending-terms:10000}")
+    private int maxPendingTerms;
+
+    // Must stay the same across restarts of a replica for it to find its checkpoint again
+    @Value("${help.search.trends.replica-id:${HOSTNAME:local}}")
+    private String replicaId;
+
+    // Checkpoints not refreshed for this long, e.g. of replicas that are gone, are deleted
+    @Value("${help.search.trends.checkpoint-retention-days:30}")
+    private int checkpointRetentionDays;
+
+    // Searches since the last drain; applied to the summaries off the request path
+    private final ConcurrentHashMap<String, Integer> pending = new ConcurrentHashMap<>();
+    private final AtomicLong droppedSearches = new AtomicLong();
+
+    private final Map<Window, DecayedSpaceSaving> summaries = new EnumMap<>(Window.class);
+    private volatile Map<Window, List<Map.Entry<String, Double>>> topTerms = new EnumMap<>(Window.class);
+
+    private synchronized DecayedSpaceSaving summary(Window window) {
+        return summaries.computeIfAbsent(window, w ->
+            new DecayedSpaceSaving(capacity, w.getDecay().toMillis(), sketchWidth, System.currentTimeMillis()));
+    }
+
+    /**
+     * Count one search of an already normalized term; only touches memory, the windows are
+     * updated in batches by {@link #drain}
+     */
+    public void record(String normalizedTerm) {
+        if (pending.size() >= maxPendingTerms && !pending.containsKey(normalizedTerm)) {
+            droppedSearches.incrementAndGet();
+            return;
+        }
+        pending.merge(normalizedTerm, 1, Integer::sum);
+    }
+
+    /**
+     * Apply the searches recorded since the last drain to every window, taking each window's lock once
+     */
+    void drain() {
+        Map<String, Integer> batch = new HashMap<>();
+        for (String term : pending.keySet()) {
+            Integer searches = pending.remove(term);
+            if (searches != null) {
+                batch.put(term, searches);
+            }
+        }
+        long dropped = droppedSearches.getAndSet(0);
+        if (dropped > 0) {
+            logger.warn("Dropped {} searches from trending terms: more than {} distinct terms pending",
+                dropped, maxPendingTerms);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Window window : Window.values()) {
+            DecayedSpaceSaving summary = summary(window);
+            synchronized (summary) {
+                batch.forEach((term, searches) -> summary.add(term, searches, now));
+            }
+        }
+    }
+
+    /**
+     * Top terms of a window with their decayed scores, as of the last refresh
+     */
+    public Map<String, Double> top(Window window, int limit) {
+        List<Map.Entry<String, Double>> terms = topTerms.getOrDefault(window, Collections.emptyList());
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < terms.size() && i < limit; i++) {
+            result.put(terms.get(i).getKey(), terms.get(i).getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Apply pending searches and re-sort the monitored terms of every window for {@link #top}
+     */
+    @Scheduled(fixedDelayString = "${help.search.trends.refresh-interval-ms:5000}")
+    public void refresh() {
+        drain();
+        long now = System.currentTimeMillis();
+        Map<Window, List<Map.Entry<String, Double>>> refreshed = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            DecayedSpaceSaving summary = summary(window);
+            synchronized (summary) {
+                refreshed.put(window, summary.top(capacity, now));
+            }
+        }
+        topTerms = refreshed;
+    }
+
+    /**
+     * Replace this replica's stored checkpoint of every window with the current summaries
+     */
+    @Scheduled(initialDelayString = "${help.search.trends.checkpoint-interval-ms:300000}",
+               fixedDelayString = "${help.search.trends.checkpoint-interval-ms:300000}")
+    public void checkpoint() {
+        drain();
+        long now = System.currentTimeMillis();
+        LocalDateTime checkpointedAt = LocalDateTime.now();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            for (Window window : Window.values()) {
+                DecayedSpaceSaving summary = summary(window);
+                Map<String, double[]> snapshot;
+                synchronized (summary) {
+                    snapshot = summary.snapshot(now);
+                }
+
+                List<SearchTrendCheckpoint> entries = new ArrayList<>(snapshot.size());
+                snapshot.forEach((term, counts) -> {
+                    if (counts[0] >= MIN_CHECKPOINT_COUNT) {
+                        entries.add(new SearchTrendCheckpoint(window.name(), replicaId, term, counts[0], counts[1], checkpointedAt));
+                    }
+                });
+                transaction.executeWithoutResult(status -> {
+                    checkpointRepository.deleteByWindowNameAndReplicaId(window.name(), replicaId);
+                    checkpointRepository.saveAll(entries);
+                });
+            }
+            transaction.executeWithoutResult(status ->
+                checkpointRepository.deleteCheckpointedBefore(checkpointedAt.minusDays(checkpointRetentionDays)));
+            logger.debug("Checkpointed trending search terms");
+        } catch (Exception e) {
+            logger.warn("Failed to checkpoint trending search terms: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    /**
+     * Seed the summaries from this replica's last checkpoint, decayed by the time since it was taken
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            for (Window window : Window.values()) {
+                List<SearchTrendCheckpoint> entries = readOnly.execute(status ->
+                    checkpointRepository.findByWindowNameAndReplicaId(window.name(), replicaId));
+                DecayedSpaceSaving summary = summary(window);
+                synchronized (summary) {
+                    for (SearchTrendCheckpoint entry : entries) {
+                        long taken = entry.getCheckpointedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        double decay = Math.exp(-Math.max(0, now - taken) / (double) window.getDecay().toMillis());
+                        summary.restore(entry.getSearchTerm(), entry.getDecayedCount() * decay,
+                            entry.getErrorBound() * decay, now);
+                    }
+                }
+                restored += entries.size();
+            }
+            refresh();
+            logger.info("Restored {} trending search entries from the checkpoint of replica {}", restored, replicaId);
+        } catch (Exception e) {
+            logger.warn("Failed to restore trending search terms: {}", e.getMessage());
+        }
+    }
+}
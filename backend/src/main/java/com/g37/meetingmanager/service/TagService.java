@@ -0,0 +1,433 @@
+package com.g37.meetingmanager.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.g37.meetingmanager.dto.TagFacetDTO;
+import com.g37.meetingmanager.model.Tag;
+import com.g37.meetingmanager.model.TagLink;
+import com.g37.meetingmanager.model.TaggedEntityType;
+import com.g37.meetingmanager.repository.mongodb.PendingActionRepository;
+import com.g37.meetingmanager.repository.mysql.ActionItemRepository;
+import com.g37.meetingmanager.repository.mysql.DocumentRepository;
+import com.g37.meetingmanager.repository.mysql.HelpArticleRepository;
+import com.g37.meetingmanager.repository.mysql.HelpFAQRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.TagLinkRepository;
+import com.g37.meetingmanager.repository.mysql.TagRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared tagging for action items, documents and help content.
+ * Each entity keeps its tags in its own column or collection; this service mirrors them into the
+ * tags dictionary (one interned id per normalized name) and tag_links, which back exact-match
+ * lookups, multi-tag AND/OR queries and facet counts. Links are written after the entity's
+ * transaction commits, once per entity per transaction. Help articles and FAQs belong to no
+ * organization: their links have a null organizationId and are always queried across all of them.
+ */
+@Service
+public class TagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagService.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagLinkRepository tagLinkRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private HelpArticleRepository helpArticleRepository;
+
+    @Autowired
+    private HelpFAQRepository helpFAQRepository;
+
+    @Autowired(required = false)
+    private PendingActionRepository pendingActionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Interned tag ids by name; tags are never deleted, so entries never go stale
+    private final Map<String, Long> tagIds = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    // Background rebuilds, kept off the common fork-join pool
+    private ExecutorService rebuildExecutor;
+
+    @PostConstruct
+    public void init() {
+        rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tag-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // Parsing
+
+    /**
+     * Normalized, de-duplicated tags from a JSON array or a comma-separated string
+     */
+    public static Set<String> parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Collections.emptySet();
+        }
+        String trimmed = raw.trim();
+        if (trimmed.startsWith("[")) {
+            try {
+                return normalizeAll(JSON.readValue(trimmed, new TypeReference<List<String>>() {}));
+            } catch (Exception e) {
+                logger.debug("Tags are not a JSON string array, splitting on commas: {}", trimmed);
+                trimmed = trimmed.replaceAll("[\\[\\]\"]", "");
+            }
+        }
+        return normalizeAll(Arrays.asList(trimmed.split(",")));
+    }
+
+    public static Set<String> normalizeAll(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String name = Tag.normalize(tag);
+            if (name != null) {
+                normalized.add(name);
+            }
+        }
+        return normalized;
+    }
+
+    // Write hooks
+
+    /**
+     * Mirror an entity's tags into tag_links once the current transaction commits
+     */
+    public void onTagsChanged(TaggedEntityType entityType, Long entityId, Long organizationId, Collection<String> tags) {
+        Set<String> names = normalizeAll(tags);
+        afterCommit(entityType + ":" + entityId, () -> syncTags(entityType, entityId, organizationId, names));
+    }
+
+    /**
+     * Mirror a document's tags and AI keywords; the organization comes from the document's meeting
+     */
+    public void onDocumentTagsChanged(Long documentId, Integer meetingId, String tags, String aiKeywords) {
+        Set<String> tagNames = parse(tags);
+        Set<String> keywordNames = parse(aiKeywords);
+        afterCommit(TaggedEntityType.DOCUMENT + ":" + documentId, () -> {
+            Long organizationId = meetingId != null
+                ? meetingRepository.findOrganizationIdById(meetingId.longValue()).orElse(null)
+                : null;
+            syncTags(TaggedEntityType.DOCUMENT, documentId, organizationId, tagNames);
+            syncTags(TaggedEntityType.DOCUMENT_KEYWORD, documentId, organizationId, keywordNames);
+        });
+    }
+
+    public void onEntityRemoved(TaggedEntityType entityType, Long entityId) {
+        afterCommit(entityType + ":" + entityId, () -> {
+            tagLinkRepository.deleteByEntityTypeAndEntityId(entityType, entityId);
+            if (entityType == TaggedEntityType.DOCUMENT) {
+                tagLinkRepository.deleteByEntityTypeAndEntityId(TaggedEntityType.DOCUMENT_KEYWORD, entityId);
+            }
+        });
+    }
+
+    /**
+     * Make an entity's links match the given normalized names; must run inside a transaction
+     */
+    void syncTags(TaggedEntityType entityType, Long entityId, Long organizationId, Set<String> names) {
+        Set<Long> desired = new HashSet<>(intern(names).values());
+
+        List<Long> stale = new ArrayList<>();
+        List<Long> moved = new ArrayList<>();
+        Set<Long> present = new HashSet<>();
+        for (TagLink link : tagLinkRepository.findByEntityTypeAndEntityId(entityType, entityId)) {
+            if (!desired.contains(link.getTagId())) {
+                stale.add(link.getId());
+            } else {
+                present.add(link.getTagId());
+                if (!Objects.equals(link.getOrganizationId(), organizationId)) {
+                    moved.add(link.getId());
+                }
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            tagLinkRepository.deleteByIdIn(stale);
+        }
+        if (!moved.isEmpty()) {
+            tagLinkRepository.updateOrganizationId(moved, organizationId);
+        }
+        List<TagLink> added = new ArrayList<>();
+        for (Long tagId : desired) {
+            if (!present.contains(tagId)) {
+                added.add(new TagLink(tagId, entityType, entityId, organizationId));
+            }
+        }
+        if (!added.isEmpty()) {
+            tagLinkRepository.saveAll(added);
+        }
+    }
+
+    /**
+     * Ids for the given normalized names, creating dictionary entries as needed
+     */
+    Map<String, Long> intern(Set<String> names) {
+        Map<String, Long> ids = new LinkedHashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String name : names) {
+            Long id = tagIds.get(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return ids;
+        }
+
+        for (Tag tag : tagRepository.findByNameIn(unknown)) {
+            tagIds.put(tag.getName(), tag.getId());
+            ids.put(tag.getName(), tag.getId());
+        }
+        for (String name : unknown) {
+            if (!ids.containsKey(name)) {
+                Long id = createTag(name);
+                tagIds.put(name, id);
+                ids.put(name, id);
+            }
+        }
+        return ids;
+    }
+
+    // Each new tag commits on its own, so a concurrent insert of the same name cannot poison the caller
+    private Long createTag(String name) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return requiresNew.execute(status -> tagRepository.saveAndFlush(new Tag(name)).getId());
+        } catch (DataIntegrityViolationException e) {
+            return requiresNew.execute(status -> tagRepository.findByName(name)
+                .orElseThrow(() -> new IllegalStateException("Tag vanished after duplicate insert: " + name))
+                .getId());
+        }
+    }
+
+    // Queries
+
+    /**
+     * Page of entity ids carrying any (matchAll = false) or all (matchAll = true) of the tags.
+     * A null organizationId searches every organization; help content is searched globally.
+     */
+    public Page<Long> findEntityIds(TaggedEntityType entityType, Long organizationId, Collection<String> tags,
+                                    boolean matchAll, Pageable pageable) {
+        if (entityType == TaggedEntityType.PENDING_ACTION) {
+            throw new IllegalArgumentException("Pending action tags are queried through PendingActionRepository");
+        }
+        Set<String> names = normalizeAll(tags);
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+        Long scope = entityType.isGlobal() ? null : organizationId;
+        return matchAll
+            ? tagLinkRepository.findEntityIdsWithAllTags(entityType, scope, names, names.size(), pageable)
+            : tagLinkRepository.findEntityIdsWithAnyTag(entityType, scope, names, pageable);
+    }
+
+    /**
+     * Most used tags with their entity counts. A null entityType counts every type stored in tag_links;
+     * with an organizationId that leaves out help content, which belongs to no organization.
+     */
+    public List<TagFacetDTO> getFacets(TaggedEntityType entityType, Long organizationId, int limit) {
+        if (entityType == TaggedEntityType.PENDING_ACTION) {
+            if (pendingActionRepository == null || organizationId == null) {
+                return Collections.emptyList();
+            }
+            return pendingActionRepository.countTagsByOrganization(organizationId, limit);
+        }
+
+        List<TagFacetDTO> facets = new ArrayList<>();
+        Long scope = entityType != null && entityType.isGlobal() ? null : organizationId;
+        for (Object[] row : tagLinkRepository.countByTag(entityType, scope, PageRequest.of(0, limit))) {
+            facets.add(new TagFacetDTO((String) row[0], ((Number) row[1]).longValue()));
+        }
+        return facets;
+    }
+
+    // Rebuild
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        rebuildExecutor.execute(() -> {
+            try {
+                if (tagLinkRepository.count() == 0) {
+                    rebuild();
+                }
+            } catch (Exception e) {
+                logger.warn("Could not check the tag index: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Run {@link #rebuild} on the rebuild thread
+     */
+    public void rebuildAsync() {
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Re-derive every link from the entities' own tag columns
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int entities = 0;
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+            int pageNumber = 0;
+            List<Object[]> rows;
+            do {
+                final int current = pageNumber++;
+                rows = actionItemRepository.findTagRows(PageRequest.of(current, REBUILD_PAGE_SIZE));
+                final List<Object[]> page = rows;
+                transaction.executeWithoutResult(status -> {
+                    for (Object[] row : page) {
+                        syncTags(TaggedEntityType.ACTION_ITEM, (Long) row[0], (Long) row[1], parse((String) row[2]));
+                    }
+                });
+                entities += rows.size();
+            } while (rows.size() == REBUILD_PAGE_SIZE);
+
+            pageNumber = 0;
+            do {
+                final int current = pageNumber++;
+                rows = documentRepository.findTagRows(PageRequest.of(current, REBUILD_PAGE_SIZE));
+                final List<Object[]> page = rows;
+                transaction.executeWithoutResult(status -> {
+                    Map<Integer, Long> organizations = new HashMap<>();
+                    for (Object[] row : page) {
+                        Integer meetingId = (Integer) row[1];
+                        Long organizationId = meetingId == null ? null : organizations.computeIfAbsent(meetingId,
+                            id -> meetingRepository.findOrganizationIdById(id.longValue()).orElse(null));
+                        syncTags(TaggedEntityType.DOCUMENT, (Long) row[0], organizationId, parse((String) row[2]));
+                        syncTags(TaggedEntityType.DOCUMENT_KEYWORD, (Long) row[0], organizationId, parse((String) row[3]));
+                    }
+                });
+                entities += rows.size();
+            } while (rows.size() == REBUILD_PAGE_SIZE);
+
+            entities += rebuildCollectionTags(transaction, TaggedEntityType.HELP_ARTICLE, helpArticleRepository.findTagRows());
+            entities += rebuildCollectionTags(transaction, TaggedEntityType.HELP_FAQ, helpFAQRepository.findTagRows());
+
+            logger.info("Rebuilt tag index for {} entities in {} ms", entities, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to rebuild tag index", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // [id, tag] rows; help content is small, so all of it is grouped in memory
+    private int rebuildCollectionTags(TransactionTemplate transaction, TaggedEntityType entityType, List<Object[]> rows) {
+        Map<Long, List<String>> tagsById = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            tagsById.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        transaction.executeWithoutResult(status ->
+            tagsById.forEach((id, tags) -> syncTags(entityType, id, null, normalizeAll(tags))));
+        return tagsById.size();
+    }
+
+    // Later hooks for the same entity in one transaction replace earlier ones; all run after commit
+    private void afterCommit(String key, Runnable sync) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runInNewTransaction(key, sync);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Runnable> pending = (Map<String, Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<String, Runnable> syncs = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, syncs);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TagService.this);
+                    if (status == STATUS_COMMITTED) {
+                        syncs.forEach(TagService.this::runInNewTransaction);
+                    }
+                }
+            });
+            pending = syncs;
+        }
+        pending.put(key, sync);
+    }
+
+    private void runInNewTransaction(String key, Runnable sync) {
+        try {
+            TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+            requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            requiresNew.executeWithoutResult(status -> sync.run());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to update tag index for {}: {}", key, e.getMessage());
+        }
+    }
+}
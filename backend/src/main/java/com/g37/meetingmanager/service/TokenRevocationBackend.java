@@ -0,0 +1,39 @@
+package com.g37.meetingmanager.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Store of token revocations shared between application instances. Each instance keeps its own
+ * in-memory copy and polls the backend for revocations made elsewhere.
+ */
+public interface TokenRevocationBackend {
+
+    /**
+     * Record a revocation; recording the same key twice is not an error
+     */
+    void save(String tokenKey, LocalDateTime expiresAt, LocalDateTime revokedAt);
+
+    /**
+     * Revocations recorded at or after since that are still live at now
+     */
+    List<Revocation> findRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * Remove revocations whose tokens have expired; returns how many were removed
+     */
+    int purgeExpired(LocalDateTime now);
+
+    class Revocation {
+        private final String tokenKey;
+        private final LocalDateTime expiresAt;
+
+        public Revocation(String tokenKey, LocalDateTime expiresAt) {
+            this.tokenKey = tokenKey;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getTokenKey() { return tokenKey; }
+        public LocalDateTime getExpiresAt() { return expiresAt; }
+    }
+}
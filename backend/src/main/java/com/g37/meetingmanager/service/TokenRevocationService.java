@@ -0,0 +1,125 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.util.ExpiringKeySet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Revoked JWTs, checked on every authenticated request.
+ *
+ * Checks run against a local {@link ExpiringKeySet}, so the usual "not revoked" answer is a Bloom
+ * filter probe. Revocations are written through to the shared {@link TokenRevocationBackend} and
+ * revocations made by other instances are pulled in by polling. Entries expire with their tokens,
+ * locally and in the backend.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationBackend backend;
+    private final ExpiringKeySet revoked;
+    private final long syncOverlapMs;
+
+    // Start of the last successful poll; null until the initial load has run
+    private volatile LocalDateTime lastSyncedAt;
+
+    public TokenRevocationService(
+            TokenRevocationBackend backend,
+            @Value("${app.jwt.expiration:86400000}") long tokenExpiration,
+            @Value("${app.jwt.revocation.bucket-ms:600000}") long bucketMs,
+            @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${app.jwt.revocation.sync-overlap-ms:60000}") long syncOverlapMs
+    ) {
+        this.backend = backend;
+        // Wide enough for refresh tokens, which live seven times as long as access tokens
+        int bucketCount = (int) Math.min(Integer.MAX_VALUE, tokenExpiration * 7 / bucketMs + 2);
+        this.revoked = new ExpiringKeySet(bucketMs, bucketCount, expectedEntries, System.currentTimeMillis());
+        this.syncOverlapMs = syncOverlapMs;
+    }
+
+    /**
+     * Revoke a token key until expiresAtMillis. The revocation applies locally even if the shared
+     * store can't be reached.
+     */
+    public void revoke(String tokenKey, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        revoked.add(tokenKey, expiresAtMillis, now);
+        try {
+            backend.save(tokenKey, toLocalDateTime(expiresAtMillis), toLocalDateTime(now));
+        } catch (Exception e) {
+            logger.error("Failed to share token revocation; it applies to this instance only", e);
+        }
+    }
+
+    public boolean isRevoked(String tokenKey) {
+        return revoked.contains(tokenKey);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        syncFromBackend();
+    }
+
+    /**
+     * Pull revocations recorded since the last poll. Polls overlap by a margin so rows committed
+     * late by other instances are not missed; re-adding a known key is a no-op.
+     */
+    @Scheduled(initialDelayString = "${app.jwt.revocation.sync-interval-ms:5000}",
+               fixedDelayString = "${app.jwt.revocation.sync-interval-ms:5000}")
+    public void syncFromBackend() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSyncedAt != null
+            ? lastSyncedAt.minusNanos(syncOverlapMs * 1_000_000L)
+            : LocalDateTime.of(1970, 1, 1, 0, 0);
+        try {
+            List<TokenRevocationBackend.Revocation> revocations = backend.findRevokedSince(since, startedAt);
+            long now = System.currentTimeMillis();
+            for (TokenRevocationBackend.Revocation revocation : revocations) {
+                revoked.add(revocation.getTokenKey(), toEpochMillis(revocation.getExpiresAt()), now);
+            }
+            lastSyncedAt = startedAt;
+        } catch (Exception e) {
+            logger.warn("Failed to sync token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop expired revocations locally and in the shared store
+     */
+    @Scheduled(initialDelayString = "${app.jwt.revocation.purge-interval-ms:600000}",
+               fixedDelayString = "${app.jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int local = revoked.advance(System.currentTimeMillis());
+        try {
+            int shared = backend.purgeExpired(LocalDateTime.now());
+            if (local > 0 || shared > 0) {
+                logger.debug("Purged {} expired revocations locally and {} from the shared store", local, shared);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to purge expired token revocations: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
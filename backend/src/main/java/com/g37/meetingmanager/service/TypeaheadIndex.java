@@ -0,0 +1,230 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.TypeaheadSuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable prefix index answering "top-k by weight among keys starting with a prefix".
+ * Keys are kept in one sorted array, so a prefix maps to a contiguous range found by binary
+ * search; a segment tree over key weights then yields the k heaviest entries of that range in
+ * O(log n + k log k) without scanning it. Each suggestion is keyed by its full normalized text
+ * and by every word suffix, so "bud" also matches "Quarterly budget review".
+ */
+public final class TypeaheadIndex {
+
+    static final int MAX_WORDS_PER_SUGGESTION = 8;
+
+    private static final TypeaheadIndex EMPTY = new TypeaheadIndex(List.of());
+
+    private final TypeaheadSuggestionDTO[] suggestions;
+    private final Map<String, TypeaheadSuggestionDTO> byId;
+    private final String[] keys;
+    private final int[] owners;
+    private final int[] tree;
+    private final int size;
+
+    private TypeaheadIndex(Collection<TypeaheadSuggestionDTO> source) {
+        this.suggestions = source.toArray(new TypeaheadSuggestionDTO[0]);
+        this.byId = new HashMap<>(suggestions.length * 2);
+        for (TypeaheadSuggestionDTO suggestion : suggestions) {
+            byId.put(suggestion.getId(), suggestion);
+        }
+
+        List<Object[]> pairs = new ArrayList<>();
+        for (int i = 0; i < suggestions.length; i++) {
+            for (String key : keysFor(suggestions[i])) {
+                pairs.add(new Object[] {key, i});
+            }
+        }
+        pairs.sort(Comparator.comparing(pair -> (String) pair[0]));
+
+        this.size = pairs.size();
+        this.keys = new String[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (String) pairs.get(i)[0];
+            owners[i] = (Integer) pairs.get(i)[1];
+        }
+
+        int leaves = 1;
+        while (leaves < Math.max(size, 1)) {
+            leaves <<= 1;
+        }
+        this.tree = new int[2 * leaves];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < size; i++) {
+            tree[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public static TypeaheadIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index, keeping only the heaviest {@code maxSuggestions} entries to bound memory
+     */
+    public static TypeaheadIndex build(Collection<TypeaheadSuggestionDTO> suggestions, int maxSuggestions) {
+        if (suggestions.isEmpty()) {
+            return EMPTY;
+        }
+        if (suggestions.size() <= maxSuggestions) {
+            return new TypeaheadIndex(suggestions);
+        }
+        List<TypeaheadSuggestionDTO> kept = new ArrayList<>(suggestions);
+        kept.sort(Comparator.comparingLong(TypeaheadSuggestionDTO::getWeight).reversed());
+        return new TypeaheadIndex(kept.subList(0, maxSuggestions));
+    }
+
+    public int suggestionCount() {
+        return suggestions.length;
+    }
+
+    public List<TypeaheadSuggestionDTO> suggestions() {
+        return Arrays.asList(suggestions);
+    }
+
+    public TypeaheadSuggestionDTO find(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Heaviest distinct suggestions having a key that starts with the normalized prefix
+     *
+     * @param skip Suggestions to pass over, e.g. ones superseded by newer writes
+     */
+    public List<TypeaheadSuggestionDTO> top(String prefix, int limit, Predicate<TypeaheadSuggestionDTO> skip) {
+        List<TypeaheadSuggestionDTO> results = new ArrayList<>(limit);
+        if (size == 0 || limit <= 0) {
+            return results;
+        }
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        if (from >= to) {
+            return results;
+        }
+
+        // Ranges ordered by the weight of their heaviest key; popping one splits it around that key
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> compare(b[2], a[2]));
+        ranges.add(new int[] {from, to, maxIn(from, to)});
+        Set<Integer> seen = new HashSet<>();
+        while (!ranges.isEmpty() && results.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            int owner = owners[best];
+            if (seen.add(owner) && !skip.test(suggestions[owner])) {
+                results.add(suggestions[owner]);
+            }
+            if (range[0] < best) {
+                ranges.add(new int[] {range[0], best, maxIn(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[] {best + 1, range[1], maxIn(best + 1, range[1])});
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Normalized keys for a suggestion: full text, each word suffix, and the email when present
+     */
+    static Set<String> keysFor(TypeaheadSuggestionDTO suggestion) {
+        Set<String> keys = new HashSet<>();
+        String text = normalize(suggestion.getText());
+        if (!text.isEmpty()) {
+            keys.add(text);
+            int words = 1;
+            for (int i = 0; i < text.length() && words < MAX_WORDS_PER_SUGGESTION; i++) {
+                if (text.charAt(i) == ' ' && i + 1 < text.length()) {
+                    keys.add(text.substring(i + 1));
+                    words++;
+                }
+            }
+        }
+        String secondary = normalize(suggestion.getSecondaryText());
+        if (!secondary.isEmpty()) {
+            keys.add(secondary);
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-case and collapse whitespace so keys and prefixes compare consistently
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                    space = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int maxIn(int from, int to) {
+        int leaves = tree.length / 2;
+        int best = -1;
+        for (int lo = from + leaves, hi = to + leaves; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                best = heavier(best, tree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                best = heavier(best, tree[--hi]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        return compare(a, b) >= 0 ? a : b;
+    }
+
+    private int compare(int a, int b) {
+        if (a < 0 || b < 0) {
+            return a < 0 ? (b < 0 ? 0 : -1) : 1;
+        }
+        int byWeight = Long.compare(suggestions[owners[a]].getWeight(), suggestions[owners[b]].getWeight());
+        // Equal weights prefer the earlier key so results are stable
+        return byWeight != 0 ? byWeight : Integer.compare(b, a);
+    }
+}
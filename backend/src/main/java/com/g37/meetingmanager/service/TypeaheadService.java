@@ -0,0 +1,519 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.TypeaheadSuggestionDTO;
+import com.g37.meetingmanager.model.HelpArticle;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.MeetingParticipant;
+import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.repository.mysql.HelpArticleRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingParticipantRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-side autocomplete over meeting titles, participants, users and help article titles.
+ * Each organization has an immutable {@link TypeaheadIndex} per suggestion type plus a small
+ * overlay of writes made since it was built; the overlay is folded into a fresh index in the
+ * background once it grows, and everything is rebuilt from the database periodically. Overlay
+ * entries carry a write sequence number, so a rebuild drops exactly the writes its database read
+ * already saw and keeps the ones that arrived while it ran.
+ */
+@Service
+@ConditionalOnProperty(name = "search.typeahead.enabled", havingValue = "true", matchIfMissing = true)
+public class TypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadService.class);
+
+    // Help articles are shared by every organization
+    private static final Long GLOBAL_TENANT = 0L;
+    private static final int OVERLAY_COMPACTION_THRESHOLD = 256;
+    private static final int REBUILD_PAGE_SIZE = 2000;
+
+    /**
+     * Kinds of suggestions, in the order they are returned
+     */
+    public enum SuggestionType {
+        MEETING,
+        PARTICIPANT,
+        USER,
+        HELP_ARTICLE
+    }
+
+    @Value("${search.typeahead.max-suggestions-per-tenant:20000}")
+    private int maxSuggestionsPerTenant;
+
+    // Rebuilds and overlay compactions run here rather than on the common ForkJoin pool
+    @Value("${search.typeahead.rebuild-threads:2}")
+    private int rebuildThreads;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private MeetingParticipantRepository meetingParticipantRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HelpArticleRepository helpArticleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Long, Tenant> tenants = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong writeSequence = new AtomicLong();
+    // Write sequence at which the running rebuild started reading, or -1 when none is running
+    private volatile long rebuildStartedAt = -1;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, rebuildThreads), runnable -> {
+            Thread thread = new Thread(runnable, "typeahead-rebuild-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Top suggestions per requested type whose text or email has a word starting with the prefix
+     *
+     * @param organizationId Organization whose meetings and people to search; help is always included
+     * @param prefix What the user has typed so far
+     * @param types Types to include, or empty for all
+     * @param limit Maximum suggestions per type
+     */
+    public List<TypeaheadSuggestionDTO> suggest(Long organizationId, String prefix, Set<SuggestionType> types, int limit) {
+        String normalized = TypeaheadIndex.normalize(prefix);
+        List<TypeaheadSuggestionDTO> results = new ArrayList<>();
+        if (normalized.isEmpty() || organizationId == null || limit <= 0) {
+            return results;
+        }
+
+        for (SuggestionType type : SuggestionType.values()) {
+            if (types != null && !types.isEmpty() && !types.contains(type)) {
+                continue;
+            }
+            Tenant tenant = tenants.get(type == SuggestionType.HELP_ARTICLE ? GLOBAL_TENANT : organizationId);
+            if (tenant != null) {
+                results.addAll(tenant.top(type, normalized, limit));
+            }
+        }
+        return results;
+    }
+
+    // Entity change hooks
+
+    public void onMeetingSaved(Meeting meeting) {
+        Long organizationId = organizationId(meeting);
+        if (organizationId == null || meeting.getTitle() == null) {
+            return;
+        }
+        TypeaheadSuggestionDTO suggestion = new TypeaheadSuggestionDTO(SuggestionType.MEETING.name(),
+            meeting.getId().toString(), meeting.getTitle(), null, recency(meeting.getStartTime()));
+        afterCommit(() -> tenant(organizationId).upsert(SuggestionType.MEETING, suggestion));
+    }
+
+    public void onMeetingRemoved(Meeting meeting) {
+        Long organizationId = organizationId(meeting);
+        if (organizationId != null) {
+            afterCommit(() -> tenant(organizationId).remove(SuggestionType.MEETING, meeting.getId().toString()));
+        }
+    }
+
+    /**
+     * Participants are weighted by how many meetings they are in; a new participant row adds one
+     */
+    public void onParticipantSaved(MeetingParticipant participant, boolean created) {
+        Long organizationId = participantOrganizationId(participant);
+        if (organizationId == null) {
+            return;
+        }
+        String email = participant.getEmail().trim().toLowerCase();
+        String name = participant.getName() != null ? participant.getName() : email;
+        afterCommit(() -> {
+            Tenant tenant = tenant(organizationId);
+            TypeaheadSuggestionDTO existing = tenant.find(SuggestionType.PARTICIPANT, email);
+            long weight = existing == null ? 1 : existing.getWeight() + (created ? 1 : 0);
+            tenant.upsert(SuggestionType.PARTICIPANT,
+                new TypeaheadSuggestionDTO(SuggestionType.PARTICIPANT.name(), email, name, email, weight));
+        });
+    }
+
+    /**
+     * A removed participant row takes one off the weight; the suggestion goes with the last one
+     */
+    public void onParticipantRemoved(MeetingParticipant participant) {
+        Long organizationId = participantOrganizationId(participant);
+        if (organizationId == null) {
+            return;
+        }
+        String email = participant.getEmail().trim().toLowerCase();
+        afterCommit(() -> {
+            Tenant tenant = tenant(organizationId);
+            TypeaheadSuggestionDTO existing = tenant.find(SuggestionType.PARTICIPANT, email);
+            if (existing == null) {
+                return;
+            }
+            if (existing.getWeight() <= 1) {
+                tenant.remove(SuggestionType.PARTICIPANT, email);
+            } else {
+                tenant.upsert(SuggestionType.PARTICIPANT, new TypeaheadSuggestionDTO(SuggestionType.PARTICIPANT.name(),
+                    email, existing.getText(), email, existing.getWeight() - 1));
+            }
+        });
+    }
+
+    private Long participantOrganizationId(MeetingParticipant participant) {
+        if (participant.getEmail() == null || participant.getMeeting() == null
+                || !Hibernate.isInitialized(participant.getMeeting())) {
+            return null;
+        }
+        return organizationId(participant.getMeeting());
+    }
+
+    public void onUserSaved(User user) {
+        if (user.getOrganization() == null || user.getId() == null) {
+            return;
+        }
+        Long organizationId = user.getOrganization().getId();
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            onUserRemoved(organizationId, user.getId());
+            return;
+        }
+        TypeaheadSuggestionDTO suggestion = new TypeaheadSuggestionDTO(SuggestionType.USER.name(),
+            user.getId().toString(), fullName(user.getFirstName(), user.getLastName()), user.getEmail(), 1);
+        afterCommit(() -> tenant(organizationId).upsert(SuggestionType.USER, suggestion));
+    }
+
+    public void onUserRemoved(Long organizationId, Long userId) {
+        if (organizationId != null) {
+            afterCommit(() -> tenant(organizationId).remove(SuggestionType.USER, userId.toString()));
+        }
+    }
+
+    public void onHelpArticleSaved(HelpArticle article) {
+        if (!Boolean.TRUE.equals(article.getIsPublished())) {
+            onHelpArticleRemoved(article.getId());
+            return;
+        }
+        TypeaheadSuggestionDTO suggestion = new TypeaheadSuggestionDTO(SuggestionType.HELP_ARTICLE.name(),
+            article.getId().toString(), article.getTitle(), null,
+            article.getViewCount() != null ? article.getViewCount() : 0);
+        afterCommit(() -> tenant(GLOBAL_TENANT).upsert(SuggestionType.HELP_ARTICLE, suggestion));
+    }
+
+    public void onHelpArticleRemoved(Long articleId) {
+        afterCommit(() -> tenant(GLOBAL_TENANT).remove(SuggestionType.HELP_ARTICLE, articleId.toString()));
+    }
+
+    // Rebuild
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        CompletableFuture.runAsync(this::rebuild, executor);
+    }
+
+    /**
+     * Periodic full rebuild; corrects participant counts and anything the write hooks missed
+     */
+    @Scheduled(initialDelayString = "${search.typeahead.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${search.typeahead.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        CompletableFuture.runAsync(this::rebuild, executor);
+    }
+
+    /**
+     * Reload every tenant from the database; suggestions are served from the previous indexes meanwhile
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        // Every write up to here committed before the reads below start, so the new indexes contain it
+        long startedAt = writeSequence.get();
+        rebuildStartedAt = startedAt;
+        try {
+            Map<Long, Map<SuggestionType, List<TypeaheadSuggestionDTO>>> loaded = new HashMap<>();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+
+            int pageNumber = 0;
+            List<Object[]> meetings;
+            do {
+                final int current = pageNumber++;
+                meetings = readOnly.execute(status ->
+                    meetingRepository.findTypeaheadRows(PageRequest.of(current, REBUILD_PAGE_SIZE)));
+                for (Object[] row : meetings) {
+                    if (row[1] != null && row[2] != null) {
+                        collect(loaded, (Long) row[1], new TypeaheadSuggestionDTO(SuggestionType.MEETING.name(),
+                            row[0].toString(), (String) row[2], null, recency((LocalDateTime) row[3])));
+                    }
+                }
+            } while (meetings != null && meetings.size() == REBUILD_PAGE_SIZE);
+
+            for (Object[] row : readOnly.execute(status -> meetingParticipantRepository.findTypeaheadRows())) {
+                String email = (String) row[1];
+                String name = row[2] != null ? (String) row[2] : email;
+                collect(loaded, (Long) row[0], new TypeaheadSuggestionDTO(SuggestionType.PARTICIPANT.name(),
+                    email, name, email, ((Number) row[3]).longValue()));
+            }
+
+            for (Object[] row : readOnly.execute(status -> userRepository.findTypeaheadRows())) {
+                collect(loaded, (Long) row[1], new TypeaheadSuggestionDTO(SuggestionType.USER.name(),
+                    row[0].toString(), fullName((String) row[2], (String) row[3]), (String) row[4], 1));
+            }
+
+            for (Object[] row : readOnly.execute(status -> helpArticleRepository.findTypeaheadRows())) {
+                collect(loaded, GLOBAL_TENANT, new TypeaheadSuggestionDTO(SuggestionType.HELP_ARTICLE.name(),
+                    row[0].toString(), (String) row[1], null, row[2] != null ? ((Number) row[2]).longValue() : 0));
+            }
+
+            int suggestions = 0;
+            for (Map.Entry<Long, Map<SuggestionType, List<TypeaheadSuggestionDTO>>> entry : loaded.entrySet()) {
+                Map<SuggestionType, TypeaheadIndex> indexes = new EnumMap<>(SuggestionType.class);
+                for (Map.Entry<SuggestionType, List<TypeaheadSuggestionDTO>> byType : entry.getValue().entrySet()) {
+                    TypeaheadIndex index = TypeaheadIndex.build(byType.getValue(), maxSuggestionsPerTenant);
+                    indexes.put(byType.getKey(), index);
+                    suggestions += index.suggestionCount();
+                }
+                tenant(entry.getKey()).replaceIndexes(indexes, startedAt);
+            }
+            tenants.forEach((organizationId, tenant) -> {
+                if (!loaded.containsKey(organizationId)) {
+                    tenant.replaceIndexes(new EnumMap<>(SuggestionType.class), startedAt);
+                }
+            });
+
+            logger.info("Typeahead indexes rebuilt: {} suggestions across {} tenants in {} ms",
+                suggestions, loaded.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to rebuild typeahead indexes: {}", e.getMessage(), e);
+        } finally {
+            rebuildStartedAt = -1;
+            rebuilding.set(false);
+        }
+    }
+
+    private void collect(Map<Long, Map<SuggestionType, List<TypeaheadSuggestionDTO>>> loaded,
+                         Long organizationId, TypeaheadSuggestionDTO suggestion) {
+        if (organizationId == null) {
+            return;
+        }
+        loaded.computeIfAbsent(organizationId, id -> new EnumMap<>(SuggestionType.class))
+            .computeIfAbsent(SuggestionType.valueOf(suggestion.getType()), type -> new ArrayList<>())
+            .add(suggestion);
+    }
+
+    private Tenant tenant(Long organizationId) {
+        return tenants.computeIfAbsent(organizationId, id -> new Tenant());
+    }
+
+    private Long organizationId(Meeting meeting) {
+        return meeting.getOrganization() != null ? meeting.getOrganization().getId() : null;
+    }
+
+    private static long recency(LocalDateTime startTime) {
+        return startTime != null ? startTime.toEpochSecond(ZoneOffset.UTC) : 0;
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        String first = firstName != null ? firstName : "";
+        String last = lastName != null ? lastName : "";
+        return (first + " " + last).trim();
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private void apply(Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to update typeahead index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * An overlay write: the new suggestion, or null for a removal, and when it was made
+     */
+    private record Pending(TypeaheadSuggestionDTO suggestion, long sequence) {
+    }
+
+    /**
+     * Indexes of one organization and the writes made since they were built
+     */
+    private class Tenant {
+
+        private volatile Map<SuggestionType, TypeaheadIndex> indexes = new EnumMap<>(SuggestionType.class);
+        private final Map<SuggestionType, ConcurrentHashMap<String, Pending>> overlays = new EnumMap<>(SuggestionType.class);
+        private final AtomicBoolean compacting = new AtomicBoolean();
+
+        Tenant() {
+            for (SuggestionType type : SuggestionType.values()) {
+                overlays.put(type, new ConcurrentHashMap<>());
+            }
+        }
+
+        List<TypeaheadSuggestionDTO> top(SuggestionType type, String prefix, int limit) {
+            Map<String, Pending> overlay = overlays.get(type);
+            TypeaheadIndex index = indexes.getOrDefault(type, TypeaheadIndex.empty());
+
+            List<TypeaheadSuggestionDTO> results = index.top(prefix, limit,
+                suggestion -> overlay.containsKey(suggestion.getId()));
+
+            // The overlay is small, so matching it by scanning is cheap
+            boolean merged = false;
+            for (Pending pending : overlay.values()) {
+                if (pending.suggestion() == null) {
+                    continue;
+                }
+                for (String key : TypeaheadIndex.keysFor(pending.suggestion())) {
+                    if (key.startsWith(prefix)) {
+                        results.add(pending.suggestion());
+                        merged = true;
+                        break;
+                    }
+                }
+            }
+            if (merged) {
+                results.sort((a, b) -> Long.compare(b.getWeight(), a.getWeight()));
+                if (results.size() > limit) {
+                    results = new ArrayList<>(results.subList(0, limit));
+                }
+            }
+            return results;
+        }
+
+        TypeaheadSuggestionDTO find(SuggestionType type, String id) {
+            Pending pending = overlays.get(type).get(id);
+            if (pending != null) {
+                return pending.suggestion();
+            }
+            TypeaheadIndex index = indexes.get(type);
+            return index != null ? index.find(id) : null;
+        }
+
+        void upsert(SuggestionType type, TypeaheadSuggestionDTO suggestion) {
+            overlays.get(type).put(suggestion.getId(), new Pending(suggestion, writeSequence.incrementAndGet()));
+            compactIfNeeded(type);
+        }
+
+        void remove(SuggestionType type, String id) {
+            overlays.get(type).put(id, new Pending(null, writeSequence.incrementAndGet()));
+            compactIfNeeded(type);
+        }
+
+        /**
+         * Swap in rebuilt indexes and drop the overlay writes they already contain
+         *
+         * @param startedAt Write sequence when the rebuild started reading; later writes stay in the overlay
+         */
+        synchronized void replaceIndexes(Map<SuggestionType, TypeaheadIndex> rebuilt, long startedAt) {
+            indexes = rebuilt;
+            for (ConcurrentHashMap<String, Pending> overlay : overlays.values()) {
+                // Conditional per entry, so a write racing with this is kept
+                overlay.values().removeIf(pending -> pending.sequence() <= startedAt);
+            }
+        }
+
+        private void compactIfNeeded(SuggestionType type) {
+            if (overlays.get(type).size() < OVERLAY_COMPACTION_THRESHOLD || !compacting.compareAndSet(false, true)) {
+                return;
+            }
+            CompletableFuture.runAsync(() -> {
+                try {
+                    compact(type);
+                } finally {
+                    compacting.set(false);
+                }
+            }, executor);
+        }
+
+        /**
+         * Fold the overlay into a new index; entries changed while folding stay in the overlay, and so
+         * do entries a running rebuild may not have read, since its indexes will replace this one
+         */
+        private synchronized void compact(SuggestionType type) {
+            Map<String, Pending> folded = new HashMap<>(overlays.get(type));
+
+            Map<String, TypeaheadSuggestionDTO> merged = new HashMap<>();
+            TypeaheadIndex current = indexes.getOrDefault(type, TypeaheadIndex.empty());
+            for (TypeaheadSuggestionDTO suggestion : current.suggestions()) {
+                if (!folded.containsKey(suggestion.getId())) {
+                    merged.put(suggestion.getId(), suggestion);
+                }
+            }
+            folded.forEach((id, pending) -> {
+                if (pending.suggestion() != null) {
+                    merged.put(id, pending.suggestion());
+                }
+            });
+
+            Map<SuggestionType, TypeaheadIndex> next = new EnumMap<>(SuggestionType.class);
+            next.putAll(indexes);
+            next.put(type, TypeaheadIndex.build(merged.values(), maxSuggestionsPerTenant));
+            indexes = next;
+
+            long rebuildStart = rebuildStartedAt;
+            folded.forEach((id, pending) -> {
+                if (rebuildStart < 0 || pending.sequence() <= rebuildStart) {
+                    overlays.get(type).remove(id, pending);
+                }
+            });
+        }
+    }
+}
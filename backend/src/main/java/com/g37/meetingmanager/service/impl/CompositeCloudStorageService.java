@@ -6,10 +6,13 @@ import com.g37.meetingmanager.service.CloudStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
+
 @Service
 @Primary
 public class CompositeCloudStorageService implements CloudStorageService {
@@ -18,12 +21,20 @@ public class CompositeCloudStorageService implements CloudStorageService {
     
     private final CloudStorageService oneDriveService;
     private final CloudStorageService googleDriveService;
+    private final LocalStorageService localStorageService;
+    
+    // Serve cloud documents through a local copy after their first download
+    private final boolean cacheCloudDownloads;
     
     public CompositeCloudStorageService(
             @Qualifier("oneDriveStorageService") CloudStorageService oneDriveService,
-            @Qualifier("googleDriveStorageService") CloudStorageService googleDriveService) {
+            @Qualifier("googleDriveStorageService") CloudStorageService googleDriveService,
+            @Qualifier("localStorageService") LocalStorageService localStorageService,
+            @Value("${app.storage.local.cache.enabled:false}") boolean cacheCloudDownloads) {
         this.oneDriveService = oneDriveService;
         this.googleDriveService = googleDriveService;
+        this.localStorageService = localStorageService;
+        this.cacheCloudDownloads = cacheCloudDownloads;
     }
     
     @Override
@@ -56,6 +67,16 @@ public class CompositeCloudStorageService implements CloudStorageService {
         return service.downloadFile(document);
     }
     
+    @Override
+    public void streamFile(Document document, long start, long end, OutputStream out) throws Exception {
+        CloudStorageService service = getStorageService(document.getStorageProvider());
+        if (cacheCloudDownloads && service != localStorageService && document.getExternalFileId() != null) {
+            localStorageService.streamThroughCache(document, start, end, out, service);
+        } else {
+            service.streamFile(document, start, end, out);
+        }
+    }
+    
     @Override
     public boolean fileExists(Document document) {
         try {
@@ -71,9 +92,7 @@ public class CompositeCloudStorageService implements CloudStorageService {
         return switch (provider) {
             case ONEDRIVE -> oneDriveService;
             case GOOGLEDRIVE -> googleDriveService;
-            case LOCAL -> 
-                // For local storage, you might want to implement a local file service
-                throw new UnsupportedOperationException("Local storage not implemented yet");
+            case LOCAL -> localStorageService;
             default -> throw new IllegalArgumentException("Unsupported storage provider: " + provider);
         };
     }
@@ -6,12 +6,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,10 +41,25 @@ public class GoogleDriveStorageService implements CloudStorageService {
     private static final String DRIVE_API_BASE = "https://www.googleapis.com/drive/v3";
     private static final String UPLOAD_API_BASE = "https://www.googleapis.com/upload/drive/v3";
     private static final String FILES_URL = DRIVE_API_BASE + "/files";
-    private static final String UPLOAD_URL = UPLOAD_API_BASE + "/files?uploadType=multipart";
+    private static final String RESUMABLE_UPLOAD_URL =
+        UPLOAD_API_BASE + "/files?uploadType=resumable&fields=id,name,webViewLink,webContentLink";
     private static final String FILE_URL = DRIVE_API_BASE + "/files/{fileId}";
     private static final String DOWNLOAD_URL = DRIVE_API_BASE + "/files/{fileId}?alt=media";
     
+    // Drive answers 308 Resume Incomplete while a resumable upload still expects bytes
+    private static final int RESUME_INCOMPLETE = 308;
+    // Resumable chunks must be a multiple of 256 KiB, except the last
+    private static final int DRIVE_CHUNK_GRANULARITY = 256 * 1024;
+    
+    @Value("${googledrive.upload.chunk-size:8388608}")
+    private int chunkSize;
+    
+    @Value("${googledrive.upload.max-chunk-retries:5}")
+    private int maxChunkRetries;
+    
+    @Value("${googledrive.upload.retry-backoff-ms:1000}")
+    private long chunkRetryBackoffMs;
+    
     private final RestTemplate restTemplate = new RestTemplate();
     
     @Override
@@ -57,54 +78,82 @@ public class GoogleDriveStorageService implements CloudStorageService {
             metadata.put("name", fileName);
             metadata.put("description", document.getDescription());
             
-            // Create multipart request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(accessToken);
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            
-            // Add metadata part
-            HttpHeaders metadataHeaders = new HttpHeaders();
-            metadataHeaders.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> metadataEntity = new HttpEntity<>(metadata, metadataHeaders);
-            body.add("metadata", metadataEntity);
-            
-            // Add file part
-            HttpHeaders fileHeaders = new HttpHeaders();
-            fileHeaders.setContentType(MediaType.parseMediaType(file.getContentType()));
-            HttpEntity<byte[]> fileEntity = new HttpEntity<>(file.getBytes(), fileHeaders);
-            body.add("file", fileEntity);
-            
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-            
-            ResponseEntity<Map> response = restTemplate.exchange(
-                UPLOAD_URL, HttpMethod.POST, requestEntity, Map.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                Map<String, Object> responseBody = response.getBody();
-                String fileId = (String) responseBody.get("id");
-                String name = (String) responseBody.get("name");
-                String webViewLink = (String) responseBody.get("webViewLink");
-                String webContentLink = (String) responseBody.get("webContentLink");
-                
-                // Make file publicly viewable (optional - you might want to control this)
-                makeFilePublic(fileId);
-                
-                logger.info("File uploaded successfully to Google Drive: {}", fileId);
-                return new CloudUploadResult(fileId, webViewLink, webContentLink, name);
-                
-            } else {
-                throw new RuntimeException("Google Drive upload failed with status: " + response.getStatusCode());
-            }
-            
+            Map<String, Object> responseBody = resumableUpload(file, metadata);
+            String fileId = (String) responseBody.get("id");
+            String name = (String) responseBody.get("name");
+            String webViewLink = (String) responseBody.get("webViewLink");
+            String webContentLink = (String) responseBody.get("webContentLink");
+
+            // Make file publicly viewable (optional - you might want to control this)
+            makeFilePublic(fileId);
+
+            logger.info("File uploaded successfully to Google Drive: {}", fileId);
+            return new CloudUploadResult(fileId, webViewLink, webContentLink, name);
+
         } catch (Exception e) {
             logger.error("Error uploading to Google Drive: {}", e.getMessage(), e);
             throw new RuntimeException("Google Drive upload failed: " + e.getMessage());
         }
     }
     
+    /**
+     * Stream the file into a Drive resumable upload session in chunks and return the created file
+     */
+    private Map<String, Object> resumableUpload(MultipartFile file, Map<String, Object> metadata) throws Exception {
+        long total = file.getSize();
+        String contentType = file.getContentType() != null ? file.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(accessToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Upload-Content-Type", contentType);
+        headers.set("X-Upload-Content-Length", String.valueOf(total));
+
+        ResponseEntity<Map> sessionResponse = restTemplate.exchange(
+            RESUMABLE_UPLOAD_URL, HttpMethod.POST, new HttpEntity<>(metadata, headers), Map.class
+        );
+        URI sessionUri = sessionResponse.getHeaders().getLocation();
+        if (sessionUri == null) {
+            throw new RuntimeException("Google Drive did not return an upload session");
+        }
+
+        ResumableUpload upload = new ResumableUpload(
+            ResumableUpload.alignChunkSize(chunkSize, DRIVE_CHUNK_GRANULARITY), maxChunkRetries, chunkRetryBackoffMs);
+        try (InputStream in = file.getInputStream()) {
+            return upload.upload(in, total, new ResumableUpload.Session() {
+                @Override
+                public Map<String, Object> put(byte[] data, long offset, long size) {
+                    HttpHeaders chunkHeaders = new HttpHeaders();
+                    chunkHeaders.setBearerAuth(accessToken);
+                    chunkHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+                    chunkHeaders.set(HttpHeaders.CONTENT_RANGE,
+                        String.format("bytes %d-%d/%d", offset, offset + data.length - 1, size));
+                    ResponseEntity<Map> response = restTemplate.exchange(
+                        sessionUri, HttpMethod.PUT, new HttpEntity<>(data, chunkHeaders), Map.class
+                    );
+                    return response.getStatusCode().value() == RESUME_INCOMPLETE ? null : response.getBody();
+                }
+
+                @Override
+                public ResumableUpload.Status status(long size) {
+                    HttpHeaders statusHeaders = new HttpHeaders();
+                    statusHeaders.setBearerAuth(accessToken);
+                    statusHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    ResponseEntity<Map> response = restTemplate.exchange(
+                        sessionUri, HttpMethod.PUT, new HttpEntity<>(new byte[0], statusHeaders), Map.class
+                    );
+                    if (response.getStatusCode().value() != RESUME_INCOMPLETE) {
+                        return ResumableUpload.Status.completed(response.getBody());
+                    }
+                    // "bytes=0-N" means N + 1 bytes are committed; no Range header means none are
+                    String range = response.getHeaders().getFirst(HttpHeaders.RANGE);
+                    long committed = range != null ? Long.parseLong(range.substring(range.lastIndexOf('-') + 1)) + 1 : 0;
+                    return ResumableUpload.Status.committed(committed);
+                }
+            });
+        }
+    }
+
     private void makeFilePublic(String fileId) {
         try {
             String permissionsUrl = DRIVE_API_BASE + "/files/" + fileId + "/permissions";
@@ -180,6 +229,35 @@ public class GoogleDriveStorageService implements CloudStorageService {
         }
     }
     
+    @Override
+    public void streamFile(Document document, long start, long end, OutputStream out) throws Exception {
+        String downloadUrl = document.getExternalFileId() != null
+            ? DOWNLOAD_URL.replace("{fileId}", document.getExternalFileId())
+            : getDownloadUrl(document);
+        
+        restTemplate.execute(downloadUrl, HttpMethod.GET,
+            request -> {
+                request.getHeaders().setBearerAuth(accessToken);
+                request.getHeaders().set(HttpHeaders.RANGE, "bytes=" + start + "-" + end);
+            },
+            response -> {
+                copyRange(response, start, end, out);
+                return null;
+            });
+    }
+    
+    /**
+     * Copy the requested range from a provider response: all of a 206 body, or the slice of a
+     * full 200 body when the provider ignored the Range header
+     */
+    static void copyRange(ClientHttpResponse response, long start, long end, OutputStream out) throws IOException {
+        if (response.getStatusCode() == HttpStatus.PARTIAL_CONTENT) {
+            StreamUtils.copy(response.getBody(), out);
+        } else {
+            StreamUtils.copyRange(response.getBody(), out, start, end);
+        }
+    }
+    
     @Override
     public boolean fileExists(Document document) {
         try {
@@ -8,11 +8,17 @@ import com.g37.meetingmanager.repository.mysql.*;
 import com.g37.meetingmanager.entity.mysql.SearchAnalytics;
 import com.g37.meetingmanager.service.CloudStorageService;
 import com.g37.meetingmanager.service.HelpService;
+import com.g37.meetingmanager.service.SearchAnalyticsBuffer;
+import com.g37.meetingmanager.service.SearchTrendTracker;
+import com.g37.meetingmanager.service.TagService;
 import com.g37.meetingmanager.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,12 +37,20 @@ public class HelpServiceImpl implements HelpService {
 
     private static final Logger logger = LoggerFactory.getLogger(HelpServiceImpl.class);
 
+    // Deepest merged result offered by help search
+    private static final int MAX_SEARCH_DEPTH = 500;
+
     private final HelpArticleRepository articleRepository;
     private final HelpFAQRepository faqRepository;
     private final SupportTicketRepository ticketRepository;
     private final CloudStorageService cloudStorageService;
     private final DocumentRepository documentRepository;
     private final SearchAnalyticsRepository searchAnalyticsRepository;
+    private final SearchAnalyticsBuffer searchAnalyticsBuffer;
+    private final TagService tagService;
+
+    @Autowired(required = false)
+    private SearchTrendTracker searchTrendTracker;
 
     @Value("${help.default.storage.provider:ONEDRIVE}")
     private String defaultStorageProvider;
@@ -46,13 +60,17 @@ public class HelpServiceImpl implements HelpService {
                           SupportTicketRepository ticketRepository,
                           CloudStorageService cloudStorageService,
                           DocumentRepository documentRepository,
-                          SearchAnalyticsRepository searchAnalyticsRepository) {
+                          SearchAnalyticsRepository searchAnalyticsRepository,
+                          SearchAnalyticsBuffer searchAnalyticsBuffer,
+                          TagService tagService) {
         this.articleRepository = articleRepository;
         this.faqRepository = faqRepository;
         this.ticketRepository = ticketRepository;
         this.cloudStorageService = cloudStorageService;
         this.documentRepository = documentRepository;
         this.searchAnalyticsRepository = searchAnalyticsRepository;
+        this.searchAnalyticsBuffer = searchAnalyticsBuffer;
+        this.tagService = tagService;
     }
 
     // ===============================
@@ -97,6 +115,8 @@ public class HelpServiceImpl implements HelpService {
         updateArticleFromDTO(article, articleDTO);
         article.setUpdatedBy(updatedBy);
         article = articleRepository.save(article);
+        // Replacing only the tag collection does not fire @PostUpdate, so sync the tag index explicitly
+        tagService.onTagsChanged(TaggedEntityType.HELP_ARTICLE, article.getId(), null, article.getTags());
         return convertToArticleDTO(article);
     }
 
@@ -156,6 +176,7 @@ public class HelpServiceImpl implements HelpService {
         updateFAQFromDTO(faq, faqDTO);
         faq.setUpdatedBy(updatedBy);
         faq = faqRepository.save(faq);
+        tagService.onTagsChanged(TaggedEntityType.HELP_FAQ, faq.getId(), null, faq.getTags());
         return convertToFAQDTO(faq);
     }
 
@@ -198,12 +219,18 @@ public class HelpServiceImpl implements HelpService {
     // ===============================
 
     @Override
-    public List<SearchResultDTO> searchContent(String query, Pageable pageable) {
-        List<SearchResultDTO> results = new java.util.ArrayList<>();
-        
-        // Search articles
-        List<HelpArticle> articles = articleRepository.searchPublishedArticles(query);
-        articles.forEach(article -> {
+    @Transactional(readOnly = true)
+    public Page<SearchResultDTO> searchContent(String query, Pageable pageable) {
+        String term = query.trim();
+
+        // Each source is ranked in the database; the top offset+size of each is enough to
+        // produce the requested page of the merged ranking
+        int depth = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), MAX_SEARCH_DEPTH);
+        Pageable top = PageRequest.of(0, Math.max(depth, 1));
+
+        List<SearchResultDTO> merged = new ArrayList<>();
+        for (Object[] row : articleRepository.searchPublishedArticlesRanked(term, top)) {
+            HelpArticle article = (HelpArticle) row[0];
             SearchResultDTO result = new SearchResultDTO();
             result.setId(article.getId());
             result.setTitle(article.getTitle());
@@ -211,12 +238,11 @@ public class HelpServiceImpl implements HelpService {
             result.setSnippet(truncateContent(article.getContent(), 200));
             result.setCategory(article.getCategory());
             result.setUrl("/help/articles/" + article.getId());
-            results.add(result);
-        });
-        
-        // Search FAQs
-        List<HelpFAQ> faqs = faqRepository.searchPublishedFAQs(query);
-        faqs.forEach(faq -> {
+            result.setRelevanceScore(((Number) row[1]).doubleValue() + popularityBoost(article.getViewCount()));
+            merged.add(result);
+        }
+        for (Object[] row : faqRepository.searchPublishedFAQsRanked(term, top)) {
+            HelpFAQ faq = (HelpFAQ) row[0];
             SearchResultDTO result = new SearchResultDTO();
             result.setId(faq.getId());
             result.setTitle(faq.getQuestion());
@@ -224,13 +250,31 @@ public class HelpServiceImpl implements HelpService {
             result.setSnippet(truncateContent(faq.getAnswer(), 200));
             result.setCategory(faq.getCategory());
             result.setUrl("/help/faq/" + faq.getId());
-            results.add(result);
-        });
+            result.setRelevanceScore(((Number) row[1]).doubleValue() + popularityBoost(faq.getViewCount()));
+            merged.add(result);
+        }
 
-        // Track search analytics
-        trackSearchAnalytics(query, results.size());
-        
-        return results;
+        merged.sort(Comparator.comparing(SearchResultDTO::getRelevanceScore).reversed()
+            .thenComparing(SearchResultDTO::getType)
+            .thenComparing(SearchResultDTO::getId));
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(from + pageable.getPageSize(), merged.size());
+        long total = articleRepository.countPublishedArticlesMatching(term)
+            + faqRepository.countPublishedFAQsMatching(term);
+
+        searchAnalyticsBuffer.record(term, getCurrentUserId(), (int) Math.min(total, Integer.MAX_VALUE));
+
+        // Only the top MAX_SEARCH_DEPTH results can be paged to, so the total reported stops there too
+        return new PageImpl<>(merged.subList(from, to), pageable, Math.min(total, MAX_SEARCH_DEPTH));
+    }
+
+    /**
+     * Tie-breaker within a relevance tier; stays below 1 so it never outranks a better field match
+     */
+    private double popularityBoost(Integer viewCount) {
+        int views = viewCount != null ? Math.max(viewCount, 0) : 0;
+        return views / (views + 100.0);
     }
 
     // ===============================
@@ -820,6 +864,17 @@ public class HelpServiceImpl implements HelpService {
         return searchTerms;
     }
 
+    @Override
+    public Map<String, Double> getTrendingSearchTerms(int limit, String window) {
+        SearchTrendTracker.Window trendWindow = SearchTrendTracker.Window.valueOf(window.trim().toUpperCase());
+        if (searchTrendTracker == null) {
+            return new LinkedHashMap<>();
+        }
+        Map<String, Double> trending = searchTrendTracker.top(trendWindow, limit);
+        logger.debug("Retrieved {} trending search terms (window: {}, limit: {})", trending.size(), trendWindow, limit);
+        return trending;
+    }
+
     // ===============================
     // Helper Methods
     // ===============================
@@ -839,42 +894,6 @@ public class HelpServiceImpl implements HelpService {
         return 1L; // Fallback to system user
     }
 
-    /**
-     * Track search analytics for popular search terms
-     * @param searchTerm The search term used
-     * @param resultsCount Number of results returned
-     */
-    private void trackSearchAnalytics(String searchTerm, int resultsCount) {
-        try {
-            if (searchTerm == null || searchTerm.trim().isEmpty()) {
-                return;
-            }
-
-            String normalizedTerm = searchTerm.trim().toLowerCase();
-            Long userId = getCurrentUserId();
-
-            // Find existing analytics entry or create new one
-            Optional<SearchAnalytics> existingAnalytics = searchAnalyticsRepository.findBySearchTerm(normalizedTerm);
-            
-            if (existingAnalytics.isPresent()) {
-                // Update existing entry
-                SearchAnalytics analytics = existingAnalytics.get();
-                analytics.incrementSearchCount();
-                analytics.setResultsCount(resultsCount);
-                searchAnalyticsRepository.save(analytics);
-                logger.debug("Updated search analytics for term '{}', new count: {}", normalizedTerm, analytics.getSearchCount());
-            } else {
-                // Create new entry
-                SearchAnalytics analytics = new SearchAnalytics(normalizedTerm, userId, resultsCount);
-                searchAnalyticsRepository.save(analytics);
-                logger.debug("Created new search analytics entry for term '{}'", normalizedTerm);
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to track search analytics for term '{}': {}", searchTerm, e.getMessage());
-            // Don't fail the search if analytics tracking fails
-        }
-    }
-
     private String truncateContent(String content, int maxLength) {
         if (content == null || content.length() <= maxLength) {
             return content;
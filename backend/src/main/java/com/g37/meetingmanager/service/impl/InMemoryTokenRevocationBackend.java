@@ -0,0 +1,45 @@
+package com.g37.meetingmanager.service.impl;
+
+import com.g37.meetingmanager.service.TokenRevocationBackend;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local stand-in for the shared revocation store, for tests and single-instance setups.
+ * Revocations are not visible to other instances and do not survive a restart.
+ */
+@Service
+@ConditionalOnProperty(name = "app.jwt.revocation.backend", havingValue = "memory")
+public class InMemoryTokenRevocationBackend implements TokenRevocationBackend {
+
+    private final Map<String, StoredRevocation> revocations = new ConcurrentHashMap<>();
+
+    private record StoredRevocation(LocalDateTime expiresAt, LocalDateTime revokedAt) {
+    }
+
+    @Override
+    public void save(String tokenKey, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        revocations.putIfAbsent(tokenKey, new StoredRevocation(expiresAt, revokedAt));
+    }
+
+    @Override
+    public List<Revocation> findRevokedSince(LocalDateTime since, LocalDateTime now) {
+        return revocations.entrySet().stream()
+            .filter(entry -> !entry.getValue().revokedAt().isBefore(since)
+                && entry.getValue().expiresAt().isAfter(now))
+            .map(entry -> new Revocation(entry.getKey(), entry.getValue().expiresAt()))
+            .toList();
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime now) {
+        int before = revocations.size();
+        revocations.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now));
+        return before - revocations.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.g37.meetingmanager.service.impl;
+
+import com.g37.meetingmanager.model.RevokedToken;
+import com.g37.meetingmanager.repository.mysql.RevokedTokenRepository;
+import com.g37.meetingmanager.service.TokenRevocationBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revocations in the shared MySQL database, so every replica sees every logout
+ */
+@Service
+@ConditionalOnProperty(name = "app.jwt.revocation.backend", havingValue = "database", matchIfMissing = true)
+public class JpaTokenRevocationBackend implements TokenRevocationBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaTokenRevocationBackend.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Override
+    public void save(String tokenKey, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        try {
+            revokedTokenRepository.save(new RevokedToken(tokenKey, expiresAt, revokedAt));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Token already revoked");
+        }
+    }
+
+    @Override
+    public List<Revocation> findRevokedSince(LocalDateTime since, LocalDateTime now) {
+        return revokedTokenRepository.findLiveRevokedSince(since, now).stream()
+            .map(row -> new Revocation(row.getTokenKey(), row.getExpiresAt()))
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired(LocalDateTime now) {
+        return revokedTokenRepository.deleteExpired(now);
+    }
+}
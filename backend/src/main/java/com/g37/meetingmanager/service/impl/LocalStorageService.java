@@ -0,0 +1,481 @@
+package com.g37.meetingmanager.service.impl;
+
+import com.g37.meetingmanager.model.Document;
+import com.g37.meetingmanager.model.Document.StorageProvider;
+import com.g37.meetingmanager.repository.mysql.DocumentRepository;
+import com.g37.meetingmanager.service.CloudStorageService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Documents stored on local or mounted disk, addressed by the SHA-256 of their content.
+ *
+ * An upload is written to a temp file while it is hashed, forced to disk, then renamed into
+ * blobs/ab/abcdef...; when a blob with that hash already exists the temp file is dropped, so a file
+ * uploaded many times is stored once. The hash is the document's externalFileId. Because blobs are
+ * shared, deleting a document does not delete its blob; a periodic sweep removes blobs that no
+ * document references once they are older than a grace period. An upload that reuses a blob
+ * touches its timestamp, and the sweep checks the timestamp again just before each delete; the
+ * touch and the check-and-delete hold the same per-blob lock, so a blob reused after the sweep
+ * listed it is kept.
+ *
+ * The same directory also holds a read-through cache of cloud documents (cache/), bounded in total
+ * size and evicting least recently read first. A download that misses is served its range straight
+ * from origin while one background fill per document copies the whole file into the cache, so a
+ * first download or a small Range request never waits for the full fetch. Reads are served with
+ * FileChannel.transferTo, so file content is never materialized in heap.
+ */
+@Service("localStorageService")
+public class LocalStorageService implements CloudStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int REFERENCE_QUERY_BATCH = 500;
+    private static final int FILL_QUEUE_CAPACITY = 64;
+    private static final int BLOB_LOCK_STRIPES = 64;
+
+    @Value("${app.storage.local.root:./data/storage}")
+    private String rootDirectory;
+
+    @Value("${app.storage.local.orphan-grace-ms:3600000}")
+    private long orphanGraceMs;
+
+    @Value("${app.storage.local.cache.max-bytes:1073741824}")
+    private long cacheMaxBytes;
+
+    @Value("${app.storage.local.cache.max-file-bytes:104857600}")
+    private long cacheMaxFileBytes;
+
+    @Value("${app.storage.local.cache.fill-threads:2}")
+    private int cacheFillThreads;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    // Cache fills in flight by cache entry, so concurrent misses on a document fetch it once
+    private final ConcurrentHashMap<Path, CompletableFuture<Void>> fills = new ConcurrentHashMap<>();
+
+    // Taken by hash while an upload reuses or places a blob and while the sweep deletes one
+    private final Object[] blobLocks = Stream.generate(Object::new).limit(BLOB_LOCK_STRIPES).toArray();
+
+    private ThreadPoolExecutor fillExecutor;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = Math.max(1, cacheFillThreads);
+        AtomicInteger threadCount = new AtomicInteger();
+        fillExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(FILL_QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "storage-cache-fill-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fillExecutor.shutdownNow();
+    }
+
+    @Override
+    public CloudUploadResult uploadFile(MultipartFile file, Document document) throws Exception {
+        logger.info("Storing file locally: {}", file.getOriginalFilename());
+        try (InputStream in = file.getInputStream()) {
+            String hash = store(in);
+            logger.info("File stored locally as blob {}", hash);
+            // The document has no id yet, so there is no download URL to hand out until it is saved
+            return new CloudUploadResult(hash, null, null, file.getOriginalFilename());
+        }
+    }
+
+    @Override
+    public String getDownloadUrl(Document document) {
+        return "/api/documents/" + document.getId() + "/download";
+    }
+
+    /**
+     * Blobs are shared between documents and collected by the sweep once unreferenced
+     */
+    @Override
+    public boolean deleteFile(Document document) {
+        return true;
+    }
+
+    @Override
+    public byte[] downloadFile(Document document) throws Exception {
+        try {
+            return Files.readAllBytes(blobPath(document.getExternalFileId()));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("Local blob missing for document " + document.getId());
+        }
+    }
+
+    @Override
+    public void streamFile(Document document, long start, long end, OutputStream out) throws Exception {
+        Path blob = blobPath(document.getExternalFileId());
+        if (!Files.exists(blob)) {
+            throw new FileNotFoundException("Local blob missing for document " + document.getId());
+        }
+        transfer(blob, start, end, out);
+    }
+
+    @Override
+    public boolean fileExists(Document document) {
+        return document.getExternalFileId() != null && Files.exists(blobPath(document.getExternalFileId()));
+    }
+
+    /**
+     * Serve a cloud document from the local cache. On a miss the requested range is streamed from
+     * origin and the document is copied into the cache in the background for later reads. Documents
+     * of unknown size, or larger than the per-file limit, are always streamed from origin.
+     */
+    public void streamThroughCache(Document document, long start, long end, OutputStream out,
+                                   CloudStorageService origin) throws Exception {
+        Long size = document.getFileSize();
+        if (size == null || size > cacheMaxFileBytes || size > cacheMaxBytes) {
+            origin.streamFile(document, start, end, out);
+            return;
+        }
+
+        Path cached = cachePath(document);
+        if (Files.exists(cached)) {
+            try {
+                // The modification time records the last read, which eviction goes by
+                Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));
+                transfer(cached, start, end, out);
+                return;
+            } catch (NoSuchFileException e) {
+                // Evicted between the check and the read; fill it again
+            }
+        }
+
+        fillInBackground(document, cached, origin);
+        origin.streamFile(document, start, end, out);
+    }
+
+    /**
+     * Start copying the document into the cache unless a fill for it is already running. Returns
+     * the fill in flight for the entry, or null when the fill pool is saturated and this miss is
+     * left uncached.
+     */
+    CompletableFuture<Void> fillInBackground(Document document, Path cached, CloudStorageService origin) {
+        CompletableFuture<Void> fill = new CompletableFuture<>();
+        CompletableFuture<Void> running = fills.putIfAbsent(cached, fill);
+        if (running != null) {
+            return running;
+        }
+        try {
+            fillExecutor.execute(() -> {
+                // Unregistered before completing, so a miss seen after completion starts a new fill
+                try {
+                    fill(document, cached, origin);
+                    fills.remove(cached, fill);
+                    fill.complete(null);
+                } catch (Exception e) {
+                    logger.warn("Failed to cache {} document {}: {}", document.getStorageProvider(),
+                        document.getId(), e.getMessage());
+                    fills.remove(cached, fill);
+                    fill.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fills.remove(cached, fill);
+            fill.completeExceptionally(e);
+            return null;
+        }
+        return fill;
+    }
+
+    private void fill(Document document, Path cached, CloudStorageService origin) throws Exception {
+        if (Files.exists(cached)) {
+            return;
+        }
+        long size = document.getFileSize();
+        Path temp = newTempFile();
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream fileOut = Channels.newOutputStream(channel)) {
+                origin.streamFile(document, 0, size - 1, fileOut);
+            }
+            long fetched = Files.size(temp);
+            if (fetched != size) {
+                throw new IOException("Fetched " + fetched + " bytes of document " + document.getId()
+                    + ", expected " + size);
+            }
+            Files.createDirectories(cached.getParent());
+            moveIntoPlace(temp, cached);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.debug("Cached {} document {} locally ({} bytes)", document.getStorageProvider(), document.getId(), size);
+    }
+
+    /**
+     * Write the stream to the blob store and return its SHA-256 in hex
+     */
+    String store(InputStream in) throws IOException {
+        Path temp = newTempFile();
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream hashing = new DigestInputStream(in, digest);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int n;
+                while ((n = hashing.read(buffer)) >= 0) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                }
+                channel.force(true);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path blob = blobPath(hash);
+            synchronized (blobLock(hash)) {
+                if (Files.exists(blob)) {
+                    // Already stored; refresh the timestamp so the sweep cannot collect it before the
+                    // document that now references it is saved
+                    Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+                } else {
+                    Files.createDirectories(blob.getParent());
+                    moveIntoPlace(temp, blob);
+                }
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Remove unreferenced blobs and stale temp files past the grace period, and trim the cache
+     * back under its size limit
+     */
+    @Scheduled(initialDelayString = "${app.storage.local.sweep-interval-ms:3600000}",
+               fixedDelayString = "${app.storage.local.sweep-interval-ms:3600000}")
+    public void sweep() {
+        try {
+            long cutoff = System.currentTimeMillis() - orphanGraceMs;
+            deleteOlderThan(tempDirectory(), cutoff);
+            collectOrphanedBlobs(cutoff);
+            evictCache();
+        } catch (Exception e) {
+            logger.error("Error sweeping local storage: {}", e.getMessage(), e);
+        }
+    }
+
+    private void collectOrphanedBlobs(long cutoff) throws IOException {
+        Map<String, Path> candidates;
+        try (Stream<Path> files = walkFiles(root().resolve("blobs"))) {
+            candidates = files
+                .filter(path -> lastModified(path) < cutoff)
+                .collect(Collectors.toMap(path -> path.getFileName().toString(), path -> path));
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = new ArrayList<>(candidates.keySet());
+        Set<String> referenced = new HashSet<>();
+        for (int i = 0; i < hashes.size(); i += REFERENCE_QUERY_BATCH) {
+            referenced.addAll(documentRepository.findExternalFileIdsIn(
+                StorageProvider.LOCAL, hashes.subList(i, Math.min(i + REFERENCE_QUERY_BATCH, hashes.size()))));
+        }
+
+        int deleted = 0;
+        for (Map.Entry<String, Path> candidate : candidates.entrySet()) {
+            if (referenced.contains(candidate.getKey())) {
+                continue;
+            }
+            // An upload may have reused the blob since it was listed
+            synchronized (blobLock(candidate.getKey())) {
+                if (lastModified(candidate.getValue()) < cutoff && Files.deleteIfExists(candidate.getValue())) {
+                    deleted++;
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} unreferenced local blobs", deleted);
+        }
+    }
+
+    private void evictCache() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = walkFiles(root().resolve("cache"))) {
+            entries = files.collect(Collectors.toCollection(ArrayList::new));
+        }
+        long total = 0;
+        for (Path entry : entries) {
+            total += sizeOf(entry);
+        }
+        if (total <= cacheMaxBytes) {
+            return;
+        }
+
+        entries.sort(Comparator.comparingLong(LocalStorageService::lastModified));
+        int evicted = 0;
+        for (Path entry : entries) {
+            if (total <= cacheMaxBytes) {
+                break;
+            }
+            long size = sizeOf(entry);
+            if (Files.deleteIfExists(entry)) {
+                total -= size;
+                evicted++;
+            }
+        }
+        logger.info("Evicted {} documents from the local cache", evicted);
+    }
+
+    private void deleteOlderThan(Path directory, long cutoff) throws IOException {
+        try (Stream<Path> files = walkFiles(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (lastModified(file) < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy bytes start..end (inclusive, clamped to the file) to out; transferTo lets the kernel move
+     * the bytes without a heap copy of the file
+     */
+    private static void transfer(Path file, long start, long end, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long last = Math.min(end, channel.size() - 1);
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position <= last) {
+                long sent = channel.transferTo(position, last - position + 1, target);
+                if (sent <= 0) {
+                    throw new IOException("Transfer stalled at byte " + position + " of " + file);
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path newTempFile() throws IOException {
+        Path directory = tempDirectory();
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, "upload-", ".tmp");
+    }
+
+    private Path root() {
+        return Paths.get(rootDirectory);
+    }
+
+    private Path tempDirectory() {
+        // Inside the root, so the rename into place never crosses file systems
+        return root().resolve("tmp");
+    }
+
+    private Object blobLock(String hash) {
+        return blobLocks[Math.floorMod(hash.hashCode(), BLOB_LOCK_STRIPES)];
+    }
+
+    private Path blobPath(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Not a local blob id: " + hash);
+        }
+        return root().resolve("blobs").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Cache entry of a cloud document; the key changes when the document's content is replaced
+     */
+    Path cachePath(Document document) {
+        String identity = document.getStorageProvider() + ":" + document.getExternalFileId()
+            + ":" + document.getFileSize() + ":" + document.getLastModified();
+        String key = HexFormat.of().formatHex(sha256().digest(identity.getBytes(StandardCharsets.UTF_8)));
+        return root().resolve("cache").resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static Stream<Path> walkFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        return Files.walk(directory).filter(Files::isRegularFile);
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
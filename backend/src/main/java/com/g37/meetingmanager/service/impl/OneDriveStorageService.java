@@ -10,8 +10,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service("oneDriveStorageService")
@@ -37,6 +41,18 @@ public class OneDriveStorageService implements CloudStorageService {
     private static final String GET_FILE_URL = GRAPH_API_BASE + "/me/drive/items/{fileId}";
     private static final String DELETE_FILE_URL = GRAPH_API_BASE + "/me/drive/items/{fileId}";
     
+    // Upload session chunks must be a multiple of 320 KiB, except the last
+    private static final int ONEDRIVE_CHUNK_GRANULARITY = 320 * 1024;
+    
+    @Value("${onedrive.upload.chunk-size:5242880}")
+    private int chunkSize;
+    
+    @Value("${onedrive.upload.max-chunk-retries:5}")
+    private int maxChunkRetries;
+    
+    @Value("${onedrive.upload.retry-backoff-ms:1000}")
+    private long chunkRetryBackoffMs;
+    
     private final RestTemplate restTemplate = new RestTemplate();
     
     @Override
@@ -80,7 +96,7 @@ public class OneDriveStorageService implements CloudStorageService {
             Map<String, Object> responseBody = response.getBody();
             String fileId = (String) responseBody.get("id");
             String webUrl = (String) responseBody.get("webUrl");
-            String downloadUrl = (String) ((Map) responseBody.get("@microsoft.graph.downloadUrl")).get("@microsoft.graph.downloadUrl");
+            String downloadUrl = (String) responseBody.get("@microsoft.graph.downloadUrl");
             
             logger.info("File uploaded successfully to OneDrive: {}", fileId);
             return new CloudUploadResult(fileId, webUrl, downloadUrl, fileName);
@@ -113,41 +129,52 @@ public class OneDriveStorageService implements CloudStorageService {
         }
         
         String uploadUrl = (String) sessionResponse.getBody().get("uploadUrl");
+        URI uploadUri = URI.create(uploadUrl);
         
-        // Upload file in chunks
-        byte[] fileBytes = file.getBytes();
-        int chunkSize = 320 * 1024; // 320KB chunks
-        int totalSize = fileBytes.length;
-        
-        for (int i = 0; i < totalSize; i += chunkSize) {
-            int end = Math.min(i + chunkSize, totalSize);
-            byte[] chunk = new byte[end - i];
-            System.arraycopy(fileBytes, i, chunk, 0, end - i);
-            
-            HttpHeaders chunkHeaders = new HttpHeaders();
-            chunkHeaders.set("Content-Length", String.valueOf(chunk.length));
-            chunkHeaders.set("Content-Range", String.format("bytes %d-%d/%d", i, end - 1, totalSize));
-            chunkHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            
-            HttpEntity<byte[]> chunkEntity = new HttpEntity<>(chunk, chunkHeaders);
-            
-            ResponseEntity<Map> chunkResponse = restTemplate.exchange(
-                uploadUrl, HttpMethod.PUT, chunkEntity, Map.class
-            );
-            
-            // Final chunk returns the file metadata
-            if (end == totalSize && (chunkResponse.getStatusCode() == HttpStatus.CREATED || chunkResponse.getStatusCode() == HttpStatus.OK)) {
-                Map<String, Object> responseBody = chunkResponse.getBody();
-                String fileId = (String) responseBody.get("id");
-                String webUrl = (String) responseBody.get("webUrl");
-                String downloadUrl = (String) ((Map) responseBody.get("@microsoft.graph.downloadUrl")).get("@microsoft.graph.downloadUrl");
+        // Stream the file in chunks; the upload URL is pre-authenticated, so no bearer token
+        ResumableUpload upload = new ResumableUpload(
+            ResumableUpload.alignChunkSize(chunkSize, ONEDRIVE_CHUNK_GRANULARITY), maxChunkRetries, chunkRetryBackoffMs);
+        Map<String, Object> responseBody;
+        try (InputStream in = file.getInputStream()) {
+            responseBody = upload.upload(in, file.getSize(), new ResumableUpload.Session() {
+                @Override
+                public Map<String, Object> put(byte[] data, long offset, long total) {
+                    HttpHeaders chunkHeaders = new HttpHeaders();
+                    chunkHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+                    chunkHeaders.set(HttpHeaders.CONTENT_RANGE,
+                        String.format("bytes %d-%d/%d", offset, offset + data.length - 1, total));
+                    ResponseEntity<Map> chunkResponse = restTemplate.exchange(
+                        uploadUri, HttpMethod.PUT, new HttpEntity<>(data, chunkHeaders), Map.class
+                    );
+                    // 202 while more bytes are expected; the final chunk returns the file metadata
+                    return chunkResponse.getStatusCode() == HttpStatus.ACCEPTED ? null : chunkResponse.getBody();
+                }
                 
-                logger.info("File uploaded successfully to OneDrive via upload session: {}", fileId);
-                return new CloudUploadResult(fileId, webUrl, downloadUrl, fileName);
-            }
+                @Override
+                public ResumableUpload.Status status(long total) {
+                    ResponseEntity<Map> statusResponse = restTemplate.exchange(
+                        uploadUri, HttpMethod.GET, null, Map.class
+                    );
+                    Map<String, Object> body = statusResponse.getBody();
+                    List<?> ranges = body != null ? (List<?>) body.get("nextExpectedRanges") : null;
+                    if (ranges == null || ranges.isEmpty()) {
+                        return body != null && body.get("id") != null
+                            ? ResumableUpload.Status.completed(body)
+                            : ResumableUpload.Status.committed(0);
+                    }
+                    // "N-" or "N-M": everything before N is committed
+                    String range = ranges.get(0).toString();
+                    return ResumableUpload.Status.committed(Long.parseLong(range.substring(0, range.indexOf('-'))));
+                }
+            });
         }
         
-        throw new RuntimeException("Upload session completed but no file metadata received");
+        String fileId = (String) responseBody.get("id");
+        String webUrl = (String) responseBody.get("webUrl");
+        String downloadUrl = (String) responseBody.get("@microsoft.graph.downloadUrl");
+        
+        logger.info("File uploaded successfully to OneDrive via upload session: {}", fileId);
+        return new CloudUploadResult(fileId, webUrl, downloadUrl, fileName);
     }
     
     @Override
@@ -214,6 +241,19 @@ public class OneDriveStorageService implements CloudStorageService {
         }
     }
     
+    @Override
+    public void streamFile(Document document, long start, long end, OutputStream out) throws Exception {
+        // The download URL is pre-authenticated and short-lived, so it is resolved per download
+        String downloadUrl = getDownloadUrl(document);
+        
+        restTemplate.execute(URI.create(downloadUrl), HttpMethod.GET,
+            request -> request.getHeaders().set(HttpHeaders.RANGE, "bytes=" + start + "-" + end),
+            response -> {
+                GoogleDriveStorageService.copyRange(response, start, end, out);
+                return null;
+            });
+    }
+    
     @Override
     public boolean fileExists(Document document) {
         try {
@@ -0,0 +1,171 @@
+package com.g37.meetingmanager.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Drives a resumable upload session (Drive resumable upload, OneDrive upload session) from an
+ * input stream, one fixed-size chunk at a time through a single reused buffer, so heap per upload
+ * is one chunk whatever the file size.
+ *
+ * A chunk that fails with a network error, 5xx or 429 is retried with backoff. Before each retry
+ * the session is asked how many bytes it has committed and the chunk is resumed from there; the
+ * buffer still holds the whole chunk, so any resume point inside it can be served.
+ */
+class ResumableUpload {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUpload.class);
+
+    /**
+     * One provider's upload session
+     */
+    interface Session {
+
+        /**
+         * Send bytes [offset, offset + length) of a total-byte upload. Returns the uploaded item's
+         * metadata once the upload is complete, null while more bytes are expected.
+         */
+        Map<String, Object> put(byte[] data, long offset, long total);
+
+        /**
+         * Ask the session where it stands after a failed request
+         */
+        Status status(long total);
+    }
+
+    /**
+     * Bytes the session has committed, or the item's metadata when the upload already completed
+     */
+    static final class Status {
+        private final long committed;
+        private final Map<String, Object> completed;
+
+        private Status(long committed, Map<String, Object> completed) {
+            this.committed = committed;
+            this.completed = completed;
+        }
+
+        static Status committed(long bytes) {
+            return new Status(bytes, null);
+        }
+
+        static Status completed(Map<String, Object> item) {
+            return new Status(-1, item);
+        }
+    }
+
+    private final int chunkSize;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    ResumableUpload(int chunkSize, int maxRetries, long retryBackoffMs) {
+        this.chunkSize = chunkSize;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    /**
+     * Largest multiple of granularity no greater than requested, and at least one granule
+     */
+    static int alignChunkSize(int requested, int granularity) {
+        return Math.max(granularity, requested / granularity * granularity);
+    }
+
+    Map<String, Object> upload(InputStream in, long total, Session session) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(chunkSize, Math.max(1, total))];
+        long offset = 0;
+        while (offset < total) {
+            int length = (int) Math.min(buffer.length, total - offset);
+            readFully(in, buffer, length);
+
+            int sent = 0;
+            int attempt = 0;
+            while (true) {
+                try {
+                    Map<String, Object> item = session.put(slice(buffer, sent, length), offset + sent, total);
+                    if (item != null) {
+                        return item;
+                    }
+                    break;
+                } catch (RestClientException e) {
+                    if (!isRetryable(e) || ++attempt > maxRetries) {
+                        throw e;
+                    }
+                    logger.warn("Upload chunk at byte {} failed ({}), retry {} of {}",
+                        offset + sent, e.getMessage(), attempt, maxRetries);
+                    sleep(retryBackoffMs << (attempt - 1));
+                    Status status = statusWithRetry(session, total);
+                    if (status.completed != null) {
+                        return status.completed;
+                    }
+                    if (status.committed < offset || status.committed > offset + length) {
+                        throw new IOException("Upload session committed " + status.committed
+                            + " bytes, outside the chunk at " + offset + "; cannot resume");
+                    }
+                    sent = (int) (status.committed - offset);
+                    if (sent == length) {
+                        break;
+                    }
+                }
+            }
+            offset += length;
+        }
+        Status status = statusWithRetry(session, total);
+        if (status.completed != null) {
+            return status.completed;
+        }
+        throw new IOException("Upload session did not complete after " + total + " bytes");
+    }
+
+    private Status statusWithRetry(Session session, long total) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return session.status(total);
+            } catch (RestClientException e) {
+                if (!isRetryable(e) || attempt > maxRetries) {
+                    throw e;
+                }
+                sleep(retryBackoffMs << (attempt - 1));
+            }
+        }
+    }
+
+    private static byte[] slice(byte[] buffer, int from, int to) {
+        return from == 0 && to == buffer.length ? buffer : Arrays.copyOfRange(buffer, from, to);
+    }
+
+    private static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(buffer, read, length - read);
+            if (n < 0) {
+                throw new IOException("Upload stream ended after " + read + " of " + length + " chunk bytes");
+            }
+            read += n;
+        }
+    }
+
+    private static boolean isRetryable(RestClientException e) {
+        return e instanceof ResourceAccessException
+            || e instanceof HttpServerErrorException
+            || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting to retry upload");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.g37.meetingmanager.util;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Principal of a request authenticated by JWT, built from the token's claims alone. Roles and
+ * permissions are fixed when the token is issued, so the granted authorities are computed once
+ * here and shared by every request that presents the same token. Permission checks by bit (see
+ * PermissionCatalog.bitOf) test the token's mask directly.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long userId;
+    private final Long organizationId;
+    private final String email;
+    private final Set<String> roles;
+    private final PermissionMask permissionMask;
+    private final Set<String> permissions;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long userId, Long organizationId, String email, Collection<String> roles,
+                             PermissionMask permissionMask, Collection<String> permissions) {
+        this.userId = userId;
+        this.organizationId = organizationId;
+        this.email = email;
+        this.roles = Set.copyOf(roles);
+        this.permissionMask = permissionMask;
+        this.permissions = Set.copyOf(permissions);
+
+        List<GrantedAuthority> granted = new ArrayList<>(this.roles.size() + this.permissions.size());
+        for (String role : this.roles) {
+            granted.add(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+        for (String permission : this.permissions) {
+            granted.add(new SimpleGrantedAuthority(permission));
+        }
+        this.authorities = Collections.unmodifiableList(granted);
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getOrganizationId() { return organizationId; }
+    public String getEmail() { return email; }
+    public Set<String> getRoles() { return roles; }
+    public PermissionMask getPermissionMask() { return permissionMask; }
+    public Set<String> getPermissions() { return permissions; }
+    public List<GrantedAuthority> getAuthorities() { return authorities; }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean hasPermission(String permission) {
+        return permissions.contains(permission);
+    }
+
+    public boolean hasPermission(int permissionBit) {
+        return permissionMask.has(permissionBit);
+    }
+
+    /**
+     * The email, so Authentication.getName() keeps returning what controllers look users up by
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{userId=" + userId + ", organizationId=" + organizationId + "}";
+    }
+}
@@ -0,0 +1,197 @@
+package com.g37.meetingmanager.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-k summary over exponentially decayed counts, with a Count-Min sketch as the
+ * admission filter for terms that are not yet monitored.
+ *
+ * Decay uses forward decay: an event at time t adds e^((t - landmark) / tau), so older events are
+ * never touched and every count shrinks by the same factor at read time. That keeps Space-Saving's
+ * ordering and error guarantees intact. Counts are rescaled to a new landmark before they overflow.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class DecayedSpaceSaving {
+
+    private static final double RESCALE_EXPONENT = 40.0;
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private final int capacity;
+    private final double tauMillis;
+    private final Map<String, Counter> monitored;
+    private final double[][] sketch;
+    private final int sketchMask;
+
+    private long landmarkMillis;
+    // Lower bound on the smallest monitored count; exact after each scan
+    private double minCount;
+
+    /**
+     * @param capacity Terms monitored; the top k is accurate for k well below this
+     * @param tauMillis Decay time constant; an event's weight falls to 1/e after this long
+     * @param sketchWidth Count-Min width, rounded up to a power of two
+     */
+    public DecayedSpaceSaving(int capacity, long tauMillis, int sketchWidth, long nowMillis) {
+        this.capacity = capacity;
+        this.tauMillis = tauMillis;
+        this.monitored = new HashMap<>(capacity * 2);
+        int width = Integer.highestOneBit(Math.max(sketchWidth - 1, 1)) << 1;
+        this.sketch = new double[SKETCH_DEPTH][width];
+        this.sketchMask = width - 1;
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * Count one occurrence of a term at the given time
+     */
+    public void add(String term, long nowMillis) {
+        restore(term, 1.0, 0.0, nowMillis);
+    }
+
+    /**
+     * Count several occurrences of a term at once, as when applying a batch
+     */
+    public void add(String term, long occurrences, long nowMillis) {
+        restore(term, occurrences, 0.0, nowMillis);
+    }
+
+    /**
+     * Seed a term with a count and error already decayed to {@code nowMillis}, e.g. from a checkpoint
+     */
+    public void restore(String term, double count, double error, long nowMillis) {
+        if ((nowMillis - landmarkMillis) / tauMillis > RESCALE_EXPONENT) {
+            rescale(nowMillis);
+        }
+        double scale = Math.exp((nowMillis - landmarkMillis) / tauMillis);
+        add(term, count * scale, error * scale);
+    }
+
+    private void add(String term, double weight, double error) {
+        double estimate = addToSketch(term, weight);
+
+        Counter counter = monitored.get(term);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        if (monitored.size() < capacity) {
+            monitored.put(term, new Counter(estimate, Math.max(estimate - weight, error)));
+            minCount = monitored.size() == 1 ? estimate : Math.min(minCount, estimate);
+            return;
+        }
+        // Counts only grow, so an estimate at or below the cached bound cannot beat the true minimum
+        if (estimate <= minCount) {
+            return;
+        }
+
+        String minTerm = null;
+        double min = Double.MAX_VALUE;
+        double secondMin = Double.MAX_VALUE;
+        for (Map.Entry<String, Counter> entry : monitored.entrySet()) {
+            double count = entry.getValue().count;
+            if (count < min) {
+                secondMin = min;
+                min = count;
+                minTerm = entry.getKey();
+            } else if (count < secondMin) {
+                secondMin = count;
+            }
+        }
+        if (estimate <= min) {
+            minCount = min;
+            return;
+        }
+        monitored.remove(minTerm);
+        // Space-Saving: the newcomer inherits the evicted count as its error
+        monitored.put(term, new Counter(estimate, Math.max(min, error)));
+        minCount = Math.min(secondMin, estimate);
+    }
+
+    /**
+     * Heaviest monitored terms with counts decayed to {@code nowMillis}, best first
+     */
+    public List<Map.Entry<String, Double>> top(int k, long nowMillis) {
+        double decay = Math.exp(-(nowMillis - landmarkMillis) / tauMillis);
+        List<Map.Entry<String, Counter>> entries = new ArrayList<>(monitored.entrySet());
+        entries.sort((a, b) -> Double.compare(b.getValue().count, a.getValue().count));
+
+        List<Map.Entry<String, Double>> result = new ArrayList<>(Math.min(k, entries.size()));
+        for (int i = 0; i < entries.size() && result.size() < k; i++) {
+            result.add(Map.entry(entries.get(i).getKey(), entries.get(i).getValue().count * decay));
+        }
+        return result;
+    }
+
+    /**
+     * Every monitored term as [count, error] decayed to {@code nowMillis}, for checkpointing
+     */
+    public Map<String, double[]> snapshot(long nowMillis) {
+        double decay = Math.exp(-(nowMillis - landmarkMillis) / tauMillis);
+        Map<String, double[]> snapshot = new HashMap<>(monitored.size() * 2);
+        monitored.forEach((term, counter) ->
+            snapshot.put(term, new double[] {counter.count * decay, counter.error * decay}));
+        return snapshot;
+    }
+
+    private double addToSketch(String term, double weight) {
+        byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+        int h1 = murmurMix(hash(bytes, 0x9747b28c));
+        // Odd, so the rows' columns h1 + row * h2 stay distinct for every power-of-two width
+        int h2 = murmurMix(hash(bytes, 0x5bd1e995)) | 1;
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int column = (h1 + row * h2) & sketchMask;
+            sketch[row][column] += weight;
+            estimate = Math.min(estimate, sketch[row][column]);
+        }
+        return estimate;
+    }
+
+    private void rescale(long nowMillis) {
+        double factor = Math.exp(-(nowMillis - landmarkMillis) / tauMillis);
+        for (Counter counter : monitored.values()) {
+            counter.count *= factor;
+            counter.error *= factor;
+        }
+        for (double[] row : sketch) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+        minCount *= factor;
+        landmarkMillis = nowMillis;
+    }
+
+    private static int hash(byte[] bytes, int seed) {
+        int h = seed;
+        for (byte b : bytes) {
+            h = h * 31 + b;
+        }
+        return h;
+    }
+
+    private static int murmurMix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static class Counter {
+        double count;
+        double error;
+
+        Counter(double count, double error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.g37.meetingmanager.util;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of string keys that each carry an expiry time, with a Bloom filter in front.
+ *
+ * Live keys are held in a concurrent map from key to expiry, which answers membership. The map is
+ * also filed into a timing wheel of fixed-width buckets by expiry, used only for eviction: expiring
+ * is dropping whole buckets rather than scanning entries. Keys expiring past the wheel's horizon
+ * wait in an overflow set until the wheel turns far enough to take them. A key may be reported for
+ * up to one bucket width after its expiry.
+ *
+ * Membership checks test the Bloom filter first; a miss, the common case, allocates nothing. A
+ * filter hit is one map lookup. Neither takes a lock. The filter is rebuilt from the remaining keys
+ * whenever buckets are dropped.
+ *
+ * Writers synchronize on this set; {@link #contains} is safe to call from any thread.
+ */
+public class ExpiringKeySet {
+
+    private static final int HASH_FUNCTIONS = 7;
+    private static final int BITS_PER_KEY = 10;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int filterBits;
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final Set<String>[] buckets;
+    private final Set<String> overflow = new HashSet<>();
+    private long currentBucket;
+
+    // Replaced on rebuild and re-published after every add, so readers see the bits they need
+    private volatile long[] filter;
+
+    @SuppressWarnings("unchecked")
+    public ExpiringKeySet(long bucketMillis, int bucketCount, int expectedKeys, long nowMillis) {
+        if (bucketMillis <= 0 || bucketCount <= 0 || expectedKeys <= 0) {
+            throw new IllegalArgumentException("Bucket width, bucket count and expected keys must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.filterBits = (int) Math.min(Integer.MAX_VALUE - 63L, (long) expectedKeys * BITS_PER_KEY);
+        this.buckets = new Set[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new HashSet<>();
+        }
+        this.currentBucket = nowMillis / bucketMillis;
+        this.filter = new long[(filterBits + 63) / 64];
+    }
+
+    /**
+     * Add a key until expiresAtMillis; keys already expired are ignored
+     */
+    public synchronized void add(String key, long expiresAtMillis, long nowMillis) {
+        advance(nowMillis);
+        if (expiresAtMillis <= nowMillis || expiries.containsKey(key)) {
+            return;
+        }
+        long bucket = expiresAtMillis / bucketMillis;
+        if (bucket >= currentBucket + bucketCount) {
+            overflow.add(key);
+        } else {
+            buckets[slot(bucket)].add(key);
+        }
+        // Bits go in before the key is visible, so a reader that finds the key also passes the filter
+        long[] bits = filter;
+        setBits(bits, key);
+        filter = bits;
+        expiries.put(key, expiresAtMillis);
+    }
+
+    /**
+     * Whether the key was added and has not yet been dropped
+     */
+    public boolean contains(String key) {
+        return mightContain(filter, key) && expiries.containsKey(key);
+    }
+
+    /**
+     * Drop every bucket that expired before nowMillis, pull overflow keys that now fit into the
+     * wheel, and rebuild the filter if anything was dropped. Returns the number of keys dropped.
+     */
+    public synchronized int advance(long nowMillis) {
+        long target = nowMillis / bucketMillis;
+        if (target <= currentBucket) {
+            return 0;
+        }
+        int dropped = 0;
+        long turns = Math.min(target - currentBucket, bucketCount);
+        for (long b = currentBucket; b < currentBucket + turns; b++) {
+            Set<String> bucket = buckets[slot(b)];
+            dropped += bucket.size();
+            for (String key : bucket) {
+                expiries.remove(key);
+            }
+            bucket.clear();
+        }
+        currentBucket = target;
+
+        for (Iterator<String> it = overflow.iterator(); it.hasNext(); ) {
+            String key = it.next();
+            long bucket = expiries.get(key) / bucketMillis;
+            if (bucket < currentBucket) {
+                it.remove();
+                expiries.remove(key);
+                dropped++;
+            } else if (bucket < currentBucket + bucketCount) {
+                it.remove();
+                buckets[slot(bucket)].add(key);
+            }
+        }
+
+        if (dropped > 0) {
+            // Keys already gone from the map may still pass the old filter; contains rejects them
+            long[] bits = new long[filter.length];
+            for (String key : expiries.keySet()) {
+                setBits(bits, key);
+            }
+            filter = bits;
+        }
+        return dropped;
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) bucketCount);
+    }
+
+    private void setBits(long[] bits, String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int index = (int) Long.remainderUnsigned(h1 + i * h2, filterBits);
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    private boolean mightContain(long[] bits, String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int index = (int) Long.remainderUnsigned(h1 + i * h2, filterBits);
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the key's chars with a final avalanche, computed without allocating
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,140 @@
+package com.g37.meetingmanager.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed user search input: "quoted phrases", +required and -excluded terms.
+ * Renders to a MySQL boolean-mode MATCH ... AGAINST expression or to plain terms for LIKE fallbacks.
+ */
+public final class FullTextQuery {
+
+    private final List<String> required;
+    private final List<String> excluded;
+
+    private FullTextQuery(List<String> required, List<String> excluded) {
+        this.required = Collections.unmodifiableList(required);
+        this.excluded = Collections.unmodifiableList(excluded);
+    }
+
+    /**
+     * Parse raw input. Unquoted terms are required unless prefixed with '-'; boolean-mode
+     * operators inside terms are stripped so user input can never change the query structure.
+     */
+    public static FullTextQuery parse(String input) {
+        List<String> required = new ArrayList<>();
+        List<String> excluded = new ArrayList<>();
+        if (input == null) {
+            return new FullTextQuery(required, excluded);
+        }
+
+        int i = 0;
+        int length = input.length();
+        while (i < length) {
+            char c = input.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            boolean exclude = false;
+            if (c == '-' || c == '+') {
+                exclude = c == '-';
+                i++;
+                if (i >= length) {
+                    break;
+                }
+                c = input.charAt(i);
+            }
+
+            String clause;
+            if (c == '"') {
+                int end = input.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = length;
+                }
+                clause = sanitize(input.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < length && !Character.isWhitespace(input.charAt(end))) {
+                    end++;
+                }
+                clause = sanitize(input.substring(i, end));
+                i = end;
+            }
+
+            if (!clause.isEmpty()) {
+                (exclude ? excluded : required).add(clause);
+            }
+        }
+        return new FullTextQuery(required, excluded);
+    }
+
+    private static String sanitize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '_' || c == '\'' || c == '.') {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(c);
+            } else {
+                // Operators and punctuation split words the same way the full-text parser would
+                pendingSpace = true;
+            }
+        }
+        return sb.toString().toLowerCase();
+    }
+
+    /**
+     * True when there is at least one positive clause; exclusions alone match nothing in boolean mode.
+     */
+    public boolean isEmpty() {
+        return required.isEmpty();
+    }
+
+    public List<String> getRequired() {
+        return required;
+    }
+
+    public List<String> getExcluded() {
+        return excluded;
+    }
+
+    /**
+     * Render as a boolean-mode expression, e.g. {@code +"quarterly review" +budget -draft}
+     */
+    public String toBooleanMode() {
+        StringBuilder sb = new StringBuilder();
+        for (String term : required) {
+            appendClause(sb, '+', term);
+        }
+        for (String term : excluded) {
+            appendClause(sb, '-', term);
+        }
+        return sb.toString();
+    }
+
+    private static void appendClause(StringBuilder sb, char operator, String term) {
+        if (sb.length() > 0) {
+            sb.append(' ');
+        }
+        sb.append(operator);
+        // Multi-word clauses are quoted so every word must appear, adjacent and in order
+        if (term.indexOf(' ') >= 0) {
+            sb.append('"').append(term).append('"');
+        } else {
+            sb.append(term);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toBooleanMode();
+    }
+}
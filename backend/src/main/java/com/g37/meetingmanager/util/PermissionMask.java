@@ -0,0 +1,128 @@
+package com.g37.meetingmanager.util;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Immutable set of permission bits; bit n stands for the permission whose mask bit is n. Carried in JWTs as
+ * unpadded base64url of the little-endian bytes, trailing zero bytes dropped, so a typical set of
+ * permissions takes a handful of characters instead of an array of names.
+ */
+public final class PermissionMask {
+
+    public static final PermissionMask EMPTY = new PermissionMask(new long[0]);
+
+    private final long[] words;
+
+    private PermissionMask(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        this.words = length == words.length ? words : Arrays.copyOf(words, length);
+    }
+
+    public static PermissionMask of(int... bits) {
+        long[] words = new long[0];
+        for (int bit : bits) {
+            if (bit < 0) {
+                throw new IllegalArgumentException("Permission bit must not be negative: " + bit);
+            }
+            if ((bit >>> 6) >= words.length) {
+                words = Arrays.copyOf(words, (bit >>> 6) + 1);
+            }
+            words[bit >>> 6] |= 1L << bit;
+        }
+        return new PermissionMask(words);
+    }
+
+    public boolean has(int bit) {
+        int word = bit >>> 6;
+        return bit >= 0 && word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Whether every bit of required is set here
+     */
+    public boolean containsAll(PermissionMask required) {
+        if (required.words.length > words.length) {
+            return false;
+        }
+        for (int i = 0; i < required.words.length; i++) {
+            if ((words[i] & required.words[i]) != required.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public PermissionMask or(PermissionMask other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new PermissionMask(result);
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * Set bits in ascending order
+     */
+    public int[] bits() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        int[] bits = new int[count];
+        int next = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                bits[next++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return bits;
+    }
+
+    public String encode() {
+        int length = words.length * 8;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, length));
+    }
+
+    public static PermissionMask decode(String encoded) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        long[] words = new long[(bytes.length + 7) / 8];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+        return new PermissionMask(words);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PermissionMask other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(bits());
+    }
+}
@@ -0,0 +1,548 @@
+package com.g37.meetingmanager.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+/**
+ * Parsed recurrence rule: the RFC 5545 RRULE subset FREQ (DAILY, WEEKLY, MONTHLY, YEARLY), INTERVAL,
+ * COUNT, UNTIL, BYDAY (with ordinals such as 2TU or -1FR for monthly and yearly rules), BYMONTHDAY
+ * and BYMONTH, plus the plain patterns stored before RRULEs were supported ("DAILY", "weekly",
+ * "BIWEEKLY", "MONTHLY", "QUARTERLY", "YEARLY", "WEEKDAYS").
+ *
+ * Occurrences are generated lazily one period at a time. Rules without COUNT jump straight to the
+ * period containing the start of the requested window, so expanding a window costs the same however
+ * far it lies from the series start. Times are floating local times, like the rest of the model.
+ *
+ * Immutable and thread-safe.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS),
+        WEEKLY(ChronoUnit.WEEKS),
+        MONTHLY(ChronoUnit.MONTHS),
+        YEARLY(ChronoUnit.YEARS);
+
+        private final ChronoUnit unit;
+
+        Frequency(ChronoUnit unit) {
+            this.unit = unit;
+        }
+    }
+
+    // Stops rules whose BY parts can never match (e.g. BYMONTH=2;BYMONTHDAY=30) from spinning forever;
+    // large enough for a daily rule on February 29th to reach the next leap year
+    private static final int MAX_EMPTY_PERIODS = 4000;
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final List<WeekdayNum> byDay;
+    private final List<Integer> byMonthDay;
+    private final List<Integer> byMonth;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until,
+                           List<WeekdayNum> byDay, List<Integer> byMonthDay, List<Integer> byMonth) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.byMonth = byMonth;
+    }
+
+    /**
+     * Parse an RRULE (with or without the "RRULE:" prefix) or a plain stored pattern
+     *
+     * @throws IllegalArgumentException if the pattern is blank, malformed or uses unsupported parts
+     */
+    public static RecurrenceRule parse(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Recurrence pattern is empty");
+        }
+        String value = pattern.trim().toUpperCase(Locale.ROOT);
+        if (value.startsWith("RRULE:")) {
+            value = value.substring("RRULE:".length());
+        }
+
+        switch (value) {
+            case "DAILY":
+                return simple(Frequency.DAILY, 1);
+            case "WEEKLY":
+                return simple(Frequency.WEEKLY, 1);
+            case "BIWEEKLY":
+                return simple(Frequency.WEEKLY, 2);
+            case "MONTHLY":
+                return simple(Frequency.MONTHLY, 1);
+            case "QUARTERLY":
+                return simple(Frequency.MONTHLY, 3);
+            case "YEARLY":
+            case "ANNUALLY":
+                return simple(Frequency.YEARLY, 1);
+            case "WEEKDAYS":
+                return parse("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+            default:
+                break;
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        List<WeekdayNum> byDay = Collections.emptyList();
+        List<Integer> byMonthDay = Collections.emptyList();
+        List<Integer> byMonth = Collections.emptyList();
+
+        for (String part : value.split(";")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+            String name = part.substring(0, eq);
+            String arg = part.substring(eq + 1);
+            try {
+                switch (name) {
+                    case "FREQ":
+                        frequency = parseFrequency(arg);
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(arg);
+                        break;
+                    case "COUNT":
+                        count = Integer.parseInt(arg);
+                        break;
+                    case "UNTIL":
+                        until = parseUntil(arg);
+                        break;
+                    case "BYDAY":
+                        byDay = new ArrayList<>();
+                        for (String day : arg.split(",")) {
+                            byDay.add(WeekdayNum.parse(day));
+                        }
+                        break;
+                    case "BYMONTHDAY":
+                        byMonthDay = parseIntegers(arg, 31, true);
+                        break;
+                    case "BYMONTH":
+                        byMonth = parseIntegers(arg, 12, false);
+                        break;
+                    case "WKST":
+                        if (!"MO".equals(arg)) {
+                            throw new IllegalArgumentException("Only WKST=MO is supported");
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule has no FREQ: " + pattern);
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("INTERVAL must be positive");
+        }
+        if (count != null && count < 1) {
+            throw new IllegalArgumentException("COUNT must be positive");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot both be set");
+        }
+        for (WeekdayNum day : byDay) {
+            if (day.ordinal != 0 && (frequency == Frequency.DAILY || frequency == Frequency.WEEKLY)) {
+                throw new IllegalArgumentException("BYDAY ordinals need a MONTHLY or YEARLY rule");
+            }
+        }
+        return new RecurrenceRule(frequency, interval, count, until,
+            List.copyOf(byDay), List.copyOf(byMonthDay), List.copyOf(byMonth));
+    }
+
+    private static RecurrenceRule simple(Frequency frequency, int interval) {
+        return new RecurrenceRule(frequency, interval, null, null,
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String stripped = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        if (stripped.length() == 8) {
+            // A date-only UNTIL includes the whole day
+            return LocalDate.parse(stripped, UNTIL_DATE).atTime(LocalTime.MAX);
+        }
+        return LocalDateTime.parse(stripped, UNTIL_DATE_TIME);
+    }
+
+    private static Frequency parseFrequency(String value) {
+        for (Frequency frequency : Frequency.values()) {
+            if (frequency.name().equals(value)) {
+                return frequency;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+    }
+
+    private static List<Integer> parseIntegers(String value, int max, boolean allowNegative) {
+        List<Integer> values = new ArrayList<>();
+        for (String item : value.split(",")) {
+            int parsed = Integer.parseInt(item);
+            if (parsed == 0 || Math.abs(parsed) > max || (parsed < 0 && !allowNegative)) {
+                throw new IllegalArgumentException("Value out of range: " + item);
+            }
+            values.add(parsed);
+        }
+        return values;
+    }
+
+    /**
+     * Occurrences at or after {@code from}, in order, starting from a series that begins at {@code start}.
+     * The series start is always the first occurrence, as in RFC 5545.
+     *
+     * @param seriesEnd Optional extra inclusive end, e.g. a stored recurrence end date
+     */
+    public Iterator<LocalDateTime> iterator(LocalDateTime start, LocalDateTime from, LocalDateTime seriesEnd) {
+        LocalDateTime end = until;
+        if (seriesEnd != null && (end == null || seriesEnd.isBefore(end))) {
+            end = seriesEnd;
+        }
+        return new OccurrenceIterator(start, from, end);
+    }
+
+    /**
+     * Occurrences in [from, to), at most limit of them
+     */
+    public List<LocalDateTime> between(LocalDateTime start, LocalDateTime from, LocalDateTime to,
+                                       LocalDateTime seriesEnd, int limit) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        Iterator<LocalDateTime> iterator = iterator(start, from, seriesEnd);
+        while (iterator.hasNext() && occurrences.size() < limit) {
+            LocalDateTime next = iterator.next();
+            if (!next.isBefore(to)) {
+                break;
+            }
+            occurrences.add(next);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Whether {@code candidate} is one of the series' occurrences
+     */
+    public boolean isOccurrence(LocalDateTime start, LocalDateTime candidate, LocalDateTime seriesEnd) {
+        Iterator<LocalDateTime> iterator = iterator(start, candidate, seriesEnd);
+        return iterator.hasNext() && iterator.next().equals(candidate);
+    }
+
+    public Frequency getFrequency() { return frequency; }
+    public int getInterval() { return interval; }
+    public Integer getCount() { return count; }
+    public LocalDateTime getUntil() { return until; }
+
+    /**
+     * Canonical RRULE form
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(UNTIL_DATE_TIME));
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=");
+            for (int i = 0; i < byDay.size(); i++) {
+                rule.append(i > 0 ? "," : "").append(byDay.get(i));
+            }
+        }
+        appendList(rule, "BYMONTHDAY", byMonthDay);
+        appendList(rule, "BYMONTH", byMonth);
+        return rule.toString();
+    }
+
+    private static void appendList(StringBuilder rule, String name, List<Integer> values) {
+        if (!values.isEmpty()) {
+            rule.append(';').append(name).append('=');
+            for (int i = 0; i < values.size(); i++) {
+                rule.append(i > 0 ? "," : "").append(values.get(i));
+            }
+        }
+    }
+
+    /**
+     * Candidate dates of one period (day, week, month or year), sorted
+     */
+    private List<LocalDate> expandPeriod(LocalDate periodStart, LocalDate seriesStart) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        switch (frequency) {
+            case DAILY:
+                if (matchesMonth(periodStart) && matchesMonthDay(periodStart) && matchesWeekday(periodStart)) {
+                    dates.add(periodStart);
+                }
+                break;
+            case WEEKLY:
+                if (byDay.isEmpty()) {
+                    dates.add(periodStart.with(TemporalAdjusters.nextOrSame(seriesStart.getDayOfWeek())));
+                } else {
+                    for (WeekdayNum day : byDay) {
+                        dates.add(periodStart.with(TemporalAdjusters.nextOrSame(day.day)));
+                    }
+                }
+                dates.removeIf(date -> !matchesMonth(date));
+                break;
+            case MONTHLY:
+                if (matchesMonth(periodStart)) {
+                    addMonth(dates, YearMonth.from(periodStart), seriesStart);
+                }
+                break;
+            case YEARLY:
+                if (byMonth.isEmpty() && byDay.stream().anyMatch(day -> day.ordinal != 0) && byMonthDay.isEmpty()) {
+                    // BYDAY ordinals without BYMONTH count within the whole year
+                    for (WeekdayNum day : byDay) {
+                        addOrdinalWeekdays(dates, periodStart, periodStart.plusYears(1).minusDays(1), day);
+                    }
+                } else {
+                    List<Integer> months = byMonth.isEmpty() ? List.of(seriesStart.getMonthValue()) : byMonth;
+                    for (int month : months) {
+                        addMonth(dates, YearMonth.of(periodStart.getYear(), month), seriesStart);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        return new ArrayList<>(dates);
+    }
+
+    private void addMonth(TreeSet<LocalDate> dates, YearMonth month, LocalDate seriesStart) {
+        if (!byMonthDay.isEmpty()) {
+            for (int day : byMonthDay) {
+                int dayOfMonth = day > 0 ? day : month.lengthOfMonth() + day + 1;
+                // Days missing from short months are skipped, as RFC 5545 requires
+                if (dayOfMonth >= 1 && dayOfMonth <= month.lengthOfMonth()) {
+                    LocalDate date = month.atDay(dayOfMonth);
+                    if (matchesWeekday(date)) {
+                        dates.add(date);
+                    }
+                }
+            }
+        } else if (!byDay.isEmpty()) {
+            for (WeekdayNum day : byDay) {
+                addOrdinalWeekdays(dates, month.atDay(1), month.atEndOfMonth(), day);
+            }
+        } else if (seriesStart.getDayOfMonth() <= month.lengthOfMonth()) {
+            dates.add(month.atDay(seriesStart.getDayOfMonth()));
+        }
+    }
+
+    private static void addOrdinalWeekdays(TreeSet<LocalDate> dates, LocalDate first, LocalDate last, WeekdayNum day) {
+        LocalDate firstMatch = first.with(TemporalAdjusters.nextOrSame(day.day));
+        if (day.ordinal == 0) {
+            for (LocalDate date = firstMatch; !date.isAfter(last); date = date.plusWeeks(1)) {
+                dates.add(date);
+            }
+        } else if (day.ordinal > 0) {
+            LocalDate date = firstMatch.plusWeeks(day.ordinal - 1L);
+            if (!date.isAfter(last)) {
+                dates.add(date);
+            }
+        } else {
+            LocalDate date = last.with(TemporalAdjusters.previousOrSame(day.day)).plusWeeks(day.ordinal + 1L);
+            if (!date.isBefore(first)) {
+                dates.add(date);
+            }
+        }
+    }
+
+    private boolean matchesMonth(LocalDate date) {
+        return byMonth.isEmpty() || byMonth.contains(date.getMonthValue());
+    }
+
+    private boolean matchesMonthDay(LocalDate date) {
+        if (byMonthDay.isEmpty()) {
+            return true;
+        }
+        int length = date.lengthOfMonth();
+        for (int day : byMonthDay) {
+            if ((day > 0 ? day : length + day + 1) == date.getDayOfMonth()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesWeekday(LocalDate date) {
+        if (byDay.isEmpty()) {
+            return true;
+        }
+        for (WeekdayNum day : byDay) {
+            if (day.day == date.getDayOfWeek()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LocalDate alignPeriod(LocalDate date) {
+        return switch (frequency) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    private final class OccurrenceIterator implements Iterator<LocalDateTime> {
+
+        private final LocalDateTime start;
+        private final LocalDateTime from;
+        private final LocalDateTime end;
+        private final LocalDate firstPeriod;
+        private final Deque<LocalDateTime> buffer = new ArrayDeque<>();
+
+        private long periodIndex;
+        private int emitted;
+        private boolean startEmitted;
+        private boolean exhausted;
+
+        OccurrenceIterator(LocalDateTime start, LocalDateTime from, LocalDateTime end) {
+            this.start = start;
+            this.from = from != null && from.isAfter(start) ? from : start;
+            this.end = end;
+            this.firstPeriod = alignPeriod(start.toLocalDate());
+            if (count == null && this.from.isAfter(start)) {
+                // Jump to the period holding `from`; one period of slack covers BY dates before the aligned start
+                long periods = frequency.unit.between(firstPeriod, alignPeriod(this.from.toLocalDate())) / interval;
+                periodIndex = Math.max(0, periods - 1);
+                startEmitted = true;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public LocalDateTime next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+
+        private void fill() {
+            int emptyPeriods = 0;
+            while (buffer.isEmpty() && !exhausted) {
+                LocalDate periodStart = firstPeriod.plus(periodIndex * interval, frequency.unit);
+                periodIndex++;
+                if (end != null && periodStart.atStartOfDay().isAfter(end)) {
+                    exhausted = true;
+                    return;
+                }
+
+                List<LocalDateTime> candidates = new ArrayList<>();
+                if (!startEmitted) {
+                    // DTSTART counts as the first occurrence even when the BY parts would not produce it
+                    candidates.add(start);
+                    startEmitted = true;
+                }
+                for (LocalDate date : expandPeriod(periodStart, start.toLocalDate())) {
+                    LocalDateTime occurrence = date.atTime(start.toLocalTime());
+                    if (occurrence.isAfter(start)) {
+                        candidates.add(occurrence);
+                    }
+                }
+
+                boolean produced = false;
+                for (LocalDateTime occurrence : candidates) {
+                    if (end != null && occurrence.isAfter(end)) {
+                        exhausted = true;
+                        break;
+                    }
+                    if (count != null && emitted >= count) {
+                        exhausted = true;
+                        break;
+                    }
+                    emitted++;
+                    produced = true;
+                    if (!occurrence.isBefore(from)) {
+                        buffer.add(occurrence);
+                    }
+                }
+
+                if (!produced && ++emptyPeriods > MAX_EMPTY_PERIODS) {
+                    exhausted = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * BYDAY entry: a weekday with an optional ordinal (0 = every such weekday in the period)
+     */
+    private static final class WeekdayNum {
+        private static final String[] CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+        final int ordinal;
+        final DayOfWeek day;
+
+        private WeekdayNum(int ordinal, DayOfWeek day) {
+            this.ordinal = ordinal;
+            this.day = day;
+        }
+
+        static WeekdayNum parse(String value) {
+            if (value.length() < 2) {
+                throw new IllegalArgumentException("Invalid BYDAY value: " + value);
+            }
+            String code = value.substring(value.length() - 2);
+            String prefix = value.substring(0, value.length() - 2);
+            for (int i = 0; i < CODES.length; i++) {
+                if (CODES[i].equals(code)) {
+                    int ordinal = prefix.isEmpty() ? 0 : Integer.parseInt(prefix.startsWith("+") ? prefix.substring(1) : prefix);
+                    if (Math.abs(ordinal) > 53) {
+                        throw new IllegalArgumentException("Invalid BYDAY ordinal: " + value);
+                    }
+                    return new WeekdayNum(ordinal, DayOfWeek.of(i + 1));
+                }
+            }
+            throw new IllegalArgumentException("Invalid BYDAY value: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return (ordinal != 0 ? String.valueOf(ordinal) : "") + CODES[day.getValue() - 1];
+        }
+    }
+}
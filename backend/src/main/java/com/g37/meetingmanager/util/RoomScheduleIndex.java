@@ -0,0 +1,113 @@
+package com.g37.meetingmanager.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Room bookings held as half-open [start, end) intervals, e.g. of epoch seconds, one sorted map per
+ * room keyed by start. Intervals that only touch do not overlap, so back-to-back bookings fit.
+ *
+ * Bookings of a room never overlap (each is checked against the others before it is stored), so
+ * each map is an interval tree in its simplest form: ends are sorted along with starts, and the
+ * only booking that can overlap [start, end) is the last one starting before end. Overlap checks
+ * are one lookup, O(log n); the next-free search is O(log n) per booking it has to step over.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class RoomScheduleIndex {
+
+    private final Map<Long, TreeMap<Long, Booking>> byRoom = new HashMap<>();
+    private final Map<Long, Booking> byMeeting = new HashMap<>();
+
+    private static final class Booking {
+        private final long roomId;
+        private final long meetingId;
+        private final long start;
+        private final long end;
+
+        private Booking(long roomId, long meetingId, long start, long end) {
+            this.roomId = roomId;
+            this.meetingId = meetingId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Record a meeting's booking, replacing any earlier booking of the same meeting. Bookings it
+     * overlaps are dropped: they are stale, since the database has just accepted this one.
+     */
+    public void put(long roomId, long meetingId, long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Booking must end after it starts");
+        }
+        remove(meetingId);
+        TreeMap<Long, Booking> schedule = byRoom.computeIfAbsent(roomId, id -> new TreeMap<>());
+        Map.Entry<Long, Booking> overlapping;
+        while ((overlapping = schedule.lowerEntry(end)) != null && overlapping.getValue().end > start) {
+            remove(overlapping.getValue().meetingId);
+        }
+        Booking booking = new Booking(roomId, meetingId, start, end);
+        schedule.put(start, booking);
+        byMeeting.put(meetingId, booking);
+    }
+
+    public void remove(long meetingId) {
+        Booking booking = byMeeting.remove(meetingId);
+        if (booking == null) {
+            return;
+        }
+        TreeMap<Long, Booking> schedule = byRoom.get(booking.roomId);
+        schedule.remove(booking.start);
+        if (schedule.isEmpty()) {
+            byRoom.remove(booking.roomId);
+        }
+    }
+
+    /**
+     * Whether the room has no booking overlapping [start, end)
+     */
+    public boolean isFree(long roomId, long start, long end) {
+        TreeMap<Long, Booking> schedule = byRoom.get(roomId);
+        if (schedule == null) {
+            return true;
+        }
+        Map.Entry<Long, Booking> last = schedule.lowerEntry(end);
+        return last == null || last.getValue().end <= start;
+    }
+
+    /**
+     * Earliest start at or after from, and no later than latestStart, of a free interval of the
+     * given length; -1 when there is none
+     */
+    public long nextFree(long roomId, long from, long length, long latestStart) {
+        TreeMap<Long, Booking> schedule = byRoom.get(roomId);
+        long candidate = from;
+        if (schedule != null) {
+            Map.Entry<Long, Booking> containing = schedule.floorEntry(candidate);
+            if (containing != null && containing.getValue().end > candidate) {
+                candidate = containing.getValue().end;
+            }
+            Map.Entry<Long, Booking> next;
+            while (candidate <= latestStart
+                    && (next = schedule.ceilingEntry(candidate)) != null
+                    && next.getKey() < candidate + length) {
+                candidate = next.getValue().end;
+            }
+        }
+        return candidate <= latestStart ? candidate : -1;
+    }
+
+    /**
+     * Room a meeting is booked in, or null
+     */
+    public Long roomOf(long meetingId) {
+        Booking booking = byMeeting.get(meetingId);
+        return booking != null ? booking.roomId : null;
+    }
+
+    public int size() {
+        return byMeeting.size();
+    }
+}
@@ -9,6 +9,18 @@ import org.springframework.security.core.userdetails.UserDetails;
  */
 public class SecurityUtils {
     
+    /**
+     * Get the principal of a request authenticated by JWT
+     * @return Current principal or null if the request is not JWT-authenticated
+     */
+    public static AuthenticatedUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+    
     /**
      * Get the current authenticated user ID
      * @return Current user ID or null if not authenticated
@@ -22,20 +34,16 @@ public class SecurityUtils {
         
         Object principal = authentication.getPrincipal();
         
-        // If using custom user details that implement UserDetails and have getId() method
+        if (principal instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+        
+        // Other UserDetails implementations: the username may be the numeric ID
         if (principal instanceof UserDetails) {
-            // This assumes your UserDetails implementation has a getId() method
-            // You may need to cast to your specific UserDetails implementation
             try {
-                // Use reflection to get the ID if available
-                return (Long) principal.getClass().getMethod("getId").invoke(principal);
-            } catch (Exception e) {
-                // Fallback: try to parse from username if it's numeric
-                try {
-                    return Long.parseLong(((UserDetails) principal).getUsername());
-                } catch (NumberFormatException nfe) {
-                    return null;
-                }
+                return Long.parseLong(((UserDetails) principal).getUsername());
+            } catch (NumberFormatException nfe) {
+                return null;
             }
         }
         
@@ -64,6 +72,10 @@ public class SecurityUtils {
         
         Object principal = authentication.getPrincipal();
         
+        if (principal instanceof AuthenticatedUser user) {
+            return user.getEmail();
+        }
+        
         if (principal instanceof UserDetails) {
             return ((UserDetails) principal).getUsername();
         }
@@ -97,11 +109,25 @@ public class SecurityUtils {
             return false;
         }
         
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.hasRole(role);
+        }
+        
         return authentication.getAuthorities().stream()
                 .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + role) || 
                                      authority.getAuthority().equals(role));
     }
     
+    /**
+     * Check if the current user has a specific permission
+     * @param permission Permission to check
+     * @return true if user has the permission, false otherwise
+     */
+    public static boolean hasPermission(String permission) {
+        AuthenticatedUser user = getCurrentUser();
+        return user != null && user.hasPermission(permission);
+    }
+    
     /**
      * Check if the current user is a system administrator
      * @return true if user is system admin, false otherwise
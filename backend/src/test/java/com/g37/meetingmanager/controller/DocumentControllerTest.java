@@ -0,0 +1,179 @@
+package com.g37.meetingmanager.controller;
+
+import com.g37.meetingmanager.model.Document;
+import com.g37.meetingmanager.service.DocumentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range, If-Range and ETag handling of the download endpoint, against a document service that
+ * serves an in-memory file.
+ */
+class DocumentControllerTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    private DocumentController controller;
+    private Document document;
+
+    @BeforeEach
+    void setUp() {
+        document = new Document();
+        document.setId(42L);
+        document.setFileName("notes.txt");
+        document.setMimeType("text/plain");
+        document.setFileSize((long) CONTENT.length);
+        document.setExternalFileId("blob-1");
+        document.setLastModified(LocalDateTime.of(2024, 3, 1, 12, 0));
+
+        DocumentService documentService = new DocumentService() {
+            @Override
+            public Optional<Document> findById(Long id) {
+                return id.equals(document.getId()) ? Optional.of(document) : Optional.empty();
+            }
+
+            @Override
+            public void streamDocumentContent(Document streamed, long start, long end, OutputStream out) throws IOException {
+                out.write(Arrays.copyOfRange(CONTENT, (int) start, (int) Math.min(end, CONTENT.length - 1) + 1));
+            }
+        };
+        controller = new DocumentController();
+        ReflectionTestUtils.setField(controller, "documentService", documentService);
+    }
+
+    @Test
+    void withoutRangeServesTheWholeFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = download(null, null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(10);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getETag()).isNotBlank();
+        assertThat(body(response)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = download("bytes=2-5", null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(4);
+        assertThat(body(response)).isEqualTo("2345");
+    }
+
+    @Test
+    void openAndSuffixRangesAreClampedToTheFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> open = download("bytes=7-", null, null);
+        ResponseEntity<StreamingResponseBody> suffix = download("bytes=-3", null, null);
+        ResponseEntity<StreamingResponseBody> past = download("bytes=8-100", null, null);
+
+        assertThat(open.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(body(open)).isEqualTo("789");
+        assertThat(suffix.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(body(suffix)).isEqualTo("789");
+        assertThat(past.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-9/10");
+        assertThat(body(past)).isEqualTo("89");
+    }
+
+    @Test
+    void unsatisfiableOrMalformedRangeIs416() {
+        for (String range : new String[] {"bytes=10-", "bytes=20-30", "bytes=abc", "items=0-1"}) {
+            ResponseEntity<StreamingResponseBody> response = download(range, null, null);
+
+            assertThat(response.getStatusCode()).as(range).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).as(range).isEqualTo("bytes */10");
+        }
+    }
+
+    @Test
+    void severalRangesGetTheWholeFile() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = download("bytes=0-1,5-6", null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(response)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void ifRangeOnlyHonorsTheRangeWhileTheEtagMatches() throws IOException {
+        String etag = download(null, null, null).getHeaders().getETag();
+
+        ResponseEntity<StreamingResponseBody> current = download("bytes=4-", etag, null);
+        ResponseEntity<StreamingResponseBody> stale = download("bytes=4-", "\"d42-0-10\"", null);
+
+        assertThat(current.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(body(current)).isEqualTo("456789");
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(stale)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void reuploadChangesTheEtag() {
+        String before = download(null, null, null).getHeaders().getETag();
+        document.setLastModified(document.getLastModified().plusSeconds(1));
+
+        assertThat(download(null, null, null).getHeaders().getETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() {
+        String etag = download(null, null, null).getHeaders().getETag();
+
+        ResponseEntity<StreamingResponseBody> response = download(null, null, etag);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void linkedDocumentsRedirectAndUnknownOnesAre404() {
+        document.setExternalFileId(null);
+        document.setExternalUrl("https://example.com/notes.txt");
+
+        ResponseEntity<StreamingResponseBody> linked = download(null, null, null);
+        ResponseEntity<StreamingResponseBody> missing = controller.downloadDocument(7L, null, null,
+            new ServletWebRequest(new MockHttpServletRequest("GET", "/api/documents/7/download")));
+
+        assertThat(linked.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+        assertThat(linked.getHeaders().getLocation()).hasToString("https://example.com/notes.txt");
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String range, String ifRange, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/documents/42/download");
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        if (ifRange != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return controller.downloadDocument(42L, range, ifRange,
+            new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.ActionItem;
+import com.g37.meetingmanager.repository.mysql.ActionItemRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Subtask counters: every create, completion change, move and delete is applied to the parent's
+ * row as a delta, checked against counters kept the way the UPDATE statement keeps them.
+ */
+class ActionItemServiceTest {
+
+    private final Map<Long, ActionItem> items = new HashMap<>();
+    // Counter columns as the database holds them: parent id to {total, completed}
+    private final Map<Long, int[]> storedCounts = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private ActionItemRepository repository;
+    private ActionItemService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ActionItemRepository.class);
+        when(repository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(items.get(invocation.<Long>getArgument(0))));
+        when(repository.save(any(ActionItem.class))).thenAnswer(invocation -> {
+            ActionItem item = invocation.getArgument(0);
+            if (item.getId() == null) {
+                item.setId(ids.incrementAndGet());
+            }
+            items.put(item.getId(), item);
+            return item;
+        });
+        when(repository.adjustSubTaskCounts(anyLong(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int[] counts = storedCounts.computeIfAbsent(invocation.getArgument(0), id -> new int[2]);
+            counts[0] += invocation.<Integer>getArgument(1);
+            counts[1] += invocation.<Integer>getArgument(2);
+            return 1;
+        });
+
+        service = new ActionItemService();
+        ReflectionTestUtils.setField(service, "actionItemRepository", repository);
+        ReflectionTestUtils.setField(service, "userRepository", mock(UserRepository.class));
+        ReflectionTestUtils.setField(service, "notificationService", mock(NotificationService.class));
+        ReflectionTestUtils.setField(service, "statisticsCache", mock(ActionItemStatisticsCache.class));
+        ReflectionTestUtils.setField(service, "recurrenceService", mock(RecurrenceService.class));
+    }
+
+    @Test
+    void createCompleteReopenAndDeleteAdjustTheParent() {
+        ActionItem parent = service.createActionItem(item("parent", null), null, null);
+        ActionItem first = service.createActionItem(item("first", parent.getId()), null, null);
+        ActionItem second = service.createActionItem(item("second", parent.getId()), null, null);
+        assertCounts(parent, 2, 0);
+
+        service.markAsCompleted(first.getId(), "done");
+        // Completing again changes nothing
+        service.markAsCompleted(first.getId(), null);
+        assertCounts(parent, 2, 1);
+
+        service.markAsInProgress(first.getId());
+        service.markAsCompleted(second.getId(), null);
+        assertCounts(parent, 2, 1);
+
+        service.deleteActionItem(second.getId());
+        assertCounts(parent, 1, 0);
+    }
+
+    @Test
+    void moveTakesTheItemOffTheOldParentAndOntoTheNew() {
+        ActionItem from = service.createActionItem(item("from", null), null, null);
+        ActionItem to = service.createActionItem(item("to", null), null, null);
+        ActionItem child = service.createActionItem(item("child", from.getId()), null, null);
+        service.markAsCompleted(child.getId(), null);
+        assertCounts(from, 1, 1);
+
+        ActionItem details = item("child", to.getId());
+        details.setCompleted(true);
+        service.updateActionItem(child.getId(), details);
+
+        assertCounts(from, 0, 0);
+        assertCounts(to, 1, 1);
+    }
+
+    @Test
+    void updateUnderTheSameParentOnlyAdjustsCompletion() {
+        ActionItem parent = service.createActionItem(item("parent", null), null, null);
+        ActionItem child = service.createActionItem(item("child", parent.getId()), null, null);
+
+        ActionItem details = item("child renamed", parent.getId());
+        details.setCompleted(true);
+        service.updateActionItem(child.getId(), details);
+        assertCounts(parent, 1, 1);
+
+        details.setCompleted(false);
+        service.updateActionItem(child.getId(), details);
+        assertCounts(parent, 1, 0);
+    }
+
+    @Test
+    void addSubTaskCountsTheNewChild() {
+        ActionItem parent = service.createActionItem(item("parent", null), null, null);
+
+        service.addSubTask(parent.getId(), item("sub", null), null);
+        ActionItem done = item("done", null);
+        done.setCompleted(true);
+        service.addSubTask(parent.getId(), done, null);
+
+        assertCounts(parent, 2, 1);
+    }
+
+    @Test
+    void unknownParentIsRejectedWithoutTouchingCounters() {
+        assertThatThrownBy(() -> service.createActionItem(item("orphan", 999L), null, null))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Parent action item not found");
+        verify(repository, never()).adjustSubTaskCounts(anyLong(), anyInt(), anyInt());
+    }
+
+    private static ActionItem item(String title, Long parentId) {
+        ActionItem item = new ActionItem();
+        item.setTitle(title);
+        if (parentId != null) {
+            ActionItem parent = new ActionItem();
+            parent.setId(parentId);
+            item.setParentActionItem(parent);
+        }
+        return item;
+    }
+
+    private void assertCounts(ActionItem parent, int total, int completed) {
+        int[] stored = storedCounts.getOrDefault(parent.getId(), new int[2]);
+        assertThat(stored).as("stored counters of %s", parent.getTitle()).containsExactly(total, completed);
+        // The managed parent is kept in step for the response
+        assertThat(parent.getSubTaskCount()).isEqualTo(total);
+        assertThat(parent.getCompletedSubTaskCount()).isEqualTo(completed);
+    }
+}
@@ -0,0 +1,251 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.CalendarEvent;
+import com.g37.meetingmanager.model.CalendarSyncState;
+import com.g37.meetingmanager.model.User;
+import com.g37.meetingmanager.repository.mysql.CalendarEventRepository;
+import com.g37.meetingmanager.repository.mysql.CalendarSyncStateRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Delta sync against a stub Graph server: the real {@link MicrosoftGraphCalendarService} talks HTTP
+ * to a local {@link HttpServer}, and the repositories are backed by in-memory maps.
+ */
+class CalendarSyncServiceTest {
+
+    private static final long USER_ID = 7L;
+    private static final String TOKEN = "access-token";
+
+    private HttpServer server;
+    private String baseUrl;
+    // Path of a request (without query) to the status and JSON body it answers with
+    private final Map<String, Object[]> responses = new ConcurrentHashMap<>();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+
+    private final Map<String, CalendarEvent> events = new HashMap<>();
+    private CalendarSyncState storedState;
+
+    private CalendarSyncService syncService;
+    private User user;
+
+    private record RecordedRequest(String path, String authorization, List<String> prefer) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1.0";
+
+        MicrosoftGraphCalendarService graph = new MicrosoftGraphCalendarService();
+        ReflectionTestUtils.setField(graph, "graphApiEnabled", true);
+        ReflectionTestUtils.setField(graph, "graphBaseUrl", baseUrl);
+
+        syncService = new CalendarSyncService();
+        ReflectionTestUtils.setField(syncService, "graphCalendarService", graph);
+        ReflectionTestUtils.setField(syncService, "calendarEventRepository", eventRepository());
+        ReflectionTestUtils.setField(syncService, "syncStateRepository", stateRepository());
+        ReflectionTestUtils.setField(syncService, "graphTokenRefreshService", mock(GraphTokenRefreshService.class));
+        ReflectionTestUtils.setField(syncService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(syncService, "syncEnabled", true);
+        ReflectionTestUtils.setField(syncService, "pastDays", 30);
+        ReflectionTestUtils.setField(syncService, "futureDays", 180);
+        ReflectionTestUtils.setField(syncService, "windowSlackDays", 7);
+        ReflectionTestUtils.setField(syncService, "pageSize", 2);
+
+        user = new User();
+        user.setId(USER_ID);
+        user.setGraphAccessToken(TOKEN);
+        user.setGraphTokenExpiresAt(LocalDateTime.now().plusHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fullSyncFollowsNextLinksAndStoresTheDeltaLink() {
+        respond("/v1.0/me/calendarView/delta", 200, page(List.of(event("a", "Planning"), event("b", "Review")),
+            "@odata.nextLink", baseUrl + "/page2?$skiptoken=x"));
+        respond("/v1.0/page2", 200, page(List.of(event("c", "Retro")), "@odata.deltaLink", baseUrl + "/delta1?$deltatoken=1"));
+        events.put("stale", new CalendarEvent(USER_ID, "stale"));
+
+        CalendarSyncService.SyncResult result = syncService.syncUser(user);
+
+        assertThat(result.isFullSync()).isTrue();
+        assertThat(result.getUpserted()).isEqualTo(3);
+        assertThat(result.getRemoved()).isEqualTo(1);
+        assertThat(events.keySet()).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(events.get("a").getSubject()).isEqualTo("Planning");
+        assertThat(events.get("a").getStartTime()).isEqualTo(LocalDateTime.of(2030, 1, 7, 9, 0));
+        assertThat(storedState.getDeltaLink()).isEqualTo(baseUrl + "/delta1?$deltatoken=1");
+        assertThat(storedState.getLastError()).isNull();
+
+        assertThat(requests).extracting(RecordedRequest::path)
+            .containsExactly("/v1.0/me/calendarView/delta", "/v1.0/page2");
+        RecordedRequest first = requests.get(0);
+        assertThat(first.authorization()).isEqualTo("Bearer " + TOKEN);
+        assertThat(first.prefer()).contains("outlook.timezone=\"UTC\"", "odata.maxpagesize=2");
+    }
+
+    @Test
+    void incrementalSyncAppliesChangesAndRemovals() {
+        respond("/v1.0/me/calendarView/delta", 200, page(List.of(event("a", "Planning"), event("b", "Review")),
+            "@odata.deltaLink", baseUrl + "/delta1?$deltatoken=1"));
+        syncService.syncUser(user);
+        requests.clear();
+
+        respond("/v1.0/delta1", 200, page(List.of(event("a", "Planning (moved)"), Map.of("id", "b", "@removed", Map.of("reason", "deleted"))),
+            "@odata.deltaLink", baseUrl + "/delta2?$deltatoken=2"));
+        CalendarSyncService.SyncResult result = syncService.syncUser(user);
+
+        assertThat(result.isFullSync()).isFalse();
+        assertThat(result.getUpserted()).isEqualTo(1);
+        assertThat(result.getRemoved()).isEqualTo(1);
+        assertThat(events.keySet()).containsExactly("a");
+        assertThat(events.get("a").getSubject()).isEqualTo("Planning (moved)");
+        assertThat(storedState.getDeltaLink()).isEqualTo(baseUrl + "/delta2?$deltatoken=2");
+        assertThat(requests).extracting(RecordedRequest::path).containsExactly("/v1.0/delta1");
+    }
+
+    @Test
+    void expiredDeltaTokenFallsBackToFullSync() {
+        respond("/v1.0/me/calendarView/delta", 200, page(List.of(event("a", "Planning")),
+            "@odata.deltaLink", baseUrl + "/delta1?$deltatoken=1"));
+        syncService.syncUser(user);
+
+        respond("/v1.0/delta1", 410, "{\"error\":{\"code\":\"SyncStateNotFound\"}}");
+        respond("/v1.0/me/calendarView/delta", 200, page(List.of(event("b", "Review")),
+            "@odata.deltaLink", baseUrl + "/delta9?$deltatoken=9"));
+        CalendarSyncService.SyncResult result = syncService.syncUser(user);
+
+        assertThat(result.isFullSync()).isTrue();
+        assertThat(events.keySet()).containsExactly("b");
+        assertThat(storedState.getDeltaLink()).isEqualTo(baseUrl + "/delta9?$deltatoken=9");
+    }
+
+    @Test
+    void failedPageKeepsTheStoredDeltaLinkAndRecordsTheError() {
+        respond("/v1.0/me/calendarView/delta", 200, page(List.of(event("a", "Planning")),
+            "@odata.deltaLink", baseUrl + "/delta1?$deltatoken=1"));
+        syncService.syncUser(user);
+
+        respond("/v1.0/delta1", 503, "{\"error\":{\"code\":\"ServiceUnavailable\"}}");
+        try {
+            syncService.syncUser(user);
+        } catch (RuntimeException expected) {
+            // Reported to the caller; the state below is what matters
+        }
+
+        assertThat(storedState.getDeltaLink()).isEqualTo(baseUrl + "/delta1?$deltatoken=1");
+        assertThat(storedState.getLastError()).contains("503");
+        assertThat(events.keySet()).containsExactly("a");
+    }
+
+    private void respond(String path, int status, String body) {
+        responses.put(path, new Object[] {status, body});
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.add(new RecordedRequest(path, exchange.getRequestHeaders().getFirst("Authorization"),
+            exchange.getRequestHeaders().getOrDefault("Prefer", List.of())));
+        Object[] response = responses.getOrDefault(path, new Object[] {404, "{}"});
+        byte[] body = ((String) response[1]).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders((Integer) response[0], body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, Object> event(String id, String subject) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("id", id);
+        event.put("subject", subject);
+        event.put("start", Map.of("dateTime", "2030-01-07T09:00:00.0000000", "timeZone", "UTC"));
+        event.put("end", Map.of("dateTime", "2030-01-07T10:00:00.0000000", "timeZone", "UTC"));
+        event.put("showAs", "busy");
+        return event;
+    }
+
+    private static String page(List<Map<String, Object>> value, String linkName, String link) {
+        StringBuilder json = new StringBuilder("{\"value\":[");
+        for (int i = 0; i < value.size(); i++) {
+            json.append(i > 0 ? "," : "").append(toJson(value.get(i)));
+        }
+        return json.append("],\"").append(linkName).append("\":\"").append(link).append("\"}").toString();
+    }
+
+    private static String toJson(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            StringBuilder json = new StringBuilder("{");
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                json.append(json.length() > 1 ? "," : "")
+                    .append('"').append(entry.getKey()).append("\":").append(toJson(entry.getValue()));
+            }
+            return json.append('}').toString();
+        }
+        return "\"" + value + "\"";
+    }
+
+    private CalendarEventRepository eventRepository() {
+        CalendarEventRepository repository = mock(CalendarEventRepository.class);
+        when(repository.findByUserIdAndGraphEventIdIn(anyLong(), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(1);
+            return ids.stream().filter(events::containsKey).map(events::get).toList();
+        });
+        when(repository.findGraphEventIdsByUserId(anyLong())).thenAnswer(invocation -> new ArrayList<>(events.keySet()));
+        when(repository.deleteByUserIdAndGraphEventIds(anyLong(), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(1);
+            int removed = 0;
+            for (String id : ids) {
+                removed += events.remove(id) != null ? 1 : 0;
+            }
+            return removed;
+        });
+        doAnswer(invocation -> {
+            Iterable<CalendarEvent> saved = invocation.getArgument(0);
+            saved.forEach(event -> events.put(event.getGraphEventId(), event));
+            return saved;
+        }).when(repository).saveAll(any());
+        return repository;
+    }
+
+    private CalendarSyncStateRepository stateRepository() {
+        CalendarSyncStateRepository repository = mock(CalendarSyncStateRepository.class);
+        when(repository.findByUserId(USER_ID)).thenAnswer(invocation -> Optional.ofNullable(storedState));
+        when(repository.save(any())).thenAnswer(invocation -> storedState = invocation.getArgument(0));
+        return repository;
+    }
+}
@@ -0,0 +1,88 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.repository.mysql.CalendarEventRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingParticipantRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The free-run solver on its own, and Outlook events (UTC) laid onto the bitmap in the meeting zone.
+ */
+class FindTimeServiceTest {
+
+    @Test
+    void freeRunsMarkStartsOfRunsAtLeastTheLength() {
+        BitSet free = bits(10, 0, 1, 2, 3, 5, 6, 7, 8, 9);
+
+        assertThat(FindTimeService.freeRuns(free, 1, 10)).isEqualTo(free);
+        assertThat(FindTimeService.freeRuns(free, 3, 10)).isEqualTo(bits(10, 0, 1, 5, 6, 7));
+        assertThat(FindTimeService.freeRuns(free, 4, 10)).isEqualTo(bits(10, 0, 5, 6));
+        assertThat(FindTimeService.freeRuns(free, 5, 10)).isEqualTo(bits(10, 5));
+        assertThat(FindTimeService.freeRuns(free, 6, 10).isEmpty()).isTrue();
+    }
+
+    @Test
+    void freeRunsDoNotRunPastTheWindow() {
+        BitSet free = bits(8, 0, 1, 2, 3, 4, 5, 6, 7);
+
+        // Lengths that are not powers of two take an uneven final shift
+        assertThat(FindTimeService.freeRuns(free, 3, 8)).isEqualTo(bits(8, 0, 1, 2, 3, 4, 5));
+        assertThat(FindTimeService.freeRuns(free, 7, 8)).isEqualTo(bits(8, 0, 1));
+        assertThat(FindTimeService.freeRuns(free, 8, 8)).isEqualTo(bits(8, 0));
+    }
+
+    @Test
+    void outlookEventsAreShiftedFromUtcToTheMeetingZone() {
+        // January in New York is UTC-5: 15:00-16:00 UTC is 10:00-11:00 local
+        LocalDateTime from = LocalDateTime.of(2027, 1, 12, 9, 0);
+        LocalDateTime to = from.plusHours(3);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findIdAndEmailRows(anyCollection(), anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {1L, "ana@example.com"}));
+        CalendarEventRepository calendarEventRepository = mock(CalendarEventRepository.class);
+        when(calendarEventRepository.findBusyRows(anyCollection(), eq(from.plusHours(5)), eq(to.plusHours(5)), any()))
+            .thenReturn(List.<Object[]>of(new Object[] {1L, from.plusHours(6), from.plusHours(7)}));
+
+        FindTimeService service = new FindTimeService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "participantRepository", mock(MeetingParticipantRepository.class));
+        ReflectionTestUtils.setField(service, "meetingRepository", mock(MeetingRepository.class));
+        ReflectionTestUtils.setField(service, "calendarEventRepository", calendarEventRepository);
+        ReflectionTestUtils.setField(service, "recurrenceService", mock(RecurrenceService.class));
+        ReflectionTestUtils.setField(service, "meetingZone", ZoneId.of("America/New_York"));
+        ReflectionTestUtils.setField(service, "maxWindowDays", 31);
+        ReflectionTestUtils.setField(service, "maxParticipants", 200);
+        ReflectionTestUtils.setField(service, "stepMinutes", 60);
+
+        List<FindTimeService.CandidateSlot> slots =
+            service.findTimes(List.of(1L), List.of(), Duration.ofHours(1), from, to, false, 3);
+
+        assertThat(slots).extracting(FindTimeService.CandidateSlot::getStart)
+            .containsExactly(from, from.plusHours(2));
+        assertThat(slots).allMatch(FindTimeService.CandidateSlot::isEveryoneAvailable);
+    }
+
+    private static BitSet bits(int size, int... set) {
+        BitSet bits = new BitSet(size);
+        for (int bit : set) {
+            bits.set(bit);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,114 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.repository.mysql.PermissionRepository;
+import com.g37.meetingmanager.repository.mysql.RoleRepository;
+import com.g37.meetingmanager.util.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Access token checks per request: {@link JwtService#authenticate} on a cached token, a plain
+ * signature verification as done before the claims cache, and authenticate on a stream of distinct
+ * tokens four times the cache size, so every call misses and evicts.
+ *
+ * Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtServiceBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey1234567890123456789012345678901234567890";
+    private static final int CACHE_ENTRIES = 10_000;
+    private static final int DISTINCT_TOKENS = 4 * CACHE_ENTRIES;
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String hotToken;
+    private String[] coldTokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PermissionCatalog catalog = new PermissionCatalog();
+        ReflectionTestUtils.setField(catalog, "permissionRepository", mock(PermissionRepository.class));
+        ReflectionTestUtils.setField(catalog, "roleRepository", mock(RoleRepository.class));
+        TokenRevocationService revocations = new TokenRevocationService(
+            mock(TokenRevocationBackend.class), 86_400_000L, 600_000L, 100_000, 60_000L);
+        jwtService = new JwtService(SECRET, 86_400_000L, 300_000L, CACHE_ENTRIES, revocations, catalog);
+
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        hotToken = token(key, 1);
+        coldTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < coldTokens.length; i++) {
+            coldTokens[i] = token(key, i);
+        }
+        // Fill the cache so the miss benchmark runs against a full cache from the start
+        for (int i = 0; i < CACHE_ENTRIES; i++) {
+            jwtService.authenticate(coldTokens[i]);
+        }
+    }
+
+    @Benchmark
+    public AuthenticatedUser authenticateCached() {
+        return jwtService.authenticate(hotToken);
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return parser.parseSignedClaims(hotToken).getPayload();
+    }
+
+    @Benchmark
+    public AuthenticatedUser authenticateMissAtCapacity() {
+        String token = coldTokens[next];
+        next = next + 1 == coldTokens.length ? 0 : next + 1;
+        return jwtService.authenticate(token);
+    }
+
+    private static String token(SecretKey key, long userId) {
+        Date now = new Date();
+        return Jwts.builder()
+            .claim("userId", userId)
+            .claim("organizationId", 1L)
+            .claim("roles", List.of("USER"))
+            .claim("pm", "")
+            .id(UUID.randomUUID().toString())
+            .subject("user" + userId + "@example.com")
+            .issuedAt(now)
+            .expiration(new Date(now.getTime() + 86_400_000L))
+            .signWith(key)
+            .compact();
+    }
+}
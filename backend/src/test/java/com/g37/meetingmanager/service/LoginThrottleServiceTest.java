@@ -0,0 +1,98 @@
+package com.g37.meetingmanager.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleServiceTest {
+
+    private static final String EMAIL = "ana@example.com";
+
+    private LoginThrottleService throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottleService();
+        ReflectionTestUtils.setField(throttle, "maxAccountFailures", 5);
+        ReflectionTestUtils.setField(throttle, "accountWindowMs", 60_000L);
+        ReflectionTestUtils.setField(throttle, "maxIpAttempts", 3);
+        ReflectionTestUtils.setField(throttle, "ipWindowMs", 60_000L);
+        ReflectionTestUtils.setField(throttle, "maxTrackedKeys", 1000);
+    }
+
+    @Test
+    void parallelAttemptsCannotOvershootTheAccountLimit() throws Exception {
+        int callers = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String ip = "10.0.0." + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        // Admitted attempts all fail: nothing is recorded after the hash
+                        throttle.checkAttempt(EMAIL, ip);
+                        admitted.incrementAndGet();
+                    } catch (LoginThrottleService.LoginThrottledException ignored) {
+                        // refused
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(admitted).hasValue(5);
+    }
+
+    @Test
+    void successClearsTheAccountAndReleaseGivesAnAttemptBack() {
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAttempt(EMAIL, "10.0.0." + i);
+        }
+        assertThatThrownBy(() -> throttle.checkAttempt(EMAIL, "10.0.1.1"))
+            .isInstanceOf(LoginThrottleService.LoginThrottledException.class)
+            .hasMessageContaining("account");
+
+        throttle.recordSuccess(EMAIL);
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAttempt(EMAIL.toUpperCase(), "10.0.2." + i);
+        }
+        throttle.releaseAttempt(EMAIL);
+        assertThatCode(() -> throttle.checkAttempt(EMAIL, "10.0.3.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void clientIpIsLimitedAcrossAccounts() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAttempt("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAttempt("other@example.com", "10.0.0.1"))
+            .isInstanceOf(LoginThrottleService.LoginThrottledException.class)
+            .hasMessageContaining("address")
+            .satisfies(e -> assertThat(((LoginThrottleService.LoginThrottledException) e).getRetryAfterSeconds()).isPositive());
+        assertThatCode(() -> throttle.checkAttempt("other@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,96 @@
+package com.g37.meetingmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A one-thread pool with a one-task queue, whose worker is held on a latch inside the encoder.
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(any(), anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            // Like BCrypt, ignores the interrupt from a caller's cancel and runs to the end
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        when(encoder.encode(any())).thenReturn("hash");
+
+        service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "timeoutMs", 200L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void timedOutTaskIsTakenOutOfTheQueue() throws InterruptedException {
+        CompletableFuture.runAsync(() -> service.matches("secret", "stored"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.encode("queued"))
+            .isInstanceOf(PasswordHashingService.HashingCapacityException.class)
+            .hasMessageContaining("timed out");
+        assertThat(executor().getQueue()).isEmpty();
+
+        // The worker is free for new work once the running hash ends
+        release.countDown();
+        assertThat(service.encode("next")).isEqualTo("hash");
+    }
+
+    @Test
+    void workBeyondTheQueueIsRefusedAtOnce() throws InterruptedException {
+        CompletableFuture.runAsync(() -> service.matches("secret", "stored"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        executor().getQueue().offer(() -> { });
+
+        assertThatThrownBy(() -> service.encode("refused"))
+            .isInstanceOf(PasswordHashingService.HashingCapacityException.class)
+            .hasMessageContaining("full");
+    }
+
+    private ThreadPoolExecutor executor() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+    }
+}
@@ -0,0 +1,138 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.repository.mysql.PermissionRepository;
+import com.g37.meetingmanager.repository.mysql.RoleRepository;
+import com.g37.meetingmanager.util.PermissionMask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bit assignment and role compilation against repositories backed by in-memory maps.
+ */
+class PermissionCatalogTest {
+
+    private record Row(String name, Integer bit) {
+    }
+
+    // Permission id to name and mask bit
+    private final Map<Long, Row> permissions = new TreeMap<>();
+    private final List<Object[]> grants = new ArrayList<>();
+
+    private PermissionCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(permissionRepository.findIdNameAndBitRows()).thenAnswer(invocation -> permissions.entrySet().stream()
+            .map(entry -> new Object[] {entry.getKey(), entry.getValue().name(), entry.getValue().bit()})
+            .toList());
+        when(permissionRepository.findMaxMaskBit()).thenAnswer(invocation -> permissions.values().stream()
+            .map(Row::bit)
+            .filter(bit -> bit != null)
+            .max(Integer::compare)
+            .orElse(null));
+        when(permissionRepository.assignMaskBit(anyLong(), anyInt())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            Row row = permissions.get(id);
+            if (row.bit() != null) {
+                return 0;
+            }
+            permissions.put(id, new Row(row.name(), invocation.getArgument(1)));
+            return 1;
+        });
+
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findRolePermissionRows()).thenAnswer(invocation -> grants.stream()
+            .map(grant -> new Object[] {grant[0], permissions.get((Long) grant[1]).bit()})
+            .filter(row -> row[1] != null)
+            .toList());
+
+        catalog = new PermissionCatalog();
+        ReflectionTestUtils.setField(catalog, "permissionRepository", permissionRepository);
+        ReflectionTestUtils.setField(catalog, "roleRepository", roleRepository);
+        ReflectionTestUtils.setField(catalog, "transactionManager", mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void assignsDenseBitsInIdOrderWhateverTheIdGaps() {
+        permissions.put(40L, new Row("WRITE", null));
+        permissions.put(3L, new Row("READ", null));
+        permissions.put(900L, new Row("ADMIN", null));
+
+        assertThat(catalog.bitOf("READ")).isZero();
+        assertThat(catalog.bitOf("WRITE")).isEqualTo(1);
+        assertThat(catalog.bitOf("ADMIN")).isEqualTo(2);
+        assertThat(catalog.bitOf("MISSING")).isEqualTo(-1);
+        assertThat(permissions.get(900L).bit()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsStoredBitsAndAppendsNewPermissions() {
+        permissions.put(1L, new Row("READ", 1));
+        permissions.put(2L, new Row("WRITE", 2));
+        assertThat(catalog.bitOf("WRITE")).isEqualTo(2);
+
+        permissions.put(70L, new Row("EXPORT", null));
+        catalog.invalidate();
+
+        assertThat(catalog.bitOf("READ")).isEqualTo(1);
+        assertThat(catalog.bitOf("EXPORT")).isEqualTo(3);
+    }
+
+    @Test
+    void bitsPastTheFirstWordRoundTripThroughATokenMask() {
+        for (long id = 1; id <= 70; id++) {
+            permissions.put(id * 10, new Row("P" + id, null));
+        }
+
+        assertThat(catalog.bitOf("P70")).isEqualTo(69);
+        PermissionMask mask = PermissionMask.decode(catalog.maskOf(List.of("P1", "P65", "P70")).encode());
+        assertThat(catalog.namesOf(mask)).containsExactlyInAnyOrder("P1", "P65", "P70");
+    }
+
+    @Test
+    void compilesRolesAndMapsMasksBackToNames() {
+        permissions.put(5L, new Row("READ", null));
+        permissions.put(9L, new Row("WRITE", null));
+        permissions.put(12L, new Row("DELETE", null));
+        grants.add(new Object[] {"USER", 5L});
+        grants.add(new Object[] {"USER", 9L});
+        grants.add(new Object[] {"ADMIN", 12L});
+
+        PermissionMask user = catalog.maskForRoles(List.of("USER"));
+        PermissionMask both = catalog.maskForRoles(List.of("USER", "ADMIN", "UNKNOWN"));
+
+        assertThat(user).isEqualTo(PermissionMask.of(0, 1));
+        assertThat(both).isEqualTo(catalog.maskOf(List.of("READ", "WRITE", "DELETE", "UNKNOWN")));
+        assertThat(catalog.namesOf(both)).isEqualTo(Set.of("READ", "WRITE", "DELETE"));
+        assertThat(catalog.namesOf(PermissionMask.of(0, 40))).containsExactly("READ");
+    }
+
+    @Test
+    void invalidateDropsTheCompiledCatalog() {
+        permissions.put(1L, new Row("READ", 0));
+        grants.add(new Object[] {"USER", 1L});
+        assertThat(catalog.maskForRoles(List.of("USER"))).isEqualTo(PermissionMask.of(0));
+
+        permissions.put(2L, new Row("WRITE", 1));
+        grants.add(new Object[] {"USER", 2L});
+        assertThat(catalog.maskForRoles(List.of("USER"))).isEqualTo(PermissionMask.of(0));
+
+        catalog.invalidate();
+        assertThat(catalog.maskForRoles(List.of("USER"))).isEqualTo(PermissionMask.of(0, 1));
+    }
+}
@@ -0,0 +1,208 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.MeetingRoom;
+import com.g37.meetingmanager.model.RoomBookingSlot;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRoomRepository;
+import com.g37.meetingmanager.repository.mysql.RoomBookingSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exact-time conflict checks and availability searches, against a slot table kept in a list. The
+ * searches are checked both from the slot table (before the index is built) and from the index.
+ */
+class RoomBookingServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(2);
+
+    private final List<RoomBookingSlot> slots = new ArrayList<>();
+    private final MeetingRoom room = room(1L);
+    private final MeetingRoom otherRoom = room(2L);
+
+    private RoomBookingService service;
+
+    @BeforeEach
+    void setUp() {
+        MeetingRoomRepository roomRepository = mock(MeetingRoomRepository.class);
+        when(roomRepository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> findRoom(invocation.getArgument(0)));
+        when(roomRepository.findById(anyLong())).thenAnswer(invocation -> findRoom(invocation.getArgument(0)));
+        when(roomRepository.findCandidates(any(), anyInt(), anyBoolean())).thenReturn(List.of(room, otherRoom));
+
+        RoomBookingSlotRepository slotRepository = mock(RoomBookingSlotRepository.class);
+        when(slotRepository.lockRoomSlots(anyLong(), any(), any())).thenAnswer(invocation -> slots.stream()
+            .filter(inRange(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)))
+            .toList());
+        when(slotRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            slots.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(slotRepository.deleteByMeetingId(anyLong())).thenAnswer(invocation -> {
+            Long meetingId = invocation.getArgument(0);
+            int before = slots.size();
+            slots.removeIf(slot -> slot.getMeetingId().equals(meetingId));
+            return before - slots.size();
+        });
+        when(slotRepository.findBookingsFrom(any())).thenAnswer(invocation ->
+            bookings(slot -> !slot.getSlotStart().isBefore(invocation.getArgument(0))));
+        when(slotRepository.findBookingsBetween(any(), any())).thenAnswer(invocation ->
+            bookings(inRange(null, invocation.getArgument(0), invocation.getArgument(1))));
+        when(slotRepository.findRoomBookingsBetween(anyLong(), any(), any())).thenAnswer(invocation ->
+            bookings(inRange(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))));
+
+        MeetingRepository meetingRepository = mock(MeetingRepository.class);
+        when(meetingRepository.findRoomMeetingsWithoutSlots(any(), any())).thenReturn(List.of());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        service = new RoomBookingService();
+        ReflectionTestUtils.setField(service, "meetingRoomRepository", roomRepository);
+        ReflectionTestUtils.setField(service, "roomBookingSlotRepository", slotRepository);
+        ReflectionTestUtils.setField(service, "meetingRepository", meetingRepository);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "maxBookingHours", 24L);
+        ReflectionTestUtils.setField(service, "searchHorizonDays", 30L);
+        ReflectionTestUtils.setField(service, "retentionDays", 7L);
+    }
+
+    @Test
+    void backToBackMeetingsOffTheSlotGridBothBook() {
+        assertThat(service.book(meeting(1L, "10:05", "10:50"), 1L)).isTrue();
+        assertThat(service.book(meeting(2L, "10:50", "11:30"), 1L)).isTrue();
+        assertThat(service.book(meeting(3L, "09:40", "10:05"), 1L)).isTrue();
+    }
+
+    @Test
+    void overlapInsideASharedSlotIsRejected() {
+        assertThat(service.book(meeting(1L, "10:05", "10:50"), 1L)).isTrue();
+
+        assertThat(service.book(meeting(2L, "10:45", "11:30"), 1L)).isFalse();
+        assertThat(service.book(meeting(3L, "10:00", "10:10"), 1L)).isFalse();
+        assertThat(service.book(meeting(4L, "10:45", "11:30"), 2L)).isTrue();
+    }
+
+    @Test
+    void rebookingAMeetingDoesNotClashWithItself() {
+        assertThat(service.book(meeting(1L, "10:00", "11:00"), 1L)).isTrue();
+
+        assertThat(service.book(meeting(1L, "10:30", "11:30"), 1L)).isTrue();
+        assertThat(service.book(meeting(2L, "10:00", "10:30"), 1L)).isTrue();
+    }
+
+    @Test
+    void cancelledMeetingFreesItsRoom() {
+        Meeting meeting = meeting(1L, "10:00", "11:00");
+        service.book(meeting, 1L);
+
+        meeting.setStatus(Meeting.MeetingStatus.CANCELLED);
+        service.book(meeting, 1L);
+
+        assertThat(service.book(meeting(2L, "10:00", "11:00"), 1L)).isTrue();
+    }
+
+    @Test
+    void freeRoomsUseExactTimesFromTheSlotTableAndTheIndex() {
+        service.book(meeting(1L, "10:05", "10:50"), 1L);
+
+        assertFreeRooms("10:50", "11:30", 1L, 2L);
+        assertFreeRooms("10:45", "11:00", 2L);
+
+        service.rebuildIndex();
+        assertFreeRooms("10:50", "11:30", 1L, 2L);
+        assertFreeRooms("10:45", "11:00", 2L);
+    }
+
+    @Test
+    void nextFreeSlotAgreesBetweenTheSlotTableAndTheIndex() {
+        service.book(meeting(1L, "10:05", "10:50"), 1L);
+        service.book(meeting(2L, "10:50", "11:30"), 1L);
+        service.book(meeting(3L, "11:40", "12:00"), 1L);
+
+        assertNextFree("10:00", 30, "12:00");
+        assertNextFree("10:00", 10, "11:30");
+        assertNextFree("10:00", 5, "10:00");
+
+        service.rebuildIndex();
+        assertNextFree("10:00", 30, "12:00");
+        assertNextFree("10:00", 10, "11:30");
+        assertNextFree("10:00", 5, "10:00");
+    }
+
+    private void assertFreeRooms(String start, String end, Long... roomIds) {
+        assertThat(service.findFreeRooms(null, at(start), at(end), 1, false))
+            .as("free rooms %s-%s", start, end)
+            .extracting(MeetingRoom::getId)
+            .containsExactly(roomIds);
+    }
+
+    private void assertNextFree(String from, int minutes, String expected) {
+        RoomBookingService.FreeSlot slot = service.findNextFreeSlot(1L, at(from), Duration.ofMinutes(minutes));
+        assertThat(slot.getStart()).as("next %d minutes from %s", minutes, from).isEqualTo(at(expected));
+        assertThat(slot.getEnd()).isEqualTo(at(expected).plusMinutes(minutes));
+    }
+
+    private Optional<MeetingRoom> findRoom(Long id) {
+        return id.equals(room.getId()) ? Optional.of(room) : id.equals(otherRoom.getId()) ? Optional.of(otherRoom) : Optional.empty();
+    }
+
+    private static Predicate<RoomBookingSlot> inRange(Long roomId, LocalDateTime from, LocalDateTime to) {
+        return slot -> (roomId == null || slot.getRoomId().equals(roomId))
+            && !slot.getSlotStart().isBefore(from) && slot.getSlotStart().isBefore(to);
+    }
+
+    // Grouped the way the repository's GROUP BY queries return them
+    private List<Object[]> bookings(Predicate<RoomBookingSlot> filter) {
+        Map<Long, Object[]> byMeeting = new LinkedHashMap<>();
+        for (RoomBookingSlot slot : slots) {
+            if (filter.test(slot)) {
+                byMeeting.putIfAbsent(slot.getMeetingId(),
+                    new Object[] {slot.getRoomId(), slot.getMeetingId(), slot.getBookingStart(), slot.getBookingEnd()});
+            }
+        }
+        return new ArrayList<>(byMeeting.values());
+    }
+
+    private static LocalDateTime at(String time) {
+        return DAY.atTime(Integer.parseInt(time.substring(0, 2)), Integer.parseInt(time.substring(3)));
+    }
+
+    private static Meeting meeting(Long id, String start, String end) {
+        Meeting meeting = new Meeting();
+        meeting.setId(id);
+        meeting.setStartTime(at(start));
+        meeting.setEndTime(at(end));
+        return meeting;
+    }
+
+    private static MeetingRoom room(Long id) {
+        MeetingRoom room = new MeetingRoom();
+        room.setId(id);
+        room.setName("Room " + id);
+        room.setCapacity(8);
+        room.setIsActive(true);
+        return room;
+    }
+}
@@ -0,0 +1,154 @@
+package com.g37.meetingmanager.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flushing against a mocked JdbcTemplate: what each flush writes, and that a failed flush is
+ * rolled back and re-sent once rather than counted twice.
+ */
+class SearchAnalyticsBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SearchAnalyticsBuffer buffer;
+    // Argument rows of every batchUpdate, in call order: statement, rows
+    private final List<Object[]> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        buffer = new SearchAnalyticsBuffer();
+        ReflectionTestUtils.setField(buffer, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(buffer, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(buffer, "maxPendingTerms", 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void database(String product) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+    }
+
+    @Test
+    void flushWritesOneIncrementPerTermAndThenNothing() {
+        database("MySQL");
+        recordBatches(new int[0]);
+        buffer.record("Budget ", 1L, 3);
+        buffer.record("budget", 2L, 4);
+        buffer.record("roadmap", 1L, 0);
+
+        buffer.flush();
+        buffer.flush();
+
+        assertThat(batches).hasSize(1);
+        assertThat(searchesByTerm(batches.get(0), 0, 1)).containsExactlyInAnyOrder("budget=2", "roadmap=1");
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void failedUpsertIsRolledBackAndResentOnce() {
+        database("MySQL");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection lost"))
+            .thenAnswer(invocation -> {
+                batches.add(new Object[] {invocation.getArgument(0), invocation.getArgument(1)});
+                return new int[0];
+            });
+        buffer.record("budget", 1L, 3);
+        buffer.record("budget", 1L, 3);
+
+        buffer.flush();
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+
+        buffer.record("budget", 1L, 3);
+        buffer.flush();
+
+        assertThat(batches).hasSize(1);
+        assertThat(searchesByTerm(batches.get(0), 0, 1)).containsExactly("budget=3");
+    }
+
+    @Test
+    void insertFailingAfterTheIncrementsRollsBackTheWholeBatch() {
+        database("H2");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> rows = invocation.getArgument(1);
+            batches.add(new Object[] {sql, rows});
+            if (sql.startsWith("INSERT") && batches.size() == 2) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            // "existing" is already in the table, "new" is not
+            int[] updated = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                updated[i] = "existing".equals(rows.get(i)[5]) ? 1 : 0;
+            }
+            return updated;
+        });
+        buffer.record("existing", 1L, 1);
+        buffer.record("new", 1L, 1);
+
+        buffer.flush();
+        verify(transactionManager).rollback(any());
+
+        buffer.flush();
+
+        verify(transactionManager).commit(any());
+        // The retry increments "existing" by its full count again, which is right only because the
+        // first increment was rolled back with the failed insert
+        assertThat(batches).hasSize(4);
+        assertThat(searchesByTerm(batches.get(2), 5, 0)).containsExactlyInAnyOrder("existing=1", "new=1");
+        assertThat(searchesByTerm(batches.get(3), 0, 1)).containsExactly("new=1");
+    }
+
+    @Test
+    void idleTermsAreEvictedAfterAFlush() {
+        database("MySQL");
+        recordBatches(new int[0]);
+        buffer.record("budget", 1L, 3);
+
+        buffer.flush();
+        buffer.flush();
+        buffer.record("budget", 1L, 3);
+        buffer.flush();
+
+        assertThat(batches).hasSize(2);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private void recordBatches(int[] result) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            batches.add(new Object[] {invocation.getArgument(0), invocation.getArgument(1)});
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> searchesByTerm(Object[] batch, int termIndex, int countIndex) {
+        return ((List<Object[]>) batch[1]).stream()
+            .map(row -> row[termIndex] + "=" + row[countIndex])
+            .toList();
+    }
+}
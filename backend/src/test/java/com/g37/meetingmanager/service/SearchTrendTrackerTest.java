@@ -0,0 +1,108 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.entity.mysql.SearchTrendCheckpoint;
+import com.g37.meetingmanager.repository.mysql.SearchTrendCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkpoints are scoped to the replica that wrote them, against a repository kept in a list.
+ */
+class SearchTrendTrackerTest {
+
+    private final List<SearchTrendCheckpoint> stored = new ArrayList<>();
+    private SearchTrendCheckpointRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SearchTrendCheckpointRepository.class);
+        when(repository.findByWindowNameAndReplicaId(anyString(), anyString())).thenAnswer(invocation -> stored.stream()
+            .filter(row -> row.getWindowName().equals(invocation.getArgument(0))
+                && row.getReplicaId().equals(invocation.getArgument(1)))
+            .toList());
+        when(repository.deleteByWindowNameAndReplicaId(anyString(), anyString())).thenAnswer(invocation -> {
+            stored.removeIf(row -> row.getWindowName().equals(invocation.getArgument(0))
+                && row.getReplicaId().equals(invocation.getArgument(1)));
+            return 0;
+        });
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            invocation.<Iterable<SearchTrendCheckpoint>>getArgument(0).forEach(stored::add);
+            return List.of();
+        });
+    }
+
+    @Test
+    void replicasCheckpointWithoutOverwritingEachOther() {
+        SearchTrendTracker first = tracker("replica-a");
+        SearchTrendTracker second = tracker("replica-b");
+        first.record("budget");
+        second.record("roadmap");
+
+        first.checkpoint();
+        second.checkpoint();
+        first.checkpoint();
+
+        assertThat(termsOf("replica-a")).containsOnly("budget");
+        assertThat(termsOf("replica-b")).containsOnly("roadmap");
+        verify(repository, never()).deleteAll();
+    }
+
+    @Test
+    void restoreReadsOnlyTheReplicasOwnCheckpoint() {
+        SearchTrendTracker writer = tracker("replica-a");
+        writer.record("budget");
+        writer.checkpoint();
+        tracker("replica-b").record("roadmap");
+        tracker("replica-b").checkpoint();
+
+        SearchTrendTracker restarted = tracker("replica-a");
+        restarted.restore();
+
+        assertThat(restarted.top(SearchTrendTracker.Window.DAY, 10)).containsOnlyKeys("budget");
+    }
+
+    @Test
+    void staleCheckpointsArePrunedAfterTheRetention() {
+        tracker("replica-a").checkpoint();
+
+        verify(repository).deleteCheckpointedBefore(any(LocalDateTime.class));
+    }
+
+    private SearchTrendTracker tracker(String replicaId) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        SearchTrendTracker tracker = new SearchTrendTracker();
+        ReflectionTestUtils.setField(tracker, "checkpointRepository", repository);
+        ReflectionTestUtils.setField(tracker, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(tracker, "capacity", 16);
+        ReflectionTestUtils.setField(tracker, "sketchWidth", 64);
+        ReflectionTestUtils.setField(tracker, "maxPendingTerms", 100);
+        ReflectionTestUtils.setField(tracker, "replicaId", replicaId);
+        ReflectionTestUtils.setField(tracker, "checkpointRetentionDays", 30);
+        return tracker;
+    }
+
+    private List<String> termsOf(String replicaId) {
+        return stored.stream()
+            .filter(row -> row.getReplicaId().equals(replicaId))
+            .map(SearchTrendCheckpoint::getSearchTerm)
+            .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.TypeaheadSuggestionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-5 meeting title suggestions for a prefix: {@link TypeaheadIndex} against the
+ * LOWER(title) LIKE '%q%' ORDER BY start_time query it replaced, on an in-memory H2 table.
+ *
+ * Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TypeaheadIndexBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeaheadIndexBenchmark {
+
+    private static final String[] WORDS = {
+        "quarterly", "budget", "review", "planning", "sprint", "retro", "standup", "design", "sync",
+        "hiring", "roadmap", "launch", "customer", "onboarding", "security", "incident", "postmortem",
+        "marketing", "sales", "pipeline", "architecture", "weekly", "monthly", "board", "offsite",
+        "demo", "kickoff", "training", "compliance", "migration", "release", "vendor", "partner"
+    };
+    private static final int LIMIT = 5;
+
+    @Param({"20000", "100000"})
+    public int titles;
+
+    private TypeaheadIndex index;
+    private Connection connection;
+    private PreparedStatement like;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        List<TypeaheadSuggestionDTO> suggestions = new ArrayList<>(titles);
+        connection = DriverManager.getConnection("jdbc:h2:mem:typeahead" + titles + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE meetings (id BIGINT PRIMARY KEY, title VARCHAR(255), start_time TIMESTAMP)");
+            ddl.execute("CREATE INDEX idx_meetings_start ON meetings (start_time)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO meetings VALUES (?, ?, ?)")) {
+            for (int i = 0; i < titles; i++) {
+                StringBuilder title = new StringBuilder();
+                int words = 2 + random.nextInt(4);
+                for (int w = 0; w < words; w++) {
+                    if (w > 0) {
+                        title.append(' ');
+                    }
+                    String word = WORDS[random.nextInt(WORDS.length)];
+                    title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                }
+                long startSeconds = 1_700_000_000L + random.nextInt(100_000_000);
+                suggestions.add(new TypeaheadSuggestionDTO("MEETING", Integer.toString(i), title.toString(), null, startSeconds));
+                insert.setLong(1, i);
+                insert.setString(2, title.toString());
+                insert.setTimestamp(3, new Timestamp(startSeconds * 1000));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        index = TypeaheadIndex.build(suggestions, titles);
+        like = connection.prepareStatement(
+            "SELECT id, title FROM meetings WHERE LOWER(title) LIKE ? ORDER BY start_time DESC LIMIT " + LIMIT);
+
+        prefixes = new String[256];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(12, word.length())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        like.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<TypeaheadSuggestionDTO> index() {
+        return index.top(nextPrefix(), LIMIT, suggestion -> false);
+    }
+
+    @Benchmark
+    public int likeQuery() throws SQLException {
+        like.setString(1, "%" + nextPrefix() + "%");
+        int rows = 0;
+        try (ResultSet results = like.executeQuery()) {
+            while (results.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private String nextPrefix() {
+        return prefixes[next++ & (prefixes.length - 1)];
+    }
+}
@@ -0,0 +1,125 @@
+package com.g37.meetingmanager.service;
+
+import com.g37.meetingmanager.dto.TypeaheadSuggestionDTO;
+import com.g37.meetingmanager.model.Meeting;
+import com.g37.meetingmanager.model.Organization;
+import com.g37.meetingmanager.repository.mysql.HelpArticleRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingParticipantRepository;
+import com.g37.meetingmanager.repository.mysql.MeetingRepository;
+import com.g37.meetingmanager.repository.mysql.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overlay handling across rebuilds: writes the rebuild already read are dropped with it, writes
+ * that arrive while it runs are kept.
+ */
+class TypeaheadServiceTest {
+
+    private static final Long ORG = 7L;
+
+    // [id, organizationId, title, startTime] rows the next rebuild reads
+    private final List<Object[]> meetingRows = new ArrayList<>();
+    // Run while the rebuild reads meetings, to simulate a write committing mid-rebuild
+    private Runnable duringRead = () -> { };
+
+    private TypeaheadService service;
+
+    @BeforeEach
+    void setUp() {
+        MeetingRepository meetingRepository = mock(MeetingRepository.class);
+        when(meetingRepository.findTypeaheadRows(any(Pageable.class))).thenAnswer(invocation -> {
+            duringRead.run();
+            return invocation.<Pageable>getArgument(0).getPageNumber() == 0 ? new ArrayList<>(meetingRows) : List.of();
+        });
+        MeetingParticipantRepository participantRepository = mock(MeetingParticipantRepository.class);
+        when(participantRepository.findTypeaheadRows()).thenReturn(List.of());
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTypeaheadRows()).thenReturn(List.of());
+        HelpArticleRepository helpArticleRepository = mock(HelpArticleRepository.class);
+        when(helpArticleRepository.findTypeaheadRows()).thenReturn(List.of());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        service = new TypeaheadService();
+        ReflectionTestUtils.setField(service, "meetingRepository", meetingRepository);
+        ReflectionTestUtils.setField(service, "meetingParticipantRepository", participantRepository);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "helpArticleRepository", helpArticleRepository);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "maxSuggestionsPerTenant", 100);
+        ReflectionTestUtils.setField(service, "rebuildThreads", 1);
+        service.init();
+    }
+
+    @Test
+    void rebuildDropsOverlayWritesItAlreadySaw() {
+        service.onMeetingSaved(meeting(1L, "Budget review"));
+        service.onMeetingSaved(meeting(2L, "Budget planning"));
+        assertThat(titles("bud")).containsExactlyInAnyOrder("Budget review", "Budget planning");
+
+        // Meeting 2 was deleted without the hook firing; the database is the truth
+        meetingRows.add(new Object[] {1L, ORG, "Budget review", LocalDateTime.of(2024, 5, 1, 9, 0)});
+        service.rebuild();
+
+        assertThat(titles("bud")).containsExactly("Budget review");
+    }
+
+    @Test
+    void rebuildDropsRemovalsItAlreadySaw() {
+        meetingRows.add(new Object[] {1L, ORG, "Budget review", LocalDateTime.of(2024, 5, 1, 9, 0)});
+        service.rebuild();
+        service.onMeetingRemoved(meeting(1L, "Budget review"));
+        assertThat(titles("bud")).isEmpty();
+
+        // The meeting came back by a path without a hook; the stale removal must not hide it
+        service.rebuild();
+
+        assertThat(titles("bud")).containsExactly("Budget review");
+    }
+
+    @Test
+    void writesMadeDuringARebuildSurviveIt() {
+        meetingRows.add(new Object[] {1L, ORG, "Budget review", LocalDateTime.of(2024, 5, 1, 9, 0)});
+        duringRead = () -> {
+            duringRead = () -> { };
+            service.onMeetingSaved(meeting(1L, "Budget review (moved)"));
+            service.onMeetingSaved(meeting(3L, "Budget retro"));
+        };
+
+        service.rebuild();
+
+        assertThat(titles("bud")).containsExactlyInAnyOrder("Budget review (moved)", "Budget retro");
+    }
+
+    private List<String> titles(String prefix) {
+        return service.suggest(ORG, prefix, Set.of(TypeaheadService.SuggestionType.MEETING), 10).stream()
+            .map(TypeaheadSuggestionDTO::getText)
+            .toList();
+    }
+
+    private static Meeting meeting(Long id, String title) {
+        Organization organization = new Organization();
+        organization.setId(ORG);
+        Meeting meeting = new Meeting();
+        meeting.setId(id);
+        meeting.setTitle(title);
+        meeting.setStartTime(LocalDateTime.of(2024, 5, 1, 9, 0));
+        meeting.setOrganization(organization);
+        return meeting;
+    }
+}
@@ -0,0 +1,376 @@
+package com.g37.meetingmanager.service.impl;
+
+import com.g37.meetingmanager.model.Document;
+import com.g37.meetingmanager.model.Document.StorageProvider;
+import com.g37.meetingmanager.repository.mysql.DocumentRepository;
+import com.g37.meetingmanager.service.CloudStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalStorageServiceTest {
+
+    private static final long HOUR_MS = 3_600_000L;
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+    private Set<String> referencedBlobs = Set.of();
+    // Runs while the sweep queries references, after it has listed its candidates
+    private Runnable duringReferenceQuery = () -> { };
+
+    /**
+     * Cloud provider serving one in-memory file; records each requested range and can hold full
+     * fetches until released
+     */
+    private static final class FakeOrigin implements CloudStorageService {
+        private final byte[] content;
+        private final List<String> ranges = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch fullFetchGate;
+
+        FakeOrigin(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public void streamFile(Document document, long start, long end, OutputStream out) throws Exception {
+            ranges.add(start + "-" + end);
+            CountDownLatch gate = fullFetchGate;
+            if (gate != null && start == 0 && end == content.length - 1) {
+                assertThat(gate.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            out.write(Arrays.copyOfRange(content, (int) start, (int) Math.min(end, content.length - 1) + 1));
+        }
+
+        long fullFetches() {
+            return ranges.stream().filter(range -> range.equals("0-" + (content.length - 1))).count();
+        }
+
+        @Override
+        public CloudUploadResult uploadFile(MultipartFile file, Document document) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getDownloadUrl(Document document) {
+            return null;
+        }
+
+        @Override
+        public boolean deleteFile(Document document) {
+            return false;
+        }
+
+        @Override
+        public byte[] downloadFile(Document document) {
+            return content.clone();
+        }
+
+        @Override
+        public boolean fileExists(Document document) {
+            return true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        DocumentRepository documentRepository = mock(DocumentRepository.class);
+        when(documentRepository.findExternalFileIdsIn(eq(StorageProvider.LOCAL), anyList())).thenAnswer(invocation -> {
+            List<String> ids = invocation.getArgument(1);
+            duringReferenceQuery.run();
+            return ids.stream().filter(referencedBlobs::contains).toList();
+        });
+
+        storage = new LocalStorageService();
+        ReflectionTestUtils.setField(storage, "rootDirectory", root.toString());
+        ReflectionTestUtils.setField(storage, "orphanGraceMs", HOUR_MS);
+        ReflectionTestUtils.setField(storage, "cacheMaxBytes", 1_000L);
+        ReflectionTestUtils.setField(storage, "cacheMaxFileBytes", 500L);
+        ReflectionTestUtils.setField(storage, "cacheFillThreads", 2);
+        ReflectionTestUtils.setField(storage, "documentRepository", documentRepository);
+        storage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void storeNamesBlobsByContentAndKeepsDuplicatesOnce() throws Exception {
+        byte[] content = "quarterly budget review".getBytes(StandardCharsets.UTF_8);
+
+        String first = storage.store(new ByteArrayInputStream(content));
+        String second = storage.store(new ByteArrayInputStream(content));
+        String other = storage.store(new ByteArrayInputStream("other".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(first).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(root.resolve("blobs").resolve(first.substring(0, 2)).resolve(first)).hasBinaryContent(content);
+        assertThat(files("blobs")).hasSize(2);
+        // Every temp file was renamed into place or dropped
+        assertThat(files("tmp")).isEmpty();
+    }
+
+    @Test
+    void streamFileServesInclusiveRangesClampedToTheBlob() throws Exception {
+        Document document = localDocument(storage.store(new ByteArrayInputStream(bytes(10))));
+
+        assertThat(read(document, 2, 5)).isEqualTo(Arrays.copyOfRange(bytes(10), 2, 6));
+        assertThat(read(document, 7, 100)).isEqualTo(Arrays.copyOfRange(bytes(10), 7, 10));
+        assertThat(storage.fileExists(document)).isTrue();
+    }
+
+    @Test
+    void missingOrInvalidBlobsAreRejected() {
+        Document missing = localDocument("a".repeat(64));
+        Document invalid = localDocument("../../etc/passwd");
+
+        assertThatThrownBy(() -> read(missing, 0, 1)).isInstanceOf(FileNotFoundException.class);
+        assertThat(storage.fileExists(missing)).isFalse();
+        assertThatThrownBy(() -> read(invalid, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sweepDeletesOnlyOldUnreferencedBlobsAndStaleTempFiles() throws Exception {
+        String referenced = storage.store(new ByteArrayInputStream(bytes(3)));
+        String orphaned = storage.store(new ByteArrayInputStream(bytes(4)));
+        String recent = storage.store(new ByteArrayInputStream(bytes(5)));
+        referencedBlobs = Set.of(referenced);
+        long old = System.currentTimeMillis() - 2 * HOUR_MS;
+        age(blob(referenced), old);
+        age(blob(orphaned), old);
+        Path staleTemp = Files.createTempFile(root.resolve("tmp"), "upload-", ".tmp");
+        Path freshTemp = Files.createTempFile(root.resolve("tmp"), "upload-", ".tmp");
+        age(staleTemp, old);
+
+        storage.sweep();
+
+        assertThat(blob(referenced)).exists();
+        assertThat(blob(orphaned)).doesNotExist();
+        assertThat(blob(recent)).exists();
+        assertThat(staleTemp).doesNotExist();
+        assertThat(freshTemp).exists();
+    }
+
+    @Test
+    void reuploadRefreshesAnOldBlobSoTheSweepKeepsIt() throws Exception {
+        String hash = storage.store(new ByteArrayInputStream(bytes(6)));
+        age(blob(hash), System.currentTimeMillis() - 2 * HOUR_MS);
+
+        storage.store(new ByteArrayInputStream(bytes(6)));
+        storage.sweep();
+
+        assertThat(blob(hash)).exists();
+    }
+
+    @Test
+    void blobReusedAfterTheSweepListedItIsKept() throws Exception {
+        String hash = storage.store(new ByteArrayInputStream(bytes(7)));
+        age(blob(hash), System.currentTimeMillis() - 2 * HOUR_MS);
+        duringReferenceQuery = () -> {
+            try {
+                storage.store(new ByteArrayInputStream(bytes(7)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        storage.sweep();
+
+        assertThat(blob(hash)).exists();
+    }
+
+    @Test
+    void missIsServedFromOriginWhileTheCacheFillsInTheBackground() throws Exception {
+        FakeOrigin origin = new FakeOrigin(bytes(100));
+        Document document = cloudDocument(100);
+
+        assertThat(readThroughCache(document, 10, 19, origin)).isEqualTo(Arrays.copyOfRange(bytes(100), 10, 20));
+        awaitCached(document);
+        origin.ranges.clear();
+
+        assertThat(readThroughCache(document, 90, 99, origin)).isEqualTo(Arrays.copyOfRange(bytes(100), 90, 100));
+        assertThat(readThroughCache(document, 0, 99, origin)).isEqualTo(bytes(100));
+        assertThat(origin.ranges).isEmpty();
+    }
+
+    @Test
+    void rangeRequestDoesNotWaitForTheFullFetch() throws Exception {
+        FakeOrigin origin = new FakeOrigin(bytes(100));
+        origin.fullFetchGate = new CountDownLatch(1);
+        Document document = cloudDocument(100);
+
+        // Returns while the fill is still held at the gate
+        assertThat(readThroughCache(document, 0, 4, origin)).isEqualTo(Arrays.copyOfRange(bytes(100), 0, 5));
+        assertThat(Files.exists(storage.cachePath(document))).isFalse();
+
+        origin.fullFetchGate.countDown();
+        awaitCached(document);
+    }
+
+    @Test
+    void concurrentMissesShareOneFill() throws Exception {
+        FakeOrigin origin = new FakeOrigin(bytes(100));
+        origin.fullFetchGate = new CountDownLatch(1);
+        Document document = cloudDocument(100);
+        Path cached = storage.cachePath(document);
+
+        CompletableFuture<Void> first = storage.fillInBackground(document, cached, origin);
+        CompletableFuture<Void> second = storage.fillInBackground(document, cached, origin);
+        readThroughCache(document, 50, 59, origin);
+        origin.fullFetchGate.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        assertThat(second).isSameAs(first);
+        assertThat(origin.fullFetches()).isEqualTo(1);
+        assertThat(cached).hasBinaryContent(bytes(100));
+    }
+
+    @Test
+    void failedFillLeavesNoEntryAndIsRetriedOnTheNextMiss() throws Exception {
+        Document document = cloudDocument(100);
+        Path cached = storage.cachePath(document);
+        // Serves fewer bytes than the document's recorded size
+        FakeOrigin truncated = new FakeOrigin(bytes(60));
+
+        CompletableFuture<Void> failed = storage.fillInBackground(document, cached, truncated);
+        assertThatThrownBy(() -> failed.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        assertThat(cached).doesNotExist();
+        assertThat(files("tmp")).isEmpty();
+
+        storage.fillInBackground(document, cached, new FakeOrigin(bytes(100))).get(10, TimeUnit.SECONDS);
+        assertThat(cached).hasBinaryContent(bytes(100));
+    }
+
+    @Test
+    void documentsOverThePerFileLimitBypassTheCache() throws Exception {
+        FakeOrigin origin = new FakeOrigin(bytes(600));
+        Document document = cloudDocument(600);
+
+        assertThat(readThroughCache(document, 0, 599, origin)).isEqualTo(bytes(600));
+        assertThat(readThroughCache(document, 0, 599, origin)).isEqualTo(bytes(600));
+
+        assertThat(origin.ranges).containsExactly("0-599", "0-599");
+        assertThat(files("cache")).isEmpty();
+    }
+
+    @Test
+    void sweepEvictsLeastRecentlyReadEntriesOverTheLimit() throws Exception {
+        Document[] documents = new Document[3];
+        for (int i = 0; i < documents.length; i++) {
+            documents[i] = cloudDocument(400);
+            documents[i].setExternalFileId("cloud-" + i);
+            storage.fillInBackground(documents[i], storage.cachePath(documents[i]), new FakeOrigin(bytes(400)))
+                .get(10, TimeUnit.SECONDS);
+            age(storage.cachePath(documents[i]), System.currentTimeMillis() - (3 - i) * 60_000L);
+        }
+        // Reading the oldest entry makes it the most recently used
+        readThroughCache(documents[0], 0, 9, new FakeOrigin(bytes(400)));
+
+        storage.sweep();
+
+        assertThat(storage.cachePath(documents[0])).exists();
+        assertThat(storage.cachePath(documents[1])).doesNotExist();
+        assertThat(storage.cachePath(documents[2])).exists();
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 13 + 1);
+        }
+        return data;
+    }
+
+    private static Document localDocument(String hash) {
+        Document document = new Document();
+        document.setId(1L);
+        document.setStorageProvider(StorageProvider.LOCAL);
+        document.setExternalFileId(hash);
+        return document;
+    }
+
+    private static Document cloudDocument(long size) {
+        Document document = new Document();
+        document.setId(2L);
+        document.setStorageProvider(StorageProvider.ONEDRIVE);
+        document.setExternalFileId("cloud-file");
+        document.setFileSize(size);
+        document.setLastModified(LocalDateTime.of(2024, 3, 1, 12, 0));
+        return document;
+    }
+
+    private byte[] read(Document document, long start, long end) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        storage.streamFile(document, start, end, out);
+        return out.toByteArray();
+    }
+
+    private byte[] readThroughCache(Document document, long start, long end, CloudStorageService origin) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        storage.streamThroughCache(document, start, end, out, origin);
+        return out.toByteArray();
+    }
+
+    private void awaitCached(Document document) throws InterruptedException {
+        Path cached = storage.cachePath(document);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!Files.exists(cached) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cached).exists();
+    }
+
+    private Path blob(String hash) {
+        return root.resolve("blobs").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static void age(Path file, long modifiedMillis) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+    }
+
+    private List<Path> files(String directory) throws IOException {
+        Path path = root.resolve(directory);
+        if (!Files.isDirectory(path)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+}
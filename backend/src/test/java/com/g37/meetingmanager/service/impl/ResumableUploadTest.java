@@ -0,0 +1,193 @@
+package com.g37.meetingmanager.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResumableUploadTest {
+
+    private static final Map<String, Object> ITEM = Map.of("id", "item-1");
+
+    /**
+     * In-memory session: appends what it is sent, can fail the next puts after committing part of
+     * the chunk, and records the offset and length of every put.
+     */
+    private static class FakeSession implements ResumableUpload.Session {
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        private final List<long[]> puts = new ArrayList<>();
+        // Per failing put: bytes to commit before failing, and the exception to throw
+        private final Deque<Object[]> failures = new ArrayDeque<>();
+        private ResumableUpload.Status statusOverride;
+        private int statusCalls;
+
+        void failNextPut(int commitBytes, RestClientException error) {
+            failures.add(new Object[] {commitBytes, error});
+        }
+
+        @Override
+        public Map<String, Object> put(byte[] data, long offset, long total) {
+            puts.add(new long[] {offset, data.length});
+            assertThat(offset).isEqualTo(received.size());
+            Object[] failure = failures.poll();
+            if (failure != null) {
+                received.write(data, 0, (Integer) failure[0]);
+                throw (RestClientException) failure[1];
+            }
+            received.write(data, 0, data.length);
+            return received.size() == total ? ITEM : null;
+        }
+
+        @Override
+        public ResumableUpload.Status status(long total) {
+            statusCalls++;
+            if (statusOverride != null) {
+                return statusOverride;
+            }
+            return received.size() == total
+                ? ResumableUpload.Status.completed(ITEM)
+                : ResumableUpload.Status.committed(received.size());
+        }
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+
+    private static HttpServerErrorException unavailable() {
+        return (HttpServerErrorException) HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null);
+    }
+
+    @Test
+    void sendsFixedChunksAndReturnsTheItem() throws IOException {
+        byte[] data = bytes(10);
+        FakeSession session = new FakeSession();
+
+        Map<String, Object> item = new ResumableUpload(4, 2, 0).upload(new ByteArrayInputStream(data), data.length, session);
+
+        assertThat(item).isEqualTo(ITEM);
+        assertThat(session.received.toByteArray()).isEqualTo(data);
+        assertThat(session.puts).extracting(put -> put[0] + ":" + put[1]).containsExactly("0:4", "4:4", "8:2");
+        assertThat(session.statusCalls).isZero();
+    }
+
+    @Test
+    void resumesAFailedChunkFromTheCommittedOffset() throws IOException {
+        byte[] data = bytes(12);
+        // First chunk goes through, the second commits 3 of its 5 bytes and fails
+        FakeSession flaky = new FakeSession() {
+            private int calls;
+
+            @Override
+            public Map<String, Object> put(byte[] chunk, long offset, long total) {
+                if (++calls == 2) {
+                    failNextPut(3, unavailable());
+                }
+                return super.put(chunk, offset, total);
+            }
+        };
+
+        Map<String, Object> item = new ResumableUpload(5, 2, 0).upload(new ByteArrayInputStream(data), data.length, flaky);
+
+        assertThat(item).isEqualTo(ITEM);
+        assertThat(flaky.received.toByteArray()).isEqualTo(data);
+        assertThat(flaky.puts).extracting(put -> put[0] + ":" + put[1]).containsExactly("0:5", "5:5", "8:2", "10:2");
+    }
+
+    @Test
+    void retriesNetworkErrorsAndRateLimits() throws IOException {
+        byte[] data = bytes(6);
+        FakeSession session = new FakeSession();
+        session.failNextPut(0, new ResourceAccessException("Connection reset"));
+        session.failNextPut(0, HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Slow down", null, null, null));
+
+        Map<String, Object> item = new ResumableUpload(6, 2, 0).upload(new ByteArrayInputStream(data), data.length, session);
+
+        assertThat(item).isEqualTo(ITEM);
+        assertThat(session.received.toByteArray()).isEqualTo(data);
+        assertThat(session.statusCalls).isEqualTo(2);
+    }
+
+    @Test
+    void givesUpAfterMaxRetries() {
+        byte[] data = bytes(6);
+        FakeSession session = new FakeSession();
+        for (int i = 0; i < 3; i++) {
+            session.failNextPut(0, unavailable());
+        }
+
+        assertThatThrownBy(() -> new ResumableUpload(6, 2, 0).upload(new ByteArrayInputStream(data), data.length, session))
+            .isInstanceOf(HttpServerErrorException.class);
+        assertThat(session.puts).hasSize(3);
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        byte[] data = bytes(6);
+        FakeSession session = new FakeSession();
+        session.failNextPut(0, HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad", null, null, null));
+
+        assertThatThrownBy(() -> new ResumableUpload(6, 2, 0).upload(new ByteArrayInputStream(data), data.length, session))
+            .isInstanceOf(HttpClientErrorException.BadRequest.class);
+        assertThat(session.puts).hasSize(1);
+        assertThat(session.statusCalls).isZero();
+    }
+
+    @Test
+    void failedFinalChunkThatActuallyCompletedReturnsTheItem() throws IOException {
+        byte[] data = bytes(4);
+        FakeSession session = new FakeSession();
+        session.failNextPut(4, unavailable());
+
+        Map<String, Object> item = new ResumableUpload(4, 2, 0).upload(new ByteArrayInputStream(data), data.length, session);
+
+        assertThat(item).isEqualTo(ITEM);
+        assertThat(session.puts).hasSize(1);
+    }
+
+    @Test
+    void refusesToResumeOutsideTheBufferedChunk() {
+        byte[] data = bytes(8);
+        FakeSession session = new FakeSession();
+        session.failNextPut(0, unavailable());
+        session.statusOverride = ResumableUpload.Status.committed(7);
+
+        assertThatThrownBy(() -> new ResumableUpload(4, 2, 0).upload(new ByteArrayInputStream(data), data.length, session))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("cannot resume");
+    }
+
+    @Test
+    void shortStreamFails() {
+        FakeSession session = new FakeSession();
+
+        assertThatThrownBy(() -> new ResumableUpload(4, 2, 0).upload(new ByteArrayInputStream(bytes(5)), 8, session))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("stream ended");
+    }
+
+    @Test
+    void alignsChunksToTheProviderGranularity() {
+        assertThat(ResumableUpload.alignChunkSize(10 * 1024 * 1024, 320 * 1024)).isEqualTo(32 * 320 * 1024);
+        assertThat(ResumableUpload.alignChunkSize(8 * 1024 * 1024, 256 * 1024)).isEqualTo(8 * 1024 * 1024);
+        assertThat(ResumableUpload.alignChunkSize(1, 256 * 1024)).isEqualTo(256 * 1024);
+    }
+}
@@ -0,0 +1,107 @@
+package com.g37.meetingmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DecayedSpaceSavingTest {
+
+    private static final long TAU = 60_000;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void findsHeavyHittersAmongManyRareTerms() {
+        DecayedSpaceSaving summary = new DecayedSpaceSaving(50, TAU, 1024, T0);
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            summary.add("rare-" + random.nextInt(5_000), T0);
+            if (i % 10 == 0) {
+                summary.add("heavy-" + (i % 3), T0);
+            }
+        }
+
+        List<Map.Entry<String, Double>> top = summary.top(3, T0);
+
+        assertThat(top).extracting(Map.Entry::getKey)
+            .containsExactlyInAnyOrder("heavy-0", "heavy-1", "heavy-2");
+    }
+
+    @Test
+    void countsDecayByOneOverEPerTimeConstant() {
+        DecayedSpaceSaving summary = new DecayedSpaceSaving(10, TAU, 256, T0);
+        for (int i = 0; i < 10; i++) {
+            summary.add("budget", T0);
+        }
+
+        double decayed = summary.top(1, T0 + TAU).get(0).getValue();
+
+        assertThat(decayed).isCloseTo(10 / Math.E, within(1e-9));
+    }
+
+    @Test
+    void recentSearchesOutrankOlderHeavierOnes() {
+        DecayedSpaceSaving summary = new DecayedSpaceSaving(10, TAU, 256, T0);
+        summary.add("old", 100, T0);
+        summary.add("new", 20, T0 + 5 * TAU);
+
+        assertThat(summary.top(2, T0 + 5 * TAU)).extracting(Map.Entry::getKey).containsExactly("new", "old");
+    }
+
+    @Test
+    void batchAddMatchesRepeatedAdds() {
+        DecayedSpaceSaving single = new DecayedSpaceSaving(10, TAU, 256, T0);
+        DecayedSpaceSaving batched = new DecayedSpaceSaving(10, TAU, 256, T0);
+        for (int i = 0; i < 7; i++) {
+            single.add("agenda", T0 + 1_000);
+        }
+        batched.add("agenda", 7, T0 + 1_000);
+
+        assertThat(batched.top(1, T0 + 2_000).get(0).getValue())
+            .isCloseTo(single.top(1, T0 + 2_000).get(0).getValue(), within(1e-9));
+    }
+
+    @Test
+    void rescalesWithoutOverflowLongAfterTheLandmark() {
+        DecayedSpaceSaving summary = new DecayedSpaceSaving(10, TAU, 256, T0);
+        summary.add("early", T0);
+        long later = T0 + 1_000 * TAU;
+        summary.add("late", 3, later);
+
+        List<Map.Entry<String, Double>> top = summary.top(2, later);
+
+        assertThat(top.get(0).getKey()).isEqualTo("late");
+        assertThat(top.get(0).getValue()).isCloseTo(3.0, within(1e-9));
+        assertThat(top.get(1).getValue()).isFinite().isLessThan(1e-100);
+    }
+
+    @Test
+    void snapshotRestoresIntoAnEquivalentSummary() {
+        DecayedSpaceSaving summary = new DecayedSpaceSaving(10, TAU, 256, T0);
+        summary.add("minutes", 5, T0);
+        summary.add("recording", 2, T0 + TAU / 2);
+        long now = T0 + TAU;
+
+        DecayedSpaceSaving restored = new DecayedSpaceSaving(10, TAU, 256, now);
+        summary.snapshot(now).forEach((term, counts) -> restored.restore(term, counts[0], counts[1], now));
+
+        assertThat(restored.top(2, now)).usingRecursiveComparison().isEqualTo(summary.top(2, now));
+    }
+
+    @Test
+    void aNewcomerInheritsTheEvictedCountAsItsError() {
+        DecayedSpaceSaving summary = new DecayedSpaceSaving(2, TAU, 1024, T0);
+        summary.add("a", 5, T0);
+        summary.add("b", 3, T0);
+        summary.add("c", 4, T0);
+
+        Map<String, double[]> snapshot = summary.snapshot(T0);
+
+        assertThat(snapshot).containsOnlyKeys("a", "c");
+        assertThat(snapshot.get("c")[1]).isGreaterThanOrEqualTo(3.0);
+    }
+}
@@ -0,0 +1,140 @@
+package com.g37.meetingmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpiringKeySetTest {
+
+    private static final long BUCKET = 1_000;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void containsAddedKeysOnly() {
+        ExpiringKeySet set = new ExpiringKeySet(BUCKET, 16, 1_000, T0);
+        for (int i = 0; i < 500; i++) {
+            set.add("key-" + i, T0 + 5 * BUCKET, T0);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(set.contains("key-" + i)).isTrue();
+        }
+        for (int i = 500; i < 5_000; i++) {
+            assertThat(set.contains("key-" + i)).isFalse();
+        }
+        assertThat(set.size()).isEqualTo(500);
+    }
+
+    @Test
+    void dropsKeysOnceTheirBucketHasPassed() {
+        ExpiringKeySet set = new ExpiringKeySet(BUCKET, 16, 100, T0);
+        set.add("short", T0 + 2 * BUCKET + 10, T0);
+        set.add("long", T0 + 8 * BUCKET, T0);
+
+        assertThat(set.advance(T0 + 2 * BUCKET + 500)).isZero();
+        assertThat(set.contains("short")).isTrue();
+
+        assertThat(set.advance(T0 + 3 * BUCKET)).isEqualTo(1);
+        assertThat(set.contains("short")).isFalse();
+        assertThat(set.contains("long")).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresExpiredAndDuplicateKeys() {
+        ExpiringKeySet set = new ExpiringKeySet(BUCKET, 16, 100, T0);
+        set.add("expired", T0, T0);
+        set.add("dup", T0 + BUCKET, T0);
+        set.add("dup", T0 + 10 * BUCKET, T0);
+
+        assertThat(set.contains("expired")).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+        // The first expiry wins
+        set.advance(T0 + 2 * BUCKET);
+        assertThat(set.contains("dup")).isFalse();
+    }
+
+    @Test
+    void keysPastTheHorizonMoveIntoTheWheelAndExpire() {
+        ExpiringKeySet set = new ExpiringKeySet(BUCKET, 4, 100, T0);
+        set.add("far", T0 + 10 * BUCKET, T0);
+        set.add("near", T0 + 2 * BUCKET, T0);
+
+        set.advance(T0 + 7 * BUCKET);
+        assertThat(set.contains("far")).isTrue();
+        assertThat(set.contains("near")).isFalse();
+
+        set.advance(T0 + 11 * BUCKET);
+        assertThat(set.contains("far")).isFalse();
+        assertThat(set.size()).isZero();
+    }
+
+    @Test
+    void jumpingPastTheWholeWheelDropsEverything() {
+        ExpiringKeySet set = new ExpiringKeySet(BUCKET, 4, 100, T0);
+        for (int i = 0; i < 4; i++) {
+            set.add("key-" + i, T0 + (i + 1) * BUCKET, T0);
+        }
+
+        assertThat(set.advance(T0 + 100 * BUCKET)).isEqualTo(4);
+        assertThat(set.size()).isZero();
+        set.add("after", T0 + 101 * BUCKET, T0 + 100 * BUCKET);
+        assertThat(set.contains("after")).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThatThrownBy(() -> new ExpiringKeySet(0, 4, 100, T0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExpiringKeySet(BUCKET, 0, 100, T0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExpiringKeySet(BUCKET, 4, 0, T0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readersSeeKeysAddedByAnotherThread() throws Exception {
+        ExpiringKeySet set = new ExpiringKeySet(BUCKET, 64, 10_000, T0);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> writer = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    set.add("key-" + i, T0 + 30 * BUCKET, T0 + (i % 20) * BUCKET);
+                }
+                return null;
+            });
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    int falsePositives = 0;
+                    for (int i = 0; i < 50_000; i++) {
+                        if (set.contains("absent-" + i)) {
+                            falsePositives++;
+                        }
+                    }
+                    return falsePositives;
+                }));
+            }
+            start.countDown();
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get(30, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(set.contains("key-" + i)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.g37.meetingmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    // A Monday
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 30);
+
+    @Test
+    void plainPatternsMapToRules() {
+        assertThat(RecurrenceRule.parse("weekly")).hasToString("FREQ=WEEKLY");
+        assertThat(RecurrenceRule.parse("BIWEEKLY")).hasToString("FREQ=WEEKLY;INTERVAL=2");
+        assertThat(RecurrenceRule.parse("QUARTERLY")).hasToString("FREQ=MONTHLY;INTERVAL=3");
+        assertThat(RecurrenceRule.parse("WEEKDAYS")).hasToString("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+        assertThat(RecurrenceRule.parse("RRULE:FREQ=DAILY;COUNT=3")).hasToString("FREQ=DAILY;COUNT=3");
+    }
+
+    @Test
+    void rejectsMalformedAndUnsupportedRules() {
+        for (String pattern : List.of("", "FREQ=HOURLY", "INTERVAL=2", "FREQ=DAILY;INTERVAL=0",
+                "FREQ=DAILY;COUNT=2;UNTIL=20240110", "FREQ=WEEKLY;BYDAY=2TU", "FREQ=MONTHLY;BYMONTHDAY=32",
+                "FREQ=DAILY;BYSETPOS=1", "FREQ=DAILY;WKST=SU", "FREQ=DAILY;COUNT=x")) {
+            assertThatThrownBy(() -> RecurrenceRule.parse(pattern))
+                .as(pattern)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void countLimitsTheSeriesAndIncludesTheStart() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;COUNT=3");
+
+        List<LocalDateTime> occurrences = rule.between(START, START, START.plusYears(1), null, 100);
+
+        assertThat(occurrences).containsExactly(START, START.plusDays(2), START.plusDays(4));
+    }
+
+    @Test
+    void dateOnlyUntilIncludesTheWholeDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240103");
+
+        List<LocalDateTime> occurrences = rule.between(START, START, START.plusYears(1), null, 100);
+
+        assertThat(occurrences).containsExactly(START, START.plusDays(1), START.plusDays(2));
+    }
+
+    @Test
+    void weeklyByDayExpandsEachWeek() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+
+        List<LocalDateTime> occurrences = rule.between(START, START, START.plusWeeks(1), null, 100);
+
+        assertThat(occurrences).containsExactly(START, START.plusDays(2), START.plusDays(4));
+    }
+
+    @Test
+    void monthlyOrdinalWeekdays() {
+        RecurrenceRule secondTuesday = RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=2TU");
+        RecurrenceRule lastFriday = RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=-1FR");
+        LocalDateTime firstSecondTuesday = LocalDateTime.of(2024, 1, 9, 9, 30);
+        LocalDateTime firstLastFriday = LocalDateTime.of(2024, 1, 26, 9, 30);
+
+        assertThat(secondTuesday.between(firstSecondTuesday, firstSecondTuesday, LocalDateTime.of(2024, 4, 1, 0, 0), null, 100))
+            .containsExactly(firstSecondTuesday, LocalDateTime.of(2024, 2, 13, 9, 30), LocalDateTime.of(2024, 3, 12, 9, 30));
+        assertThat(lastFriday.between(firstLastFriday, firstLastFriday, LocalDateTime.of(2024, 4, 1, 0, 0), null, 100))
+            .containsExactly(firstLastFriday, LocalDateTime.of(2024, 2, 23, 9, 30), LocalDateTime.of(2024, 3, 29, 9, 30));
+    }
+
+    @Test
+    void monthlyOnTheThirtyFirstSkipsShortMonths() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 9, 30);
+        RecurrenceRule rule = RecurrenceRule.parse("MONTHLY");
+
+        List<LocalDateTime> occurrences = rule.between(start, start, LocalDateTime.of(2024, 6, 1, 0, 0), null, 100);
+
+        assertThat(occurrences).containsExactly(start, LocalDateTime.of(2024, 3, 31, 9, 30), LocalDateTime.of(2024, 5, 31, 9, 30));
+    }
+
+    @Test
+    void yearlyOnLeapDayOnlyOccursInLeapYears() {
+        LocalDateTime start = LocalDateTime.of(2024, 2, 29, 9, 30);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=YEARLY");
+
+        List<LocalDateTime> occurrences = rule.between(start, start, LocalDateTime.of(2033, 1, 1, 0, 0), null, 100);
+
+        assertThat(occurrences).containsExactly(start, LocalDateTime.of(2028, 2, 29, 9, 30), LocalDateTime.of(2032, 2, 29, 9, 30));
+    }
+
+    @Test
+    void distantWindowMatchesFullExpansion() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=3;BYDAY=TU,TH");
+        LocalDateTime from = START.plusYears(40).plusDays(3);
+        LocalDateTime to = from.plusMonths(2);
+
+        List<LocalDateTime> jumped = rule.between(START, from, to, null, 1000);
+        List<LocalDateTime> walked = rule.between(START, START, to, null, 100_000).stream()
+            .filter(occurrence -> !occurrence.isBefore(from))
+            .toList();
+
+        assertThat(jumped).isNotEmpty().isEqualTo(walked);
+    }
+
+    @Test
+    void seriesEndAndLimitCutExpansion() {
+        RecurrenceRule rule = RecurrenceRule.parse("DAILY");
+
+        assertThat(rule.between(START, START, START.plusYears(1), START.plusDays(1), 100))
+            .containsExactly(START, START.plusDays(1));
+        assertThat(rule.between(START, START, START.plusYears(1), null, 2))
+            .containsExactly(START, START.plusDays(1));
+    }
+
+    @Test
+    void isOccurrenceMatchesExactTimesOnly() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE");
+
+        assertThat(rule.isOccurrence(START, START.plusDays(9), null)).isTrue();
+        assertThat(rule.isOccurrence(START, START.plusDays(8), null)).isFalse();
+        assertThat(rule.isOccurrence(START, START.plusDays(9).plusMinutes(1), null)).isFalse();
+        assertThat(rule.isOccurrence(START, START.plusDays(9), START.plusDays(8))).isFalse();
+    }
+
+    @Test
+    void impossibleRuleTerminates() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=30");
+
+        assertThat(rule.between(START, START.plusDays(1), START.plusYears(50), null, 10)).isEmpty();
+    }
+}
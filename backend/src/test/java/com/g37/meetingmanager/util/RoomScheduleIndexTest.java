@@ -0,0 +1,86 @@
+package com.g37.meetingmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomScheduleIndexTest {
+
+    private static final long ROOM = 1;
+    private static final long OTHER_ROOM = 2;
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        RoomScheduleIndex index = new RoomScheduleIndex();
+        index.put(ROOM, 10, 605, 650);
+
+        assertThat(index.isFree(ROOM, 650, 690)).isTrue();
+        assertThat(index.isFree(ROOM, 560, 605)).isTrue();
+        assertThat(index.isFree(ROOM, 649, 690)).isFalse();
+        assertThat(index.isFree(ROOM, 600, 606)).isFalse();
+        assertThat(index.isFree(ROOM, 610, 620)).isFalse();
+        assertThat(index.isFree(ROOM, 500, 700)).isFalse();
+        assertThat(index.isFree(OTHER_ROOM, 605, 650)).isTrue();
+    }
+
+    @Test
+    void putReplacesTheMeetingsEarlierBookingAndStaleOverlaps() {
+        RoomScheduleIndex index = new RoomScheduleIndex();
+        index.put(ROOM, 10, 600, 660);
+        index.put(ROOM, 11, 700, 760);
+
+        index.put(OTHER_ROOM, 10, 600, 660);
+        assertThat(index.roomOf(10)).isEqualTo(OTHER_ROOM);
+        assertThat(index.isFree(ROOM, 600, 660)).isTrue();
+
+        // The database accepted 12 over 11, so 11 is stale
+        index.put(ROOM, 12, 730, 800);
+        assertThat(index.roomOf(11)).isNull();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removeFreesTheInterval() {
+        RoomScheduleIndex index = new RoomScheduleIndex();
+        index.put(ROOM, 10, 600, 660);
+
+        index.remove(10);
+        index.remove(99);
+
+        assertThat(index.isFree(ROOM, 600, 660)).isTrue();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void nextFreeStepsOverBookingsAndUsesGapsThatFit() {
+        RoomScheduleIndex index = new RoomScheduleIndex();
+        index.put(ROOM, 1, 605, 650);
+        index.put(ROOM, 2, 650, 690);
+        index.put(ROOM, 3, 700, 760);
+
+        // 600-605 is too short, 690-700 too short for 30, long enough for 10
+        assertThat(index.nextFree(ROOM, 600, 30, 10_000)).isEqualTo(760);
+        assertThat(index.nextFree(ROOM, 600, 10, 10_000)).isEqualTo(690);
+        assertThat(index.nextFree(ROOM, 600, 5, 10_000)).isEqualTo(600);
+        // Starting inside a booking moves to its end
+        assertThat(index.nextFree(ROOM, 620, 10, 10_000)).isEqualTo(690);
+        assertThat(index.nextFree(OTHER_ROOM, 620, 10, 10_000)).isEqualTo(620);
+    }
+
+    @Test
+    void nextFreeGivesUpPastTheLatestStart() {
+        RoomScheduleIndex index = new RoomScheduleIndex();
+        index.put(ROOM, 1, 600, 900);
+
+        assertThat(index.nextFree(ROOM, 600, 30, 899)).isEqualTo(-1);
+        assertThat(index.nextFree(ROOM, 600, 30, 900)).isEqualTo(900);
+    }
+
+    @Test
+    void emptyIntervalsAreRejected() {
+        RoomScheduleIndex index = new RoomScheduleIndex();
+
+        assertThatThrownBy(() -> index.put(ROOM, 1, 600, 600)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
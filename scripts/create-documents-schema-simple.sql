@@ -56,7 +56,7 @@ CREATE TABLE IF NOT EXISTS documents (
     INDEX idx_external_file_id (external_file_id),
     
     -- Full-text search indexes
-    FULLTEXT(title, description, content_text, ai_summary)
+    FULLTEXT INDEX ft_documents_search (title, description, content_text, ai_summary) WITH PARSER ngram
 );
 
 -- Insert sample documents for testing
@@ -51,8 +51,9 @@ CREATE TABLE IF NOT EXISTS documents (
     INDEX idx_uploaded_by (uploaded_by),
     INDEX idx_ai_processed (ai_processed),
     
-    -- Full-text search index
-    FULLTEXT INDEX ft_search (title, description, notes, content_text, ai_summary),
+    -- Full-text search index (ngram parser so CJK text and partial words are searchable);
+    -- the column list must match the MATCH() clause in DocumentSearchRepositoryImpl
+    FULLTEXT INDEX ft_documents_search (title, description, content_text, ai_summary) WITH PARSER ngram,
     
     -- Foreign key constraints
     FOREIGN KEY (meeting_id) REFERENCES meetings(id) ON DELETE SET NULL,
@@ -0,0 +1,15 @@
+-- Backfill the denormalized subtask counters on action_items.
+-- Hibernate (ddl-auto=update) adds sub_task_count and completed_sub_task_count with value 0; run this once
+-- after that deploy so existing parents report correct progress. The application keeps them current afterwards.
+
+UPDATE action_items p
+LEFT JOIN (
+    SELECT parent_action_item_id,
+           COUNT(*) AS total,
+           SUM(CASE WHEN completed THEN 1 ELSE 0 END) AS done
+    FROM action_items
+    WHERE parent_action_item_id IS NOT NULL
+    GROUP BY parent_action_item_id
+) c ON c.parent_action_item_id = p.id
+SET p.sub_task_count = COALESCE(c.total, 0),
+    p.completed_sub_task_count = COALESCE(c.done, 0);
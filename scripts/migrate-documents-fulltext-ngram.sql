@@ -0,0 +1,33 @@
+-- Replace the default-parser document FULLTEXT indexes with the ngram-parser index used by document search.
+-- Run this before deploying: the application only uses ft_documents_search once it exists and falls back
+-- to LIKE search until then. Adding the first FULLTEXT index to an InnoDB table rebuilds the table, so run
+-- it in a maintenance window on large tables. It also drops the old default-parser indexes.
+
+SET @drop_old = (
+    SELECT IF(COUNT(*) > 0, 'ALTER TABLE documents DROP INDEX ft_search', 'SELECT 1')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'documents' AND INDEX_NAME = 'ft_search'
+);
+PREPARE stmt FROM @drop_old;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @drop_unnamed = (
+    SELECT IF(COUNT(*) > 0, 'ALTER TABLE documents DROP INDEX title', 'SELECT 1')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'documents' AND INDEX_NAME = 'title' AND INDEX_TYPE = 'FULLTEXT'
+);
+PREPARE stmt FROM @drop_unnamed;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @add_ngram = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE documents ADD FULLTEXT INDEX ft_documents_search (title, description, content_text, ai_summary) WITH PARSER ngram',
+        'SELECT 1')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'documents' AND INDEX_NAME = 'ft_documents_search'
+);
+PREPARE stmt FROM @add_ngram;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,24 @@
+-- Number existing permissions densely from 0 in id order, the numbering PermissionCatalog gives permissions it
+-- finds without a mask bit, so masks stay as short as the number of permissions whatever the gaps between ids.
+-- Run this before deploying: Hibernate adds the column but not the unique key that stops two instances handing out
+-- the same bit, and numbering up front spares the first instances to start from racing to do it. Tokens issued
+-- before this change carry permission names, not a mask, and are mapped through the catalog. Permissions created
+-- afterwards get the next bit after the highest in use. Rerunning it leaves numbered permissions alone.
+
+SET @add_column = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE permissions ADD COLUMN mask_bit INT NULL, ADD CONSTRAINT uk_permissions_mask_bit UNIQUE (mask_bit)',
+        'SELECT 1')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'permissions' AND COLUMN_NAME = 'mask_bit'
+);
+PREPARE stmt FROM @add_column;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @next_bit = (SELECT COALESCE(MAX(mask_bit), -1) FROM permissions);
+
+UPDATE permissions
+SET mask_bit = (@next_bit := @next_bit + 1)
+WHERE mask_bit IS NULL
+ORDER BY id;
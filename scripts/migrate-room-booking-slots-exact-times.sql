@@ -0,0 +1,51 @@
+-- Store each room booking's exact start and end on its slot rows and let back-to-back bookings share a slot.
+-- Run this before deploying: with ddl-auto=update, Hibernate cannot add the NOT NULL columns to a table that has rows,
+-- and it never drops the old (room_id, slot_start) unique key, which would keep rejecting a meeting that starts in
+-- the slot where the previous one ends. Rows of meetings that no longer exist are removed.
+
+SET @add_columns = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE room_booking_slots ADD COLUMN booking_start DATETIME(6) NULL, ADD COLUMN booking_end DATETIME(6) NULL',
+        'SELECT 1')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'room_booking_slots' AND COLUMN_NAME = 'booking_start'
+);
+PREPARE stmt FROM @add_columns;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+DELETE s FROM room_booking_slots s
+LEFT JOIN meetings m ON m.id = s.meeting_id
+WHERE m.id IS NULL;
+
+UPDATE room_booking_slots s
+JOIN meetings m ON m.id = s.meeting_id
+SET s.booking_start = m.start_time,
+    s.booking_end = m.end_time
+WHERE s.booking_start IS NULL;
+
+ALTER TABLE room_booking_slots
+    MODIFY booking_start DATETIME(6) NOT NULL,
+    MODIFY booking_end DATETIME(6) NOT NULL;
+
+SET @add_unique = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE room_booking_slots ADD CONSTRAINT uk_room_booking_slots_room_slot_meeting UNIQUE (room_id, slot_start, meeting_id)',
+        'SELECT 1')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'room_booking_slots' AND INDEX_NAME = 'uk_room_booking_slots_room_slot_meeting'
+);
+PREPARE stmt FROM @add_unique;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @drop_unique = (
+    SELECT IF(COUNT(*) > 0,
+        'ALTER TABLE room_booking_slots DROP INDEX uk_room_booking_slots_room_slot',
+        'SELECT 1')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'room_booking_slots' AND INDEX_NAME = 'uk_room_booking_slots_room_slot'
+);
+PREPARE stmt FROM @drop_unique;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,41 @@
+-- Merge duplicate search_analytics rows and add the unique key on search_term that the analytics upsert relies on.
+-- Run this before deploying: with ddl-auto=update, Hibernate cannot add unique_search_term while duplicates exist.
+-- Duplicates are folded into the oldest row: counts are summed, the first and last search times widened and the
+-- latest result count kept.
+
+CREATE TEMPORARY TABLE search_analytics_merged AS
+SELECT MIN(id) AS keep_id,
+       search_term,
+       SUM(search_count) AS search_count,
+       MIN(first_searched) AS first_searched,
+       MAX(last_searched) AS last_searched,
+       (SELECT latest.results_count FROM search_analytics latest
+        WHERE latest.search_term = grouped.search_term
+        ORDER BY latest.last_searched DESC, latest.id DESC
+        LIMIT 1) AS results_count
+FROM search_analytics grouped
+GROUP BY search_term
+HAVING COUNT(*) > 1;
+
+UPDATE search_analytics sa
+JOIN search_analytics_merged m ON m.keep_id = sa.id
+SET sa.search_count = m.search_count,
+    sa.first_searched = m.first_searched,
+    sa.last_searched = m.last_searched,
+    sa.results_count = m.results_count;
+
+DELETE sa FROM search_analytics sa
+JOIN search_analytics_merged m ON m.search_term = sa.search_term AND sa.id <> m.keep_id;
+
+DROP TEMPORARY TABLE search_analytics_merged;
+
+SET @add_unique = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE search_analytics ADD CONSTRAINT unique_search_term UNIQUE (search_term)',
+        'SELECT 1')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'search_analytics' AND INDEX_NAME = 'unique_search_term'
+);
+PREPARE stmt FROM @add_unique;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;